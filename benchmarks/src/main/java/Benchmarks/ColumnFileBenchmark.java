@@ -0,0 +1,93 @@
+package Benchmarks;
+
+import Stocks.StockCsvLoader;
+import Stocks.StockSeries;
+import Storage.ColumnFile;
+import Storage.ColumnFileWriter;
+import Storage.CsvConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of reloading a stage output: parsing a CSV file against mapping a column file,
+ * for an XY plot and for a stock series.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ColumnFileBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int points;
+
+    private final StockCsvLoader loader = new StockCsvLoader();
+    private Path pointCsv;
+    private Path pointColumns;
+    private Path parsedColumns;
+    private String stockCsv;
+    private Path stockColumns;
+
+    @Setup
+    public void setUp() throws IOException {
+        double[][] xyPlot = SyntheticData.xyPlot(points);
+        pointColumns = temporaryFile(".cols");
+        new ColumnFileWriter().addDoubles("xValue", xyPlot[0]).addDoubles("yValue", xyPlot[1]).write(pointColumns);
+        pointCsv = temporaryFile(".csv");
+        CsvConverter.toCsv(pointColumns, pointCsv);
+        parsedColumns = temporaryFile(".cols");
+
+        stockCsv = SyntheticData.stockCsv(points).toString();
+        stockColumns = temporaryFile(".cols");
+        loader.convertToColumns(stockCsv, stockColumns);
+    }
+
+    @Benchmark
+    public int parsePointCsv() {
+        return CsvConverter.toColumns(pointCsv, parsedColumns);
+    }
+
+    @Benchmark
+    public double mapPointColumns() {
+        DoubleBuffer yValues = ColumnFile.open(pointColumns).getDoubles("yValue");
+        double sum = 0;
+        for (int i = 0; i < yValues.limit(); i++) {
+            sum += yValues.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public StockSeries parseStockCsv() {
+        return loader.loadSeries(stockCsv);
+    }
+
+    @Benchmark
+    public StockSeries readStockColumns() {
+        return StockSeries.readColumns(stockColumns);
+    }
+
+    private static Path temporaryFile(String suffix) throws IOException {
+        Path file = Files.createTempFile("column-benchmark-", suffix);
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
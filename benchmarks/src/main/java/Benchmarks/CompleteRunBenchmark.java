@@ -0,0 +1,58 @@
+package Benchmarks;
+
+import Stocks.NetWorth;
+import Stocks.StockBot;
+import Stocks.StockSeries;
+import Stocks.TradeRecorder;
+import Stocks.TradingStrategies;
+import Stocks.TradingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of StockBot.completeRun for each trade method.
+ * Trades are not recorded, printing them would measure the console instead of the simulation.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class CompleteRunBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int days;
+
+    // 1: RSI and Heuristic Trade Evaluator, 2: Buy and Hold, 3: RSI and Moving Average
+    @Param({"1", "2", "3"})
+    public int tradeMethod;
+
+    private final StockBot stockBot = new StockBot();
+    private StockSeries stocks;
+    private List<TradingStrategy> strategies;
+
+    @Setup
+    public void setUp() {
+        stocks = SyntheticData.stockSeries(days);
+        strategies = List.of(TradingStrategies.forTradeMethod(tradeMethod));
+    }
+
+    @Benchmark
+    public NetWorth[] completeRun() {
+        return stockBot.completeRun(new NetWorth[]{new NetWorth(10000)}, stocks, strategies, TradeRecorder.NONE);
+    }
+}
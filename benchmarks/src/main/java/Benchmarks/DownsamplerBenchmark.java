@@ -0,0 +1,52 @@
+package Benchmarks;
+
+import Charts.Downsampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of reducing a dataset to the width of a full HD chart, with Largest-Triangle-Three-Buckets
+ * and with min/max buckets, the work done again on every zoom or pan.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class DownsamplerBenchmark {
+    private static final int PIXEL_WIDTH = 1920;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int points;
+
+    private double[][] xyPlot;
+
+    @Setup
+    public void setUp() {
+        xyPlot = SyntheticData.xyPlot(points);
+    }
+
+    @Benchmark
+    public double[][] lttb() {
+        return Downsampler.downsample(Downsampler.Mode.LTTB, xyPlot[0], xyPlot[1], 0, points, 2 * PIXEL_WIDTH, true);
+    }
+
+    @Benchmark
+    public double[][] minMax() {
+        return Downsampler.downsample(Downsampler.Mode.MIN_MAX, xyPlot[0], xyPlot[1], 0, points, 2 * PIXEL_WIDTH, true);
+    }
+}
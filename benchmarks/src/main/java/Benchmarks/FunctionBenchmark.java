@@ -0,0 +1,73 @@
+package Benchmarks;
+
+import Functions.CompiledFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of evaluating a function over every x value of a dataset: the compiled expression one value at a time
+ * and in a batch, the same function written in Java, and compiling the expression itself.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class FunctionBenchmark {
+    private static final String EXPRESSION = "sin(x)*exp(-x/50)";
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int points;
+
+    private CompiledFunction function;
+    private double[] xValues;
+    private double[] yValues;
+
+    @Setup
+    public void setUp() {
+        function = CompiledFunction.compile(EXPRESSION);
+        xValues = SyntheticData.xyPlot(points)[0];
+        yValues = new double[points];
+    }
+
+    @Benchmark
+    public double[] javaFunction() {
+        for (int i = 0; i < xValues.length; i++) {
+            yValues[i] = Math.sin(xValues[i]) * Math.exp(-xValues[i] / 50);
+        }
+        return yValues;
+    }
+
+    @Benchmark
+    public double[] compiledValue() {
+        for (int i = 0; i < xValues.length; i++) {
+            yValues[i] = function.value(xValues[i]);
+        }
+        return yValues;
+    }
+
+    @Benchmark
+    public double[] compiledEvaluate() {
+        function.evaluate(xValues, yValues);
+        return yValues;
+    }
+
+    @Benchmark
+    public CompiledFunction compile() {
+        return CompiledFunction.compile(EXPRESSION);
+    }
+}
@@ -0,0 +1,66 @@
+package Benchmarks;
+
+import Part1.Plotter;
+import Part1.PointPipeline;
+import Salting.NoiseModel;
+import Salting.SaltingEngine;
+import Smoothing.ParallelSmoother;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of plotting, salting and smoothing points, streamed through a PointPipeline
+ * and as whole arrays one step after the other.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class PointPipelineBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int points;
+
+    private final Plotter plotter = new Plotter();
+    private final ParallelSmoother parallelSmoother = new ParallelSmoother();
+
+    @Benchmark
+    public long pipeline() {
+        return PointPipeline.plot(plotter, 40.0 / points, 0, 400)
+                .salt(NoiseModel.uniform(0, 10), SyntheticData.SEED)
+                .smooth(4)
+                .run(block -> {
+                });
+    }
+
+    @Benchmark
+    public double[] wholeArrays() {
+        double interval = 40.0 / points;
+        double[] xValues = new double[points + 2];
+        double[] yValues = new double[points + 2];
+        int count = 0;
+        for (double xValue = 0; xValue < 400; xValue += interval) {
+            double yValue = plotter.performFunction(xValue);
+            if (yValue >= 0 && yValue <= 400 && count < xValues.length) {
+                xValues[count] = xValue;
+                yValues[count++] = yValue;
+            }
+        }
+        double[] saltedYValues = new SaltingEngine(SyntheticData.SEED, NoiseModel.uniform(0, 10)).salt(Arrays.copyOf(yValues, count));
+        return parallelSmoother.centeredMovingAverage(saltedYValues, 4);
+    }
+}
@@ -0,0 +1,57 @@
+package Benchmarks;
+
+import Part1.Salter;
+import Salting.NoiseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of salting every y value of a dataset, one value at a time with Salter.saltYValue
+ * and the whole array at once with Salter.saltYValues.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class SalterBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int points;
+
+    private final Salter salter = new Salter(SyntheticData.SEED);
+    private double[] yValues;
+    private double[] saltedYValues;
+
+    @Setup
+    public void setUp() {
+        yValues = SyntheticData.xyPlot(points)[1];
+        saltedYValues = new double[points];
+    }
+
+    @Benchmark
+    public double[] saltYValue() {
+        for (int i = 0; i < yValues.length; i++) {
+            saltedYValues[i] = salter.saltYValue(yValues[i], 0, 10);
+        }
+        return saltedYValues;
+    }
+
+    @Benchmark
+    public double[] saltYValues() {
+        return salter.saltYValues(yValues, NoiseModel.uniform(0, 10));
+    }
+}
@@ -0,0 +1,53 @@
+package Benchmarks;
+
+import Functions.CompiledFunction;
+import Functions.Sampler;
+import Part3.Plotter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of sampling a function over a range: Plotter.plotPoints, the uniform grid of Sampler
+ * and adaptive sampling to a tolerance.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class SamplerBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int points;
+
+    private final Plotter plotter = new Plotter();
+    private final Sampler sampler = new Sampler(CompiledFunction.compile("sin(x)*exp(-x/50)"));
+
+    @Benchmark
+    public double[][] plotPoints() {
+        return plotter.plotPoints(40.0 / points, 0, 400);
+    }
+
+    @Benchmark
+    public double[][] uniform() {
+        return sampler.uniform(0, 400, 400.0 / points, true);
+    }
+
+    @Benchmark
+    public double[][] adaptive() {
+        // The tolerance a uniform grid of this many points reaches on the function
+        return sampler.adaptive(0, 400, 101, 2e4 / ((double) points * points), 30);
+    }
+}
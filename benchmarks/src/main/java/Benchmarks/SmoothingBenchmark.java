@@ -0,0 +1,86 @@
+package Benchmarks;
+
+import Part1.GraphSmoother;
+import Part1.Point;
+import Part3.Smoother;
+import Smoothing.ParallelSmoother;
+import Smoothing.SmoothingKernel;
+import Stocks.Stock;
+import Stocks.StockSmoother;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the three smoothers with the window sizes their test classes use,
+ * and of the smoothing kernel on its own, sequential and split across all cores.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class SmoothingBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int points;
+
+    @Param({"4"})
+    public int windowValue;
+
+    @Param({"10"})
+    public int smoothingIterations;
+
+    private final GraphSmoother graphSmoother = new GraphSmoother();
+    private final StockSmoother stockSmoother = new StockSmoother();
+    private final Smoother smoother = new Smoother();
+    private final ParallelSmoother parallelSmoother = new ParallelSmoother();
+    private ArrayList<Point> pointList;
+    private ArrayList<Stock> stocks;
+    private double[][] xyPlot;
+
+    @Setup
+    public void setUp() {
+        pointList = SyntheticData.points(points);
+        stocks = SyntheticData.stocks(points);
+        xyPlot = SyntheticData.xyPlot(points);
+    }
+
+    @Benchmark
+    public ArrayList<Point> graphSmoother() {
+        return graphSmoother.smoother(pointList, windowValue);
+    }
+
+    @Benchmark
+    public ArrayList<Stock> stockSmoother() {
+        return stockSmoother.stockSmoother(stocks, windowValue);
+    }
+
+    @Benchmark
+    public double[][] part3Smoother() {
+        return smoother.smooth(xyPlot, windowValue, smoothingIterations);
+    }
+
+    @Benchmark
+    public double[] sequentialKernel() {
+        return SmoothingKernel.centeredMovingAverage(xyPlot[1], windowValue);
+    }
+
+    @Benchmark
+    public double[] parallelKernel() {
+        return parallelSmoother.centeredMovingAverage(xyPlot[1], windowValue);
+    }
+}
@@ -0,0 +1,77 @@
+package Benchmarks;
+
+import Stocks.Stock;
+import Stocks.StockBot;
+import Stocks.StockSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the StockBot data paths: loading the CSV file, the RSI and the moving average heuristic.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class StockBotBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int days;
+
+    private final StockBot stockBot = new StockBot();
+    private String csvFile;
+    private ArrayList<Stock> stocks;
+    private StockSeries stockSeries;
+
+    @Setup
+    public void setUp() {
+        csvFile = SyntheticData.stockCsv(days).toString();
+        stockSeries = SyntheticData.stockSeries(days);
+        stocks = stockSeries.toStocks();
+    }
+
+    @Benchmark
+    public ArrayList<Stock> loadStocks() {
+        return stockBot.loadStocks(csvFile);
+    }
+
+    @Benchmark
+    public StockSeries loadStockSeries() {
+        return stockBot.loadStockSeries(csvFile);
+    }
+
+    @Benchmark
+    public ArrayList<Double> calculateRsi() {
+        return stockBot.calculateRsi(stocks);
+    }
+
+    @Benchmark
+    public double[] calculateRsiSeries() {
+        return stockBot.calculateRsi(stockSeries);
+    }
+
+    @Benchmark
+    public double updateInternalData() {
+        return stockBot.updateInternalData(stocks);
+    }
+
+    @Benchmark
+    public double updateInternalDataSeries() {
+        return stockBot.updateInternalData(stockSeries);
+    }
+}
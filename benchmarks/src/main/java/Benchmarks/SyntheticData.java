@@ -0,0 +1,130 @@
+package Benchmarks;
+
+import Part1.Point;
+import Stocks.Stock;
+import Stocks.StockSeries;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * The SyntheticData class creates the seeded inputs of the benchmarks, so every run measures the same data.
+ * Stock prices follow a random walk with daily returns of about 2%, points follow a noisy sine wave.
+ *
+ * @author petitoa
+ */
+public final class SyntheticData {
+    /**
+     * The seed used by every benchmark.
+     */
+    public static final long SEED = 42;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Creates a random walk of stock prices.
+     *
+     * @param days The number of days.
+     * @return A StockSeries with all OHLCV columns filled.
+     */
+    public static StockSeries stockSeries(int days) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] dates = new double[days];
+        int[] epochDays = new int[days];
+        double[] open = new double[days];
+        double[] high = new double[days];
+        double[] low = new double[days];
+        double[] close = new double[days];
+        double[] adjClose = new double[days];
+        long[] volumes = new long[days];
+
+        int firstDay = (int) LocalDate.of(2000, 1, 3).toEpochDay();
+        double price = 100;
+        for (int i = 0; i < days; i++) {
+            dates[i] = i + 1;
+            epochDays[i] = firstDay + i;
+            open[i] = price;
+            close[i] = price * (1 + 0.02 * (random.nextDouble() * 2 - 1));
+            high[i] = Math.max(open[i], close[i]) * (1 + 0.01 * random.nextDouble());
+            low[i] = Math.min(open[i], close[i]) * (1 - 0.01 * random.nextDouble());
+            adjClose[i] = close[i];
+            volumes[i] = 1_000_000 + random.nextInt(9_000_000);
+            // Keep the walk away from zero however long it runs
+            price = Math.max(1, close[i]);
+        }
+        return new StockSeries(dates, epochDays, open, high, low, close, adjClose, volumes);
+    }
+
+    /**
+     * Creates a random walk of stock prices as Stock objects.
+     *
+     * @param days The number of days.
+     * @return The stocks, one per day.
+     */
+    public static ArrayList<Stock> stocks(int days) {
+        return stockSeries(days).toStocks();
+    }
+
+    /**
+     * Writes a random walk of stock prices to a CSV file in the layout of AMZN.csv.
+     *
+     * @param days The number of days.
+     * @return The temporary file, deleted when the JVM exits.
+     */
+    public static Path stockCsv(int days) {
+        StockSeries stocks = stockSeries(days);
+        try {
+            Path file = Files.createTempFile("synthetic-stocks-" + days + "-", ".csv");
+            file.toFile().deleteOnExit();
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write("Date,Open,High,Low,Close,Adj Close,Volume");
+                for (int i = 0; i < days; i++) {
+                    writer.newLine();
+                    writer.write(LocalDate.ofEpochDay(stocks.getEpochDay(i)) + "," + stocks.getOpenValue(i) + ","
+                            + stocks.getHighValue(i) + "," + stocks.getLowValue(i) + "," + stocks.getCloseValue(i) + ","
+                            + stocks.getAdjCloseValue(i) + "," + stocks.getVolume(i));
+                }
+            }
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the synthetic CSV file", e);
+        }
+    }
+
+    /**
+     * Creates a noisy sine wave as an XY plot dataset.
+     *
+     * @param points The number of points.
+     * @return The dataset, x values in row 0 and y values in row 1.
+     */
+    public static double[][] xyPlot(int points) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[][] xyPlot = new double[2][points];
+        for (int i = 0; i < points; i++) {
+            xyPlot[0][i] = i * 0.2;
+            xyPlot[1][i] = 100 * Math.sin(xyPlot[0][i] / 10) + random.nextDouble(-10, 10);
+        }
+        return xyPlot;
+    }
+
+    /**
+     * Creates a noisy sine wave as Point objects.
+     *
+     * @param points The number of points.
+     * @return The points.
+     */
+    public static ArrayList<Point> points(int points) {
+        double[][] xyPlot = xyPlot(points);
+        ArrayList<Point> pointList = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            pointList.add(new Point(xyPlot[0][i], xyPlot[1][i]));
+        }
+        return pointList;
+    }
+}
@@ -0,0 +1,67 @@
+package Benchmarks;
+
+import Stocks.IndicatorOutput;
+import Stocks.StockSeries;
+import Stocks.TechnicalIndicatorEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the fused TechnicalIndicatorEngine pass, into a new output, into a reused output,
+ * and one day at a time as in live use.
+ *
+ * @author petitoa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TechnicalIndicatorBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int days;
+
+    private final TechnicalIndicatorEngine engine = new TechnicalIndicatorEngine();
+    private StockSeries stockSeries;
+    private IndicatorOutput output;
+
+    @Setup
+    public void setUp() {
+        stockSeries = SyntheticData.stockSeries(days);
+        output = new IndicatorOutput(days);
+    }
+
+    @Benchmark
+    public IndicatorOutput compute() {
+        return engine.compute(stockSeries);
+    }
+
+    @Benchmark
+    public IndicatorOutput computeIntoOutput() {
+        engine.compute(stockSeries, output);
+        return output;
+    }
+
+    @Benchmark
+    public double update() {
+        engine.reset();
+        double sum = 0;
+        for (int day = 0; day < stockSeries.size(); day++) {
+            engine.update(stockSeries, day);
+            sum += engine.getMacdHistogram();
+        }
+        return sum;
+    }
+}
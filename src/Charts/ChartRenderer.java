@@ -0,0 +1,170 @@
+package Charts;
+
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.svg.SVGGraphics2D;
+import org.jfree.svg.SVGUtils;
+
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The ChartRenderer class writes charts straight to PNG or SVG files, with no frame and no display,
+ * so charts can be produced on headless servers.
+ * <p>
+ * Single charts are written with write. A ChartRenderer instance renders many charts in parallel on its own
+ * worker threads: each chart is created and drawn on a worker, so charts must not share datasets or plots.
+ * Downsampled datasets are reduced to the width of the image before drawing.
+ *
+ * @author petitoa
+ */
+public class ChartRenderer implements AutoCloseable {
+    private final ExecutorService workers;
+    private final List<CompletableFuture<Path>> submitted = new ArrayList<>();
+
+    /**
+     * Constructs a new ChartRenderer with one worker per available processor.
+     */
+    public ChartRenderer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new ChartRenderer.
+     *
+     * @param threads The number of worker threads charts are rendered on.
+     * @throws IllegalArgumentException If the number of threads is not positive.
+     */
+    public ChartRenderer(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ChartRenderer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.workers = Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * Writes a chart to a file, as SVG if the file name ends with .svg and as PNG otherwise.
+     *
+     * @param chart  The chart to be written.
+     * @param file   The file written.
+     * @param width  The width of the image in pixels.
+     * @param height The height of the image in pixels.
+     * @throws RuntimeException If the file cannot be written.
+     */
+    public static void write(JFreeChart chart, Path file, int width, int height) {
+        fitToWidth(chart, width);
+        try {
+            if (file.getFileName().toString().toLowerCase().endsWith(".svg")) {
+                SVGGraphics2D graphics = new SVGGraphics2D(width, height);
+                chart.draw(graphics, new Rectangle2D.Double(0, 0, width, height));
+                SVGUtils.writeToSVG(file.toFile(), graphics.getSVGElement());
+            } else {
+                ChartUtils.saveChartAsPNG(file.toFile(), chart, width, height);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the chart to " + file, e);
+        }
+    }
+
+    /**
+     * Creates and writes a chart on a worker thread.
+     *
+     * @param chart  Creates the chart, called on the worker.
+     * @param file   The file written, SVG if its name ends with .svg and PNG otherwise.
+     * @param width  The width of the image in pixels.
+     * @param height The height of the image in pixels.
+     * @return A future completing with the file once it is written.
+     */
+    public CompletableFuture<Path> submit(Supplier<JFreeChart> chart, Path file, int width, int height) {
+        CompletableFuture<Path> future = CompletableFuture.supplyAsync(() -> {
+            write(chart.get(), file, width, height);
+            return file;
+        }, workers);
+        synchronized (submitted) {
+            submitted.add(future);
+        }
+        return future;
+    }
+
+    /**
+     * Waits for every chart submitted so far to be written.
+     *
+     * @return The files written, in the order the charts were submitted.
+     * @throws RuntimeException If a chart failed, after every other chart has finished.
+     */
+    public List<Path> awaitAll() {
+        List<CompletableFuture<Path>> futures;
+        synchronized (submitted) {
+            futures = new ArrayList<>(submitted);
+            submitted.clear();
+        }
+        List<Path> files = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<Path> future : futures) {
+            try {
+                files.add(future.join());
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = new RuntimeException("Error while rendering the charts", e.getCause() != null ? e.getCause() : e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return files;
+    }
+
+    /**
+     * Waits for the submitted charts, then stops the workers.
+     *
+     * @throws RuntimeException If a chart failed.
+     */
+    @Override
+    public void close() {
+        try {
+            awaitAll();
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Reduces the downsampled datasets of an XY chart to the width of the image, over their whole domain.
+     */
+    private static void fitToWidth(JFreeChart chart, int width) {
+        if (!(chart.getPlot() instanceof XYPlot)) {
+            return;
+        }
+        XYPlot plot = (XYPlot) chart.getPlot();
+        for (int i = 0; i < plot.getDatasetCount(); i++) {
+            XYDataset dataset = plot.getDataset(i);
+            if (dataset instanceof DownsampledXYDataset) {
+                ((DownsampledXYDataset) dataset).setPixelWidth(width);
+            }
+        }
+    }
+}
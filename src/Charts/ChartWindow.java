@@ -0,0 +1,51 @@
+package Charts;
+
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYDataset;
+
+import javax.swing.*;
+
+/**
+ * The ChartWindow class shows a chart in a maximized, undecorated frame that ends the program when closed,
+ * the way every chart of the project has always been shown. Charts are created separately, so the same chart
+ * can be rendered to a file by ChartRenderer instead, without a display.
+ *
+ * @author petitoa
+ */
+public final class ChartWindow {
+
+    private ChartWindow() {
+    }
+
+    /**
+     * Shows a chart in its own frame.
+     * Downsampled datasets of an XY chart are bound to the panel, so they follow zooming and panning.
+     *
+     * @param chart The chart to be shown.
+     * @param title The title of the frame.
+     * @return The frame showing the chart.
+     */
+    public static JFrame show(JFreeChart chart, String title) {
+        ChartPanel chartPanel = new ChartPanel(chart);
+        if (chart.getPlot() instanceof XYPlot) {
+            XYPlot plot = (XYPlot) chart.getPlot();
+            for (int i = 0; i < plot.getDatasetCount(); i++) {
+                XYDataset dataset = plot.getDataset(i);
+                if (dataset instanceof DownsampledXYDataset) {
+                    ((DownsampledXYDataset) dataset).bindTo(chartPanel);
+                }
+            }
+        }
+
+        JFrame frame = new JFrame(title);
+        frame.setContentPane(chartPanel);
+
+        frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
+        frame.setUndecorated(true);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setVisible(true);
+        return frame;
+    }
+}
@@ -0,0 +1,324 @@
+package Charts;
+
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDomainInfo;
+import org.jfree.data.xy.XYRangeInfo;
+
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The DownsampledXYDataset class is a drop-in replacement for DefaultXYDataset that gives JFreeChart only about
+ * two points per pixel of the visible part of each series, chosen by a Downsampler, however long the series is.
+ * <p>
+ * Bound to a ChartPanel, it downsamples again whenever the domain axis is zoomed or panned, or the panel is
+ * resized, so zooming in shows every point once few enough are visible. The domain and range bounds it reports
+ * are those of the full series, so zooming back out restores the whole chart, and the range bounds within a
+ * zoomed domain cover every point there, not only the points shown.
+ * Like the rest of JFreeChart it must only be used on the event dispatch thread once shown.
+ *
+ * @author petitoa
+ */
+// The dataset holds the arrays it was given and is never serialized, unlike the JFreeChart datasets
+@SuppressWarnings("serial")
+public class DownsampledXYDataset extends AbstractXYDataset implements DomainInfo, RangeInfo, XYDomainInfo, XYRangeInfo {
+    // Width of the chart in pixels until the panel reports its own
+    private static final int DEFAULT_PIXEL_WIDTH = 1920;
+
+    private final Downsampler.Mode mode;
+    private final List<Series> seriesList = new ArrayList<>();
+    private int pixelWidth = DEFAULT_PIXEL_WIDTH;
+    private double visibleLowerBound = Double.NEGATIVE_INFINITY;
+    private double visibleUpperBound = Double.POSITIVE_INFINITY;
+
+    /**
+     * Constructs a new, empty DownsampledXYDataset using Largest-Triangle-Three-Buckets.
+     */
+    public DownsampledXYDataset() {
+        this(Downsampler.Mode.LTTB);
+    }
+
+    /**
+     * Constructs a new, empty DownsampledXYDataset.
+     *
+     * @param mode The way series are reduced, MIN_MAX keeps the full spread of noisy data.
+     */
+    public DownsampledXYDataset(Downsampler.Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Adds a series, or replaces the series with the same key. The arrays are kept, not copied.
+     *
+     * @param seriesKey The key of the series.
+     * @param data      The points, x values in row 0 and y values in row 1, both of the same length.
+     * @throws IllegalArgumentException If the rows differ in length.
+     */
+    public void addSeries(Comparable<?> seriesKey, double[][] data) {
+        if (data.length != 2 || data[0].length != data[1].length) {
+            throw new IllegalArgumentException("Data must be two rows of the same length");
+        }
+        Series series = new Series(seriesKey, data[0], data[1]);
+        int index = indexOf(seriesKey);
+        if (index >= 0) {
+            seriesList.set(index, series);
+        } else {
+            seriesList.add(series);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Sets the width of the chart in pixels, the series are reduced to about two points per pixel.
+     *
+     * @param pixelWidth The width of the chart in pixels.
+     */
+    public void setPixelWidth(int pixelWidth) {
+        if (pixelWidth < 1 || pixelWidth == this.pixelWidth) {
+            return;
+        }
+        this.pixelWidth = pixelWidth;
+        refresh();
+    }
+
+    /**
+     * Sets the range of x values shown, only the points in it are downsampled.
+     * Series whose x values are not in ascending order are always downsampled whole.
+     *
+     * @param lowerBound The lowest x value shown.
+     * @param upperBound The highest x value shown.
+     */
+    public void setVisibleRange(double lowerBound, double upperBound) {
+        if (lowerBound == visibleLowerBound && upperBound == visibleUpperBound) {
+            return;
+        }
+        this.visibleLowerBound = lowerBound;
+        this.visibleUpperBound = upperBound;
+        refresh();
+    }
+
+    /**
+     * Keeps the dataset downsampled for what a chart panel shows, following zooming, panning and resizing.
+     *
+     * @param chartPanel The panel of an XY chart showing this dataset.
+     */
+    public void bindTo(ChartPanel chartPanel) {
+        ValueAxis domainAxis = chartPanel.getChart().getXYPlot().getDomainAxis();
+        domainAxis.addChangeListener(event -> setVisibleRange(domainAxis.getLowerBound(), domainAxis.getUpperBound()));
+        chartPanel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                Rectangle2D dataArea = chartPanel.getScreenDataArea();
+                int width = dataArea != null && dataArea.getWidth() >= 1 ? (int) dataArea.getWidth() : chartPanel.getWidth();
+                setPixelWidth(width);
+            }
+        });
+        setVisibleRange(domainAxis.getLowerBound(), domainAxis.getUpperBound());
+    }
+
+    /**
+     * Gets the number of points of a series before downsampling.
+     *
+     * @param series The index of the series.
+     * @return The number of points of the full series.
+     */
+    public int getSourceItemCount(int series) {
+        return seriesList.get(series).xs.length;
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return seriesList.size();
+    }
+
+    // The raw type is the one of the JFreeChart method overridden
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Comparable getSeriesKey(int series) {
+        return seriesList.get(series).key;
+    }
+
+    @Override
+    public int getItemCount(int series) {
+        return seriesList.get(series).shown()[0].length;
+    }
+
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    @Override
+    public double getXValue(int series, int item) {
+        return seriesList.get(series).shown()[0][item];
+    }
+
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    @Override
+    public double getYValue(int series, int item) {
+        return seriesList.get(series).shown()[1][item];
+    }
+
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        return bounds(null, true, null).getLowerBound();
+    }
+
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        return bounds(null, true, null).getUpperBound();
+    }
+
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        return bounds(null, true, null);
+    }
+
+    // The raw type is the one of the JFreeChart method overridden
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Range getDomainBounds(List visibleSeriesKeys, boolean includeInterval) {
+        return bounds(visibleSeriesKeys, true, null);
+    }
+
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        return bounds(null, false, null).getLowerBound();
+    }
+
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        return bounds(null, false, null).getUpperBound();
+    }
+
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        return bounds(null, false, null);
+    }
+
+    // The raw type is the one of the JFreeChart method overridden
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange, boolean includeInterval) {
+        return bounds(visibleSeriesKeys, false, xRange);
+    }
+
+    /**
+     * Gets the bounds of the x or y values of the full series, of all series or those with the given keys,
+     * and for y values only of the points within an x range when given.
+     *
+     * @return The bounds, or null if there are no values.
+     */
+    private Range bounds(List<?> seriesKeys, boolean domain, Range xRange) {
+        double lowest = Double.NaN;
+        double highest = Double.NaN;
+        for (Series series : seriesList) {
+            if (seriesKeys != null && !seriesKeys.contains(series.key)) {
+                continue;
+            }
+            Range seriesBounds = domain ? series.xBounds : series.yBounds(xRange);
+            if (seriesBounds == null) {
+                continue;
+            }
+            if (seriesBounds.getLowerBound() < lowest || Double.isNaN(lowest)) {
+                lowest = seriesBounds.getLowerBound();
+            }
+            if (seriesBounds.getUpperBound() > highest || Double.isNaN(highest)) {
+                highest = seriesBounds.getUpperBound();
+            }
+        }
+        return Double.isNaN(lowest) ? null : new Range(lowest, highest);
+    }
+
+    private void refresh() {
+        for (Series series : seriesList) {
+            series.shown = null;
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * A full series with the bounds of its values and its current downsampled points.
+     */
+    private class Series {
+        private final Comparable<?> key;
+        private final double[] xs;
+        private final double[] ys;
+        private final boolean ascending;
+        private final Range xBounds;
+        private final Range yBounds;
+        private double[][] shown;
+
+        private Series(Comparable<?> key, double[] xs, double[] ys) {
+            this.key = key;
+            this.xs = xs;
+            this.ys = ys;
+
+            boolean inOrder = true;
+            for (int i = 1; i < xs.length && inOrder; i++) {
+                inOrder = xs[i] >= xs[i - 1];
+            }
+            this.ascending = inOrder;
+            this.xBounds = bounds(xs, 0, xs.length);
+            this.yBounds = bounds(ys, 0, ys.length);
+        }
+
+        /**
+         * Gets the bounds of the y values of the points within an x range, or of every point without one.
+         */
+        private Range yBounds(Range xRange) {
+            if (xRange == null || !ascending) {
+                return yBounds;
+            }
+            int from = Downsampler.lowerIndex(xs, 0, xs.length, xRange.getLowerBound());
+            int to = Downsampler.upperIndex(xs, from, xs.length, xRange.getUpperBound());
+            return bounds(ys, from, to);
+        }
+
+        private Range bounds(double[] values, int from, int to) {
+            double lowest = Double.NaN;
+            double highest = Double.NaN;
+            for (int i = from; i < to; i++) {
+                // Comparisons with NaN are false, so NaN values are skipped
+                if (values[i] < lowest || Double.isNaN(lowest)) {
+                    lowest = values[i];
+                }
+                if (values[i] > highest || Double.isNaN(highest)) {
+                    highest = values[i];
+                }
+            }
+            return Double.isNaN(lowest) ? null : new Range(lowest, highest);
+        }
+
+        /**
+         * Gets the downsampled points of the visible range, computed once per change of range or width.
+         */
+        private double[][] shown() {
+            if (shown == null) {
+                int from = 0;
+                int to = xs.length;
+                if (ascending) {
+                    // One point beyond each side of the range, so the line runs to the edges of the chart
+                    from = Math.max(0, Downsampler.lowerIndex(xs, 0, xs.length, visibleLowerBound) - 1);
+                    to = Math.min(xs.length, Downsampler.upperIndex(xs, 0, xs.length, visibleUpperBound) + 1);
+                }
+                shown = to > from
+                        ? Downsampler.downsample(mode, xs, ys, from, to, 2 * pixelWidth, ascending)
+                        : new double[2][0];
+            }
+            return shown;
+        }
+    }
+}
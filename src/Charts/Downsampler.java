@@ -0,0 +1,246 @@
+package Charts;
+
+import java.util.Arrays;
+
+/**
+ * The Downsampler class reduces a series to about as many points as a chart has pixels across,
+ * keeping the points that shape the line drawn.
+ * <p>
+ * Largest-Triangle-Three-Buckets splits the series into buckets and keeps from each the point forming the
+ * largest triangle with the point kept before it and the mean of the next bucket, which keeps peaks and turns
+ * of a smooth line. Min/max keeps the lowest and highest point of each bucket, which keeps the full vertical
+ * extent of noisy data, such as salted points, exactly as a line through every point would draw it.
+ * <p>
+ * When the x values are in ascending order the min/max buckets are equal ranges of x, one per pixel,
+ * otherwise they are equal ranges of indices. The first and last point of the series are always kept.
+ *
+ * @author petitoa
+ */
+public final class Downsampler {
+
+    /**
+     * The ways a series can be reduced.
+     */
+    public enum Mode {
+        /**
+         * Largest-Triangle-Three-Buckets, one point per bucket.
+         */
+        LTTB,
+        /**
+         * The lowest and highest point per bucket.
+         */
+        MIN_MAX
+    }
+
+    private Downsampler() {
+    }
+
+    /**
+     * Reduces a range of a series with the given mode to at most about points points.
+     *
+     * @param mode      The way the series is reduced.
+     * @param xs        The x values of the series.
+     * @param ys        The y values of the series.
+     * @param from      The index of the first point of the range.
+     * @param to        The index after the last point of the range.
+     * @param points    The number of points to keep, twice the number of buckets for MIN_MAX.
+     * @param ascending Whether the x values are in ascending order.
+     * @return The kept points in order, x values in row 0 and y values in row 1.
+     */
+    public static double[][] downsample(Mode mode, double[] xs, double[] ys, int from, int to, int points, boolean ascending) {
+        if (mode == Mode.LTTB) {
+            return lttb(xs, ys, from, to, points);
+        }
+        return minMax(xs, ys, from, to, Math.max(1, points / 2), ascending);
+    }
+
+    /**
+     * Reduces a range of a series with Largest-Triangle-Three-Buckets.
+     *
+     * @param xs        The x values of the series.
+     * @param ys        The y values of the series.
+     * @param from      The index of the first point of the range.
+     * @param to        The index after the last point of the range.
+     * @param threshold The number of points to keep, at least 3 or the range is reduced to its ends.
+     * @return The kept points in order, x values in row 0 and y values in row 1.
+     */
+    public static double[][] lttb(double[] xs, double[] ys, int from, int to, int threshold) {
+        int n = to - from;
+        if (threshold >= n || n <= 2) {
+            return copy(xs, ys, from, to);
+        }
+        if (threshold < 3) {
+            return new double[][]{{xs[from], xs[to - 1]}, {ys[from], ys[to - 1]}};
+        }
+
+        double[] keptXs = new double[threshold];
+        double[] keptYs = new double[threshold];
+        // The first and last point are kept, the others are split into threshold - 2 buckets
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = from;
+        keptXs[0] = xs[a];
+        keptYs[0] = ys[a];
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Mean of the next bucket, which is the last point for the last bucket
+            int nextStart = from + (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min(from + (int) ((bucket + 2) * bucketSize) + 1, to);
+            double meanX = 0;
+            double meanY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                meanX += xs[i];
+                meanY += ys[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            meanX /= nextCount;
+            meanY /= nextCount;
+
+            int start = from + (int) (bucket * bucketSize) + 1;
+            int end = from + (int) ((bucket + 1) * bucketSize) + 1;
+            double ax = xs[a];
+            double ay = ys[a];
+            double largestArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the area of the triangle, the factor does not change which is largest
+                double area = Math.abs((ax - meanX) * (ys[i] - ay) - (ax - xs[i]) * (meanY - ay));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+            keptXs[bucket + 1] = xs[chosen];
+            keptYs[bucket + 1] = ys[chosen];
+            a = chosen;
+        }
+
+        keptXs[threshold - 1] = xs[to - 1];
+        keptYs[threshold - 1] = ys[to - 1];
+        return new double[][]{keptXs, keptYs};
+    }
+
+    /**
+     * Reduces a range of a series to the lowest and highest point of each bucket, in their order in the series.
+     *
+     * @param xs        The x values of the series.
+     * @param ys        The y values of the series.
+     * @param from      The index of the first point of the range.
+     * @param to        The index after the last point of the range.
+     * @param buckets   The number of buckets, such as the width of the chart in pixels.
+     * @param ascending Whether the x values are in ascending order, so buckets can be equal ranges of x.
+     * @return The kept points in order, x values in row 0 and y values in row 1.
+     */
+    public static double[][] minMax(double[] xs, double[] ys, int from, int to, int buckets, boolean ascending) {
+        int n = to - from;
+        if (2 * buckets + 2 >= n) {
+            return copy(xs, ys, from, to);
+        }
+
+        double[] keptXs = new double[2 * buckets + 2];
+        double[] keptYs = new double[2 * buckets + 2];
+        int kept = 0;
+        double lowestX = xs[from];
+        double width = xs[to - 1] - lowestX;
+        boolean byX = ascending && width > 0;
+
+        int start = from;
+        int last = -1;
+        for (int bucket = 0; bucket < buckets && start < to; bucket++) {
+            int end;
+            if (bucket == buckets - 1) {
+                end = to;
+            } else if (byX) {
+                // First index whose x is in a later bucket
+                end = upperIndex(xs, start, to, lowestX + width * (bucket + 1) / buckets);
+            } else {
+                end = from + (int) ((long) n * (bucket + 1) / buckets);
+            }
+            if (end <= start) {
+                continue;
+            }
+
+            int lowest = start;
+            int highest = start;
+            for (int i = start + 1; i < end; i++) {
+                // Comparisons are false for NaN, so a NaN point is only kept when its bucket has no other
+                if (ys[i] < ys[lowest] || Double.isNaN(ys[lowest])) {
+                    lowest = i;
+                }
+                if (ys[i] > ys[highest] || Double.isNaN(ys[highest])) {
+                    highest = i;
+                }
+            }
+            int first = Math.min(lowest, highest);
+            int second = Math.max(lowest, highest);
+            // The first point of the series is kept whatever its value, so the line starts where it does
+            if (bucket == 0 && first != from) {
+                keptXs[kept] = xs[from];
+                keptYs[kept++] = ys[from];
+            }
+            keptXs[kept] = xs[first];
+            keptYs[kept++] = ys[first];
+            if (second != first) {
+                keptXs[kept] = xs[second];
+                keptYs[kept++] = ys[second];
+            }
+            last = second;
+            start = end;
+        }
+        // The last point of the series is kept too, so the line ends where it does
+        if (last != to - 1) {
+            keptXs[kept] = xs[to - 1];
+            keptYs[kept++] = ys[to - 1];
+        }
+        return new double[][]{Arrays.copyOf(keptXs, kept), Arrays.copyOf(keptYs, kept)};
+    }
+
+    /**
+     * Gets the first index in a range of ascending x values whose x is above a value.
+     *
+     * @param xs    The x values, ascending over the range.
+     * @param from  The index of the first x value of the range.
+     * @param to    The index after the last x value of the range.
+     * @param value The value searched for.
+     * @return The first index whose x is above the value, or to if there is none.
+     */
+    static int upperIndex(double[] xs, int from, int to, double value) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (xs[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the first index in a range of ascending x values whose x is at or above a value.
+     *
+     * @param xs    The x values, ascending over the range.
+     * @param from  The index of the first x value of the range.
+     * @param to    The index after the last x value of the range.
+     * @param value The value searched for.
+     * @return The first index whose x is at or above the value, or to if there is none.
+     */
+    static int lowerIndex(double[] xs, int from, int to, double value) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (xs[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static double[][] copy(double[] xs, double[] ys, int from, int to) {
+        return new double[][]{Arrays.copyOfRange(xs, from, to), Arrays.copyOfRange(ys, from, to)};
+    }
+}
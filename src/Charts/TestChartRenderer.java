@@ -0,0 +1,102 @@
+package Charts;
+
+import Part1.ChartPointSink;
+import Part1.PointPipeline;
+import Part3.Plotter;
+import Part3.Salt;
+import Part3.Smoother;
+import Salting.NoiseModel;
+import Stocks.StockBot;
+import Stocks.StockSeries;
+import Stocks.StockSmoother;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The TestChartRenderer class serves as a test for the ChartRenderer functionality.
+ * It writes every chart of the project to PNG and SVG files without a display, checks the files were written,
+ * and times rendering a batch of charts on one worker against one worker per processor.
+ * The charts are written to a temporary directory, deleted at the end.
+ *
+ * @author petitoa
+ */
+public class TestChartRenderer {
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int charts = args.length > 0 ? Integer.parseInt(args[0]) : 48;
+        Path directory = Files.createTempDirectory("charts");
+
+        Plotter plotter = new Plotter();
+        Salt salt = new Salt();
+        Smoother smoother = new Smoother();
+        double[][] plotted = plotter.plotPoints(.2, 0, 380);
+        double[][] salted = salt.saltXYPlot(plotted, NoiseModel.uniform(0, 100));
+        double[][] smoothed = smoother.smooth(salted, 10, 10);
+
+        StockBot stockBot = new StockBot();
+        StockSeries stocks = stockBot.loadStockSeries("AMZN.csv");
+        StockSmoother stockSmoother = new StockSmoother();
+
+        for (String extension : new String[]{"png", "svg"}) {
+            ChartRenderer.write(plotter.createChart(plotted), directory.resolve("plot." + extension), 1200, 800);
+            ChartRenderer.write(salt.createChart(salted), directory.resolve("salt." + extension), 1200, 800);
+            ChartRenderer.write(smoother.createChart(smoothed), directory.resolve("smooth." + extension), 1200, 800);
+            ChartRenderer.write(stockBot.createRsiChart(stocks), directory.resolve("rsi." + extension), 1200, 800);
+            ChartRenderer.write(stockSmoother.createSmoothedStocksChart(stocks, 4), directory.resolve("stocks." + extension), 1200, 800);
+
+            Path pipelineFile = directory.resolve("pipeline." + extension);
+            PointPipeline.plot(new Part1.Plotter(), .2, 0, 380).smooth(10).run(new ChartPointSink("Pipeline", pipelineFile, 1200, 800));
+        }
+
+        boolean written = true;
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                long size = Files.size(file);
+                written &= size > 0;
+                System.out.println(file.getFileName() + ": " + size + " bytes");
+            }
+        }
+        String svg = Files.readString(directory.resolve("rsi.svg"));
+        System.out.println("All files written: " + written + ", SVG document: " + svg.contains("<svg"));
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads : new int[]{1, processors}) {
+            long start = System.nanoTime();
+            List<Path> files;
+            try (ChartRenderer renderer = new ChartRenderer(threads)) {
+                for (int i = 0; i < charts; i++) {
+                    renderer.submit(() -> salt.createChart(salted), directory.resolve("batch-" + threads + "-" + i + ".png"), 800, 600);
+                }
+                files = renderer.awaitAll();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d charts on %d threads: %.2f s, %.1f charts/s%n", files.size(), threads, seconds, files.size() / seconds);
+        }
+
+        try (ChartRenderer renderer = new ChartRenderer(2)) {
+            renderer.submit(() -> salt.createChart(salted), directory.resolve("missing").resolve("chart.png"), 800, 600);
+            renderer.awaitAll();
+            System.out.println("Missing directory: no error");
+        } catch (RuntimeException e) {
+            System.out.println("Missing directory: " + e.getMessage());
+        }
+
+        deleteDirectory(directory);
+    }
+
+    /**
+     * Deletes a directory with the files in it.
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package Charts;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.DefaultXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+import java.util.Random;
+
+/**
+ * The TestDownsampler class serves as a test for the Downsampler and DownsampledXYDataset functionality.
+ * It checks that both modes keep the ends and the extremes of a long noisy series, that the dataset shows every
+ * point once zoomed in far enough and the full bounds when zoomed out, and times drawing a chart of the
+ * full series against the downsampled one without a display.
+ *
+ * @author petitoa
+ */
+public class TestDownsampler {
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Random random = new Random(11);
+        double[][] data = new double[2][n];
+        for (int i = 0; i < n; i++) {
+            data[0][i] = i * 0.01;
+            data[1][i] = 100 * Math.sin(data[0][i] / 50) + random.nextGaussian() * 5;
+        }
+        data[1][n / 3] = 1000;
+        data[1][2 * n / 3] = -1000;
+
+        for (Downsampler.Mode mode : Downsampler.Mode.values()) {
+            double[][] kept = Downsampler.downsample(mode, data[0], data[1], 0, n, 2000, true);
+            boolean ordered = true;
+            double lowest = Double.POSITIVE_INFINITY;
+            double highest = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < kept[0].length; i++) {
+                ordered &= i == 0 || kept[0][i] > kept[0][i - 1];
+                lowest = Math.min(lowest, kept[1][i]);
+                highest = Math.max(highest, kept[1][i]);
+            }
+            boolean ends = kept[0][0] == data[0][0] && kept[0][kept[0].length - 1] == data[0][n - 1];
+            System.out.println(mode + ": " + n + " points to " + kept[0].length + ", ordered " + ordered
+                    + ", ends kept " + ends + ", spikes kept " + (lowest == -1000 && highest == 1000));
+        }
+
+        DownsampledXYDataset dataset = new DownsampledXYDataset(Downsampler.Mode.MIN_MAX);
+        dataset.addSeries("Noisy Sine", data);
+        JFreeChart chart = ChartFactory.createXYLineChart("Noisy Sine", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
+        ChartPanel chartPanel = new ChartPanel(chart);
+        dataset.bindTo(chartPanel);
+        dataset.setPixelWidth(1000);
+        System.out.println("Whole chart: " + dataset.getItemCount(0) + " of " + dataset.getSourceItemCount(0)
+                + " points, domain " + dataset.getDomainBounds(false) + ", range " + dataset.getRangeBounds(false));
+
+        chart.getXYPlot().getDomainAxis().setRange(5000, 5001);
+        boolean everyPoint = dataset.getItemCount(0) == 103 && dataset.getXValue(0, 1) == data[0][500_000];
+        System.out.println("Zoomed to 1 unit: " + dataset.getItemCount(0) + " points, every point shown " + everyPoint);
+        chart.getXYPlot().getDomainAxis().setRange(0, 5000);
+        System.out.println("Zoomed to 5000 units: " + dataset.getItemCount(0) + " points");
+        chart.getXYPlot().getDomainAxis().setAutoRange(true);
+        System.out.println("Zoomed out: " + dataset.getItemCount(0) + " points, domain axis "
+                + chart.getXYPlot().getDomainAxis().getRange());
+
+        DefaultXYDataset full = new DefaultXYDataset();
+        full.addSeries("Noisy Sine", data);
+        DownsampledXYDataset downsampled = new DownsampledXYDataset(Downsampler.Mode.MIN_MAX);
+        downsampled.addSeries("Noisy Sine", data);
+        for (int run = 0; run < 3; run++) {
+            System.out.printf("Drawing 1920x1080: every point %.1f ms, downsampled %.1f ms%n", draw(full), draw(downsampled));
+        }
+    }
+
+    private static double draw(XYDataset dataset) {
+        JFreeChart chart = ChartFactory.createXYLineChart("Noisy Sine", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
+        long start = System.nanoTime();
+        chart.createBufferedImage(1920, 1080);
+        return (System.nanoTime() - start) / 1e6;
+    }
+}
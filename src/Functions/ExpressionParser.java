@@ -0,0 +1,212 @@
+package Functions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ExpressionParser class parses a function of x into a tree of nodes, by recursive descent.
+ * Parts of the expression that do not depend on x are folded into constants as they are parsed.
+ * <p>
+ * The grammar, from lowest to highest precedence:
+ * <pre>
+ * expression = term (('+' | '-') term)*
+ * term       = unary (('*' | '/') unary)*
+ * unary      = ('-' | '+') unary | power
+ * power      = primary ('^' unary)?
+ * primary    = number | 'x' | 'pi' | 'e' | name '(' expression (',' expression)* ')' | '(' expression ')'
+ * </pre>
+ * so ^ is right associative and binds tighter than a leading minus, as in -x^2 = -(x^2).
+ *
+ * @author petitoa
+ */
+class ExpressionParser {
+    private final String expression;
+    private int position;
+
+    private ExpressionParser(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Parses an expression.
+     *
+     * @throws IllegalArgumentException If the expression is not a valid function of x.
+     */
+    static Node parse(String expression) {
+        ExpressionParser parser = new ExpressionParser(expression);
+        Node node = parser.parseExpression();
+        parser.skipSpaces();
+        if (parser.position < expression.length()) {
+            throw parser.error("Unexpected '" + expression.charAt(parser.position) + "'");
+        }
+        return node;
+    }
+
+    private Node parseExpression() {
+        Node node = parseTerm();
+        while (accept('+') || accept('-')) {
+            char operator = expression.charAt(position - 1);
+            node = fold(new Node.Binary(operator, node, parseTerm()));
+        }
+        return node;
+    }
+
+    private Node parseTerm() {
+        Node node = parseUnary();
+        while (accept('*') || accept('/')) {
+            char operator = expression.charAt(position - 1);
+            node = fold(new Node.Binary(operator, node, parseUnary()));
+        }
+        return node;
+    }
+
+    private Node parseUnary() {
+        if (accept('-')) {
+            return fold(new Node.Negate(parseUnary()));
+        }
+        if (accept('+')) {
+            return parseUnary();
+        }
+        return parsePower();
+    }
+
+    private Node parsePower() {
+        Node node = parsePrimary();
+        if (accept('^')) {
+            node = fold(new Node.Binary('^', node, parseUnary()));
+        }
+        return node;
+    }
+
+    private Node parsePrimary() {
+        skipSpaces();
+        if (position >= expression.length()) {
+            throw error("Unexpected end of expression");
+        }
+        char c = expression.charAt(position);
+        if (accept('(')) {
+            Node node = parseExpression();
+            expect(')');
+            return node;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return new Node.Constant(parseNumber());
+        }
+        if (Character.isLetter(c) || c == '_') {
+            int start = position;
+            String name = parseName();
+            switch (name) {
+                case "x":
+                    return new Node.Variable();
+                case "pi":
+                    return new Node.Constant(Math.PI);
+                case "e":
+                    return new Node.Constant(Math.E);
+                default:
+                    return parseCall(name, start);
+            }
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private Node parseCall(String name, int start) {
+        MathFunction function = MathFunction.byName(name);
+        if (function == null) {
+            position = start;
+            throw error("Unknown name '" + name + "'");
+        }
+        expect('(');
+        List<Node> arguments = new ArrayList<>();
+        do {
+            arguments.add(parseExpression());
+        } while (accept(','));
+        expect(')');
+        if (arguments.size() != function.getArity()) {
+            position = start;
+            throw error(name + " takes " + function.getArity() + " argument(s), not " + arguments.size());
+        }
+        return fold(new Node.Call(function, arguments.toArray(new Node[0])));
+    }
+
+    private double parseNumber() {
+        int start = position;
+        while (position < expression.length() && (Character.isDigit(expression.charAt(position)) || expression.charAt(position) == '.')) {
+            position++;
+        }
+        // An exponent such as 1e-3, but not the constant e on its own
+        if (position < expression.length() && (expression.charAt(position) == 'e' || expression.charAt(position) == 'E')) {
+            int exponent = position + 1;
+            if (exponent < expression.length() && (expression.charAt(exponent) == '+' || expression.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < expression.length() && Character.isDigit(expression.charAt(exponent))) {
+                position = exponent;
+                while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+                    position++;
+                }
+            }
+        }
+        String number = expression.substring(start, position);
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid number '" + number + "'");
+        }
+    }
+
+    private String parseName() {
+        int start = position;
+        while (position < expression.length()
+                && (Character.isLetterOrDigit(expression.charAt(position)) || expression.charAt(position) == '_')) {
+            position++;
+        }
+        return expression.substring(start, position);
+    }
+
+    /**
+     * Replaces a node whose operands are all constants with its value.
+     */
+    private static Node fold(Node node) {
+        if (node instanceof Node.Negate && !((Node.Negate) node).operand.isConstant()) {
+            return node;
+        }
+        if (node instanceof Node.Binary
+                && !(((Node.Binary) node).left.isConstant() && ((Node.Binary) node).right.isConstant())) {
+            return node;
+        }
+        if (node instanceof Node.Call) {
+            for (Node argument : ((Node.Call) node).arguments) {
+                if (!argument.isConstant()) {
+                    return node;
+                }
+            }
+        }
+        return new Node.Constant(node.value(0));
+    }
+
+    private boolean accept(char c) {
+        skipSpaces();
+        if (position < expression.length() && expression.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private void skipSpaces() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " of \"" + expression + "\"");
+    }
+}
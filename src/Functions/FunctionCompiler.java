@@ -0,0 +1,389 @@
+package Functions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The FunctionCompiler class turns a parsed expression into a hidden class extending CompiledFunction.
+ * The class file is written by hand: both generated methods are the expression's operations on the operand
+ * stack, with Math methods called directly, and evaluateRange wraps them in a counted loop.
+ * Hidden classes are unloaded once their function is no longer used, so compiling many functions does not leak.
+ *
+ * @author petitoa
+ */
+class FunctionCompiler {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final String SUPER_CLASS = "Functions/CompiledFunction";
+
+    // Class file version of Java 17
+    private static final int VERSION = 61;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD = 0x15;
+    private static final int DLOAD = 0x18;
+    private static final int ILOAD_3 = 0x1d;
+    private static final int DLOAD_1 = 0x27;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int DALOAD = 0x31;
+    private static final int DSTORE = 0x39;
+    private static final int DASTORE = 0x52;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DDIV = 0x6f;
+    private static final int DNEG = 0x77;
+    private static final int IINC = 0x84;
+    private static final int IF_ICMPLT = 0xa1;
+    private static final int GOTO = 0xa7;
+    private static final int DRETURN = 0xaf;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    private static final int SAME_FRAME_EXTENDED = 251;
+
+    // Local of x in value(double x), and in evaluateRange(xs, ys, from, to) once loaded from xs
+    private static final int VALUE_X = 1;
+    private static final int RANGE_X = 5;
+
+    private final ConstantPool constants = new ConstantPool();
+    private final int codeName = constants.utf8("Code");
+    private final int stackMapTableName = constants.utf8("StackMapTable");
+
+    private FunctionCompiler() {
+    }
+
+    /**
+     * Compiles a parsed expression to a new instance of a hidden class.
+     */
+    static CompiledFunction compile(Node node) {
+        byte[] classFile = new FunctionCompiler().writeClass(node);
+        try {
+            MethodHandles.Lookup lookup = LOOKUP.defineHiddenClass(classFile, true);
+            return (CompiledFunction) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Error while loading the compiled function", t);
+        }
+    }
+
+    private byte[] writeClass(Node node) {
+        int thisClass = constants.classRef("Functions/CompiledFunction$Generated");
+        int superClass = constants.classRef(SUPER_CLASS);
+        byte[] constructor = writeMethod(ACC_PUBLIC, "<init>", "()V", 1, 1, writeConstructor());
+        byte[] value = writeMethod(ACC_PUBLIC | ACC_FINAL, "value", "(D)D", node.stackSize(), 3, writeValue(node));
+        byte[] evaluateRange = writeMethod(ACC_PUBLIC | ACC_FINAL, "evaluateRange", "([D[DII)V",
+                2 + node.stackSize(), 7, writeRange(node));
+
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+            constants.write(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(3);
+            out.write(constructor);
+            out.write(value);
+            out.write(evaluateRange);
+            out.writeShort(0);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the compiled function", e);
+        }
+    }
+
+    private Code writeConstructor() {
+        Code code = new Code();
+        code.op(ALOAD_0);
+        code.op(INVOKESPECIAL);
+        code.u2(constants.methodRef(SUPER_CLASS, "<init>", "()V"));
+        code.op(RETURN);
+        return code;
+    }
+
+    private Code writeValue(Node node) {
+        Code code = new Code();
+        writeNode(code, node, VALUE_X);
+        code.op(DRETURN);
+        return code;
+    }
+
+    /**
+     * Writes the loop
+     * <pre>
+     *     goto test
+     * body:
+     *     x = xs[from]; ys[from] = expression; from++
+     * test:
+     *     if (from &lt; to) goto body
+     *     return
+     * </pre>
+     * Both branch targets have the locals and empty stack the method starts with, so each needs a same frame.
+     */
+    private Code writeRange(Node node) {
+        Code code = new Code();
+        code.op(GOTO);
+        int gotoOffset = code.size();
+        code.u2(0);
+
+        int body = code.size();
+        code.op(ALOAD_1);
+        code.op(ILOAD_3);
+        code.op(DALOAD);
+        code.op(DSTORE);
+        code.op(RANGE_X);
+        code.op(ALOAD_2);
+        code.op(ILOAD_3);
+        writeNode(code, node, RANGE_X);
+        code.op(DASTORE);
+        code.op(IINC);
+        code.op(3);
+        code.op(1);
+
+        int test = code.size();
+        code.op(ILOAD_3);
+        code.op(ILOAD);
+        code.op(4);
+        code.op(IF_ICMPLT);
+        code.u2(body - (test + 3));
+        code.op(RETURN);
+        code.patchU2(gotoOffset, test - (gotoOffset - 1));
+        if (code.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Expression too long to compile");
+        }
+
+        Code frames = new Code();
+        frames.u2(2);
+        frames.op(body);
+        int delta = test - body - 1;
+        if (delta < 64) {
+            frames.op(delta);
+        } else {
+            frames.op(SAME_FRAME_EXTENDED);
+            frames.u2(delta);
+        }
+        code.stackMapTable = frames.bytes();
+        return code;
+    }
+
+    private void writeNode(Code code, Node node, int xLocal) {
+        if (node instanceof Node.Constant) {
+            double value = ((Node.Constant) node).value;
+            if (Double.doubleToRawLongBits(value) == 0L) {
+                code.op(DCONST_0);
+            } else if (value == 1.0) {
+                code.op(DCONST_1);
+            } else {
+                code.op(LDC2_W);
+                code.u2(constants.doubleConstant(value));
+            }
+        } else if (node instanceof Node.Variable) {
+            if (xLocal == VALUE_X) {
+                code.op(DLOAD_1);
+            } else {
+                code.op(DLOAD);
+                code.op(xLocal);
+            }
+        } else if (node instanceof Node.Negate) {
+            writeNode(code, ((Node.Negate) node).operand, xLocal);
+            code.op(DNEG);
+        } else if (node instanceof Node.Binary) {
+            Node.Binary binary = (Node.Binary) node;
+            writeNode(code, binary.left, xLocal);
+            writeNode(code, binary.right, xLocal);
+            switch (binary.operator) {
+                case '+':
+                    code.op(DADD);
+                    break;
+                case '-':
+                    code.op(DSUB);
+                    break;
+                case '*':
+                    code.op(DMUL);
+                    break;
+                case '/':
+                    code.op(DDIV);
+                    break;
+                default:
+                    code.op(INVOKESTATIC);
+                    code.u2(constants.methodRef("java/lang/Math", "pow", "(DD)D"));
+            }
+        } else {
+            Node.Call call = (Node.Call) node;
+            for (Node argument : call.arguments) {
+                writeNode(code, argument, xLocal);
+            }
+            code.op(INVOKESTATIC);
+            code.u2(constants.methodRef("java/lang/Math", call.function.getMethodName(), call.function.getDescriptor()));
+        }
+    }
+
+    private byte[] writeMethod(int access, String name, String descriptor, int maxStack, int maxLocals, Code code) {
+        byte[] stackMapTable = code.stackMapTable;
+        int nameIndex = constants.utf8(name);
+        int descriptorIndex = constants.utf8(descriptor);
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            byte[] codeBytes = code.bytes();
+            int attributesLength = stackMapTable == null ? 0 : 6 + stackMapTable.length;
+            out.writeShort(access);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + codeBytes.length + attributesLength);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(codeBytes.length);
+            out.write(codeBytes);
+            out.writeShort(0);
+            out.writeShort(stackMapTable == null ? 0 : 1);
+            if (stackMapTable != null) {
+                out.writeShort(stackMapTableName);
+                out.writeInt(stackMapTable.length);
+                out.write(stackMapTable);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the compiled function", e);
+        }
+    }
+
+    /**
+     * The bytecode of a method being written.
+     */
+    private static class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private byte[] stackMapTable;
+
+        void op(int value) {
+            bytes.write(value);
+        }
+
+        void u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+
+        void patchU2(int offset, int value) {
+            byte[] written = bytes.toByteArray();
+            written[offset] = (byte) (value >>> 8);
+            written[offset + 1] = (byte) value;
+            bytes.reset();
+            bytes.write(written, 0, written.length);
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        byte[] bytes() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * The constant pool of the class being written, each entry added once.
+     */
+    private static class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int DOUBLE = 6;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indices = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return add("U" + value, 1, () -> {
+                out.writeByte(UTF8);
+                out.writeUTF(value);
+            });
+        }
+
+        int classRef(String name) {
+            int nameIndex = utf8(name);
+            return add("C" + name, 1, () -> {
+                out.writeByte(CLASS);
+                out.writeShort(nameIndex);
+            });
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = add("N" + name + descriptor, 1, () -> {
+                out.writeByte(NAME_AND_TYPE);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return add("M" + owner + "." + name + descriptor, 1, () -> {
+                out.writeByte(METHOD_REF);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        int doubleConstant(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            // A double takes two entries of the pool
+            return add("D" + bits, 2, () -> {
+                out.writeByte(DOUBLE);
+                out.writeLong(bits);
+            });
+        }
+
+        void write(DataOutputStream classOut) throws IOException {
+            out.flush();
+            classOut.writeShort(count);
+            bytes.writeTo(classOut);
+        }
+
+        private int add(String key, int entries, Entry entry) {
+            Integer index = indices.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                entry.write();
+            } catch (IOException e) {
+                throw new RuntimeException("Error while writing the compiled function", e);
+            }
+            indices.put(key, count);
+            count += entries;
+            if (count > 0xFFFF) {
+                throw new IllegalArgumentException("Expression too long to compile");
+            }
+            return count - entries;
+        }
+
+        private interface Entry {
+            void write() throws IOException;
+        }
+    }
+}
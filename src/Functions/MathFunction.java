@@ -0,0 +1,90 @@
+package Functions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The functions an expression may call, each one a static method of java.lang.Math.
+ *
+ * @author petitoa
+ */
+enum MathFunction {
+    SIN(Math::sin),
+    COS(Math::cos),
+    TAN(Math::tan),
+    ASIN(Math::asin),
+    ACOS(Math::acos),
+    ATAN(Math::atan),
+    SINH(Math::sinh),
+    COSH(Math::cosh),
+    TANH(Math::tanh),
+    EXP(Math::exp),
+    LOG(Math::log),
+    LOG10(Math::log10),
+    SQRT(Math::sqrt),
+    CBRT(Math::cbrt),
+    ABS(Math::abs),
+    FLOOR(Math::floor),
+    CEIL(Math::ceil),
+    SIGNUM(Math::signum),
+    POW(Math::pow),
+    ATAN2(Math::atan2),
+    HYPOT(Math::hypot),
+    MIN(Math::min),
+    MAX(Math::max);
+
+    private static final Map<String, MathFunction> BY_NAME = new HashMap<>();
+
+    static {
+        for (MathFunction function : values()) {
+            BY_NAME.put(function.methodName, function);
+        }
+    }
+
+    private final String methodName;
+    private final DoubleUnaryOperator unary;
+    private final DoubleBinaryOperator binary;
+
+    MathFunction(DoubleUnaryOperator unary) {
+        this.methodName = name().toLowerCase();
+        this.unary = unary;
+        this.binary = null;
+    }
+
+    MathFunction(DoubleBinaryOperator binary) {
+        this.methodName = name().toLowerCase();
+        this.unary = null;
+        this.binary = binary;
+    }
+
+    /**
+     * Finds a function by the name used in expressions, which is the name of its Math method.
+     *
+     * @return The function, or null if there is none with the name.
+     */
+    static MathFunction byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    int getArity() {
+        return unary != null ? 1 : 2;
+    }
+
+    String getDescriptor() {
+        return unary != null ? "(D)D" : "(DD)D";
+    }
+
+    double apply(double a) {
+        return unary.applyAsDouble(a);
+    }
+
+    double apply(double a, double b) {
+        return binary.applyAsDouble(a, b);
+    }
+}
@@ -0,0 +1,139 @@
+package Functions;
+
+/**
+ * A node of a parsed expression. The tree can evaluate itself directly, which the parser uses to fold
+ * the parts not depending on x, and FunctionCompiler turns it into bytecode.
+ *
+ * @author petitoa
+ */
+abstract class Node {
+
+    /**
+     * Evaluates the node by walking the tree.
+     */
+    abstract double value(double x);
+
+    /**
+     * Gets the operand stack size in slots the node's bytecode needs, 2 per double.
+     */
+    abstract int stackSize();
+
+    boolean isConstant() {
+        return false;
+    }
+
+    static final class Constant extends Node {
+        final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double value(double x) {
+            return value;
+        }
+
+        @Override
+        int stackSize() {
+            return 2;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+    }
+
+    static final class Variable extends Node {
+        @Override
+        double value(double x) {
+            return x;
+        }
+
+        @Override
+        int stackSize() {
+            return 2;
+        }
+    }
+
+    static final class Negate extends Node {
+        final Node operand;
+
+        Negate(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double value(double x) {
+            return -operand.value(x);
+        }
+
+        @Override
+        int stackSize() {
+            return operand.stackSize();
+        }
+    }
+
+    static final class Binary extends Node {
+        final char operator;
+        final Node left;
+        final Node right;
+
+        Binary(char operator, Node left, Node right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double value(double x) {
+            double a = left.value(x);
+            double b = right.value(x);
+            switch (operator) {
+                case '+':
+                    return a + b;
+                case '-':
+                    return a - b;
+                case '*':
+                    return a * b;
+                case '/':
+                    return a / b;
+                default:
+                    return Math.pow(a, b);
+            }
+        }
+
+        @Override
+        int stackSize() {
+            return Math.max(left.stackSize(), 2 + right.stackSize());
+        }
+    }
+
+    static final class Call extends Node {
+        final MathFunction function;
+        final Node[] arguments;
+
+        Call(MathFunction function, Node[] arguments) {
+            this.function = function;
+            this.arguments = arguments;
+        }
+
+        @Override
+        double value(double x) {
+            if (arguments.length == 1) {
+                return function.apply(arguments[0].value(x));
+            }
+            return function.apply(arguments[0].value(x), arguments[1].value(x));
+        }
+
+        @Override
+        int stackSize() {
+            int size = 0;
+            for (int i = 0; i < arguments.length; i++) {
+                size = Math.max(size, 2 * i + arguments[i].stackSize());
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package Functions;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The Sampler class samples a compiled function over a range of x values into primitive arrays.
+ * <p>
+ * On a uniform grid the x value of each sample is computed from its index as lowerBound + index * interval,
+ * instead of adding the interval over and over, so the error of x does not grow along the range. The grid is
+ * filled in fixed chunks on a fork-join pool, straight into preallocated arrays, and gives the same samples
+ * whatever the number of threads.
+ * <p>
+ * The adaptive mode starts from a coarse uniform grid and halves an interval only where the function at its
+ * middle or quarters is further than a tolerance from the straight line between its ends, so samples are spent
+ * where the curve bends and a line through them stays close to the function. A feature narrower than a quarter
+ * of a coarse interval can still be missed, so the coarse grid should resolve the smallest feature of interest.
+ * Intervals where the function is NaN or infinite at both ends and the middle are not refined, only those where
+ * a finite value meets a non-finite one, so the edges of the curve are found without sampling where it is undefined.
+ *
+ * @author petitoa
+ */
+public class Sampler {
+    // Samples computed by one task, fixed so results do not depend on the number of threads
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    // Below this many samples a sequential pass is faster than forking
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    // Below this many coarse intervals the adaptive mode runs sequentially
+    private static final int ADAPTIVE_SEQUENTIAL_THRESHOLD = 64;
+
+    // Largest array the grid may need
+    private static final long MAX_SAMPLES = Integer.MAX_VALUE - 8;
+
+    private final CompiledFunction function;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new Sampler running on the common fork-join pool.
+     *
+     * @param function The function to be sampled.
+     */
+    public Sampler(CompiledFunction function) {
+        this(function, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new Sampler running on the given fork-join pool.
+     *
+     * @param function The function to be sampled.
+     * @param pool     The pool the samples are computed on.
+     */
+    public Sampler(CompiledFunction function, ForkJoinPool pool) {
+        this.function = function;
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the number of grid x values from lowerBound, in steps of interval, below the upper bound.
+     *
+     * @param lowerBound        The first x value.
+     * @param upperBound        The upper bound of the x values.
+     * @param interval          The interval between x values.
+     * @param includeUpperBound Whether an x value equal to the upper bound is in the grid.
+     * @return The number of x values in the grid.
+     * @throws IllegalArgumentException If the interval is not positive or the grid has too many x values to count.
+     */
+    public static long gridCount(double lowerBound, double upperBound, double interval, boolean includeUpperBound) {
+        if (!(interval > 0)) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        if (!(upperBound >= lowerBound)) {
+            return 0;
+        }
+        double estimate = Math.floor((upperBound - lowerBound) / interval);
+        if (!(estimate < Long.MAX_VALUE / 2)) {
+            throw new IllegalArgumentException("Grid from " + lowerBound + " to " + upperBound + " in steps of " + interval + " is too large");
+        }
+        // The estimate may be one off after rounding, settle it on the x values themselves
+        long count = (long) estimate;
+        while (count > 0 && !inGrid(gridX(lowerBound, interval, count - 1), upperBound, includeUpperBound)) {
+            count--;
+        }
+        while (inGrid(gridX(lowerBound, interval, count), upperBound, includeUpperBound)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the x value of a grid index.
+     *
+     * @param lowerBound The first x value.
+     * @param interval   The interval between x values.
+     * @param index      The index of the x value.
+     * @return The x value, lowerBound + index * interval.
+     */
+    public static double gridX(double lowerBound, double interval, long index) {
+        return lowerBound + index * interval;
+    }
+
+    /**
+     * Samples the function on a uniform grid.
+     *
+     * @param lowerBound        The first x value.
+     * @param upperBound        The upper bound of the x values.
+     * @param interval          The interval between x values.
+     * @param includeUpperBound Whether an x value equal to the upper bound is sampled.
+     * @return The samples, x values in row 0 and y values in row 1.
+     * @throws IllegalArgumentException If the interval is not positive or the grid does not fit in an array.
+     */
+    public double[][] uniform(double lowerBound, double upperBound, double interval, boolean includeUpperBound) {
+        long count = gridCount(lowerBound, upperBound, interval, includeUpperBound);
+        if (count > MAX_SAMPLES) {
+            throw new IllegalArgumentException("Grid of " + count + " samples does not fit in an array");
+        }
+        double[][] samples = new double[2][(int) count];
+        uniform(lowerBound, interval, samples[0], samples[1]);
+        return samples;
+    }
+
+    /**
+     * Samples the function on a uniform grid into preallocated arrays, one sample per index of the arrays.
+     *
+     * @param lowerBound The first x value.
+     * @param interval   The interval between x values.
+     * @param xs         The array the x values are written to.
+     * @param ys         The array the y values are written to, as long as xs.
+     * @throws IllegalArgumentException If the arrays differ in length.
+     */
+    public void uniform(double lowerBound, double interval, double[] xs, double[] ys) {
+        if (ys.length != xs.length) {
+            throw new IllegalArgumentException("ys must be as long as xs: " + ys.length + " != " + xs.length);
+        }
+        int chunks = (xs.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (xs.length < SEQUENTIAL_THRESHOLD || pool.getParallelism() < 2) {
+            sampleChunks(lowerBound, interval, xs, ys, 0, chunks);
+        } else {
+            pool.invoke(new UniformTask(lowerBound, interval, xs, ys, 0, chunks));
+        }
+    }
+
+    /**
+     * Samples the function adaptively, refining a coarse uniform grid where the function bends.
+     *
+     * @param lowerBound    The first x value.
+     * @param upperBound    The last x value.
+     * @param initialPoints The number of points of the coarse grid, including both bounds.
+     * @param tolerance     The largest distance in y allowed between the function and a line through the samples.
+     * @param maxDepth      The largest number of times a coarse interval is halved.
+     * @return The samples in order of x, x values in row 0 and y values in row 1.
+     * @throws IllegalArgumentException If there are fewer than 2 initial points, the bounds are not in order,
+     *                                  or the tolerance or depth is negative.
+     */
+    public double[][] adaptive(double lowerBound, double upperBound, int initialPoints, double tolerance, int maxDepth) {
+        if (initialPoints < 2) {
+            throw new IllegalArgumentException("Initial points must be at least 2: " + initialPoints);
+        }
+        if (!(upperBound > lowerBound)) {
+            throw new IllegalArgumentException("Upper bound must be above lower bound: " + upperBound + " <= " + lowerBound);
+        }
+        if (!(tolerance >= 0) || maxDepth < 0) {
+            throw new IllegalArgumentException("Tolerance and depth must not be negative: " + tolerance + ", " + maxDepth);
+        }
+
+        double interval = (upperBound - lowerBound) / (initialPoints - 1);
+        AdaptiveTask task = new AdaptiveTask(lowerBound, upperBound, interval, initialPoints - 1, tolerance, maxDepth, 0, initialPoints - 1);
+        SampleBuffer samples = initialPoints - 1 < ADAPTIVE_SEQUENTIAL_THRESHOLD || pool.getParallelism() < 2
+                ? task.compute() : pool.invoke(task);
+        samples.add(upperBound, function.value(upperBound));
+        return samples.toArray();
+    }
+
+    /**
+     * Keeps only the samples whose y value lies within a range.
+     *
+     * @param samples The samples, x values in row 0 and y values in row 1, left unchanged.
+     * @param minY    The lowest y value kept.
+     * @param maxY    The highest y value kept.
+     * @return The samples kept, in the same order, x values in row 0 and y values in row 1.
+     */
+    public static double[][] clip(double[][] samples, double minY, double maxY) {
+        double[] xs = samples[0];
+        double[] ys = samples[1];
+        double[] keptXs = new double[xs.length];
+        double[] keptYs = new double[ys.length];
+        int kept = 0;
+        for (int i = 0; i < xs.length; i++) {
+            if (ys[i] >= minY && ys[i] <= maxY) {
+                keptXs[kept] = xs[i];
+                keptYs[kept] = ys[i];
+                kept++;
+            }
+        }
+        return new double[][]{Arrays.copyOf(keptXs, kept), Arrays.copyOf(keptYs, kept)};
+    }
+
+    private static boolean inGrid(double xValue, double upperBound, boolean includeUpperBound) {
+        return includeUpperBound ? xValue <= upperBound : xValue < upperBound;
+    }
+
+    private void sampleChunks(double lowerBound, double interval, double[] xs, double[] ys, int fromChunk, int toChunk) {
+        for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+            int from = chunk * CHUNK_SIZE;
+            int to = (int) Math.min(xs.length, (chunk + 1L) * CHUNK_SIZE);
+            for (int i = from; i < to; i++) {
+                xs[i] = gridX(lowerBound, interval, i);
+            }
+            function.evaluate(xs, ys, from, to);
+        }
+    }
+
+    /**
+     * Adds the samples strictly between two samples, halving the interval while it is off the line.
+     */
+    private void refine(double xa, double ya, double xb, double yb, double tolerance, int depth, SampleBuffer samples) {
+        if (depth == 0) {
+            return;
+        }
+        double xm = 0.5 * (xa + xb);
+        double ym = function.value(xm);
+        boolean finiteA = Double.isFinite(ya);
+        boolean finiteB = Double.isFinite(yb);
+        boolean finiteM = Double.isFinite(ym);
+        if (!finiteA && !finiteB && !finiteM) {
+            // Undefined across the interval, there is no curve to follow
+            return;
+        }
+        // Where a finite value meets a non-finite one the interval is halved to find the edge of the curve
+        if (finiteA && finiteB && finiteM && onLine(ym, 0.5 * (ya + yb), tolerance)) {
+            // The middle alone can fall on the line by chance, as when the interval spans a whole wave,
+            // so the quarters are checked too before the interval is drawn as a line
+            double yq1 = function.value(0.5 * (xa + xm));
+            double yq3 = function.value(0.5 * (xm + xb));
+            if (onLine(yq1, 0.75 * ya + 0.25 * yb, tolerance) && onLine(yq3, 0.25 * ya + 0.75 * yb, tolerance)) {
+                return;
+            }
+        }
+        refine(xa, ya, xm, ym, tolerance, depth - 1, samples);
+        samples.add(xm, ym);
+        refine(xm, ym, xb, yb, tolerance, depth - 1, samples);
+    }
+
+    private static boolean onLine(double yValue, double lineValue, double tolerance) {
+        // False for a NaN or infinite value, so a quarter outside the curve keeps the interval refining
+        return Math.abs(yValue - lineValue) <= tolerance;
+    }
+
+    /**
+     * Samples a range of chunks of a uniform grid, splitting it in half until a single chunk is left.
+     */
+    // Tasks only run inside the pool and are never serialized
+    @SuppressWarnings("serial")
+    private class UniformTask extends RecursiveAction {
+        private final double lowerBound;
+        private final double interval;
+        private final double[] xs;
+        private final double[] ys;
+        private final int fromChunk;
+        private final int toChunk;
+
+        private UniformTask(double lowerBound, double interval, double[] xs, double[] ys, int fromChunk, int toChunk) {
+            this.lowerBound = lowerBound;
+            this.interval = interval;
+            this.xs = xs;
+            this.ys = ys;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new UniformTask(lowerBound, interval, xs, ys, fromChunk, middle),
+                        new UniformTask(lowerBound, interval, xs, ys, middle, toChunk));
+                return;
+            }
+            sampleChunks(lowerBound, interval, xs, ys, fromChunk, toChunk);
+        }
+    }
+
+    /**
+     * Refines a range of coarse intervals, splitting it in half until few are left, and gives their samples
+     * from the start of the first interval up to but not including the end of the last.
+     */
+    // Tasks only run inside the pool and are never serialized
+    @SuppressWarnings("serial")
+    private class AdaptiveTask extends RecursiveTask<SampleBuffer> {
+        private final double lowerBound;
+        private final double upperBound;
+        private final double interval;
+        private final int intervals;
+        private final double tolerance;
+        private final int maxDepth;
+        private final int from;
+        private final int to;
+
+        private AdaptiveTask(double lowerBound, double upperBound, double interval, int intervals, double tolerance, int maxDepth, int from, int to) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.interval = interval;
+            this.intervals = intervals;
+            this.tolerance = tolerance;
+            this.maxDepth = maxDepth;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SampleBuffer compute() {
+            if (to - from > ADAPTIVE_SEQUENTIAL_THRESHOLD && getPool() != null) {
+                int middle = (from + to) >>> 1;
+                AdaptiveTask right = new AdaptiveTask(lowerBound, upperBound, interval, intervals, tolerance, maxDepth, middle, to);
+                right.fork();
+                SampleBuffer samples = new AdaptiveTask(lowerBound, upperBound, interval, intervals, tolerance, maxDepth, from, middle).compute();
+                samples.append(right.join());
+                return samples;
+            }
+
+            SampleBuffer samples = new SampleBuffer(2 * (to - from));
+            double xa = coarseX(from);
+            double ya = function.value(xa);
+            for (int i = from; i < to; i++) {
+                double xb = coarseX(i + 1);
+                double yb = function.value(xb);
+                samples.add(xa, ya);
+                refine(xa, ya, xb, yb, tolerance, maxDepth, samples);
+                xa = xb;
+                ya = yb;
+            }
+            return samples;
+        }
+
+        private double coarseX(int index) {
+            // The last point is the upper bound itself, not lowerBound + intervals * interval rounded
+            return index == intervals ? upperBound : gridX(lowerBound, interval, index);
+        }
+    }
+
+    /**
+     * A growing pair of primitive arrays of samples.
+     */
+    private static class SampleBuffer {
+        private double[] xs;
+        private double[] ys;
+        private int size;
+
+        private SampleBuffer(int capacity) {
+            this.xs = new double[Math.max(capacity, 16)];
+            this.ys = new double[xs.length];
+        }
+
+        private void add(double xValue, double yValue) {
+            if (size == xs.length) {
+                grow(size + 1);
+            }
+            xs[size] = xValue;
+            ys[size] = yValue;
+            size++;
+        }
+
+        private void append(SampleBuffer other) {
+            if (size + other.size > xs.length) {
+                grow(size + other.size);
+            }
+            System.arraycopy(other.xs, 0, xs, size, other.size);
+            System.arraycopy(other.ys, 0, ys, size, other.size);
+            size += other.size;
+        }
+
+        private void grow(int minCapacity) {
+            int capacity = Math.max(minCapacity, 2 * xs.length);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+
+        private double[][] toArray() {
+            return new double[][]{Arrays.copyOf(xs, size), Arrays.copyOf(ys, size)};
+        }
+    }
+}
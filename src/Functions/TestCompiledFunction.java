@@ -0,0 +1,77 @@
+package Functions;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The TestCompiledFunction class serves as a test for the CompiledFunction functionality.
+ * It checks compiled functions against the same Java expressions and against walking the parsed tree,
+ * checks that invalid expressions are rejected, and times compiling and evaluating many functions.
+ *
+ * @author petitoa
+ */
+public class TestCompiledFunction {
+    public static void main(String[] args) {
+        String[] expressions = {"(x - 20)^2", "sin(x)*exp(-x/50)", "-x^2 + 3*x - 1", "2^-x", "sqrt(abs(x)) / (1 + x*x)",
+                "pow(x, 3) - atan2(x, 2) + hypot(x, 1)", "max(min(x, 10), -10) + 1.5e-3 * x", "cos(pi * x) + e", "42", "x"};
+        DoubleUnaryOperator[] javaFunctions = {x -> Math.pow(x - 20, 2), x -> Math.sin(x) * Math.exp(-x / 50),
+                x -> -Math.pow(x, 2) + 3 * x - 1, x -> Math.pow(2, -x), x -> Math.sqrt(Math.abs(x)) / (1 + x * x),
+                x -> Math.pow(x, 3) - Math.atan2(x, 2) + Math.hypot(x, 1), x -> Math.max(Math.min(x, 10), -10) + 1.5e-3 * x,
+                x -> Math.cos(Math.PI * x) + Math.E, x -> 42, x -> x};
+
+        double[] xs = new double[100_001];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = -50 + i * 0.001;
+        }
+        double[] ys = new double[xs.length];
+        for (int f = 0; f < expressions.length; f++) {
+            CompiledFunction function = CompiledFunction.compile(expressions[f]);
+            Node tree = ExpressionParser.parse(expressions[f]);
+            function.evaluate(xs, ys);
+            boolean identical = true;
+            for (int i = 0; i < xs.length; i++) {
+                double expected = javaFunctions[f].applyAsDouble(xs[i]);
+                identical &= same(ys[i], expected) && same(function.value(xs[i]), expected) && same(tree.value(xs[i]), expected);
+            }
+            System.out.println(function + ": identical " + identical);
+        }
+
+        for (String invalid : new String[]{"", "x +", "sin(x", "foo(x)", "pow(x)", "2 * y", "1.2.3", "(x))"}) {
+            try {
+                CompiledFunction.compile(invalid);
+                System.out.println("\"" + invalid + "\" accepted");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Rejected: " + e.getMessage());
+            }
+        }
+
+        int functions = 2000;
+        long start = System.nanoTime();
+        CompiledFunction[] compiled = new CompiledFunction[functions];
+        for (int f = 0; f < functions; f++) {
+            compiled[f] = CompiledFunction.compile("sin(" + (f + 1) + " * x) * exp(-x / " + (f + 50) + ") + (x - " + f + ")^2");
+        }
+        System.out.printf("Compiled %d functions in %.1f ms%n", functions, (System.nanoTime() - start) / 1e6);
+
+        for (int run = 0; run < 3; run++) {
+            start = System.nanoTime();
+            for (CompiledFunction function : compiled) {
+                function.evaluate(xs, ys);
+            }
+            long compiledNanos = System.nanoTime() - start;
+            Node tree = ExpressionParser.parse("sin(3 * x) * exp(-x / 52) + (x - 2)^2");
+            start = System.nanoTime();
+            for (int f = 0; f < 100; f++) {
+                for (int i = 0; i < xs.length; i++) {
+                    ys[i] = tree.value(xs[i]);
+                }
+            }
+            long treeNanos = System.nanoTime() - start;
+            System.out.printf("Per point: compiled %.2f ns, walking the tree %.2f ns%n",
+                    compiledNanos / ((double) functions * xs.length), treeNanos / (100.0 * xs.length));
+        }
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+}
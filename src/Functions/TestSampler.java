@@ -0,0 +1,96 @@
+package Functions;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The TestSampler class serves as a test for the Sampler functionality.
+ * It checks the grid counts and x values, checks that parallel sampling is identical to sequential sampling
+ * for several pool sizes, compares adaptive sampling against a dense uniform grid, and checks that adaptive sampling
+ * does not refine where a function is undefined.
+ *
+ * @author petitoa
+ */
+public class TestSampler {
+    public static void main(String[] args) {
+        double[][] grids = {{0, 380, 0.2}, {0, 400, 0.0001}, {-3.7, 12.1, 0.3}, {5, 5, 1}, {0, 1, 0.1}};
+        for (double[] grid : grids) {
+            long count = Sampler.gridCount(grid[0], grid[1], grid[2], false);
+            long inclusiveCount = Sampler.gridCount(grid[0], grid[1], grid[2], true);
+            boolean valid = (count == 0 || Sampler.gridX(grid[0], grid[2], count - 1) < grid[1])
+                    && Sampler.gridX(grid[0], grid[2], count) >= grid[1]
+                    && (inclusiveCount == 0 || Sampler.gridX(grid[0], grid[2], inclusiveCount - 1) <= grid[1])
+                    && Sampler.gridX(grid[0], grid[2], inclusiveCount) > grid[1];
+
+            // Largest gap between adding the interval over and over and computing x from the index
+            double accumulated = grid[0];
+            double drift = 0;
+            for (long i = 0; i < count; i++) {
+                drift = Math.max(drift, Math.abs(accumulated - Sampler.gridX(grid[0], grid[2], i)));
+                accumulated += grid[2];
+            }
+            System.out.println("Grid " + Arrays.toString(grid) + ": " + count + " below, " + inclusiveCount
+                    + " up to the upper bound, valid " + valid + ", drift of accumulated x " + drift);
+        }
+
+        CompiledFunction function = CompiledFunction.compile("sin(x)*exp(-x/50)");
+        double[][] sequential = new Sampler(function, new ForkJoinPool(1)).uniform(0, 400, 0.0001, true);
+        for (int threads : new int[]{2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double[][] parallel = new Sampler(function, pool).uniform(0, 400, 0.0001, true);
+            System.out.println(threads + " threads, " + parallel[0].length + " samples: identical "
+                    + (Arrays.equals(sequential[0], parallel[0]) && Arrays.equals(sequential[1], parallel[1])));
+            pool.shutdown();
+        }
+
+        Sampler sampler = new Sampler(function);
+        for (double tolerance : new double[]{1e-2, 1e-3, 1e-4}) {
+            double[][] adaptive = sampler.adaptive(0, 400, 101, tolerance, 20);
+            boolean ordered = true;
+            for (int i = 1; i < adaptive[0].length; i++) {
+                ordered &= adaptive[0][i] > adaptive[0][i - 1];
+            }
+            System.out.printf("Adaptive, tolerance %.0e: %d samples, ordered %b, largest error of the line %.2e against %d dense samples%n",
+                    tolerance, adaptive[0].length, ordered, lineError(adaptive, sequential), sequential[0].length);
+        }
+        // Only the edge of the curve is refined where the function is NaN, not the whole undefined range
+        for (String undefinedBelowZero : new String[]{"sqrt(x)", "log(x)"}) {
+            double[][] adaptive = new Sampler(CompiledFunction.compile(undefinedBelowZero)).adaptive(-10, 10, 101, 0.01, 20);
+            int finite = Sampler.clip(adaptive, -Double.MAX_VALUE, Double.MAX_VALUE)[0].length;
+            System.out.printf("Adaptive %s from -10 to 10: %d samples, %d finite, bounded %b%n", undefinedBelowZero,
+                    adaptive[0].length, finite, adaptive[0].length < 10_000);
+        }
+        double[][] uniform = sampler.uniform(0, 400, 400.0 / 4000, true);
+        System.out.printf("Uniform: %d samples, largest error of the line %.2e%n", uniform[0].length, lineError(uniform, sequential));
+
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            sampler.uniform(0, 400, 400.0 / 20_000_000, true);
+            long uniformNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            double[][] adaptive = sampler.adaptive(0, 400, 1001, 1e-6, 30);
+            long adaptiveNanos = System.nanoTime() - start;
+            System.out.printf("20000001 uniform samples in %.1f ms, %d adaptive samples to 1e-6 in %.1f ms%n",
+                    uniformNanos / 1e6, adaptive[0].length, adaptiveNanos / 1e6);
+        }
+    }
+
+    /**
+     * Gets the largest distance between the line through the samples and the dense samples of the same function.
+     */
+    private static double lineError(double[][] samples, double[][] dense) {
+        double error = 0;
+        int segment = 0;
+        for (int i = 0; i < dense[0].length; i++) {
+            double x = dense[0][i];
+            while (segment < samples[0].length - 2 && samples[0][segment + 1] < x) {
+                segment++;
+            }
+            double x0 = samples[0][segment];
+            double x1 = samples[0][segment + 1];
+            double line = samples[1][segment] + (samples[1][segment + 1] - samples[1][segment]) * (x - x0) / (x1 - x0);
+            error = Math.max(error, Math.abs(line - dense[1][i]));
+        }
+        return error;
+    }
+}
@@ -0,0 +1,68 @@
+package Part1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The BinaryPointSink class writes the points coming out of a PointPipeline to a binary file,
+ * each point as its x value then its y value, both as big-endian doubles, with no header.
+ *
+ * @author petitoa
+ */
+public class BinaryPointSink implements PointSink {
+    // Bytes written for each point
+    public static final int POINT_SIZE = 2 * Double.BYTES;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(0);
+
+    /**
+     * Constructs a new BinaryPointSink, replacing the file if it exists.
+     *
+     * @param path The path of the binary file to be written.
+     */
+    public BinaryPointSink(Path path) {
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while creating the binary file", e);
+        }
+    }
+
+    @Override
+    public void accept(PointBlock block) {
+        int bytes = block.size() * POINT_SIZE;
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocateDirect(bytes);
+        }
+        buffer.clear();
+
+        double[] xValues = block.getXValues();
+        double[] yValues = block.getYValues();
+        for (int i = 0; i < block.size(); i++) {
+            buffer.putDouble(xValues[i]);
+            buffer.putDouble(yValues[i]);
+        }
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the points to the binary file", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while closing the binary file", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package Part1;
+
+import Charts.ChartRenderer;
+import Charts.ChartWindow;
+import Charts.DownsampledXYDataset;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The ChartPointSink class collects the points coming out of a PointPipeline and displays them
+ * with JFreeChart once the last block has arrived, or writes them to a PNG or SVG file without a display.
+ * Unlike the file sinks it keeps every point, so its memory grows with the number of points.
+ *
+ * @author petitoa
+ */
+public class ChartPointSink implements PointSink {
+    private final String title;
+    private final Path imageFile;
+    private final int width;
+    private final int height;
+    private double[] xValues = new double[1024];
+    private double[] yValues = new double[1024];
+    private int size;
+
+    /**
+     * Constructs a new ChartPointSink.
+     *
+     * @param title The title of the chart.
+     */
+    public ChartPointSink(String title) {
+        this.title = title;
+        this.imageFile = null;
+        this.width = 0;
+        this.height = 0;
+    }
+
+    /**
+     * Constructs a new ChartPointSink writing the chart to an image file instead of displaying it.
+     *
+     * @param title     The title of the chart.
+     * @param imageFile The file written, SVG if its name ends with .svg and PNG otherwise.
+     * @param width     The width of the image in pixels.
+     * @param height    The height of the image in pixels.
+     */
+    public ChartPointSink(String title, Path imageFile, int width, int height) {
+        this.title = title;
+        this.imageFile = imageFile;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void accept(PointBlock block) {
+        if (size + block.size() > xValues.length) {
+            int capacity = Math.max(2 * xValues.length, size + block.size());
+            xValues = Arrays.copyOf(xValues, capacity);
+            yValues = Arrays.copyOf(yValues, capacity);
+        }
+        System.arraycopy(block.getXValues(), 0, xValues, size, block.size());
+        System.arraycopy(block.getYValues(), 0, yValues, size, block.size());
+        size += block.size();
+    }
+
+    /**
+     * Gets the points collected so far.
+     *
+     * @return The points, x values in row 0 and y values in row 1.
+     */
+    public double[][] getData() {
+        return new double[][]{Arrays.copyOf(xValues, size), Arrays.copyOf(yValues, size)};
+    }
+
+    /**
+     * Creates the chart of the points collected so far.
+     *
+     * @return The chart of the points.
+     */
+    public JFreeChart createChart() {
+        DownsampledXYDataset dataset = new DownsampledXYDataset();
+        dataset.addSeries(title, getData());
+
+        return ChartFactory.createXYLineChart(title, "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
+    }
+
+    /**
+     * Displays the collected points in their own frame, or writes them to the image file if one was given.
+     */
+    @Override
+    public void close() {
+        if (imageFile != null) {
+            ChartRenderer.write(createChart(), imageFile, width, height);
+        } else {
+            ChartWindow.show(createChart(), title);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package Part1;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * The CsvPointSink class writes the points coming out of a PointPipeline to a CSV file,
+ * in the same format as Plotter.plotterToCsv.
+ *
+ * @author petitoa
+ */
+public class CsvPointSink implements PointSink {
+    private final BufferedWriter bw;
+
+    /**
+     * Constructs a new CsvPointSink and writes the header.
+     *
+     * @param filename The name of the CSV file to be written.
+     */
+    public CsvPointSink(String filename) {
+        try {
+            this.bw = new BufferedWriter(new FileWriter(filename));
+            bw.write("xValue,yValue");
+        } catch (IOException e) {
+            throw new RuntimeException("Error while creating the CSV file", e);
+        }
+    }
+
+    @Override
+    public void accept(PointBlock block) {
+        double[] xValues = block.getXValues();
+        double[] yValues = block.getYValues();
+        try {
+            for (int i = 0; i < block.size(); i++) {
+                bw.newLine();
+                bw.write(xValues[i] + "," + yValues[i]);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the points to the CSV file", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            bw.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while closing the CSV file", e);
+        }
+    }
+}
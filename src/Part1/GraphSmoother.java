@@ -1,6 +1,11 @@
 package Part1;
 
+import Smoothing.ParallelSmoother;
+import Storage.ColumnFile;
+import Storage.ColumnFileWriter;
+
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -11,35 +16,29 @@ import java.util.Scanner;
  * @author petitoa
  */
 public class GraphSmoother {
+    private final ParallelSmoother parallelSmoother = new ParallelSmoother();
 
     /**
-     * Smoothes the ArrayList of points using a moving window.
+     * Smoothes the ArrayList of points using a centered moving window.
+     * Each y value is replaced by the mean of itself and up to windowValue points on each side,
+     * near the edges only the points that exist are averaged.
      *
      * @param points      The ArrayList of points to be smoothed.
-     * @param windowValue The size of the moving window.
+     * @param windowValue The number of points on each side of the current point.
      * @return The ArrayList of smoothed points.
      */
     public ArrayList<Point> smoother(ArrayList<Point> points, int windowValue) {
-        ArrayList<Point> smoothedPoints = new ArrayList<>();
-
+        double[] yValues = new double[points.size()];
         for (int i = 0; i < points.size(); i++) {
-            double yValueSum = points.get(i).getYValue();
-
-            // j = -windowValue loop will return the left and right side of the point object
-            for (int j = -windowValue; j <= windowValue; j++) {
-                //get next index y values
-                int index = i + j;
-                if (index >= 0 && index < points.size()) {
-                    yValueSum += points.get(index).getYValue();
-                }
-            }
-
-            // Calculate the average
-            double smoothedY = yValueSum / (windowValue * 2);
+            yValues[i] = points.get(i).getYValue();
+        }
 
+        // Running sums keep the cost of a pass independent of the window size, long series are split across all cores
+        double[] smoothedYValues = parallelSmoother.centeredMovingAverage(yValues, windowValue);
 
-            // Add the smoothed point to smoothedPoints
-            smoothedPoints.add(new Point(points.get(i).getXValue(), smoothedY));
+        ArrayList<Point> smoothedPoints = new ArrayList<>(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            smoothedPoints.add(new Point(points.get(i).getXValue(), smoothedYValues[i]));
         }
 
         return smoothedPoints;
@@ -92,4 +91,21 @@ public class GraphSmoother {
             throw new RuntimeException("Error while reading the CSV file", e);
         }
     }
+
+    /**
+     * Writes the smoothed points of a column file to a new column file.
+     *
+     * @param inputFile   The column file holding the original points.
+     * @param outputFile  The column file the smoothed points are written to.
+     * @param windowValue The size of the moving window.
+     */
+    public void smoothColumns(Path inputFile, Path outputFile, int windowValue) {
+        ColumnFile points = ColumnFile.open(inputFile);
+        double[] smoothedYValues = parallelSmoother.centeredMovingAverage(points.readDoubles(Point.Y_COLUMN), windowValue);
+
+        new ColumnFileWriter()
+                .addDoubles(Point.X_COLUMN, points.readDoubles(Point.X_COLUMN))
+                .addDoubles(Point.Y_COLUMN, smoothedYValues)
+                .write(outputFile);
+    }
 }
@@ -1,17 +1,46 @@
 package Part1;
 
+import Functions.CompiledFunction;
+import Functions.Sampler;
+import Storage.ColumnFileWriter;
+
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 
 /**
  * The Plotter class provides methods for performing a mathematical function on values,
  * This creates points based on the function within a specified range, and writes the points to a CSV file.
+ * The function is given as an expression of x, compiled once when the Plotter is constructed.
  *
  * @author petitoa
  */
 public class Plotter {
+    // The function plotted when none is given
+    public static final String DEFAULT_FUNCTION = "(x - 20)^2";
+
+    private final CompiledFunction function;
+    private final Sampler sampler;
+
+    /**
+     * Constructs a new Plotter of the default function (x - 20)^2.
+     */
+    public Plotter() {
+        this(DEFAULT_FUNCTION);
+    }
+
+    /**
+     * Constructs a new Plotter of a function given as an expression of x, such as "sin(x)*exp(-x/50)".
+     *
+     * @param expression The expression of the function, see CompiledFunction for what it may use.
+     * @throws IllegalArgumentException If the expression is not a valid function of x.
+     */
+    public Plotter(String expression) {
+        this.function = CompiledFunction.compile(expression);
+        this.sampler = new Sampler(function);
+    }
 
     /**
      * Performs a mathematical function on the given x-value.
@@ -20,7 +49,16 @@ public class Plotter {
      * @return The result (y-value) of the mathematical function for the given x-value.
      */
     public double performFunction(double xValue) {
-        return Math.pow(xValue - 20, 2);
+        return function.value(xValue);
+    }
+
+    /**
+     * Gets the compiled function of the Plotter, to evaluate many x-values at once.
+     *
+     * @return The compiled function.
+     */
+    public CompiledFunction getFunction() {
+        return function;
     }
 
     /**
@@ -32,17 +70,14 @@ public class Plotter {
      * @return An ArrayList of Point objects representing the points on the function within the specified range.
      */
     ArrayList<Point> createPoints(double intervalBetweenPoints, double lowerBound, double upperBound) {
-        ArrayList<Point> points = new ArrayList<>();
-
-        double currentXValue = lowerBound;
-        while (currentXValue < upperBound) {
-            double yValue = performFunction(currentXValue);
-            // Check if yValue is within the lower and upper bounds
-            if (yValue >= lowerBound && yValue <= upperBound) {
-                points.add(new Point(currentXValue, yValue));
-            }
+        // Each x-value is computed from its index, and the points are sampled in parallel for dense ranges
+        double[][] samples = sampler.uniform(lowerBound, upperBound, intervalBetweenPoints, false);
+        // Keep only the points whose yValue is within the lower and upper bounds
+        samples = Sampler.clip(samples, lowerBound, upperBound);
 
-            currentXValue += intervalBetweenPoints;
+        ArrayList<Point> points = new ArrayList<>(samples[0].length);
+        for (int i = 0; i < samples[0].length; i++) {
+            points.add(new Point(samples[0][i], samples[1][i]));
         }
 
         return points;
@@ -71,4 +106,36 @@ public class Plotter {
 
         }
     }
+
+    /**
+     * Writes ArrayList of points to a column file, read back without parsing by ColumnFile.
+     *
+     * @param points The ArrayList of Point objects to be written.
+     * @param file   The column file written.
+     */
+    public void plotterToColumns(ArrayList<Point> points, Path file) {
+        double[] xValues = new double[points.size()];
+        double[] yValues = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            xValues[i] = points.get(i).getXValue();
+            yValues[i] = points.get(i).getYValue();
+        }
+        new ColumnFileWriter().addDoubles(Point.X_COLUMN, xValues).addDoubles(Point.Y_COLUMN, yValues).write(file);
+    }
+
+    /**
+     * Plots the points of createPoints straight into a column file, without creating a Point object per point.
+     *
+     * @param intervalBetweenPoints The interval between x-values.
+     * @param lowerBound            The lower bound of x-values for the function.
+     * @param upperBound            The upper bound of x-values for the function.
+     * @param file                  The column file written.
+     * @return The number of points written.
+     */
+    public int plotToColumns(double intervalBetweenPoints, double lowerBound, double upperBound, Path file) {
+        double[][] samples = sampler.uniform(lowerBound, upperBound, intervalBetweenPoints, false);
+        samples = Sampler.clip(samples, lowerBound, upperBound);
+        new ColumnFileWriter().addDoubles(Point.X_COLUMN, samples[0]).addDoubles(Point.Y_COLUMN, samples[1]).write(file);
+        return samples[0].length;
+    }
 }
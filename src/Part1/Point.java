@@ -6,6 +6,10 @@ package Part1;
  * @author petitoa
  */
 public class Point {
+    // The names of the x and y columns in the CSV and column files of points
+    public static final String X_COLUMN = "xValue";
+    public static final String Y_COLUMN = "yValue";
+
     private double xValue;
     private double yValue;
 
@@ -0,0 +1,88 @@
+package Part1;
+
+/**
+ * The PointBlock class holds a block of points as two primitive arrays, the unit passed between pipeline stages.
+ * Only the first size entries of the arrays are points.
+ *
+ * @author petitoa
+ */
+public final class PointBlock {
+    // Marks the end of the points, passed after the last block
+    static final PointBlock END = new PointBlock(0);
+
+    private final double[] xValues;
+    private final double[] yValues;
+    private int size;
+
+    /**
+     * Constructs a new, empty PointBlock.
+     *
+     * @param capacity The largest number of points the block holds.
+     */
+    public PointBlock(int capacity) {
+        this.xValues = new double[capacity];
+        this.yValues = new double[capacity];
+    }
+
+    /**
+     * Adds a point at the end of the block.
+     *
+     * @param xValue The x value of the point.
+     * @param yValue The y value of the point.
+     * @throws IndexOutOfBoundsException If the block is full.
+     */
+    public void add(double xValue, double yValue) {
+        xValues[size] = xValue;
+        yValues[size] = yValue;
+        size++;
+    }
+
+    /**
+     * Gets the x values of the block, only the first size entries are points.
+     *
+     * @return The x values, not copied.
+     */
+    public double[] getXValues() {
+        return xValues;
+    }
+
+    /**
+     * Gets the y values of the block, only the first size entries are points.
+     *
+     * @return The y values, not copied.
+     */
+    public double[] getYValues() {
+        return yValues;
+    }
+
+    /**
+     * Gets the number of points in the block.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets the number of points in the block, after writing to its arrays directly.
+     *
+     * @param size The number of points.
+     * @throws IndexOutOfBoundsException If the size is negative or more than the capacity.
+     */
+    public void setSize(int size) {
+        if (size < 0 || size > xValues.length) {
+            throw new IndexOutOfBoundsException("Size " + size + " outside capacity " + xValues.length);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Checks whether the block is full.
+     *
+     * @return True if no point can be added.
+     */
+    public boolean isFull() {
+        return size == xValues.length;
+    }
+}
@@ -0,0 +1,322 @@
+package Part1;
+
+import Functions.CompiledFunction;
+import Functions.Sampler;
+import Salting.NoiseModel;
+import Salting.SaltingEngine;
+import Salting.SaltingStream;
+import Smoothing.StreamingSmoother;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The PointPipeline class plots, salts and smooths points in one pass, without writing the steps to CSV files.
+ * The points flow through the stages in blocks of primitive arrays. Every stage runs on its own thread and hands
+ * its blocks to the next one through a bounded queue, so a fast stage waits for a slow one instead of piling up
+ * points, and memory stays bounded by the block size and queue capacity whatever the number of points.
+ * Where the points go is chosen at the end, by the PointSink given to run.
+ * <p>
+ * The points are the same as Plotter.createPoints, the salt the same as Salter(seed).saltYValues and the
+ * smoothing the same as GraphSmoother.smoother, so the pipeline gives exactly the output of the three steps.
+ *
+ * @author petitoa
+ */
+public class PointPipeline {
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 14;
+    private static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private final Plotter plotter;
+    private final double intervalBetweenPoints;
+    private final double lowerBound;
+    private final double upperBound;
+    private final List<String> stageNames = new ArrayList<>();
+    private final List<Supplier<Stage>> stages = new ArrayList<>();
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private PointPipeline(Plotter plotter, double intervalBetweenPoints, double lowerBound, double upperBound) {
+        this.plotter = plotter;
+        this.intervalBetweenPoints = intervalBetweenPoints;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * Starts a pipeline with the points of a Plotter's function within a specified range.
+     *
+     * @param plotter               The Plotter whose function is plotted.
+     * @param intervalBetweenPoints The interval between x-values.
+     * @param lowerBound            The lower bound of x-values and y-values.
+     * @param upperBound            The upper bound of x-values and y-values.
+     * @return A new PointPipeline plotting the points.
+     * @throws IllegalArgumentException If the interval is not positive.
+     */
+    public static PointPipeline plot(Plotter plotter, double intervalBetweenPoints, double lowerBound, double upperBound) {
+        if (!(intervalBetweenPoints > 0)) {
+            throw new IllegalArgumentException("Interval between points must be positive: " + intervalBetweenPoints);
+        }
+        return new PointPipeline(plotter, intervalBetweenPoints, lowerBound, upperBound);
+    }
+
+    /**
+     * Adds a stage salting the y-values of the points.
+     *
+     * @param noiseModel The noise model drawing the salt.
+     * @param seed       The seed the salt is drawn from.
+     * @return This pipeline.
+     */
+    public PointPipeline salt(NoiseModel noiseModel, long seed) {
+        SaltingEngine engine = new SaltingEngine(seed, noiseModel);
+        stageNames.add("salt");
+        stages.add(() -> new SaltStage(engine.stream()));
+        return this;
+    }
+
+    /**
+     * Adds a stage smoothing the y-values of the points with a centered moving window.
+     *
+     * @param windowValue The number of points on each side of the current point.
+     * @return This pipeline.
+     * @throws IllegalArgumentException If the window value is negative.
+     */
+    public PointPipeline smooth(int windowValue) {
+        if (windowValue < 0) {
+            throw new IllegalArgumentException("Window value must not be negative: " + windowValue);
+        }
+        stageNames.add("smooth");
+        stages.add(() -> new SmoothStage(new StreamingSmoother(windowValue)));
+        return this;
+    }
+
+    /**
+     * Sets the number of points in a block.
+     *
+     * @param blockSize The number of points in a block.
+     * @return This pipeline.
+     * @throws IllegalArgumentException If the block size is not positive.
+     */
+    public PointPipeline blockSize(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of blocks waiting between two stages before the earlier stage is held back.
+     *
+     * @param queueCapacity The number of blocks waiting between two stages.
+     * @return This pipeline.
+     * @throws IllegalArgumentException If the queue capacity is not positive.
+     */
+    public PointPipeline queueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Runs the pipeline, giving every block to the sink on the calling thread, then closes the sink.
+     * The sink is closed even if a stage fails, so its file is released.
+     *
+     * @param sink The sink receiving the points.
+     * @return The number of points given to the sink.
+     * @throws RuntimeException If a stage or the sink fails, or the calling thread is interrupted.
+     */
+    public long run(PointSink sink) {
+        List<BlockingQueue<PointBlock>> queues = new ArrayList<>();
+        for (int i = 0; i <= stages.size(); i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable stopAll = () -> {
+            threads.forEach(Thread::interrupt);
+            caller.interrupt();
+        };
+
+        threads.add(newStageThread("plot", () -> plotPoints(queues.get(0)), failure, stopAll));
+        for (int i = 0; i < stages.size(); i++) {
+            Stage stage = stages.get(i).get();
+            BlockingQueue<PointBlock> in = queues.get(i);
+            BlockingQueue<PointBlock> out = queues.get(i + 1);
+            threads.add(newStageThread(stageNames.get(i), () -> runStage(stage, in, out), failure, stopAll));
+        }
+        threads.forEach(Thread::start);
+
+        long points = 0;
+        boolean callerInterrupted = false;
+        try (sink) {
+            BlockingQueue<PointBlock> last = queues.get(stages.size());
+            PointBlock block;
+            while ((block = last.take()) != PointBlock.END) {
+                sink.accept(block);
+                points += block.size();
+            }
+        } catch (InterruptedException e) {
+            // Either a stage failed and stopped the sink, or the caller itself was interrupted
+            callerInterrupted = failure.compareAndSet(null, e);
+        } catch (RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+        }
+
+        if (failure.get() != null) {
+            threads.forEach(Thread::interrupt);
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        if (failure.get() == null) {
+            if (interrupted) {
+                caller.interrupt();
+            }
+            return points;
+        }
+        // Every stage has stopped, so the interrupt a failed stage sent the caller can be cleared
+        Thread.interrupted();
+        if (callerInterrupted) {
+            caller.interrupt();
+        }
+        throw new RuntimeException("Error while running the point pipeline", failure.get());
+    }
+
+    private Thread newStageThread(String name, StageBody body, AtomicReference<Throwable> failure, Runnable stopAll) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                // Only the first failure is kept, the others are the stages being stopped
+                if (failure.compareAndSet(null, t)) {
+                    stopAll.run();
+                }
+            }
+        }, "PointPipeline-" + name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Plots the points exactly as Plotter.createPoints does, in blocks.
+     */
+    private void plotPoints(BlockingQueue<PointBlock> out) throws InterruptedException {
+        CompiledFunction function = plotter.getFunction();
+        long count = Sampler.gridCount(lowerBound, upperBound, intervalBetweenPoints, false);
+        double[] xValues = new double[blockSize];
+        double[] yValues = new double[blockSize];
+        PointBlock block = new PointBlock(blockSize);
+        for (long start = 0; start < count; start += blockSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            // Compute a batch of x-values from their indices, then evaluate the function on all of them at once
+            int size = (int) Math.min(blockSize, count - start);
+            for (int i = 0; i < size; i++) {
+                xValues[i] = Sampler.gridX(lowerBound, intervalBetweenPoints, start + i);
+            }
+            function.evaluate(xValues, yValues, 0, size);
+
+            for (int i = 0; i < size; i++) {
+                // Check if yValue is within the lower and upper bounds
+                if (yValues[i] >= lowerBound && yValues[i] <= upperBound) {
+                    block.add(xValues[i], yValues[i]);
+                    if (block.isFull()) {
+                        out.put(block);
+                        block = new PointBlock(blockSize);
+                    }
+                }
+            }
+        }
+        if (block.size() > 0) {
+            out.put(block);
+        }
+        out.put(PointBlock.END);
+    }
+
+    private static void runStage(Stage stage, BlockingQueue<PointBlock> in, BlockingQueue<PointBlock> out) throws InterruptedException {
+        PointBlock block;
+        while ((block = in.take()) != PointBlock.END) {
+            stage.process(block, out);
+        }
+        stage.finish(out);
+        out.put(PointBlock.END);
+    }
+
+    private interface StageBody {
+        void run() throws InterruptedException;
+    }
+
+    /**
+     * A step applied to the blocks in order, possibly holding some points back until the end.
+     */
+    private interface Stage {
+        void process(PointBlock block, BlockingQueue<PointBlock> out) throws InterruptedException;
+
+        default void finish(BlockingQueue<PointBlock> out) throws InterruptedException {
+        }
+    }
+
+    private static class SaltStage implements Stage {
+        private final SaltingStream stream;
+
+        private SaltStage(SaltingStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void process(PointBlock block, BlockingQueue<PointBlock> out) throws InterruptedException {
+            stream.salt(block.getYValues(), block.getYValues(), 0, block.size());
+            out.put(block);
+        }
+    }
+
+    private static class SmoothStage implements Stage {
+        private final StreamingSmoother smoother;
+
+        private SmoothStage(StreamingSmoother smoother) {
+            this.smoother = smoother;
+        }
+
+        @Override
+        public void process(PointBlock block, BlockingQueue<PointBlock> out) throws InterruptedException {
+            double[] xValues = block.getXValues();
+            double[] yValues = block.getYValues();
+            // A point is smoothed no earlier than it is read, so the block can be overwritten in place
+            int smoothed = 0;
+            for (int i = 0; i < block.size(); i++) {
+                smoothed += smoother.push(xValues[i], yValues[i], xValues, yValues, smoothed);
+            }
+            block.setSize(smoothed);
+            if (smoothed > 0) {
+                out.put(block);
+            }
+        }
+
+        @Override
+        public void finish(BlockingQueue<PointBlock> out) throws InterruptedException {
+            int pending = smoother.getPending();
+            if (pending > 0) {
+                PointBlock block = new PointBlock(pending);
+                block.setSize(smoother.finish(block.getXValues(), block.getYValues(), 0));
+                out.put(block);
+            }
+        }
+    }
+}
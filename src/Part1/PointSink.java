@@ -0,0 +1,25 @@
+package Part1;
+
+/**
+ * The PointSink interface receives the blocks of points coming out of a PointPipeline.
+ * The pipeline calls accept for every block in order, then close once the last block was accepted.
+ *
+ * @author petitoa
+ */
+public interface PointSink extends AutoCloseable {
+
+    /**
+     * Receives the next block of points.
+     * The block may be reused once the method returns, copy the values to keep them.
+     *
+     * @param block The block of points.
+     */
+    void accept(PointBlock block);
+
+    /**
+     * Finishes the output after the last block.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -1,9 +1,17 @@
 package Part1;
 
+import Salting.NoiseModel;
+import Salting.SaltingEngine;
+import Storage.ColumnFile;
+import Storage.ColumnFileWriter;
+
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * The Salter class provides methods for salting the y-values of points.
@@ -12,6 +20,28 @@ import java.util.Scanner;
  * @author petitoa
  */
 public class Salter {
+    // Null when unseeded, single values are then salted from the thread's own generator
+    private final SplittableRandom random;
+    private final long seed;
+
+    /**
+     * Constructs a new Salter drawing unrepeatable salt.
+     */
+    public Salter() {
+        this.random = null;
+        this.seed = 0;
+    }
+
+    /**
+     * Constructs a new Salter drawing salt from a seed, so the same seed salts the same values the same way.
+     * A seeded Salter must not salt single values from several threads at once.
+     *
+     * @param seed The seed the salt is drawn from.
+     */
+    public Salter(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.seed = seed;
+    }
 
     /**
      * Salts the given y-value within a specified range.
@@ -22,13 +52,36 @@ public class Salter {
      * @return The salted y-value.
      */
     public double saltYValue(double yValue, double minRange, double maxRange) {
-        Random rng = new Random();
+        RandomGenerator rng = random != null ? random : ThreadLocalRandom.current();
         //nextDouble() rng between 0.0 - 1.0, so use the difference and multiply by random add to minimum
         double saltValue = (maxRange - minRange) * rng.nextDouble() + minRange;
         double saltedYValue = (rng.nextBoolean() ? yValue - saltValue : yValue + saltValue);
         return saltedYValue;
     }
 
+    /**
+     * Salts every y-value of an array with a noise model, in parallel for long arrays.
+     * The salt does not depend on the number of threads: a seeded Salter salts the same values the same way
+     * on every call, an unseeded one draws new salt on every call.
+     *
+     * @param yValues    The y-values to be salted, left unchanged.
+     * @param noiseModel The noise model drawing the salt, NoiseModel.uniform salts like saltYValue.
+     * @return A new array holding the salted y-values.
+     */
+    public double[] saltYValues(double[] yValues, NoiseModel noiseModel) {
+        return new SaltingEngine(engineSeed(), noiseModel).salt(yValues);
+    }
+
+    /**
+     * Gets the seed of the engine salting a whole array. A seeded Salter reuses its seed,
+     * an unseeded one draws a new seed for every array so its salt is never repeated.
+     *
+     * @return The seed of the next SaltingEngine.
+     */
+    private long engineSeed() {
+        return random != null ? seed : ThreadLocalRandom.current().nextLong();
+    }
+
     /**
      * Adds random salt to the y-values of points read from a CSV file then writes the salted points to a new CSV file.
      *
@@ -49,12 +102,20 @@ public class Salter {
             scanner.useDelimiter(",|\n");
 
 
-            // Salt Y Values and Write point objects to CSV file separated by commas
+            // Read the points, then salt all Y Values at once
             while (scanner.hasNextLine()) {
                 double xValue = Double.parseDouble(scanner.next().trim());
                 double yValue = Double.parseDouble(scanner.next().trim());
-                double saltedYValue = saltYValue(yValue, minRange, maxRange);
-                points.add(new Point(xValue, saltedYValue));
+                points.add(new Point(xValue, yValue));
+            }
+
+            double[] yValues = new double[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                yValues[i] = points.get(i).getYValue();
+            }
+            double[] saltedYValues = saltYValues(yValues, NoiseModel.uniform(minRange, maxRange));
+            for (int i = 0; i < points.size(); i++) {
+                points.set(i, new Point(points.get(i).getXValue(), saltedYValues[i]));
             }
 
             try (FileWriter fw = new FileWriter("salted-points.csv");
@@ -76,4 +137,23 @@ public class Salter {
             throw new RuntimeException("Error while reading the CSV file", e);
         }
     }
+
+    /**
+     * Adds random salt to the y-values of points read from a column file then writes the salted points to a new column file.
+     * Both columns are copied out of the mapped input in bulk, so nothing is parsed.
+     *
+     * @param inputFile  The column file holding the points, as written by Plotter.plotToColumns.
+     * @param outputFile The column file the salted points are written to.
+     * @param minRange   The minimum range for the random salt.
+     * @param maxRange   The maximum range for the random salt.
+     */
+    public void saltColumns(Path inputFile, Path outputFile, double minRange, double maxRange) {
+        ColumnFile points = ColumnFile.open(inputFile);
+        double[] saltedYValues = saltYValues(points.readDoubles(Point.Y_COLUMN), NoiseModel.uniform(minRange, maxRange));
+
+        new ColumnFileWriter()
+                .addDoubles(Point.X_COLUMN, points.readDoubles(Point.X_COLUMN))
+                .addDoubles(Point.Y_COLUMN, saltedYValues)
+                .write(outputFile);
+    }
 }
@@ -0,0 +1,99 @@
+package Part1;
+
+import Salting.NoiseModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TestPointPipeline class serves as a test for the PointPipeline functionality.
+ * It checks that the pipeline gives exactly the points of Plotter, Salter and GraphSmoother run one after the other,
+ * for several block sizes and window values, writes the points to CSV and binary files, and checks that a failing
+ * sink stops the pipeline.
+ *
+ * @author petitoa
+ */
+public class TestPointPipeline {
+    public static void main(String[] args) throws IOException {
+        Plotter plotter = new Plotter();
+        double interval = 0.0001;
+        long seed = 7;
+
+        ArrayList<Point> points = plotter.createPoints(interval, 0, 400);
+        double[] yValues = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            yValues[i] = points.get(i).getYValue();
+        }
+        double[] saltedYValues = new Salter(seed).saltYValues(yValues, NoiseModel.uniform(0, 10));
+        ArrayList<Point> saltedPoints = new ArrayList<>(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            saltedPoints.add(new Point(points.get(i).getXValue(), saltedYValues[i]));
+        }
+
+        for (int windowValue : new int[]{0, 4, 5000}) {
+            ArrayList<Point> expected = new GraphSmoother().smoother(saltedPoints, windowValue);
+            for (int blockSize : new int[]{1, 1000, 16384}) {
+                if (blockSize == 1 && windowValue == 5000) {
+                    continue;
+                }
+                List<Point> smoothedPoints = new ArrayList<>();
+                long count = PointPipeline.plot(plotter, interval, 0, 400)
+                        .salt(NoiseModel.uniform(0, 10), seed)
+                        .smooth(windowValue)
+                        .blockSize(blockSize)
+                        .run(block -> {
+                            for (int i = 0; i < block.size(); i++) {
+                                smoothedPoints.add(new Point(block.getXValues()[i], block.getYValues()[i]));
+                            }
+                        });
+                boolean identical = count == expected.size() && smoothedPoints.size() == expected.size();
+                for (int i = 0; identical && i < expected.size(); i++) {
+                    identical = smoothedPoints.get(i).getXValue() == expected.get(i).getXValue()
+                            && smoothedPoints.get(i).getYValue() == expected.get(i).getYValue();
+                }
+                System.out.println("Window " + windowValue + ", blocks of " + blockSize + ", " + count + " points: identical " + identical);
+            }
+        }
+
+        Path csv = Files.createTempFile("pipeline", ".csv");
+        Path binary = Files.createTempFile("pipeline", ".bin");
+        long csvCount = PointPipeline.plot(plotter, 0.5, 0, 400).salt(NoiseModel.gaussian(2), seed).smooth(3)
+                .run(new CsvPointSink(csv.toString()));
+        long binaryCount = PointPipeline.plot(plotter, 0.5, 0, 400).salt(NoiseModel.gaussian(2), seed).smooth(3)
+                .run(new BinaryPointSink(binary));
+        List<String> lines = Files.readAllLines(csv);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(binary));
+        boolean matching = lines.size() == csvCount + 1 && buffer.remaining() == binaryCount * BinaryPointSink.POINT_SIZE;
+        for (int i = 1; matching && i < lines.size(); i++) {
+            matching = lines.get(i).equals(buffer.getDouble() + "," + buffer.getDouble());
+        }
+        System.out.println("CSV header " + lines.get(0) + ", " + csvCount + " points matching the binary file: " + matching);
+        Files.delete(csv);
+        Files.delete(binary);
+
+        try {
+            PointPipeline.plot(plotter, interval, 0, 400).salt(NoiseModel.laplace(1), seed).blockSize(100).queueCapacity(1)
+                    .run(block -> {
+                        throw new IllegalStateException("Sink failed");
+                    });
+            System.out.println("Failing sink stopped the pipeline: false");
+        } catch (RuntimeException e) {
+            System.out.println("Failing sink stopped the pipeline: " + (e.getCause() instanceof IllegalStateException)
+                    + ", stages left running: " + Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("PointPipeline-")).count());
+        }
+
+        int n = 20_000_000;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            long count = PointPipeline.plot(plotter, 40.0 / n, 0, 400).salt(NoiseModel.uniform(0, 10), seed).smooth(4)
+                    .run(block -> {
+                    });
+            System.out.printf("%d points plotted, salted and smoothed in %.1f ms%n", count, (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
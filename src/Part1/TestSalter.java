@@ -1,9 +1,13 @@
 package Part1;
 
+import Salting.NoiseModel;
+
 import java.io.FileNotFoundException;
+import java.util.Arrays;
 
 /**
  * The TestSalter class serves as a test for the Salter functionality.
+ * It also checks that an unseeded Salter salts an array differently every call and a seeded one the same way.
  *
  * @author petitoa
  */
@@ -12,5 +16,13 @@ public class TestSalter {
         Salter test = new Salter();
 
         test.saltToCsv(0, 100);
+
+        double[] yValues = new double[1000];
+        NoiseModel noiseModel = NoiseModel.uniform(0, 100);
+        Salter seeded = new Salter(42);
+        System.out.println("Unseeded salt differs between calls: "
+                + !Arrays.equals(test.saltYValues(yValues, noiseModel), test.saltYValues(yValues, noiseModel))
+                + ", seeded salt repeats: "
+                + Arrays.equals(seeded.saltYValues(yValues, noiseModel), seeded.saltYValues(yValues, noiseModel)));
     }
 }
@@ -1,33 +1,28 @@
 % Not function file:
 1;
 
-function smooth_and_save(input_file, output_file, window_value, iterations)
-  for i = 1:iterations
-    if i == 1
-      % Use 'salted-points.csv' as input for first iteration
-      current_input_file = input_file;
-    else
-      % After first use the previously smoothed file as input for next iterations
-      prev_output_file = sprintf('%s_iteration%d.csv', output_file, i - 1);
-      current_input_file = prev_output_file;
-    end
+function smooth_and_save(input_file, output_file, window_value, iterations, saved_iterations)
+  % Read the data once, every iteration smooths the previous one in memory
+  smoothed_data = csvread(input_file);
 
-    % Read data from the current input file
-    input_data = csvread(current_input_file);
-
-    % Smooth the data using movmean
-    smoothed_data = movmean(input_data, window_value);
+  % Only the last iteration is saved unless others are asked for
+  if nargin < 5
+    saved_iterations = iterations;
+  end
 
-    % Create a unique output file for each iteration
-    unique_output_file = sprintf('%s_iteration%d.csv', output_file, i);
+  for i = 1:iterations
+    % Smooth the y-values (second column) using movmean
+    smoothed_data(:, 2) = movmean(smoothed_data(:, 2), window_value);
 
-    % Save the smoothed data to the output file
-    csvwrite(unique_output_file, smoothed_data);
+    % Save the selected iterations only
+    if any(saved_iterations == i)
+      unique_output_file = sprintf('%s_iteration%d.csv', output_file, i);
+      csvwrite(unique_output_file, smoothed_data);
+    end
   end
+
   % Plot the last smoothed iteration
-  last_output_file = sprintf('%s_iteration%d.csv', output_file, iterations);
-  last_smoothed_data = csvread(last_output_file);
-  plot(last_smoothed_data(:, 1), last_smoothed_data(:, 2));
+  plot(smoothed_data(:, 1), smoothed_data(:, 2));
   title('Last Smoothed Iteration');
   xlabel('X-axis');
   ylabel('Y-axis');
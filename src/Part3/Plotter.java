@@ -1,26 +1,51 @@
 package Part3;
 
-import org.apache.commons.math3.analysis.UnivariateFunction;
+import Charts.ChartWindow;
+import Charts.DownsampledXYDataset;
+import Functions.CompiledFunction;
+import Functions.Sampler;
 import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultXYDataset;
-
-import javax.swing.*;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * The Plotter class provides methods for generating and displaying XY plots using JFreeChart.
- * Uses apache commons math library for function.
+ * The function is given as an expression of x, compiled once when the Plotter is constructed.
  *
  * @author petitoa
  */
-public class Plotter extends JFrame {
+public class Plotter {
+    // The function plotted when none is given
+    public static final String DEFAULT_FUNCTION = "(x - 20)^2";
+
+    // Largest number of times adaptive sampling halves an interval
+    private static final int ADAPTIVE_DEPTH = 20;
+
+    private final CompiledFunction function;
+    private final Sampler sampler;
+
+    /**
+     * Constructs a new Plotter of the default function (x - 20)^2.
+     */
+    public Plotter() {
+        this(DEFAULT_FUNCTION);
+    }
+
+    /**
+     * Constructs a new Plotter of a function given as an expression of x, such as "sin(x)*exp(-x/50)".
+     *
+     * @param expression The expression of the function, see CompiledFunction for what it may use.
+     * @throws IllegalArgumentException If the expression is not a valid function of x.
+     */
+    public Plotter(String expression) {
+        this.function = CompiledFunction.compile(expression);
+        this.sampler = new Sampler(function);
+    }
 
     /**
      * Generates and displays an XY plot with data points calculated based on a specified function using JFreeChart.
+     * Showing the chart throws a HeadlessException without a display, headless callers sample with plotPoints
+     * and write the chart of createChart with ChartRenderer instead.
      *
      * @param intervalBetweenPoints The interval between consecutive x values.
      * @param lowerBound            The lower bound of the X-axis range.
@@ -31,21 +56,24 @@ public class Plotter extends JFrame {
 
         double[][] xYPlotDataSet = plotPoints(intervalBetweenPoints, lowerBound, upperBound);
 
-        DefaultXYDataset dataset = new DefaultXYDataset();
-        dataset.addSeries("Data", xYPlotDataSet);
-
-        JFreeChart chart = ChartFactory.createXYLineChart("Plotted Graph", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
+        // The chart gets its own frame, Plotter itself is not a window
+        ChartWindow.show(createChart(xYPlotDataSet), "Plotted Graph");
 
-        ChartPanel chartPanel = new ChartPanel(chart);
-
-        setContentPane(chartPanel);
+        return xYPlotDataSet;
+    }
 
-        setExtendedState(JFrame.MAXIMIZED_BOTH);
-        setUndecorated(true);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setVisible(true);
+    /**
+     * Creates the graph of an XY plot dataset, to be displayed or written to a file with ChartRenderer.
+     *
+     * @param xYPlotDataSet The XY plot dataset, x values in row 0 and y values in row 1.
+     * @return The chart of the plotted points.
+     */
+    public JFreeChart createChart(double[][] xYPlotDataSet) {
+        // Dense plots are reduced to the chart width, and again after every zoom
+        DownsampledXYDataset dataset = new DownsampledXYDataset();
+        dataset.addSeries("Data", xYPlotDataSet);
 
-        return xYPlotDataSet;
+        return ChartFactory.createXYLineChart("Plotted Graph", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
     }
 
     /**
@@ -55,12 +83,7 @@ public class Plotter extends JFrame {
      * @return The calculated Y value.
      */
     public double performFunction(double xValue) {
-        UnivariateFunction function = x -> Math.pow(x - 20, 2);
-
-        // Calculate Y using function
-        double yValue = function.value(xValue);
-
-        return yValue;
+        return function.value(xValue);
     }
 
 
@@ -73,28 +96,31 @@ public class Plotter extends JFrame {
      * @return A 2D array representing the generated XY plot points.
      */
     public double[][] plotPoints(double intervalBetweenPoints, double lowerBound, double upperBound) {
-        List<double[]> pointsList = new ArrayList<>();
-
-        double currentXValue = lowerBound;
-        while (currentXValue <= upperBound) { // Include upperBound
-            double yValue = performFunction(currentXValue);
-            if (yValue >= lowerBound && yValue <= upperBound) {
-                double[] point = {currentXValue, yValue};
-                pointsList.add(point);
-            }
-
-            currentXValue += intervalBetweenPoints;
-        }
-
-        // Convert to a 2D array
-        double[][] points = new double[2][pointsList.size()];
-        for (int i = 0; i < pointsList.size(); i++) {
-            points[0][i] = pointsList.get(i)[0];
-            points[1][i] = pointsList.get(i)[1];
-        }
+        // Each X value is computed from its index, and the points are sampled in parallel for dense ranges
+        double[][] points = sampler.uniform(lowerBound, upperBound, intervalBetweenPoints, true); // Include upperBound
+
+        // Keep only the points whose Y value is within the bounds
+        points = Sampler.clip(points, lowerBound, upperBound);
 
         return points;
     }
+
+    /**
+     * Calculates the x and y values for a specified function with adaptive sampling, which adds points only where
+     * the function bends, so fewer points draw the same curve as a dense uniform grid.
+     *
+     * @param initialPoints The number of evenly spaced points the sampling starts from, including both bounds.
+     * @param tolerance     The largest distance in Y allowed between the function and the line drawn through the points.
+     * @param lowerBound    The lower bound of the X-axis range.
+     * @param upperBound    The upper bound of the X-axis range.
+     * @return A 2D array representing the generated XY plot points.
+     */
+    public double[][] plotAdaptivePoints(int initialPoints, double tolerance, double lowerBound, double upperBound) {
+        double[][] points = sampler.adaptive(lowerBound, upperBound, initialPoints, tolerance, ADAPTIVE_DEPTH);
+
+        // Keep only the points whose Y value is within the bounds
+        return Sampler.clip(points, lowerBound, upperBound);
+    }
 }
 
 
@@ -1,20 +1,46 @@
 package Part3;
 
+import Charts.ChartWindow;
+import Charts.Downsampler;
+import Charts.DownsampledXYDataset;
+import Salting.NoiseModel;
+import Salting.SaltingEngine;
 import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultXYDataset;
 
-import javax.swing.*;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * The Salt class provides methods for salting the Y values of an XY plot dataset and displaying the salted data.
  *
  * @author petitoa
  */
-public class Salt extends JFrame {
+public class Salt {
+    // Null when unseeded, single values are then salted from the thread's own generator
+    private final SplittableRandom random;
+    private final long seed;
+
+    /**
+     * Constructs a new Salt drawing unrepeatable salt.
+     */
+    public Salt() {
+        this.random = null;
+        this.seed = 0;
+    }
+
+    /**
+     * Constructs a new Salt drawing salt from a seed, so the same seed salts the same dataset the same way.
+     * A seeded Salt must not salt single values from several threads at once.
+     *
+     * @param seed The seed the salt is drawn from.
+     */
+    public Salt(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.seed = seed;
+    }
 
     /**
      * Salts the given Y value within the specified range.
@@ -25,7 +51,7 @@ public class Salt extends JFrame {
      * @return The salted Y value.
      */
     public double saltYValue(double yValue, double minRange, double maxRange) {
-        Random rng = new Random();
+        RandomGenerator rng = random != null ? random : ThreadLocalRandom.current();
         //nextDouble() rng between 0.0 - 1.0, so use the difference and multiply by random add to minimum
         double saltValue = (maxRange - minRange) * rng.nextDouble() + minRange;
         double saltedYValue = (rng.nextBoolean() ? yValue - saltValue : yValue + saltValue);
@@ -34,6 +60,8 @@ public class Salt extends JFrame {
 
     /**
      * Generates a salted XY plot dataset based on the provided dataset and displays it using JFreeChart.
+     * Showing the chart throws a HeadlessException without a display, headless callers salt with saltXYPlot
+     * and write the chart of createChart with ChartRenderer instead.
      *
      * @param xYPlotDataSet The original XY plot dataset.
      * @param minRange      The minimum range for adding salt to Y values.
@@ -41,31 +69,53 @@ public class Salt extends JFrame {
      * @return The salted XY plot dataset.
      */
     public double[][] generateSaltedXYPlot(double[][] xYPlotDataSet, double minRange, double maxRange) {
-        // Salt the Y values
-        double[][] saltedData = new double[2][xYPlotDataSet[0].length];
+        double[][] saltedData = saltXYPlot(xYPlotDataSet, NoiseModel.uniform(minRange, maxRange));
 
-        for (int i = 0; i < xYPlotDataSet[0].length; i++) {
-            saltedData[0][i] = xYPlotDataSet[0][i]; // X value
-            saltedData[1][i] = saltYValue(xYPlotDataSet[1][i], minRange, maxRange); // Salt the Y value
-        }
+        // The chart gets its own frame, Salt itself is not a window
+        ChartWindow.show(createChart(saltedData), "Salted Graph");
 
-        // Create a dataset with the salted data
-        DefaultXYDataset dataset = new DefaultXYDataset();
+        return saltedData;
+    }
+
+    /**
+     * Creates the graph of a salted XY plot dataset, to be displayed or written to a file with ChartRenderer.
+     *
+     * @param saltedData The salted XY plot dataset, x values in row 0 and y values in row 1.
+     * @return The chart of the salted points.
+     */
+    public JFreeChart createChart(double[][] saltedData) {
+        // Min/max buckets keep the full spread of the salt however far the chart is zoomed out
+        DownsampledXYDataset dataset = new DownsampledXYDataset(Downsampler.Mode.MIN_MAX);
         dataset.addSeries("Salted Data", saltedData);
 
         // Create the chart
-        JFreeChart chart = ChartFactory.createXYLineChart("Salted Graph", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
-
-        ChartPanel chartPanel = new ChartPanel(chart);
-
-        setContentPane(chartPanel);
-
-        setExtendedState(JFrame.MAXIMIZED_BOTH);
-        setUndecorated(true);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setVisible(true);
+        return ChartFactory.createXYLineChart("Salted Graph", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
+    }
 
+    /**
+     * Salts the Y values of an XY plot dataset with a noise model, without displaying it.
+     * Long datasets are salted in parallel. The salt does not depend on the number of threads: a seeded Salt salts
+     * the same dataset the same way on every call, an unseeded one draws new salt on every call.
+     *
+     * @param xYPlotDataSet The original XY plot dataset.
+     * @param noiseModel    The noise model drawing the salt, NoiseModel.uniform salts like saltYValue.
+     * @return The salted XY plot dataset, x values in row 0 and y values in row 1.
+     */
+    public double[][] saltXYPlot(double[][] xYPlotDataSet, NoiseModel noiseModel) {
+        double[][] saltedData = new double[2][];
+        saltedData[0] = xYPlotDataSet[0].clone(); // X values
+        saltedData[1] = new SaltingEngine(engineSeed(), noiseModel).salt(xYPlotDataSet[1]); // Salt the Y values
         return saltedData;
     }
 
+    /**
+     * Gets the seed of the engine salting a whole array. A seeded Salt reuses its seed,
+     * an unseeded one draws a new seed for every array so its salt is never repeated.
+     *
+     * @return The seed of the next SaltingEngine.
+     */
+    private long engineSeed() {
+        return random != null ? seed : ThreadLocalRandom.current().nextLong();
+    }
+
 }
@@ -1,65 +1,74 @@
 package Part3;
 
-import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import Charts.ChartWindow;
+import Charts.DownsampledXYDataset;
+import Smoothing.IteratedSmoother;
+import Smoothing.ParallelSmoother;
 import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultXYDataset;
-
-import javax.swing.*;
 
 /**
  * The Smoother class provides a method for smoothing an XY plot dataset and displaying the smoothed data.
  *
  * @author petitoa
  */
-public class Smoother extends JFrame {
+public class Smoother {
+    private final ParallelSmoother parallelSmoother = new ParallelSmoother();
 
     /**
      * Smooths the provided XY plot dataset using a moving window and displays the smoothed data using JFreeChart.
+     * Showing the chart throws a HeadlessException without a display, headless callers smooth with smooth
+     * and write the chart of createChart with ChartRenderer instead.
      *
      * @param xYPlotDataSet       The original XY plot dataset.
      * @param windowValue         The size of the moving window.
      * @param smoothingIterations The number of iterations for smoothing.
      */
     public void smoother(double[][] xYPlotDataSet, int windowValue, int smoothingIterations) {
-        // Create a new array for smoothed data that contains x values
-        double[][] smoothedData = new double[2][xYPlotDataSet[0].length];
-
-        // Copy x value directly
-        System.arraycopy(xYPlotDataSet[0], 0, smoothedData[0], 0, xYPlotDataSet[0].length);
+        double[][] smoothedData = smooth(xYPlotDataSet, windowValue, smoothingIterations);
 
-        // Separate y values
-        double[] yValues = new double[xYPlotDataSet[0].length];
-
-        // Copy y values directly
-        System.arraycopy(xYPlotDataSet[1], 0, yValues, 0, xYPlotDataSet[0].length);
-
-        // Create a DescriptiveStatistics instance with the specified window size
-        DescriptiveStatistics stats = new DescriptiveStatistics(windowValue);
-        for (int iterations = 0; iterations < smoothingIterations; iterations++) {
-            for (int k = 0; k < xYPlotDataSet[0].length; k++) {
-                stats.addValue(yValues[k]);
-                smoothedData[1][k] = stats.getMean();
-            }
-        }
+        // The chart gets its own frame, Smoother itself is not a window
+        ChartWindow.show(createChart(smoothedData), "Smoothed Graph");
+    }
 
+    /**
+     * Creates the graph of a smoothed XY plot dataset, to be displayed or written to a file with ChartRenderer.
+     *
+     * @param smoothedData The smoothed XY plot dataset, x values in row 0 and y values in row 1.
+     * @return The chart of the smoothed points.
+     */
+    public JFreeChart createChart(double[][] smoothedData) {
         // Create the JFreeChart using the final smoothedDataset
-        DefaultXYDataset dataset = new DefaultXYDataset();
+        DownsampledXYDataset dataset = new DownsampledXYDataset();
         dataset.addSeries("Smoothed Graph", smoothedData);
 
-        JFreeChart chart = ChartFactory.createXYLineChart(
+        return ChartFactory.createXYLineChart(
                 "Smoothed Graph", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false);
+    }
+
+    /**
+     * Smooths the provided XY plot dataset using a moving window, without displaying it.
+     * Every iteration smooths the result of the previous one with a centered moving average
+     * of windowValue / 2 points on each side.
+     *
+     * @param xYPlotDataSet       The original XY plot dataset.
+     * @param windowValue         The size of the moving window.
+     * @param smoothingIterations The number of iterations for smoothing.
+     * @return The smoothed XY plot dataset, x values in row 0 and y values in row 1.
+     */
+    public double[][] smooth(double[][] xYPlotDataSet, int windowValue, int smoothingIterations) {
+        // Create a new array for smoothed data that contains x values
+        double[][] smoothedData = new double[2][xYPlotDataSet[0].length];
 
-        ChartPanel chartPanel = new ChartPanel(chart);
+        // Copy x value directly
+        System.arraycopy(xYPlotDataSet[0], 0, smoothedData[0], 0, xYPlotDataSet[0].length);
 
-        setExtendedState(JFrame.MAXIMIZED_BOTH);
-        setUndecorated(true);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setVisible(true);
+        // All iterations run in memory, alternating between the result and one scratch array, each split across all cores
+        IteratedSmoother smoother = new IteratedSmoother(windowValue / 2, smoothingIterations, parallelSmoother);
+        smoother.smooth(xYPlotDataSet[1], smoothedData[1], null);
 
-        setContentPane(chartPanel);
+        return smoothedData;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package Salting;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The NoiseModel interface draws the salt added to a value.
+ * The uniform model is the salt Salter and Salt have always used, the Gaussian and Laplace models
+ * give noise that is mostly small with occasional larger values.
+ *
+ * @author petitoa
+ */
+public interface NoiseModel {
+
+    /**
+     * Draws the salt for one value.
+     *
+     * @param random The generator to draw from.
+     * @return The salt, added to the value.
+     */
+    double sample(RandomGenerator random);
+
+    /**
+     * Gets uniform salt between minRange and maxRange, added or subtracted with equal chance.
+     *
+     * @param minRange The minimum size of the salt.
+     * @param maxRange The maximum size of the salt.
+     * @return The uniform noise model.
+     */
+    static NoiseModel uniform(double minRange, double maxRange) {
+        return random -> {
+            //nextDouble() rng between 0.0 - 1.0, so use the difference and multiply by random add to minimum
+            double saltValue = (maxRange - minRange) * random.nextDouble() + minRange;
+            return random.nextBoolean() ? -saltValue : saltValue;
+        };
+    }
+
+    /**
+     * Gets normally distributed salt with mean 0.
+     *
+     * @param standardDeviation The standard deviation of the salt.
+     * @return The Gaussian noise model.
+     * @throws IllegalArgumentException If the standard deviation is negative.
+     */
+    static NoiseModel gaussian(double standardDeviation) {
+        if (standardDeviation < 0) {
+            throw new IllegalArgumentException("Standard deviation must not be negative: " + standardDeviation);
+        }
+        return random -> standardDeviation * random.nextGaussian();
+    }
+
+    /**
+     * Gets Laplace distributed salt with mean 0, an exponentially distributed size added or subtracted with equal chance.
+     *
+     * @param scale The scale of the salt, its variance is 2 * scale^2.
+     * @return The Laplace noise model.
+     * @throws IllegalArgumentException If the scale is negative.
+     */
+    static NoiseModel laplace(double scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must not be negative: " + scale);
+        }
+        return random -> {
+            double saltValue = scale * random.nextExponential();
+            return random.nextBoolean() ? -saltValue : saltValue;
+        };
+    }
+}
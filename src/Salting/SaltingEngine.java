@@ -0,0 +1,158 @@
+package Salting;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The SaltingEngine class adds seeded noise to whole arrays of values.
+ * The values are salted in fixed blocks, each with its own SplittableRandom seeded from the engine seed and
+ * the index of the block. Blocks are salted in parallel on a fork-join pool, and because a block draws the same
+ * numbers whichever thread salts it, a seed always gives the same result whatever the number of threads.
+ *
+ * @author petitoa
+ */
+public class SaltingEngine {
+    // Values salted with one generator, fixed so results do not depend on the number of threads
+    static final int BLOCK_SIZE = 1 << 14;
+
+    // Below this many values a sequential pass is faster than forking
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private final long seed;
+    private final NoiseModel noiseModel;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new SaltingEngine running on the common fork-join pool.
+     *
+     * @param seed       The seed the salt is drawn from.
+     * @param noiseModel The noise model drawing the salt.
+     */
+    public SaltingEngine(long seed, NoiseModel noiseModel) {
+        this(seed, noiseModel, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new SaltingEngine running on the given fork-join pool.
+     *
+     * @param seed       The seed the salt is drawn from.
+     * @param noiseModel The noise model drawing the salt.
+     * @param pool       The pool the blocks are salted on.
+     */
+    public SaltingEngine(long seed, NoiseModel noiseModel, ForkJoinPool pool) {
+        this.seed = seed;
+        this.noiseModel = noiseModel;
+        this.pool = pool;
+    }
+
+    /**
+     * Salts every value.
+     *
+     * @param values The values to be salted, left unchanged.
+     * @return A new array holding the salted values.
+     */
+    public double[] salt(double[] values) {
+        double[] saltedValues = new double[values.length];
+        salt(values, saltedValues);
+        return saltedValues;
+    }
+
+    /**
+     * Salts every value into an existing array, which may be the values themselves to salt them in place.
+     *
+     * @param values       The values to be salted.
+     * @param saltedValues The array the salted values are written to, as long as values.
+     * @throws IllegalArgumentException If the arrays differ in length.
+     */
+    public void salt(double[] values, double[] saltedValues) {
+        if (saltedValues.length != values.length) {
+            throw new IllegalArgumentException("Salted values must be as long as the values: " + saltedValues.length + " != " + values.length);
+        }
+        int blocks = (values.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        if (values.length < SEQUENTIAL_THRESHOLD || pool.getParallelism() < 2) {
+            saltBlocks(values, saltedValues, 0, blocks);
+        } else {
+            pool.invoke(new SaltingTask(values, saltedValues, 0, blocks));
+        }
+    }
+
+    /**
+     * Creates a stream salting a series one part at a time, in order.
+     * The stream salts every value exactly as salting the whole series at once would.
+     *
+     * @return A new SaltingStream starting at the first value of the series.
+     */
+    public SaltingStream stream() {
+        return new SaltingStream(this);
+    }
+
+    /**
+     * Gets the seed the salt is drawn from.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the noise model drawing the salt.
+     *
+     * @return The noise model.
+     */
+    public NoiseModel getNoiseModel() {
+        return noiseModel;
+    }
+
+    private void saltBlocks(double[] values, double[] saltedValues, int fromBlock, int toBlock) {
+        for (int block = fromBlock; block < toBlock; block++) {
+            SplittableRandom random = new SplittableRandom(blockSeed(block));
+            int end = (int) Math.min(values.length, (block + 1L) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < end; i++) {
+                saltedValues[i] = values[i] + noiseModel.sample(random);
+            }
+        }
+    }
+
+    /**
+     * Mixes the engine seed with the index of a block, so neighbouring blocks get unrelated streams.
+     * Seeding SplittableRandom with seed + block directly would give overlapping streams.
+     */
+    long blockSeed(long block) {
+        long z = seed + (block + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Salts a range of blocks, splitting it in half until a single block is left.
+     */
+    // Tasks only run inside the pool and are never serialized
+    @SuppressWarnings("serial")
+    private class SaltingTask extends RecursiveAction {
+        private final double[] values;
+        private final double[] saltedValues;
+        private final int fromBlock;
+        private final int toBlock;
+
+        private SaltingTask(double[] values, double[] saltedValues, int fromBlock, int toBlock) {
+            this.values = values;
+            this.saltedValues = saltedValues;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock > 1) {
+                int middle = (fromBlock + toBlock) >>> 1;
+                invokeAll(new SaltingTask(values, saltedValues, fromBlock, middle),
+                        new SaltingTask(values, saltedValues, middle, toBlock));
+                return;
+            }
+            saltBlocks(values, saltedValues, fromBlock, toBlock);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package Salting;
+
+import java.util.SplittableRandom;
+
+/**
+ * The SaltingStream class salts a series that arrives in parts, such as the blocks of a pipeline.
+ * It keeps the position in the series and the generator of the current block of its SaltingEngine,
+ * so the salted series is identical to salting the whole series at once with the engine.
+ * A stream salts one series in order and must not be used from several threads at once.
+ *
+ * @author petitoa
+ */
+public class SaltingStream {
+    private final SaltingEngine engine;
+    private final NoiseModel noiseModel;
+    private SplittableRandom random;
+    private long position;
+
+    SaltingStream(SaltingEngine engine) {
+        this.engine = engine;
+        this.noiseModel = engine.getNoiseModel();
+    }
+
+    /**
+     * Salts the next values of the series.
+     *
+     * @param values       The array holding the next values.
+     * @param saltedValues The array the salted values are written to, which may be values itself.
+     * @param from         The index of the first value in the arrays.
+     * @param to           The index after the last value in the arrays.
+     */
+    public void salt(double[] values, double[] saltedValues, int from, int to) {
+        for (int i = from; i < to; i++) {
+            // Switch to the generator of the engine block the value falls in
+            if (position % SaltingEngine.BLOCK_SIZE == 0) {
+                random = new SplittableRandom(engine.blockSeed(position / SaltingEngine.BLOCK_SIZE));
+            }
+            saltedValues[i] = values[i] + noiseModel.sample(random);
+            position++;
+        }
+    }
+
+    /**
+     * Gets the number of values salted so far.
+     *
+     * @return The position in the series of the next value.
+     */
+    public long getPosition() {
+        return position;
+    }
+}
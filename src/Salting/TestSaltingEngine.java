@@ -0,0 +1,53 @@
+package Salting;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The TestSaltingEngine class serves as a test for the SaltingEngine functionality.
+ * It checks that a seed salts the same way on any number of threads and in place,
+ * and prints the mean and variance of the salt of every noise model.
+ *
+ * @author petitoa
+ */
+public class TestSaltingEngine {
+    public static void main(String[] args) {
+        double[] values = new double[1_000_000];
+
+        NoiseModel[] noiseModels = {NoiseModel.uniform(0, 100), NoiseModel.gaussian(10), NoiseModel.laplace(10)};
+        String[] names = {"uniform(0, 100)", "gaussian(10)", "laplace(10)"};
+        // Expected variances: (0^2 + 0*100 + 100^2) / 3, 10^2 and 2 * 10^2
+        double[] expectedVariances = {10000 / 3.0, 100, 200};
+
+        for (int m = 0; m < noiseModels.length; m++) {
+            double[] reference = new SaltingEngine(42, noiseModels[m], new ForkJoinPool(1)).salt(values);
+
+            boolean identical = true;
+            for (int threads : new int[]{2, 3, 8}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                identical &= Arrays.equals(reference, new SaltingEngine(42, noiseModels[m], pool).salt(values));
+                pool.shutdown();
+            }
+
+            double[] inPlace = values.clone();
+            new SaltingEngine(42, noiseModels[m]).salt(inPlace, inPlace);
+            identical &= Arrays.equals(reference, inPlace);
+
+            boolean otherSeedDiffers = !Arrays.equals(reference, new SaltingEngine(43, noiseModels[m]).salt(values));
+
+            double mean = Arrays.stream(reference).average().orElse(0);
+            double variance = Arrays.stream(reference).map(x -> (x - mean) * (x - mean)).sum() / reference.length;
+            System.out.printf("%s: identical on every thread count %b, other seed differs %b, mean %.3f, variance %.2f (expected %.2f)%n",
+                    names[m], identical, otherSeedDiffers, mean, variance, expectedVariances[m]);
+        }
+
+        double[] longSeries = new double[50_000_000];
+        SaltingEngine engine = new SaltingEngine(7, NoiseModel.gaussian(1));
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            engine.salt(longSeries, longSeries);
+            System.out.printf("Salted %d values in place on %d threads in %.1f ms%n", longSeries.length,
+                    ForkJoinPool.commonPool().getParallelism(), (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
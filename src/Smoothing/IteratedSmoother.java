@@ -0,0 +1,138 @@
+package Smoothing;
+
+/**
+ * The IteratedSmoother class smooths values several times in a row, every pass smoothing the result of the one before.
+ * Each pass is a centered moving average computed by SmoothingKernel with running sums, and the passes alternate
+ * between the result array and one scratch array, so k passes cost O(n * k) and allocate nothing per pass.
+ * <p>
+ * k passes of a moving average equal a single weighted average over k * windowValue values on each side.
+ * That kernel is available from getCollapsedKernel to describe the result, the passes remain the way to compute it,
+ * since applying the kernel directly costs O(passes * windowValue) per value instead of O(passes).
+ *
+ * @author petitoa
+ */
+public class IteratedSmoother {
+    private final int windowValue;
+    private final int passes;
+    private final ParallelSmoother parallelSmoother;
+
+    /**
+     * Constructs a new IteratedSmoother running every pass sequentially.
+     *
+     * @param windowValue The number of values on each side of the current value in every pass.
+     * @param passes      The number of smoothing passes.
+     * @throws IllegalArgumentException If the window value or the number of passes is negative.
+     */
+    public IteratedSmoother(int windowValue, int passes) {
+        this(windowValue, passes, null);
+    }
+
+    /**
+     * Constructs a new IteratedSmoother splitting every pass across a ParallelSmoother.
+     * The result is bit-identical to running the passes sequentially.
+     *
+     * @param windowValue      The number of values on each side of the current value in every pass.
+     * @param passes           The number of smoothing passes.
+     * @param parallelSmoother The smoother running each pass, or null to run them sequentially.
+     * @throws IllegalArgumentException If the window value or the number of passes is negative.
+     */
+    public IteratedSmoother(int windowValue, int passes, ParallelSmoother parallelSmoother) {
+        if (windowValue < 0) {
+            throw new IllegalArgumentException("Window value must not be negative: " + windowValue);
+        }
+        if (passes < 0) {
+            throw new IllegalArgumentException("Passes must not be negative: " + passes);
+        }
+        this.windowValue = windowValue;
+        this.passes = passes;
+        this.parallelSmoother = parallelSmoother;
+    }
+
+    /**
+     * Smooths the values with every pass.
+     *
+     * @param values The values to be smoothed.
+     * @return A new array holding the values after the last pass.
+     */
+    public double[] smooth(double[] values) {
+        double[] smoothedValues = new double[values.length];
+        smooth(values, smoothedValues, null);
+        return smoothedValues;
+    }
+
+    /**
+     * Smooths the values with every pass into an existing array, reporting the result of each pass.
+     *
+     * @param values         The values to be smoothed, left unchanged.
+     * @param smoothedValues The array the values after the last pass are written to, as long as values and not the same array.
+     * @param listener       Receives the result of every pass, or null.
+     * @throws IllegalArgumentException If the arrays do not fit.
+     */
+    public void smooth(double[] values, double[] smoothedValues, PassListener listener) {
+        if (smoothedValues == values || smoothedValues.length != values.length) {
+            throw new IllegalArgumentException("Smoothed values need their own array as long as the values");
+        }
+        if (passes == 0) {
+            System.arraycopy(values, 0, smoothedValues, 0, values.length);
+            return;
+        }
+
+        // Start in the array that makes the last pass end in smoothedValues
+        double[] scratch = passes > 1 ? new double[values.length] : null;
+        double[] target = passes % 2 == 1 ? smoothedValues : scratch;
+        double[] source = values;
+
+        for (int pass = 1; pass <= passes; pass++) {
+            if (parallelSmoother == null) {
+                SmoothingKernel.centeredMovingAverage(source, windowValue, target);
+            } else {
+                parallelSmoother.centeredMovingAverage(source, windowValue, target);
+            }
+            if (listener != null) {
+                listener.passCompleted(pass, target);
+            }
+            source = target;
+            target = target == smoothedValues ? scratch : smoothedValues;
+        }
+    }
+
+    /**
+     * Gets the weights of the single kernel equal to every pass applied in a row.
+     * The kernel is the moving average convolved with itself once per pass.
+     *
+     * @return The weights of the values from passes * windowValue before to passes * windowValue after the current value,
+     * adding up to 1.
+     */
+    public double[] getCollapsedKernel() {
+        int width = 2 * windowValue + 1;
+        double[] kernel = {1};
+        for (int pass = 0; pass < passes; pass++) {
+            double[] convolved = new double[kernel.length + width - 1];
+            for (int i = 0; i < kernel.length; i++) {
+                for (int j = 0; j < width; j++) {
+                    convolved[i + j] += kernel[i] / width;
+                }
+            }
+            kernel = convolved;
+        }
+        return kernel;
+    }
+
+    /**
+     * Gets the number of values on each side of the current value in every pass.
+     *
+     * @return The window value.
+     */
+    public int getWindowValue() {
+        return windowValue;
+    }
+
+    /**
+     * Gets the number of smoothing passes.
+     *
+     * @return The number of passes.
+     */
+    public int getPasses() {
+        return passes;
+    }
+}
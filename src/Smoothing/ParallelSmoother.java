@@ -0,0 +1,127 @@
+package Smoothing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The ParallelSmoother class runs the centered moving average of SmoothingKernel on a fork-join pool.
+ * The series is split into chunks that each task smooths on its own. A chunk reads the window of values
+ * around it (its halo) straight from the shared, unchanged input array, so nothing is copied.
+ * Chunks start on the block boundaries of SmoothingKernel, so the result is bit-identical to a sequential pass.
+ * Series too small to gain from splitting, or a pool with one thread, are smoothed sequentially.
+ *
+ * @author petitoa
+ */
+public class ParallelSmoother {
+    // Below this many values a sequential pass is faster than forking
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    // Chunks per thread, so threads finishing early can steal work
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new ParallelSmoother running on the common fork-join pool.
+     */
+    public ParallelSmoother() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new ParallelSmoother running on the given fork-join pool.
+     *
+     * @param pool The pool the chunks are smoothed on.
+     */
+    public ParallelSmoother(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Smooths values with a centered moving average.
+     *
+     * @param values      The values to be smoothed.
+     * @param windowValue The number of values on each side of the current value.
+     * @return A new array holding the smoothed values.
+     * @throws IllegalArgumentException If the window value is negative.
+     */
+    public double[] centeredMovingAverage(double[] values, int windowValue) {
+        double[] smoothedValues = new double[values.length];
+        centeredMovingAverage(values, windowValue, smoothedValues);
+        return smoothedValues;
+    }
+
+    /**
+     * Smooths values with a centered moving average into an existing array.
+     *
+     * @param values         The values to be smoothed.
+     * @param windowValue    The number of values on each side of the current value.
+     * @param smoothedValues The array the smoothed values are written to, as long as values and not the same array.
+     * @throws IllegalArgumentException If the window value is negative or the arrays do not fit.
+     */
+    public void centeredMovingAverage(double[] values, int windowValue, double[] smoothedValues) {
+        int chunkSize = chunkSize(values.length, windowValue);
+        if (chunkSize >= values.length) {
+            SmoothingKernel.centeredMovingAverage(values, windowValue, smoothedValues);
+            return;
+        }
+        // Check the arguments before forking, so errors are not wrapped by the pool
+        SmoothingKernel.centeredMovingAverage(values, windowValue, smoothedValues, 0, 0);
+        pool.invoke(new SmoothingTask(values, windowValue, smoothedValues, chunkSize, 0, values.length));
+    }
+
+    /**
+     * Gets the number of values one task smooths for a series.
+     * Chunks are whole multiples of the block size of SmoothingKernel, so every chunk starts on a block boundary.
+     *
+     * @param length      The number of values in the series.
+     * @param windowValue The number of values on each side of the current value.
+     * @return The chunk size, the length of the series itself when it is smoothed sequentially.
+     */
+    public int chunkSize(int length, int windowValue) {
+        int parallelism = pool.getParallelism();
+        if (length < SEQUENTIAL_THRESHOLD || parallelism < 2) {
+            return length;
+        }
+        int blockSize = SmoothingKernel.blockSize(windowValue);
+        long chunks = (long) parallelism * CHUNKS_PER_THREAD;
+        long blocksPerChunk = Math.max(1, ((long) length / chunks + blockSize - 1) / blockSize);
+        return (int) Math.min(length, blocksPerChunk * blockSize);
+    }
+
+    /**
+     * Smooths a range of chunks, splitting it in half until a single chunk is left.
+     */
+    // Tasks only run inside the pool and are never serialized
+    @SuppressWarnings("serial")
+    private static class SmoothingTask extends RecursiveAction {
+        private final double[] values;
+        private final int windowValue;
+        private final double[] smoothedValues;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        private SmoothingTask(double[] values, int windowValue, double[] smoothedValues, int chunkSize, int from, int to) {
+            this.values = values;
+            this.windowValue = windowValue;
+            this.smoothedValues = smoothedValues;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int chunks = (to - from + chunkSize - 1) / chunkSize;
+            if (chunks > 1) {
+                // Split on a chunk boundary, which is also a block boundary
+                int middle = from + (chunks / 2) * chunkSize;
+                invokeAll(new SmoothingTask(values, windowValue, smoothedValues, chunkSize, from, middle),
+                        new SmoothingTask(values, windowValue, smoothedValues, chunkSize, middle, to));
+                return;
+            }
+            SmoothingKernel.centeredMovingAverage(values, windowValue, smoothedValues, from, to);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package Smoothing;
+
+/**
+ * The PassListener interface receives the intermediate results of an IteratedSmoother,
+ * so selected iterations can be kept without writing out every one of them.
+ *
+ * @author petitoa
+ */
+public interface PassListener {
+
+    /**
+     * Called after each smoothing pass.
+     * The array is reused by the following passes, copy it to keep the values.
+     *
+     * @param pass           The number of the pass, starting at 1.
+     * @param smoothedValues The values after the pass.
+     */
+    void passCompleted(int pass, double[] smoothedValues);
+}
@@ -0,0 +1,123 @@
+package Smoothing;
+
+import java.util.Objects;
+
+/**
+ * The SmoothingKernel class provides the centered moving average shared by the smoothers of the project.
+ * It works on primitive arrays, so Point and Stock data are smoothed by passing their y or opening values.
+ * <p>
+ * Each smoothed value is the mean of the value and up to windowValue neighbours on each side. Near the edges
+ * fewer neighbours exist, and the mean is taken over the values that do. The sum of the window is kept as a
+ * running sum, adding the value entering and subtracting the value leaving, so a pass costs O(n) whatever
+ * the window size. The running sum is computed afresh at the start of every block of values, at fixed
+ * positions depending only on the window size, which bounds the rounding errors it accumulates and makes
+ * every value independent of how a pass over the series is split.
+ *
+ * @author petitoa
+ */
+public final class SmoothingKernel {
+    // The smallest number of values sharing one running sum
+    private static final int MIN_BLOCK_SIZE = 4096;
+
+    private SmoothingKernel() {
+    }
+
+    /**
+     * Smooths values with a centered moving average.
+     *
+     * @param values      The values to be smoothed.
+     * @param windowValue The number of values on each side of the current value.
+     * @return A new array holding the smoothed values.
+     * @throws IllegalArgumentException If the window value is negative.
+     */
+    public static double[] centeredMovingAverage(double[] values, int windowValue) {
+        double[] smoothedValues = new double[values.length];
+        centeredMovingAverage(values, windowValue, smoothedValues, 0, values.length);
+        return smoothedValues;
+    }
+
+    /**
+     * Smooths values with a centered moving average into an existing array.
+     *
+     * @param values         The values to be smoothed.
+     * @param windowValue    The number of values on each side of the current value.
+     * @param smoothedValues The array the smoothed values are written to, as long as values and not the same array.
+     * @throws IllegalArgumentException If the window value is negative or the arrays do not fit.
+     */
+    public static void centeredMovingAverage(double[] values, int windowValue, double[] smoothedValues) {
+        centeredMovingAverage(values, windowValue, smoothedValues, 0, values.length);
+    }
+
+    /**
+     * Smooths the values from index from (inclusive) to to (exclusive) with a centered moving average.
+     * Values outside the range are read as neighbours but only smoothed values inside the range are written,
+     * and they are identical to the values a pass over the whole series writes.
+     *
+     * @param values         The values to be smoothed.
+     * @param windowValue    The number of values on each side of the current value.
+     * @param smoothedValues The array the smoothed values are written to, as long as values and not the same array.
+     * @param from           The index of the first value to smooth.
+     * @param to             The index after the last value to smooth.
+     * @throws IllegalArgumentException  If the window value is negative or the arrays do not fit.
+     * @throws IndexOutOfBoundsException If the range is outside the values.
+     */
+    public static void centeredMovingAverage(double[] values, int windowValue, double[] smoothedValues, int from, int to) {
+        if (windowValue < 0) {
+            throw new IllegalArgumentException("Window value must not be negative: " + windowValue);
+        }
+        if (smoothedValues == values || smoothedValues.length != values.length) {
+            throw new IllegalArgumentException("Smoothed values need their own array as long as the values");
+        }
+        Objects.checkFromToIndex(from, to, values.length);
+
+        // A window without neighbours is the identity, copied exactly instead of going through the running sum
+        if (windowValue == 0) {
+            System.arraycopy(values, from, smoothedValues, from, to - from);
+            return;
+        }
+
+        int n = values.length;
+        int blockSize = blockSize(windowValue);
+
+        // Start at the block holding from, so the running sum matches the one of a pass over the whole series
+        int blockStart = from - from % blockSize;
+        while (blockStart < to) {
+            int blockEnd = Math.min(to, blockStart + blockSize);
+
+            int lowest = Math.max(0, blockStart - windowValue);
+            int highest = Math.min(n - 1, blockStart + windowValue);
+            double windowSum = 0;
+            for (int k = lowest; k <= highest; k++) {
+                windowSum += values[k];
+            }
+
+            for (int i = blockStart; i < blockEnd; i++) {
+                if (i > blockStart) {
+                    // Slide the window one value to the right
+                    if (i + windowValue < n) {
+                        windowSum += values[i + windowValue];
+                    }
+                    if (i - windowValue - 1 >= 0) {
+                        windowSum -= values[i - windowValue - 1];
+                    }
+                }
+                if (i >= from) {
+                    int count = Math.min(n - 1, i + windowValue) - Math.max(0, i - windowValue) + 1;
+                    smoothedValues[i] = windowSum / count;
+                }
+            }
+            blockStart = blockEnd;
+        }
+    }
+
+    /**
+     * Gets the number of values sharing one running sum for a window value.
+     * Splitting a pass into ranges on multiples of it avoids smoothing any value twice.
+     *
+     * @param windowValue The number of values on each side of the current value.
+     * @return The block size, at least 16 times the width of the window.
+     */
+    public static int blockSize(int windowValue) {
+        return Math.max(MIN_BLOCK_SIZE, 16 * (2 * windowValue + 1));
+    }
+}
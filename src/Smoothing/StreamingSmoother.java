@@ -0,0 +1,125 @@
+package Smoothing;
+
+/**
+ * The StreamingSmoother class runs the centered moving average of SmoothingKernel on a series that arrives
+ * one value at a time, such as the blocks of a pipeline. A smoothed value is given out as soon as the
+ * windowValue values after it have arrived, so only the last 2 * windowValue + 2 values are kept.
+ * Each value carries an x value along, given out with its smoothed y value.
+ * <p>
+ * The running sum is computed afresh on the same block boundaries as SmoothingKernel, so the smoothed series
+ * is identical to smoothing the whole series at once.
+ * A stream smooths one series in order and must not be used from several threads at once.
+ *
+ * @author petitoa
+ */
+public class StreamingSmoother {
+    private final int windowValue;
+    private final int blockSize;
+    private final int capacity;
+
+    // The values from index next - windowValue - 1 to received - 1, at index % capacity
+    private final double[] xValues;
+    private final double[] yValues;
+
+    private long received;
+    private long next;
+    private double windowSum;
+    private boolean finished;
+
+    /**
+     * Constructs a new StreamingSmoother.
+     *
+     * @param windowValue The number of values on each side of the current value.
+     * @throws IllegalArgumentException If the window value is negative.
+     */
+    public StreamingSmoother(int windowValue) {
+        if (windowValue < 0) {
+            throw new IllegalArgumentException("Window value must not be negative: " + windowValue);
+        }
+        this.windowValue = windowValue;
+        this.blockSize = SmoothingKernel.blockSize(windowValue);
+        this.capacity = 2 * windowValue + 2;
+        this.xValues = new double[capacity];
+        this.yValues = new double[capacity];
+    }
+
+    /**
+     * Adds the next value of the series and gives out the smoothed value it completes, if any.
+     *
+     * @param xValue         The x value carried along with the value.
+     * @param yValue         The value to be smoothed.
+     * @param smoothedXValues The array the x value of a smoothed value is written to.
+     * @param smoothedYValues The array a smoothed value is written to.
+     * @param offset         The index the smoothed value is written at.
+     * @return The number of smoothed values written, 0 or 1.
+     * @throws IllegalStateException If the series was already finished.
+     */
+    public int push(double xValue, double yValue, double[] smoothedXValues, double[] smoothedYValues, int offset) {
+        if (finished) {
+            throw new IllegalStateException("The series was already finished");
+        }
+        int slot = (int) (received % capacity);
+        xValues[slot] = xValue;
+        yValues[slot] = yValue;
+        received++;
+
+        if (received > next + windowValue) {
+            emit(smoothedXValues, smoothedYValues, offset);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Ends the series and gives out the smoothed values still waiting for the values after them.
+     *
+     * @param smoothedXValues The array the x values of the smoothed values are written to.
+     * @param smoothedYValues The array the smoothed values are written to.
+     * @param offset         The index the first smoothed value is written at.
+     * @return The number of smoothed values written, at most windowValue.
+     */
+    public int finish(double[] smoothedXValues, double[] smoothedYValues, int offset) {
+        finished = true;
+        int written = 0;
+        while (next < received) {
+            emit(smoothedXValues, smoothedYValues, offset + written);
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Gets the number of smoothed values waiting for the values after them.
+     *
+     * @return The number of waiting values, at most windowValue.
+     */
+    public int getPending() {
+        return (int) (received - next);
+    }
+
+    private void emit(double[] smoothedXValues, double[] smoothedYValues, int offset) {
+        long i = next;
+        long lowest = Math.max(0, i - windowValue);
+        long highest = Math.min(received - 1, i + windowValue);
+
+        if (i % blockSize == 0) {
+            // Start a new running sum where SmoothingKernel does
+            windowSum = 0;
+            for (long k = lowest; k <= highest; k++) {
+                windowSum += yValues[(int) (k % capacity)];
+            }
+        } else {
+            // Slide the window one value to the right
+            if (i + windowValue < received) {
+                windowSum += yValues[(int) ((i + windowValue) % capacity)];
+            }
+            if (i - windowValue - 1 >= 0) {
+                windowSum -= yValues[(int) ((i - windowValue - 1) % capacity)];
+            }
+        }
+
+        smoothedXValues[offset] = xValues[(int) (i % capacity)];
+        smoothedYValues[offset] = windowSum / (highest - lowest + 1);
+        next++;
+    }
+}
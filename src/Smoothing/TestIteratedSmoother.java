@@ -0,0 +1,61 @@
+package Smoothing;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The TestIteratedSmoother class serves as a test for the IteratedSmoother functionality.
+ * It compares the passes with calling SmoothingKernel once per pass, reports selected passes,
+ * and compares the collapsed kernel with the passes away from the edges.
+ *
+ * @author petitoa
+ */
+public class TestIteratedSmoother {
+    public static void main(String[] args) {
+        Random random = new Random(11);
+        double[] values = new double[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i * 0.2 - 20) * (i * 0.2 - 20) + random.nextDouble() * 100;
+        }
+
+        int windowValue = 7;
+        int passes = 20;
+        IteratedSmoother smoother = new IteratedSmoother(windowValue, passes);
+
+        // One kernel call per pass, allocating every time
+        double[] expected = values;
+        for (int pass = 0; pass < passes; pass++) {
+            expected = SmoothingKernel.centeredMovingAverage(expected, windowValue);
+        }
+
+        // Keep the 1st and 10th pass only
+        double[][] kept = new double[2][];
+        double[] smoothedValues = new double[values.length];
+        smoother.smooth(values, smoothedValues, (pass, passValues) -> {
+            if (pass == 1) {
+                kept[0] = passValues.clone();
+            } else if (pass == 10) {
+                kept[1] = passValues.clone();
+            }
+        });
+
+        System.out.println("Passes identical to kernel calls: " + Arrays.equals(expected, smoothedValues));
+        System.out.println("First pass identical to one kernel call: "
+                + Arrays.equals(SmoothingKernel.centeredMovingAverage(values, windowValue), kept[0]));
+
+        // Away from the edges the passes are a weighted average with the collapsed kernel
+        double[] kernel = smoother.getCollapsedKernel();
+        int reach = passes * windowValue;
+        double maxError = 0;
+        for (int i = reach; i < values.length - reach; i++) {
+            double weighted = 0;
+            for (int k = 0; k < kernel.length; k++) {
+                weighted += kernel[k] * values[i - reach + k];
+            }
+            maxError = Math.max(maxError, Math.abs(weighted - smoothedValues[i]));
+        }
+        double kernelSum = Arrays.stream(kernel).sum();
+        System.out.println("Collapsed kernel of " + kernel.length + " weights adding up to " + kernelSum
+                + ", max error away from the edges " + maxError);
+    }
+}
@@ -0,0 +1,55 @@
+package Smoothing;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The TestParallelSmoother class serves as a test for the ParallelSmoother functionality.
+ * It checks that the parallel result is bit-identical to the sequential one for several
+ * series lengths, window values and pool sizes, and times both on a long series.
+ *
+ * @author petitoa
+ */
+public class TestParallelSmoother {
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        double[] values = new double[length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.sin(i / 1000.0) + random.nextGaussian();
+        }
+
+        for (int threads : new int[]{2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ParallelSmoother parallelSmoother = new ParallelSmoother(pool);
+            for (int windowValue : new int[]{1, 4, 300}) {
+                for (int n : new int[]{1000, 100_000, 1_234_567}) {
+                    double[] series = Arrays.copyOf(values, n);
+                    boolean identical = Arrays.equals(SmoothingKernel.centeredMovingAverage(series, windowValue),
+                            parallelSmoother.centeredMovingAverage(series, windowValue));
+                    System.out.println(threads + " threads, window " + windowValue + ", " + n + " values, chunks of "
+                            + parallelSmoother.chunkSize(n, windowValue) + ": identical " + identical);
+                }
+            }
+            pool.shutdown();
+        }
+
+        IteratedSmoother sequential = new IteratedSmoother(5, 10);
+        IteratedSmoother parallel = new IteratedSmoother(5, 10, new ParallelSmoother());
+        double[] series = Arrays.copyOf(values, 1_000_000);
+        System.out.println("10 iterated passes identical: " + Arrays.equals(sequential.smooth(series), parallel.smooth(series)));
+
+        ParallelSmoother parallelSmoother = new ParallelSmoother();
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            SmoothingKernel.centeredMovingAverage(values, 200);
+            long sequentialNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            parallelSmoother.centeredMovingAverage(values, 200);
+            long parallelNanos = System.nanoTime() - start;
+            System.out.printf("%d values on %d threads: sequential %.1f ms, parallel %.1f ms%n", values.length,
+                    ForkJoinPool.commonPool().getParallelism(), sequentialNanos / 1e6, parallelNanos / 1e6);
+        }
+    }
+}
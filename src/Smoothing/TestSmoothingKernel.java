@@ -0,0 +1,59 @@
+package Smoothing;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The TestSmoothingKernel class serves as a test for the SmoothingKernel functionality.
+ * It compares the running sums with a direct mean of every window, checks that a pass split into ranges
+ * writes the same values as a single pass and that a window of 0 copies the values exactly, and times a wide
+ * window on a long series.
+ *
+ * @author petitoa
+ */
+public class TestSmoothingKernel {
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        double[] values = new double[20000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100 * Math.sin(i / 50.0) + random.nextGaussian() * 10;
+        }
+
+        for (int windowValue : new int[]{0, 1, 4, 20, 300}) {
+            double[] smoothedValues = SmoothingKernel.centeredMovingAverage(values, windowValue);
+
+            // Direct mean of the values that exist in each window
+            double maxError = 0;
+            for (int i = 0; i < values.length; i++) {
+                int lowest = Math.max(0, i - windowValue);
+                int highest = Math.min(values.length - 1, i + windowValue);
+                double sum = 0;
+                for (int k = lowest; k <= highest; k++) {
+                    sum += values[k];
+                }
+                maxError = Math.max(maxError, Math.abs(sum / (highest - lowest + 1) - smoothedValues[i]));
+            }
+
+            // Smooth the series again in uneven ranges
+            double[] splitValues = new double[values.length];
+            for (int from = 0; from < values.length; from += 777) {
+                SmoothingKernel.centeredMovingAverage(values, windowValue, splitValues, from, Math.min(values.length, from + 777));
+            }
+            boolean identical = Arrays.equals(smoothedValues, splitValues);
+
+            System.out.println("Window " + windowValue + ": max error " + maxError + ", split ranges identical: " + identical);
+        }
+        System.out.println("Window 0 copies the values exactly: "
+                + Arrays.equals(values, SmoothingKernel.centeredMovingAverage(values, 0)));
+
+        double[] longSeries = new double[10_000_000];
+        for (int i = 0; i < longSeries.length; i++) {
+            longSeries[i] = random.nextDouble();
+        }
+        for (int windowValue : new int[]{5, 500}) {
+            long start = System.nanoTime();
+            SmoothingKernel.centeredMovingAverage(longSeries, windowValue);
+            System.out.printf("%d values, window %d: %.1f ms%n", longSeries.length, windowValue, (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package StatsLibrary;
+
+/**
+ * The BetaDistribution class is the beta distribution over [0, 1] with the shapes alpha and beta.
+ * ln(beta(alpha, beta)) is computed once from the log gamma function and shared by the density and the cdf.
+ * The inverse cdf starts from a normal approximation around the mean, or from the leading term of the cdf near either
+ * end of the support, and is refined by CdfInverter.
+ *
+ * @author petitoa
+ */
+public final class BetaDistribution implements Distribution {
+    private final double alpha;
+    private final double beta;
+    private final double logBeta;
+
+    /**
+     * Constructs a new BetaDistribution.
+     *
+     * @param alpha The first shape.
+     * @param beta  The second shape.
+     * @throws IllegalArgumentException If a shape is not positive.
+     */
+    public BetaDistribution(double alpha, double beta) {
+        if (!(alpha > 0) || !(beta > 0)) {
+            throw new IllegalArgumentException("Shapes must be positive: " + alpha + ", " + beta);
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+        this.logBeta = SpecialFunctions.logGamma(alpha) + SpecialFunctions.logGamma(beta)
+                - SpecialFunctions.logGamma(alpha + beta);
+    }
+
+    @Override
+    public double pdf(double x) {
+        if (x <= 0 || x >= 1) {
+            if (x < 0 || x > 1) {
+                return 0;
+            }
+            // At an end of the support the density depends only on the shape of that end
+            double shapeAtEnd = x == 0 ? alpha : beta;
+            if (shapeAtEnd != 1) {
+                return shapeAtEnd < 1 ? Double.POSITIVE_INFINITY : 0;
+            }
+            return Math.exp(-logBeta);
+        }
+        return Math.exp((alpha - 1) * Math.log(x) + (beta - 1) * Math.log1p(-x) - logBeta);
+    }
+
+    @Override
+    public double cdf(double x) {
+        return SpecialFunctions.regularizedBeta(x, alpha, beta, logBeta);
+    }
+
+    @Override
+    public double inverseCdf(double p) {
+        Distribution.checkProbability(p);
+        if (p == 0 || p == 1) {
+            return p;
+        }
+        double guess = getMean() + getStandardDeviation() * SpecialFunctions.inverseStandardNormalCdf(p);
+        // Near the ends I_x(alpha, beta) is close to x^alpha / (alpha B) and 1 - (1 - x)^beta / (beta B)
+        double lowerTail = Math.exp((Math.log(p) + Math.log(alpha) + logBeta) / alpha);
+        double upperTail = 1 - Math.exp((Math.log1p(-p) + Math.log(beta) + logBeta) / beta);
+        if (p < 0.5 && (guess <= 0 || lowerTail < guess)) {
+            guess = lowerTail;
+        } else if (p >= 0.5 && (guess >= 1 || upperTail > guess)) {
+            guess = upperTail;
+        }
+        if (guess <= 0 || guess >= 1) {
+            // The quantile is closer to an end of the support than a double can tell
+            return guess <= 0 ? 0 : 1;
+        }
+        return CdfInverter.invert(this, p, guess, 0, 1);
+    }
+
+    @Override
+    public double getMean() {
+        return alpha / (alpha + beta);
+    }
+
+    @Override
+    public double getVariance() {
+        double sum = alpha + beta;
+        return alpha * beta / (sum * sum * (sum + 1));
+    }
+
+    /**
+     * Gets the first shape of the distribution.
+     *
+     * @return alpha.
+     */
+    public double getAlpha() {
+        return alpha;
+    }
+
+    /**
+     * Gets the second shape of the distribution.
+     *
+     * @return beta.
+     */
+    public double getBeta() {
+        return beta;
+    }
+
+    @Override
+    public String toString() {
+        return "Beta(" + alpha + ", " + beta + ")";
+    }
+}
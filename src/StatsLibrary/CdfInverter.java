@@ -0,0 +1,58 @@
+package StatsLibrary;
+
+/**
+ * The CdfInverter class finds the value a distribution's cdf reaches a probability at, for distributions
+ * without a closed form inverse. Newton's method uses the pdf as the slope of the cdf, or of its log in the lower tail,
+ * and every step narrows a bracket of the root, so a step that would leave the bracket is replaced by bisection.
+ *
+ * @author petitoa
+ */
+final class CdfInverter {
+    private static final int MAX_ITERATIONS = 200;
+
+    private CdfInverter() {
+    }
+
+    /**
+     * Solves cdf(x) = p.
+     *
+     * @param distribution The distribution.
+     * @param p            The probability, strictly between 0 and 1.
+     * @param guess        The starting value.
+     * @param lower        A value whose cdf is at most p.
+     * @param upper        A value whose cdf is at least p, may be infinite.
+     * @return The value whose cdf is p.
+     */
+    static double invert(Distribution distribution, double p, double guess, double lower, double upper) {
+        double x = guess > lower && guess < upper ? guess : bisect(lower, upper);
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double cdf = distribution.cdf(x);
+            double error = cdf - p;
+            if (error == 0) {
+                return x;
+            }
+            if (error < 0) {
+                lower = x;
+            } else {
+                upper = x;
+            }
+            // Small probabilities are solved on the log of the cdf, whose slope does not vanish in the tail
+            double next = p < 0.5 && cdf > 0
+                    ? x - Math.log(cdf / p) * cdf / distribution.pdf(x)
+                    : x - error / distribution.pdf(x);
+            if (!(next > lower && next < upper)) {
+                next = bisect(lower, upper);
+            }
+            if (Math.abs(next - x) <= 2 * Math.ulp(next) || next == lower || next == upper) {
+                return next;
+            }
+            x = next;
+        }
+        return x;
+    }
+
+    private static double bisect(double lower, double upper) {
+        // An open bracket is widened instead, the root is then above twice the lower end
+        return upper == Double.POSITIVE_INFINITY ? Math.max(2 * lower, 1) : 0.5 * (lower + upper);
+    }
+}
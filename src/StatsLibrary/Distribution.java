@@ -0,0 +1,163 @@
+package StatsLibrary;
+
+/**
+ * The Distribution interface is a continuous probability distribution with its pdf, cdf, inverse cdf and moments.
+ * Every function can be evaluated for one value or for a whole array. The batch methods write into an output array,
+ * which may be the input array itself, so a large array is evaluated without allocating. The constants a distribution
+ * needs, such as its log gamma terms, are computed once when it is constructed and shared by every value.
+ * Distributions whose functions are cheap override the batch methods with loops the JIT can keep tight.
+ *
+ * @author petitoa
+ */
+public interface Distribution {
+
+    /**
+     * Calculates the probability density at a value.
+     *
+     * @param x The value.
+     * @return The density, 0 outside the support.
+     */
+    double pdf(double x);
+
+    /**
+     * Calculates the cumulative probability of a value.
+     *
+     * @param x The value.
+     * @return The probability of a value at most x, from 0 to 1.
+     */
+    double cdf(double x);
+
+    /**
+     * Calculates the value a given cumulative probability is reached at, the quantile function.
+     *
+     * @param p The probability, from 0 to 1.
+     * @return The smallest value whose cdf is p.
+     * @throws IllegalArgumentException If p is not between 0 and 1.
+     */
+    double inverseCdf(double p);
+
+    /**
+     * Gets the expected value of the distribution.
+     *
+     * @return The mean.
+     */
+    double getMean();
+
+    /**
+     * Gets the variance of the distribution.
+     *
+     * @return The variance.
+     */
+    double getVariance();
+
+    /**
+     * Gets the standard deviation of the distribution.
+     *
+     * @return The square root of the variance.
+     */
+    default double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Calculates the probability density at every value of an array.
+     *
+     * @param x      The values.
+     * @param output The array the densities are written to, at least as long as the values.
+     */
+    default void pdf(double[] x, double[] output) {
+        checkLengths(x, output);
+        for (int i = 0; i < x.length; i++) {
+            output[i] = pdf(x[i]);
+        }
+    }
+
+    /**
+     * Calculates the probability density at every value of an array.
+     *
+     * @param x The values.
+     * @return The density at each value.
+     */
+    default double[] pdf(double[] x) {
+        double[] output = new double[x.length];
+        pdf(x, output);
+        return output;
+    }
+
+    /**
+     * Calculates the cumulative probability of every value of an array.
+     *
+     * @param x      The values.
+     * @param output The array the probabilities are written to, at least as long as the values.
+     */
+    default void cdf(double[] x, double[] output) {
+        checkLengths(x, output);
+        for (int i = 0; i < x.length; i++) {
+            output[i] = cdf(x[i]);
+        }
+    }
+
+    /**
+     * Calculates the cumulative probability of every value of an array.
+     *
+     * @param x The values.
+     * @return The probability of each value.
+     */
+    default double[] cdf(double[] x) {
+        double[] output = new double[x.length];
+        cdf(x, output);
+        return output;
+    }
+
+    /**
+     * Calculates the value every probability of an array is reached at.
+     *
+     * @param p      The probabilities, each from 0 to 1.
+     * @param output The array the values are written to, at least as long as the probabilities.
+     * @throws IllegalArgumentException If a probability is not between 0 and 1.
+     */
+    default void inverseCdf(double[] p, double[] output) {
+        checkLengths(p, output);
+        for (int i = 0; i < p.length; i++) {
+            output[i] = inverseCdf(p[i]);
+        }
+    }
+
+    /**
+     * Calculates the value every probability of an array is reached at.
+     *
+     * @param p The probabilities, each from 0 to 1.
+     * @return The value of each probability.
+     * @throws IllegalArgumentException If a probability is not between 0 and 1.
+     */
+    default double[] inverseCdf(double[] p) {
+        double[] output = new double[p.length];
+        inverseCdf(p, output);
+        return output;
+    }
+
+    /**
+     * Checks that an output array can hold a value for every input.
+     *
+     * @param input  The input values.
+     * @param output The output array.
+     * @throws IllegalArgumentException If the output is shorter than the input.
+     */
+    static void checkLengths(double[] input, double[] output) {
+        if (output.length < input.length) {
+            throw new IllegalArgumentException("Output holds " + output.length + " values, the input has " + input.length);
+        }
+    }
+
+    /**
+     * Checks that a probability lies between 0 and 1.
+     *
+     * @param p The probability.
+     * @throws IllegalArgumentException If p is not between 0 and 1.
+     */
+    static void checkProbability(double p) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + p);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package StatsLibrary;
+
+/**
+ * The NormalDistribution class is the normal distribution with a mean and a standard deviation.
+ * The normalizing constant of the density and the inverse of the standard deviation are computed once.
+ *
+ * @author petitoa
+ */
+public final class NormalDistribution implements Distribution {
+    private final double mean;
+    private final double standardDeviation;
+    private final double inverseDeviation;
+    private final double densityFactor;
+
+    /**
+     * Constructs a new standard NormalDistribution, with mean 0 and standard deviation 1.
+     */
+    public NormalDistribution() {
+        this(0, 1);
+    }
+
+    /**
+     * Constructs a new NormalDistribution.
+     *
+     * @param mean              The mean.
+     * @param standardDeviation The standard deviation.
+     * @throws IllegalArgumentException If the standard deviation is not positive.
+     */
+    public NormalDistribution(double mean, double standardDeviation) {
+        if (!(standardDeviation > 0)) {
+            throw new IllegalArgumentException("Standard deviation must be positive: " + standardDeviation);
+        }
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.inverseDeviation = 1 / standardDeviation;
+        this.densityFactor = inverseDeviation / SpecialFunctions.SQRT_TWO_PI;
+    }
+
+    @Override
+    public double pdf(double x) {
+        double z = (x - mean) * inverseDeviation;
+        return densityFactor * Math.exp(-0.5 * z * z);
+    }
+
+    @Override
+    public double cdf(double x) {
+        return SpecialFunctions.standardNormalCdf((x - mean) * inverseDeviation);
+    }
+
+    @Override
+    public double inverseCdf(double p) {
+        Distribution.checkProbability(p);
+        return mean + standardDeviation * SpecialFunctions.inverseStandardNormalCdf(p);
+    }
+
+    @Override
+    public void pdf(double[] x, double[] output) {
+        Distribution.checkLengths(x, output);
+        for (int i = 0; i < x.length; i++) {
+            double z = (x[i] - mean) * inverseDeviation;
+            output[i] = densityFactor * Math.exp(-0.5 * z * z);
+        }
+    }
+
+    @Override
+    public void cdf(double[] x, double[] output) {
+        Distribution.checkLengths(x, output);
+        for (int i = 0; i < x.length; i++) {
+            output[i] = SpecialFunctions.standardNormalCdf((x[i] - mean) * inverseDeviation);
+        }
+    }
+
+    @Override
+    public double getMean() {
+        return mean;
+    }
+
+    @Override
+    public double getVariance() {
+        return standardDeviation * standardDeviation;
+    }
+
+    @Override
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    @Override
+    public String toString() {
+        return "Normal(" + mean + ", " + standardDeviation + ")";
+    }
+}
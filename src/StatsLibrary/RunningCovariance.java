@@ -0,0 +1,168 @@
+package StatsLibrary;
+
+/**
+ * The RunningCovariance class summarises a stream of (x, y) pairs without storing them:
+ * the means and variances of both values, their covariance and their correlation.
+ * Each pair updates the co-moment in constant time with Welford's method.
+ * <p>
+ * Like RunningStatistics, an accumulator is not thread-safe, and the partial results of several threads
+ * are combined with merge.
+ *
+ * @author petitoa
+ */
+public class RunningCovariance {
+    private long count;
+    private double meanX;
+    private double meanY;
+    private double m2X;
+    private double m2Y;
+    // Sum of the products of the distances of x and y to their means
+    private double comoment;
+
+    /**
+     * Constructs a new, empty RunningCovariance.
+     */
+    public RunningCovariance() {
+    }
+
+    /**
+     * Creates the covariance of two arrays of paired values.
+     *
+     * @param x The first value of each pair.
+     * @param y The second value of each pair.
+     * @return The covariance of the pairs.
+     * @throws IllegalArgumentException If the arrays do not have the same length.
+     */
+    public static RunningCovariance of(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Paired values must have the same length: " + x.length + " != " + y.length);
+        }
+        RunningCovariance covariance = new RunningCovariance();
+        for (int i = 0; i < x.length; i++) {
+            covariance.add(x[i], y[i]);
+        }
+        return covariance;
+    }
+
+    /**
+     * Adds a pair of values.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     */
+    public void add(double x, double y) {
+        count++;
+        double deltaX = x - meanX;
+        double deltaY = y - meanY;
+        meanX += deltaX / count;
+        meanY += deltaY / count;
+        // One distance before the mean moved and one after keeps the update exact
+        m2X += deltaX * (x - meanX);
+        m2Y += deltaY * (y - meanY);
+        comoment += deltaX * (y - meanY);
+    }
+
+    /**
+     * Adds the pairs summarised by another accumulator, as if each had been added to this one.
+     * The other accumulator is not changed.
+     *
+     * @param other The covariance of the other pairs.
+     */
+    public void merge(RunningCovariance other) {
+        if (other.count == 0) {
+            return;
+        }
+        double na = count;
+        double nb = other.count;
+        double n = na + nb;
+        double deltaX = other.meanX - meanX;
+        double deltaY = other.meanY - meanY;
+        double weight = na * nb / n;
+        m2X += other.m2X + deltaX * deltaX * weight;
+        m2Y += other.m2Y + deltaY * deltaY * weight;
+        comoment += other.comoment + deltaX * deltaY * weight;
+        meanX += deltaX * nb / n;
+        meanY += deltaY * nb / n;
+        count += other.count;
+    }
+
+    /**
+     * Gets the number of pairs added.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the first values.
+     *
+     * @return The mean of x, or NaN if no pair was added.
+     */
+    public double getMeanX() {
+        return count > 0 ? meanX : Double.NaN;
+    }
+
+    /**
+     * Gets the mean of the second values.
+     *
+     * @return The mean of y, or NaN if no pair was added.
+     */
+    public double getMeanY() {
+        return count > 0 ? meanY : Double.NaN;
+    }
+
+    /**
+     * Gets the sample variance of the first values.
+     *
+     * @return The variance of x, or NaN for fewer than 2 pairs.
+     */
+    public double getVarianceX() {
+        return count > 1 ? m2X / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * Gets the sample variance of the second values.
+     *
+     * @return The variance of y, or NaN for fewer than 2 pairs.
+     */
+    public double getVarianceY() {
+        return count > 1 ? m2Y / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * Gets the sample covariance of the pairs, dividing by the count less one.
+     *
+     * @return The covariance, or NaN for fewer than 2 pairs.
+     */
+    public double getCovariance() {
+        return count > 1 ? comoment / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * Gets the population covariance of the pairs, dividing by the count.
+     *
+     * @return The covariance, or NaN if no pair was added.
+     */
+    public double getPopulationCovariance() {
+        return count > 0 ? comoment / count : Double.NaN;
+    }
+
+    /**
+     * Gets the Pearson correlation of the pairs.
+     *
+     * @return The correlation from -1 to 1, or NaN for fewer than 2 pairs or if either value never changes.
+     */
+    public double getCorrelation() {
+        if (count < 2 || m2X == 0 || m2Y == 0) {
+            return Double.NaN;
+        }
+        return comoment / Math.sqrt(m2X * m2Y);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d covariance=%.6g correlation=%.6f", count, getCovariance(), getCorrelation());
+    }
+}
@@ -0,0 +1,247 @@
+package StatsLibrary;
+
+/**
+ * The RunningStatistics class summarises a stream of values without storing them: the count, mean, variance,
+ * skewness, kurtosis, minimum and maximum. Each value updates the central moments in constant time
+ * with Welford's method, extended to the third and fourth moment, so the variance keeps its precision
+ * when the values are large compared to their spread.
+ * <p>
+ * An accumulator is not thread-safe. Each thread fills its own and the partial results are combined with merge,
+ * which gives the moments of all the values together, so it works as the accumulator of a parallel stream:
+ * {@code DoubleStream.collect(RunningStatistics::new, RunningStatistics::add, RunningStatistics::merge)}.
+ * The skewness and kurtosis are the bias corrected sample estimates, as in commons-math3.
+ *
+ * @author petitoa
+ */
+public class RunningStatistics {
+    private long count;
+    private double mean;
+    // Sums of the second, third and fourth powers of the distances to the mean
+    private double m2;
+    private double m3;
+    private double m4;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Constructs a new, empty RunningStatistics.
+     */
+    public RunningStatistics() {
+    }
+
+    /**
+     * Creates the statistics of an array of values.
+     *
+     * @param values The values.
+     * @return The statistics of the values.
+     */
+    public static RunningStatistics of(double... values) {
+        RunningStatistics statistics = new RunningStatistics();
+        statistics.addAll(values, 0, values.length);
+        return statistics;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value.
+     */
+    public void add(double value) {
+        long previousCount = count;
+        count++;
+        double n = count;
+        double delta = value - mean;
+        double deltaN = delta / n;
+        double deltaN2 = deltaN * deltaN;
+        double term = delta * deltaN * previousCount;
+        mean += deltaN;
+        // The higher moments are updated first, they depend on the lower ones before this value
+        m4 += term * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+        m3 += term * deltaN * (n - 2) - 3 * deltaN * m2;
+        m2 += term;
+
+        if (previousCount == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+    /**
+     * Adds part of an array of values.
+     *
+     * @param values The values.
+     * @param from   The index of the first value, inclusive.
+     * @param to     The index of the last value, exclusive.
+     */
+    public void addAll(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Adds the values summarised by another accumulator, as if each had been added to this one.
+     * The other accumulator is not changed.
+     *
+     * @param other The statistics of the other values.
+     */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            m3 = other.m3;
+            m4 = other.m4;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+
+        double na = count;
+        double nb = other.count;
+        double n = na + nb;
+        double delta = other.mean - mean;
+        double delta2 = delta * delta;
+        double mergedM4 = m4 + other.m4 + delta2 * delta2 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n)
+                + 6 * delta2 * (na * na * other.m2 + nb * nb * m2) / (n * n) + 4 * delta * (na * other.m3 - nb * m3) / n;
+        double mergedM3 = m3 + other.m3 + delta2 * delta * na * nb * (na - nb) / (n * n)
+                + 3 * delta * (na * other.m2 - nb * m2) / n;
+        m2 += other.m2 + delta2 * na * nb / n;
+        m3 = mergedM3;
+        m4 = mergedM4;
+        mean += delta * nb / n;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Creates a copy holding the same statistics.
+     *
+     * @return A new accumulator that can be updated independently.
+     */
+    public RunningStatistics copy() {
+        RunningStatistics copy = new RunningStatistics();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Gets the number of values added.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values.
+     *
+     * @return The mean times the count, 0 if no value was added.
+     */
+    public double getSum() {
+        return mean * count;
+    }
+
+    /**
+     * Gets the mean of the values.
+     *
+     * @return The mean, or NaN if no value was added.
+     */
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * Gets the sample variance of the values, dividing by the count less one.
+     *
+     * @return The variance, 0 for a single value, or NaN if no value was added.
+     */
+    public double getVariance() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return count > 1 ? m2 / (count - 1) : 0;
+    }
+
+    /**
+     * Gets the population variance of the values, dividing by the count.
+     *
+     * @return The variance, or NaN if no value was added.
+     */
+    public double getPopulationVariance() {
+        return count > 0 ? m2 / count : Double.NaN;
+    }
+
+    /**
+     * Gets the sample standard deviation of the values.
+     *
+     * @return The square root of the sample variance.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Gets the sample skewness of the values.
+     *
+     * @return The bias corrected skewness, 0 if every value is the same, or NaN for fewer than 3 values.
+     */
+    public double getSkewness() {
+        if (count < 3) {
+            return Double.NaN;
+        }
+        if (m2 == 0) {
+            return 0;
+        }
+        double n = count;
+        return n * Math.sqrt(n - 1) / (n - 2) * m3 / Math.pow(m2, 1.5);
+    }
+
+    /**
+     * Gets the sample excess kurtosis of the values, 0 for a normal distribution.
+     *
+     * @return The bias corrected excess kurtosis, 0 if every value is the same, or NaN for fewer than 4 values.
+     */
+    public double getKurtosis() {
+        if (count < 4) {
+            return Double.NaN;
+        }
+        if (m2 == 0) {
+            return 0;
+        }
+        double n = count;
+        return n * (n + 1) * (n - 1) / ((n - 2) * (n - 3)) * m4 / (m2 * m2) - 3 * (n - 1) * (n - 1) / ((n - 2) * (n - 3));
+    }
+
+    /**
+     * Gets the smallest value.
+     *
+     * @return The minimum, or NaN if no value was added.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value.
+     *
+     * @return The maximum, or NaN if no value was added.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.6g sd=%.6g skewness=%.4f kurtosis=%.4f min=%.6g max=%.6g", count, getMean(),
+                getStandardDeviation(), getSkewness(), getKurtosis(), min, max);
+    }
+}
@@ -0,0 +1,243 @@
+package StatsLibrary;
+
+/**
+ * The SpecialFunctions class holds the functions the continuous distributions are built on:
+ * the log gamma function, the regularized incomplete gamma and beta functions, and the standard normal
+ * cdf and its inverse. The incomplete functions take the log of their normalizing constant as an argument,
+ * so a distribution computes it once instead of once per value.
+ *
+ * @author petitoa
+ */
+final class SpecialFunctions {
+    private static final double EPSILON = 1e-15;
+    private static final double TINY = 1e-300;
+    private static final int MAX_ITERATIONS = 100_000;
+    private static final double HALF_LOG_TWO_PI = 0.5 * Math.log(2 * Math.PI);
+    static final double SQRT_TWO_PI = Math.sqrt(2 * Math.PI);
+
+    private SpecialFunctions() {
+    }
+
+    /**
+     * Calculates the natural log of the gamma function with the Stirling series,
+     * moving small arguments up with the recurrence gamma(x + 1) = x gamma(x).
+     *
+     * @param x A positive value.
+     * @return ln(gamma(x)), or NaN if x is not positive.
+     */
+    static double logGamma(double x) {
+        if (!(x > 0)) {
+            return Double.NaN;
+        }
+        double shift = 0;
+        while (x < 10) {
+            shift += Math.log(x);
+            x++;
+        }
+        double inverse = 1 / x;
+        double inverse2 = inverse * inverse;
+        double series = inverse * (1.0 / 12 - inverse2 * (1.0 / 360 - inverse2 * (1.0 / 1260 - inverse2 * (1.0 / 1680
+                - inverse2 * (1.0 / 1188 - inverse2 * (691.0 / 360360 - inverse2 / 156))))));
+        return (x - 0.5) * Math.log(x) - x + HALF_LOG_TWO_PI + series - shift;
+    }
+
+    /**
+     * Calculates the regularized lower incomplete gamma function P(a, x), the cdf of a gamma distribution
+     * with shape a and scale 1. A series is used below a + 1 and a continued fraction above.
+     *
+     * @param a           The shape, positive.
+     * @param x           The value, not negative.
+     * @param logGammaOfA ln(gamma(a)).
+     * @return P(a, x) from 0 to 1.
+     */
+    static double regularizedGammaP(double a, double x, double logGammaOfA) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x == Double.POSITIVE_INFINITY) {
+            return 1;
+        }
+        double logPrefactor = -x + a * Math.log(x) - logGammaOfA;
+        if (x < a + 1) {
+            double term = 1 / a;
+            double sum = term;
+            for (int n = 1; n < MAX_ITERATIONS; n++) {
+                term *= x / (a + n);
+                sum += term;
+                if (Math.abs(term) < Math.abs(sum) * EPSILON) {
+                    break;
+                }
+            }
+            return Math.min(1, sum * Math.exp(logPrefactor));
+        }
+        return Math.max(0, 1 - gammaContinuedFraction(a, x) * Math.exp(logPrefactor));
+    }
+
+    /**
+     * Evaluates the continued fraction of the upper incomplete gamma function with the modified Lentz method.
+     */
+    private static double gammaContinuedFraction(double a, double x) {
+        double b = x + 1 - a;
+        double c = 1 / TINY;
+        double d = 1 / b;
+        double fraction = d;
+        for (int n = 1; n < MAX_ITERATIONS; n++) {
+            double an = -n * (n - a);
+            b += 2;
+            d = an * d + b;
+            d = Math.abs(d) < TINY ? TINY : d;
+            c = b + an / c;
+            c = Math.abs(c) < TINY ? TINY : c;
+            d = 1 / d;
+            double delta = d * c;
+            fraction *= delta;
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return fraction;
+    }
+
+    /**
+     * Calculates the regularized incomplete beta function I_x(a, b), the cdf of a beta distribution.
+     * The continued fraction is evaluated at x or, through I_x(a, b) = 1 - I_(1-x)(b, a), at 1 - x,
+     * whichever converges faster.
+     *
+     * @param x          The value.
+     * @param a          The first shape, positive.
+     * @param b          The second shape, positive.
+     * @param logBetaOfAB ln(beta(a, b)).
+     * @return I_x(a, b) from 0 to 1.
+     */
+    static double regularizedBeta(double x, double a, double b, double logBetaOfAB) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        double prefactor = Math.exp(a * Math.log(x) + b * Math.log1p(-x) - logBetaOfAB);
+        if (x < (a + 1) / (a + b + 2)) {
+            return Math.min(1, prefactor * betaContinuedFraction(x, a, b) / a);
+        }
+        return Math.max(0, 1 - prefactor * betaContinuedFraction(1 - x, b, a) / b);
+    }
+
+    /**
+     * Evaluates the continued fraction of the incomplete beta function with the modified Lentz method.
+     */
+    private static double betaContinuedFraction(double x, double a, double b) {
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = Math.abs(d) < TINY ? TINY : d;
+        d = 1 / d;
+        double fraction = d;
+        for (int m = 1; m < MAX_ITERATIONS; m++) {
+            int m2 = 2 * m;
+            // Even step of the fraction
+            double coefficient = m * (b - m) * x / ((a - 1 + m2) * (a + m2));
+            d = 1 + coefficient * d;
+            d = Math.abs(d) < TINY ? TINY : d;
+            c = 1 + coefficient / c;
+            c = Math.abs(c) < TINY ? TINY : c;
+            d = 1 / d;
+            fraction *= d * c;
+            // Odd step of the fraction
+            coefficient = -(a + m) * (a + b + m) * x / ((a + m2) * (a + 1 + m2));
+            d = 1 + coefficient * d;
+            d = Math.abs(d) < TINY ? TINY : d;
+            c = 1 + coefficient / c;
+            c = Math.abs(c) < TINY ? TINY : c;
+            d = 1 / d;
+            double delta = d * c;
+            fraction *= delta;
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return fraction;
+    }
+
+    /**
+     * Calculates the standard normal cdf with Hart's rational approximation, as given by West (2005).
+     * The tails are evaluated directly, so small probabilities keep their relative precision.
+     *
+     * @param z The standardized value.
+     * @return The probability of a standard normal value below z.
+     */
+    static double standardNormalCdf(double z) {
+        double absolute = Math.abs(z);
+        double tail;
+        if (absolute > 37) {
+            tail = 0;
+        } else {
+            double exponential = Math.exp(-0.5 * absolute * absolute);
+            if (absolute < 7.07106781186547) {
+                double numerator = 3.52624965998911e-02 * absolute + 0.700383064443688;
+                numerator = numerator * absolute + 6.37396220353165;
+                numerator = numerator * absolute + 33.912866078383;
+                numerator = numerator * absolute + 112.079291497871;
+                numerator = numerator * absolute + 221.213596169931;
+                numerator = numerator * absolute + 220.206867912376;
+                double denominator = 8.83883476483184e-02 * absolute + 1.75566716318264;
+                denominator = denominator * absolute + 16.064177579207;
+                denominator = denominator * absolute + 86.7807322029461;
+                denominator = denominator * absolute + 296.564248779674;
+                denominator = denominator * absolute + 637.333633378831;
+                denominator = denominator * absolute + 793.826512519948;
+                denominator = denominator * absolute + 440.413735824752;
+                tail = exponential * numerator / denominator;
+            } else {
+                double fraction = absolute + 0.65;
+                fraction = absolute + 4 / fraction;
+                fraction = absolute + 3 / fraction;
+                fraction = absolute + 2 / fraction;
+                fraction = absolute + 1 / fraction;
+                tail = exponential / fraction / SQRT_TWO_PI;
+            }
+        }
+        return z > 0 ? 1 - tail : tail;
+    }
+
+    /**
+     * Calculates the inverse of the standard normal cdf with Acklam's rational approximation,
+     * refined by one step of Halley's method on standardNormalCdf.
+     *
+     * @param p A probability from 0 to 1.
+     * @return The standardized value below which a standard normal value falls with probability p.
+     */
+    static double inverseStandardNormalCdf(double p) {
+        if (p <= 0) {
+            return p == 0 ? Double.NEGATIVE_INFINITY : Double.NaN;
+        }
+        if (p >= 1) {
+            return p == 1 ? Double.POSITIVE_INFINITY : Double.NaN;
+        }
+        double z;
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            z = lowerTail(q);
+        } else if (p > 1 - 0.02425) {
+            double q = Math.sqrt(-2 * Math.log1p(-p));
+            z = -lowerTail(q);
+        } else {
+            double q = p - 0.5;
+            double r = q * q;
+            z = (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                    + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                    / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                    + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+        }
+        // The error is taken in the tail p lies in, so probabilities near 1 do not cancel
+        double error = z > 0 ? (1 - p) - standardNormalCdf(-z) : standardNormalCdf(z) - p;
+        double step = error * SQRT_TWO_PI * Math.exp(0.5 * z * z);
+        return z - step / (1 + 0.5 * z * step);
+    }
+
+    private static double lowerTail(double q) {
+        return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                + 3.754408661907416e+00) * q + 1);
+    }
+}
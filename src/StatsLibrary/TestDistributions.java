@@ -0,0 +1,146 @@
+package StatsLibrary;
+
+import org.apache.commons.math3.distribution.AbstractRealDistribution;
+
+import java.util.SplittableRandom;
+
+/**
+ * The TestDistributions class serves as a test for the Distribution implementations.
+ * It compares the pdf, cdf, inverse cdf and moments of every distribution with commons-math3,
+ * checks the inverse cdf far in the lower tail with the distribution's own cdf,
+ * checks the uniform distribution against the StatsLibrary methods, and times the batch methods on a large array
+ * against commons-math3 evaluating one value at a time.
+ *
+ * @author petitoa
+ */
+public class TestDistributions {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        StatsLibrary library = new StatsLibrary();
+        UniformDistribution uniform = new UniformDistribution(0, 40);
+        System.out.println("Uniform(0, 40) against StatsLibrary: probability " + (uniform.cdf(15) - uniform.cdf(0))
+                + " / " + library.uniformDistributionProbability(0, 40, 0, 15) + ", mean " + uniform.getMean() + " / "
+                + library.uniformDistributionExpectedValue(0, 40) + ", variance " + uniform.getVariance() + " / "
+                + library.uniformDistributionVariance(0, 40));
+
+        Distribution[] distributions = {uniform, new NormalDistribution(), new NormalDistribution(100, 15),
+                new GammaDistribution(0.5, 2), new GammaDistribution(3, 1.5), new GammaDistribution(250, 0.01),
+                new BetaDistribution(0.5, 0.5), new BetaDistribution(2, 5), new BetaDistribution(80, 30)};
+        AbstractRealDistribution[] references = {new org.apache.commons.math3.distribution.UniformRealDistribution(0, 40),
+                new org.apache.commons.math3.distribution.NormalDistribution(0, 1),
+                new org.apache.commons.math3.distribution.NormalDistribution(100, 15),
+                new org.apache.commons.math3.distribution.GammaDistribution(0.5, 2),
+                new org.apache.commons.math3.distribution.GammaDistribution(3, 1.5),
+                new org.apache.commons.math3.distribution.GammaDistribution(250, 0.01),
+                new org.apache.commons.math3.distribution.BetaDistribution(0.5, 0.5),
+                new org.apache.commons.math3.distribution.BetaDistribution(2, 5),
+                new org.apache.commons.math3.distribution.BetaDistribution(80, 30)};
+
+        SplittableRandom random = new SplittableRandom(42);
+        double[] p = new double[100_000];
+        for (int i = 0; i < p.length; i++) {
+            // Probabilities from 1e-6 in either tail to the middle, where commons-math3 is accurate
+            p[i] = i % 2 == 0 ? random.nextDouble(1e-6, 1 - 1e-6) : Math.pow(10, -random.nextDouble(1, 6));
+            p[i] = i % 4 == 1 ? 1 - p[i] : p[i];
+        }
+
+        for (int d = 0; d < distributions.length; d++) {
+            Distribution distribution = distributions[d];
+            AbstractRealDistribution reference = references[d];
+            double[] x = distribution.inverseCdf(p);
+            double[] pdf = distribution.pdf(x);
+            double[] cdf = distribution.cdf(x);
+
+            double pdfError = 0;
+            double cdfError = 0;
+            double inverseError = 0;
+            for (int i = 0; i < p.length; i++) {
+                // commons-math3 loses the density of a gamma distribution close to 0, so the far tails are left out
+                if (p[i] > 1e-4 && p[i] < 1 - 1e-4) {
+                    pdfError = Math.max(pdfError, relative(pdf[i], reference.density(x[i])));
+                }
+                double referenceCdf = reference.cumulativeProbability(x[i]);
+                cdfError = Math.max(cdfError, Math.abs(cdf[i] - referenceCdf));
+                // The inverse is checked through the cdf of commons-math3, whose own inverse solves to 1e-9 only
+                inverseError = Math.max(inverseError, Math.abs(referenceCdf - p[i]));
+            }
+
+            // Far in the lower tail only the distribution's own cdf is precise enough to check the inverse
+            double tailError = 0;
+            for (double tail = 1e-7; tail > 1e-300; tail *= 1e-7) {
+                double quantile = distribution.inverseCdf(tail);
+                // Shapes below 1 put these quantiles under the smallest positive double, where 0 is the answer
+                if (quantile > Double.MIN_NORMAL) {
+                    tailError = Math.max(tailError, relative(distribution.cdf(quantile), tail));
+                }
+            }
+            System.out.printf("%-19s pdf %.1e  cdf %.1e  inverse cdf %.1e  tail to 1e-294 %.1e  mean %.1e  variance %.1e%n",
+                    distribution, pdfError, cdfError, inverseError, tailError,
+                    relative(distribution.getMean(), reference.getNumericalMean()),
+                    relative(distribution.getVariance(), reference.getNumericalVariance()));
+        }
+
+        double x = 3.3671414289104165e-12;
+        System.out.printf("Gamma(0.5, 2) density at %.3g: %.15g, commons-math %.15g, closed form %.15g%n", x,
+                new GammaDistribution(0.5, 2).pdf(x), new org.apache.commons.math3.distribution.GammaDistribution(0.5, 2).density(x),
+                Math.exp(-x / 2) / Math.sqrt(2 * Math.PI * x));
+
+        // One batch over a large array, reusing the output, against one commons-math3 call per value
+        double[] values = new double[size];
+        double[] output = new double[size];
+        for (int d = 0; d < distributions.length; d += 2) {
+            Distribution distribution = distributions[d];
+            AbstractRealDistribution reference = references[d];
+            for (int i = 0; i < size; i++) {
+                values[i] = reference.inverseCumulativeProbability(random.nextDouble(0.001, 0.999));
+            }
+            for (int run = 0; run < 2; run++) {
+                long start = System.nanoTime();
+                distribution.pdf(values, output);
+                long pdfNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                double sum = 0;
+                for (double value : values) {
+                    sum += reference.density(value);
+                }
+                long referencePdfNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                distribution.cdf(values, output);
+                long cdfNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (double value : values) {
+                    sum += reference.cumulativeProbability(value);
+                }
+                long referenceCdfNanos = System.nanoTime() - start;
+
+                int inverses = size / 10;
+                start = System.nanoTime();
+                for (int i = 0; i < inverses; i++) {
+                    output[i] = distribution.inverseCdf((i + 0.5) / inverses);
+                }
+                long inverseNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int i = 0; i < inverses; i++) {
+                    sum += reference.inverseCumulativeProbability((i + 0.5) / inverses);
+                }
+                long referenceInverseNanos = System.nanoTime() - start;
+
+                if (run == 1) {
+                    System.out.printf("%-19s ns per value, batch / commons-math: pdf %.1f / %.1f  cdf %.1f / %.1f  inverse cdf %.1f / %.1f%s%n",
+                            distribution, (double) pdfNanos / size, (double) referencePdfNanos / size,
+                            (double) cdfNanos / size, (double) referenceCdfNanos / size,
+                            (double) inverseNanos / inverses, (double) referenceInverseNanos / inverses, sum > 0 ? "" : " ");
+                }
+            }
+        }
+    }
+
+    private static double relative(double actual, double expected) {
+        if (actual == expected) {
+            return 0;
+        }
+        return Math.abs(actual - expected) / Math.max(1e-300, Math.abs(expected));
+    }
+}
@@ -0,0 +1,145 @@
+package StatsLibrary;
+
+import org.apache.commons.math3.stat.correlation.Covariance;
+import org.apache.commons.math3.stat.correlation.PearsonsCorrelation;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+
+/**
+ * The TestRunningStatistics class serves as a test for the RunningStatistics and RunningCovariance functionality.
+ * It compares the accumulators with commons-math3, checks that merged partial results match a single pass,
+ * checks the precision on values far from zero, and times a streaming pass over a large number of generated values.
+ *
+ * @author petitoa
+ */
+public class TestRunningStatistics {
+    public static void main(String[] args) {
+        long streamed = args.length > 0 ? Long.parseLong(args[0]) : 200_000_000L;
+        SplittableRandom random = new SplittableRandom(42);
+        double[] x = new double[1_000_000];
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            // Skewed, heavy tailed values and a second series correlated with them
+            x[i] = Math.exp(random.nextGaussian());
+            y[i] = 0.5 * x[i] + random.nextGaussian();
+        }
+
+        RunningStatistics statistics = RunningStatistics.of(x);
+        DescriptiveStatistics expected = new DescriptiveStatistics(x);
+        System.out.println("Running:      " + statistics);
+        System.out.printf("commons-math: n=%d mean=%.6g sd=%.6g skewness=%.4f kurtosis=%.4f min=%.6g max=%.6g%n",
+                expected.getN(), expected.getMean(), expected.getStandardDeviation(), expected.getSkewness(),
+                expected.getKurtosis(), expected.getMin(), expected.getMax());
+        System.out.printf("Relative differences: mean %.1e variance %.1e skewness %.1e kurtosis %.1e%n",
+                relative(statistics.getMean(), expected.getMean()), relative(statistics.getVariance(), expected.getVariance()),
+                relative(statistics.getSkewness(), expected.getSkewness()), relative(statistics.getKurtosis(), expected.getKurtosis()));
+
+        RunningCovariance covariance = RunningCovariance.of(x, y);
+        System.out.printf("Covariance %.6f (commons-math %.6f), correlation %.6f (commons-math %.6f)%n",
+                covariance.getCovariance(), new Covariance().covariance(x, y),
+                covariance.getCorrelation(), new PearsonsCorrelation().correlation(x, y));
+
+        // Partial results of uneven chunks merge into the statistics of a single pass
+        RunningStatistics merged = new RunningStatistics();
+        RunningCovariance mergedCovariance = new RunningCovariance();
+        int from = 0;
+        for (int chunk = 1; from < x.length; chunk++) {
+            int to = Math.min(x.length, from + chunk * 997);
+            RunningStatistics part = new RunningStatistics();
+            part.addAll(x, from, to);
+            merged.merge(part);
+            RunningCovariance partCovariance = new RunningCovariance();
+            for (int i = from; i < to; i++) {
+                partCovariance.add(x[i], y[i]);
+            }
+            mergedCovariance.merge(partCovariance);
+            from = to;
+        }
+        RunningStatistics parallel = DoubleStream.of(x).parallel()
+                .collect(RunningStatistics::new, RunningStatistics::add, RunningStatistics::merge);
+        System.out.printf("Merged chunks: variance %.1e skewness %.1e kurtosis %.1e covariance %.1e, parallel stream variance %.1e%n",
+                relative(merged.getVariance(), statistics.getVariance()), relative(merged.getSkewness(), statistics.getSkewness()),
+                relative(merged.getKurtosis(), statistics.getKurtosis()),
+                relative(mergedCovariance.getCovariance(), covariance.getCovariance()),
+                relative(parallel.getVariance(), statistics.getVariance()));
+
+        // Values far from zero lose the variance when it is taken from the sum of squares
+        RunningStatistics offset = new RunningStatistics();
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            double value = 1e9 + (i % 2 == 0 ? 1 : -1);
+            offset.add(value);
+            sum += value;
+            sumOfSquares += value * value;
+        }
+        System.out.printf("Variance of 1e9 +- 1: running %.6f, sum of squares %.6f, exact %.6f%n", offset.getPopulationVariance(),
+                sumOfSquares / 1_000_000 - (sum / 1_000_000) * (sum / 1_000_000), 1.0);
+
+        // One pass over generated values, split across the pool and merged, holding no values
+        long start = System.nanoTime();
+        RunningStatistics streamedStatistics = ForkJoinPool.commonPool().invoke(new StreamTask(0, streamed));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Streamed %d values in %.2f s (%.0f million per second): %s%n", streamed, seconds,
+                streamed / seconds / 1e6, streamedStatistics);
+
+        long sequentialCount = Math.min(streamed, 100_000_000L);
+        start = System.nanoTime();
+        RunningStatistics sequential = LongStream.range(0, sequentialCount).mapToDouble(TestRunningStatistics::sensorValue)
+                .collect(RunningStatistics::new, RunningStatistics::add, RunningStatistics::merge);
+        seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Sequential stream of %d values in %.2f s: %s%n", sequentialCount, seconds, sequential);
+    }
+
+    /**
+     * A noisy sine wave standing in for a sensor, computed from the index so nothing is stored.
+     */
+    private static double sensorValue(long index) {
+        long hash = index * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 31;
+        return 20 + Math.sin(index * 1e-4) + (hash >>> 11) * 0x1.0p-53;
+    }
+
+    private static double relative(double actual, double expected) {
+        return Math.abs(actual - expected) / Math.max(1e-300, Math.abs(expected));
+    }
+
+    /**
+     * Summarises a range of generated values, splitting it in half until it is small enough.
+     */
+    // Tasks only run inside the pool and are never serialized
+    @SuppressWarnings("serial")
+    private static class StreamTask extends RecursiveTask<RunningStatistics> {
+        private static final long VALUES_PER_TASK = 1 << 20;
+        private final long from;
+        private final long to;
+
+        private StreamTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RunningStatistics compute() {
+            if (to - from > VALUES_PER_TASK) {
+                long middle = (from + to) >>> 1;
+                StreamTask left = new StreamTask(from, middle);
+                left.fork();
+                RunningStatistics right = new StreamTask(middle, to).compute();
+                RunningStatistics statistics = left.join();
+                statistics.merge(right);
+                return statistics;
+            }
+            RunningStatistics statistics = new RunningStatistics();
+            for (long index = from; index < to; index++) {
+                statistics.add(sensorValue(index));
+            }
+            return statistics;
+        }
+    }
+}
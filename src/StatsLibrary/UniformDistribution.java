@@ -0,0 +1,99 @@
+package StatsLibrary;
+
+/**
+ * The UniformDistribution class is the continuous uniform distribution over [a, b].
+ * Its cdf over a sub-interval and its moments agree with the uniformDistribution methods of StatsLibrary.
+ *
+ * @author petitoa
+ */
+public final class UniformDistribution implements Distribution {
+    private final double lower;
+    private final double upper;
+    private final double width;
+    private final double density;
+
+    /**
+     * Constructs a new UniformDistribution.
+     *
+     * @param lower The lower bound a.
+     * @param upper The upper bound b.
+     * @throws IllegalArgumentException If the lower bound is not below the upper bound.
+     */
+    public UniformDistribution(double lower, double upper) {
+        if (!(lower < upper)) {
+            throw new IllegalArgumentException("Lower bound must be below the upper bound: " + lower + " >= " + upper);
+        }
+        this.lower = lower;
+        this.upper = upper;
+        this.width = upper - lower;
+        this.density = 1 / width;
+    }
+
+    @Override
+    public double pdf(double x) {
+        return x >= lower && x <= upper ? density : 0;
+    }
+
+    @Override
+    public double cdf(double x) {
+        if (x <= lower) {
+            return 0;
+        }
+        return x >= upper ? 1 : (x - lower) * density;
+    }
+
+    @Override
+    public double inverseCdf(double p) {
+        Distribution.checkProbability(p);
+        return lower + p * width;
+    }
+
+    @Override
+    public void pdf(double[] x, double[] output) {
+        Distribution.checkLengths(x, output);
+        for (int i = 0; i < x.length; i++) {
+            output[i] = x[i] >= lower && x[i] <= upper ? density : 0;
+        }
+    }
+
+    @Override
+    public void cdf(double[] x, double[] output) {
+        Distribution.checkLengths(x, output);
+        for (int i = 0; i < x.length; i++) {
+            output[i] = Math.min(1, Math.max(0, (x[i] - lower) * density));
+        }
+    }
+
+    @Override
+    public double getMean() {
+        return (lower + upper) / 2;
+    }
+
+    @Override
+    public double getVariance() {
+        return width * width / 12;
+    }
+
+    /**
+     * Gets the lower bound of the distribution.
+     *
+     * @return a.
+     */
+    public double getLower() {
+        return lower;
+    }
+
+    /**
+     * Gets the upper bound of the distribution.
+     *
+     * @return b.
+     */
+    public double getUpper() {
+        return upper;
+    }
+
+    @Override
+    public String toString() {
+        return "Uniform(" + lower + ", " + upper + ")";
+    }
+}
@@ -0,0 +1,161 @@
+package Stocks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The Backtest class runs a TradingStrategy over a stock series without printing anything,
+ * trades are only kept when a TradeRecorder is passed in.
+ * It is the shared simulation used by StockBot, ParameterSweep and BacktestRunner, and tracks the equity of the
+ * portfolio every day to report the maximum drawdown. Several strategies can be run side by side in one pass over the days.
+ *
+ * @author petitoa
+ */
+public final class Backtest {
+
+    private Backtest() {
+    }
+
+    /**
+     * Runs a strategy over a stock series, computing only the indicators it asks for.
+     *
+     * @param stocks          The StockSeries representing the stock data.
+     * @param strategy        The strategy deciding the trades.
+     * @param initialNetWorth The net worth the simulation starts with.
+     * @return The final net worth, return and drawdown of the run.
+     */
+    public static BacktestResult run(StockSeries stocks, TradingStrategy strategy, double initialNetWorth) {
+        return simulate(strategy, new MarketState(stocks, strategy.getIndicators()), initialNetWorth);
+    }
+
+    /**
+     * Runs several strategies over a stock series in a single pass.
+     * All strategies share one market state, so each indicator is updated once per day however many strategies use it,
+     * and every strategy trades with its own portfolio.
+     *
+     * @param stocks          The StockSeries representing the stock data.
+     * @param strategies      The strategies deciding the trades.
+     * @param initialNetWorth The net worth each strategy starts with.
+     * @return The result of each strategy, in the order of the strategies.
+     */
+    public static List<BacktestResult> runAll(StockSeries stocks, List<TradingStrategy> strategies, double initialNetWorth) {
+        return runAll(stocks, strategies, initialNetWorth, TradeRecorder.NONE);
+    }
+
+    /**
+     * Runs several strategies over a stock series in a single pass, handing every trade to a TradeRecorder.
+     * The recorder is not closed by the run.
+     *
+     * @param stocks          The StockSeries representing the stock data.
+     * @param strategies      The strategies deciding the trades.
+     * @param initialNetWorth The net worth each strategy starts with.
+     * @param recorder        The recorder receiving the trades, with the index of each strategy as its id.
+     * @return The result of each strategy, in the order of the strategies.
+     */
+    public static List<BacktestResult> runAll(StockSeries stocks, List<TradingStrategy> strategies, double initialNetWorth,
+                                              TradeRecorder recorder) {
+        Set<Indicator> indicators = new LinkedHashSet<>();
+        for (TradingStrategy strategy : strategies) {
+            indicators.addAll(strategy.getIndicators());
+        }
+        return simulateAll(strategies, new MarketState(stocks, indicators), initialNetWorth, recorder);
+    }
+
+    /**
+     * Simulates a strategy over every day of a market state.
+     *
+     * @param strategy        The strategy deciding the trades.
+     * @param state           A fresh market state holding the strategy's indicators.
+     * @param initialNetWorth The net worth the simulation starts with.
+     * @return The final net worth, return and drawdown of the run.
+     */
+    public static BacktestResult simulate(TradingStrategy strategy, MarketState state, double initialNetWorth) {
+        return simulateAll(List.of(strategy), state, initialNetWorth).get(0);
+    }
+
+    /**
+     * Simulates several strategies over every day of a shared market state, advancing one cursor over the days.
+     *
+     * @param strategies      The strategies deciding the trades.
+     * @param state           A fresh market state holding the indicators of every strategy.
+     * @param initialNetWorth The net worth each strategy starts with.
+     * @return The result of each strategy, in the order of the strategies.
+     */
+    public static List<BacktestResult> simulateAll(List<TradingStrategy> strategies, MarketState state, double initialNetWorth) {
+        return simulateAll(strategies, state, initialNetWorth, TradeRecorder.NONE);
+    }
+
+    /**
+     * Simulates several strategies over every day of a shared market state, handing every trade to a TradeRecorder.
+     *
+     * @param strategies      The strategies deciding the trades.
+     * @param state           A fresh market state holding the indicators of every strategy.
+     * @param initialNetWorth The net worth each strategy starts with.
+     * @param recorder        The recorder receiving the trades, with the index of each strategy as its id.
+     * @return The result of each strategy, in the order of the strategies.
+     */
+    public static List<BacktestResult> simulateAll(List<TradingStrategy> strategies, MarketState state, double initialNetWorth,
+                                                   TradeRecorder recorder) {
+        NetWorth[] netWorths = new NetWorth[strategies.size()];
+        for (int i = 0; i < netWorths.length; i++) {
+            netWorths[i] = new NetWorth(initialNetWorth);
+        }
+        return simulateAll(strategies, state, netWorths, recorder);
+    }
+
+    /**
+     * Simulates several strategies over every day of a shared market state, trading with the given portfolios
+     * and handing every trade to a TradeRecorder. The portfolios are updated in place, and the return and drawdown
+     * of each are taken relative to the net worth it starts with.
+     *
+     * @param strategies The strategies deciding the trades.
+     * @param state      A fresh market state holding the indicators of every strategy.
+     * @param netWorths  The portfolio of each strategy, in the order of the strategies.
+     * @param recorder   The recorder receiving the trades, with the index of each strategy as its id.
+     * @return The result of each strategy, in the order of the strategies.
+     * @throws IllegalArgumentException If the number of portfolios and strategies differ.
+     */
+    public static List<BacktestResult> simulateAll(List<TradingStrategy> strategies, MarketState state, NetWorth[] netWorths,
+                                                   TradeRecorder recorder) {
+        if (netWorths.length != strategies.size()) {
+            throw new IllegalArgumentException("Expected one net worth per strategy: " + netWorths.length + " net worths for " + strategies.size() + " strategies");
+        }
+        TradingStrategy[] traders = strategies.toArray(new TradingStrategy[0]);
+        double[] initialNetWorth = new double[traders.length];
+        double[] peakEquity = new double[traders.length];
+        double[] maxDrawdown = new double[traders.length];
+        double[] equity = new double[traders.length];
+        for (int i = 0; i < traders.length; i++) {
+            initialNetWorth[i] = netWorths[i].getNetWorth();
+            peakEquity[i] = initialNetWorth[i];
+            equity[i] = initialNetWorth[i];
+        }
+
+        for (int day = 0; day < state.getDays(); day++) {
+            state.setDay(day);
+            double openValue = state.getOpenValue();
+
+            for (int i = 0; i < traders.length; i++) {
+                NetWorth netWorth = netWorths[i];
+                int determinedTrade = traders[i].decide(state, netWorth);
+                netWorth.updatePortfolio(determinedTrade, openValue);
+                recorder.record(day, i, determinedTrade, openValue, netWorth.getNetWorth(), netWorth.getStockQuantity());
+
+                // Value the stocks still held at today's open value
+                equity[i] = netWorth.getNetWorth() + netWorth.getStockQuantity() * openValue;
+                peakEquity[i] = Math.max(peakEquity[i], equity[i]);
+                maxDrawdown[i] = Math.max(maxDrawdown[i], (peakEquity[i] - equity[i]) / peakEquity[i]);
+            }
+        }
+
+        List<BacktestResult> results = new ArrayList<>(traders.length);
+        for (int i = 0; i < traders.length; i++) {
+            double finalNetWorth = netWorths[i].getNetWorth();
+            double totalReturn = (equity[i] - initialNetWorth[i]) / initialNetWorth[i];
+            results.add(new BacktestResult(traders[i], finalNetWorth, equity[i], totalReturn, maxDrawdown[i]));
+        }
+        return results;
+    }
+}
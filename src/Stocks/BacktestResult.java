@@ -0,0 +1,84 @@
+package Stocks;
+
+/**
+ * The BacktestResult class holds the outcome of one simulated run of a trading strategy.
+ * It includes the strategy that was used, the final net worth, the return and the maximum drawdown.
+ *
+ * @author petitoa
+ */
+public class BacktestResult {
+    private final TradingStrategy strategy;
+    private final double finalNetWorth;
+    private final double finalEquity;
+    private final double totalReturn;
+    private final double maxDrawdown;
+
+    /**
+     * Constructs a new BacktestResult with the specified values.
+     *
+     * @param strategy      The strategy that was simulated.
+     * @param finalNetWorth The net worth at the end of the run, as reported by completeRun.
+     * @param finalEquity   The net worth plus the stocks still held, valued at the last open value.
+     * @param totalReturn   The final equity relative to the initial net worth, 0.05 is a 5% gain.
+     * @param maxDrawdown   The largest drop of the equity from a previous peak, 0.2 is a 20% drop.
+     */
+    public BacktestResult(TradingStrategy strategy, double finalNetWorth, double finalEquity, double totalReturn,
+                          double maxDrawdown) {
+        this.strategy = strategy;
+        this.finalNetWorth = finalNetWorth;
+        this.finalEquity = finalEquity;
+        this.totalReturn = totalReturn;
+        this.maxDrawdown = maxDrawdown;
+    }
+
+    /**
+     * Gets the strategy that was simulated.
+     *
+     * @return The strategy.
+     */
+    public TradingStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets the net worth at the end of the run, the cash without the stocks still held.
+     *
+     * @return The final net worth.
+     */
+    public double getFinalNetWorth() {
+        return finalNetWorth;
+    }
+
+    /**
+     * Gets the net worth plus the stocks still held, valued at the last open value.
+     *
+     * @return The final equity.
+     */
+    public double getFinalEquity() {
+        return finalEquity;
+    }
+
+    /**
+     * Gets the final equity relative to the initial net worth.
+     *
+     * @return The return, 0.05 is a 5% gain.
+     */
+    public double getTotalReturn() {
+        return totalReturn;
+    }
+
+    /**
+     * Gets the largest drop of the equity from a previous peak.
+     *
+     * @return The maximum drawdown, 0.2 is a 20% drop.
+     */
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("net worth %.2f  equity %.2f  return %.2f%%  drawdown %.2f%%  (%s)",
+                finalNetWorth, finalEquity, totalReturn * 100, maxDrawdown * 100, strategy);
+    }
+}
@@ -0,0 +1,180 @@
+package Stocks;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * The BacktestRunner class back-tests trading strategies on many symbols concurrently, one OHLCV CSV file per symbol.
+ * Each symbol is loaded and every strategy simulated in its own task, in a single pass over the symbol's days
+ * with the indicators shared by the strategies that ask for them.
+ * Tasks run on virtual threads when the Java runtime has them, otherwise on a pool of platform threads.
+ * Loading is limited to a fixed number of files at a time so the disk is not flooded.
+ *
+ * @author petitoa
+ */
+public class BacktestRunner {
+    private final double initialNetWorth;
+    private final List<TradingStrategy> strategies;
+    private final int ioConcurrency;
+
+    /**
+     * Constructs a new BacktestRunner that runs the three built-in strategies with their original parameters.
+     *
+     * @param initialNetWorth The net worth each symbol's simulation starts with.
+     */
+    public BacktestRunner(double initialNetWorth) {
+        this(initialNetWorth, TradingStrategies.builtIn(), 4);
+    }
+
+    /**
+     * Constructs a new BacktestRunner.
+     *
+     * @param initialNetWorth The net worth each symbol's simulation starts with.
+     * @param strategies      The strategies to run on every symbol.
+     * @param ioConcurrency   The largest number of files loaded at the same time.
+     * @throws IllegalArgumentException If ioConcurrency is less than 1.
+     */
+    public BacktestRunner(double initialNetWorth, List<TradingStrategy> strategies, int ioConcurrency) {
+        if (ioConcurrency < 1) {
+            throw new IllegalArgumentException("I/O concurrency must be at least 1: " + ioConcurrency);
+        }
+        this.initialNetWorth = initialNetWorth;
+        this.strategies = List.copyOf(strategies);
+        this.ioConcurrency = ioConcurrency;
+    }
+
+    /**
+     * Back-tests every CSV file in a directory.
+     *
+     * @param directory The directory containing one OHLCV CSV file per symbol.
+     * @return The per-symbol and portfolio results.
+     * @throws RuntimeException If the directory cannot be listed.
+     */
+    public PortfolioResult run(Path directory) {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().toLowerCase().endsWith(".csv")).sorted().toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while listing the directory " + directory, e);
+        }
+        return run(files);
+    }
+
+    /**
+     * Back-tests a list of CSV files concurrently.
+     * A file that fails to load or simulate is reported in its SymbolResult and does not stop the others.
+     *
+     * @param files The OHLCV CSV files, one per symbol.
+     * @return The per-symbol and portfolio results, symbols in the order of the files.
+     */
+    public PortfolioResult run(List<Path> files) {
+        long start = System.nanoTime();
+        Semaphore ioPermits = new Semaphore(ioConcurrency);
+
+        List<SymbolResult> symbolResults = new ArrayList<>(files.size());
+        ExecutorService executor = newExecutor();
+        try {
+            List<Future<SymbolResult>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> runSymbol(file, ioPermits)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                symbolResults.add(await(futures.get(i), symbolName(files.get(i))));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        return new PortfolioResult(strategies, symbolResults, initialNetWorth, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Loads one symbol and runs every strategy on it.
+     *
+     * @param file      The OHLCV CSV file of the symbol.
+     * @param ioPermits The permits limiting how many files are loaded at the same time.
+     * @return The result of the symbol.
+     */
+    private SymbolResult runSymbol(Path file, Semaphore ioPermits) {
+        String symbol = symbolName(file);
+        try {
+            long loadStart = System.nanoTime();
+            StockSeries stocks;
+            ioPermits.acquire();
+            try {
+                stocks = new StockCsvLoader().loadSeries(file.toString());
+            } finally {
+                ioPermits.release();
+            }
+            long loadNanos = System.nanoTime() - loadStart;
+            if (stocks.size() == 0) {
+                return new SymbolResult(symbol, new IllegalStateException("No stock data in " + file));
+            }
+
+            // One pass over the days runs every strategy, indicators are shared between them
+            BacktestResult[] results = Backtest.runAll(stocks, strategies, initialNetWorth).toArray(new BacktestResult[0]);
+            return new SymbolResult(symbol, stocks.size(), results, loadNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SymbolResult(symbol, e);
+        } catch (RuntimeException e) {
+            return new SymbolResult(symbol, e);
+        }
+    }
+
+    private static SymbolResult await(Future<SymbolResult> future, String symbol) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SymbolResult(symbol, e);
+        } catch (ExecutionException e) {
+            return new SymbolResult(symbol, e);
+        }
+    }
+
+    private static String symbolName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    /**
+     * Creates a virtual thread per task executor if the runtime supports it (Java 21 and later),
+     * otherwise a fixed pool with a platform thread per core.
+     *
+     * @return The executor the symbol tasks run on.
+     */
+    static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Determines whether symbol tasks run on virtual threads in this runtime.
+     *
+     * @return True if virtual threads are available.
+     */
+    public static boolean usesVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
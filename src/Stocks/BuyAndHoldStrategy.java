@@ -0,0 +1,26 @@
+package Stocks;
+
+/**
+ * The BuyAndHoldStrategy class is the Buy and Hold trade method (trade method 2) as a TradingStrategy.
+ * It needs no indicators, so none are computed when it runs on its own.
+ * The stocks are sold on the last day of whatever series it runs on.
+ *
+ * @author petitoa
+ */
+public class BuyAndHoldStrategy implements TradingStrategy {
+
+    @Override
+    public String getName() {
+        return "buyAndHold";
+    }
+
+    @Override
+    public int decide(MarketState state, NetWorth portfolio) {
+        return TradeRules.buyAndHold(portfolio, state.getOpenValue(), state.getDay(), state.getDays() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
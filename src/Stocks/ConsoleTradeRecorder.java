@@ -0,0 +1,26 @@
+package Stocks;
+
+import java.util.List;
+
+/**
+ * The ConsoleTradeRecorder class prints every trade to the console, in the format StockBot has always used.
+ *
+ * @author petitoa
+ */
+public class ConsoleTradeRecorder implements TradeRecorder {
+    private final String[] tradeMethods;
+
+    /**
+     * Constructs a new ConsoleTradeRecorder.
+     *
+     * @param tradeMethods The name printed for each strategy, in the order of the strategy ids.
+     */
+    public ConsoleTradeRecorder(List<String> tradeMethods) {
+        this.tradeMethods = tradeMethods.toArray(new String[0]);
+    }
+
+    @Override
+    public void record(int day, int strategyId, int trade, double price, double cash, int holdings) {
+        System.out.println("Day: " + day + " Determined Trade: " + trade + " End of day networth: " + cash + " Num of stocks: " + holdings + " Trade Method: " + tradeMethods[strategyId]);
+    }
+}
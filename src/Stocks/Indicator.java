@@ -0,0 +1,53 @@
+package Stocks;
+
+/**
+ * The Indicator interface describes a value a TradingStrategy can ask the MarketState for on each day.
+ * Implementations are used as keys when indicator values are shared, so they must implement equals and hashCode
+ * over every parameter that changes their values.
+ *
+ * @author petitoa
+ */
+public interface Indicator {
+
+    /**
+     * Creates a fresh state that calculates the indicator one day at a time.
+     *
+     * @return A new IndicatorState.
+     */
+    IndicatorState newState();
+
+    /**
+     * Calculates the indicator for every day of a stock series.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @return The value of the indicator on each day.
+     */
+    default double[] compute(StockSeries stocks) {
+        IndicatorState state = newState();
+        double[] values = new double[stocks.size()];
+        for (int day = 0; day < stocks.size(); day++) {
+            values[day] = state.update(stocks, day);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the simple moving average of the opening values, the heuristic of the original trade methods.
+     *
+     * @param windowSize The number of days in the window.
+     * @return The moving average indicator.
+     */
+    static Indicator movingAverage(int windowSize) {
+        return new MovingAverageIndicator(windowSize, MovingAverage.Type.SIMPLE);
+    }
+
+    /**
+     * Gets the RSI a day trades on, as in completeRun.
+     *
+     * @param rsiPeriod The number of days the RSI looks back.
+     * @return The RSI indicator.
+     */
+    static Indicator rsi(int rsiPeriod) {
+        return new RsiIndicator(rsiPeriod, RsiCalculator.Smoothing.SIMPLE);
+    }
+}
@@ -0,0 +1,296 @@
+package Stocks;
+
+import Storage.ColumnFile;
+import Storage.ColumnFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The IndicatorCache class keeps indicator values computed for whole stock series, so runs over the same data
+ * reuse them instead of computing them again. Values are keyed by the fingerprint of the series and the
+ * parameters of the indicator, so a cache can be shared by runs over different series.
+ * <p>
+ * The memory tier holds at most maxBytes of values and evicts the least recently used ones beyond that.
+ * The optional disk tier writes every computed array to a column file in a directory and maps it back on a
+ * memory miss, so values also survive between runs of the program. Both tiers count their hits and misses.
+ * <p>
+ * The cache is thread-safe, and a value asked for by several threads at once is computed once.
+ * Cached arrays are shared, so they must be treated as read-only.
+ *
+ * @author petitoa
+ */
+public class IndicatorCache {
+    // The bound of the memory tier when none is given
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private static final String VALUES_COLUMN = "values";
+
+    private final long maxBytes;
+    private final Path directory;
+
+    // Least recently used first, guarded by itself
+    private final LinkedHashMap<Key, double[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final Map<Key, CompletableFuture<double[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder diskMisses = new LongAdder();
+
+    /**
+     * Constructs a new IndicatorCache holding up to DEFAULT_MAX_BYTES of values in memory.
+     */
+    public IndicatorCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs a new IndicatorCache with a memory tier only.
+     *
+     * @param maxBytes The largest number of bytes of values kept in memory.
+     * @throws IllegalArgumentException If maxBytes is negative.
+     */
+    public IndicatorCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * Constructs a new IndicatorCache with a memory tier and a disk tier.
+     *
+     * @param maxBytes  The largest number of bytes of values kept in memory.
+     * @param directory The directory the disk tier keeps its files in, created if missing, or null for no disk tier.
+     * @throws IllegalArgumentException If maxBytes is negative.
+     * @throws RuntimeException         If the directory cannot be created.
+     */
+    public IndicatorCache(long maxBytes, Path directory) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Max bytes must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new RuntimeException("Error while creating the indicator cache directory " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the values of an indicator for every day of a stock series, computing them on a miss.
+     *
+     * @param stocks    The StockSeries representing the stock data.
+     * @param indicator The indicator.
+     * @return The value of the indicator on each day, shared with other callers.
+     */
+    public double[] get(StockSeries stocks, Indicator indicator) {
+        return get(stocks, indicator, indicator::compute);
+    }
+
+    /**
+     * Gets values calculated from a stock series, calculating them on a miss.
+     * The parameters identify the calculation: they must implement equals and hashCode over everything that changes
+     * the values, and with a disk tier their toString must tell different parameters apart across runs.
+     *
+     * @param stocks      The StockSeries representing the stock data.
+     * @param parameters  The parameters of the calculation, such as an Indicator.
+     * @param calculation Calculates the values from the series on a miss.
+     * @return The values, shared with other callers.
+     */
+    public double[] get(StockSeries stocks, Object parameters, Function<StockSeries, double[]> calculation) {
+        Key key = new Key(stocks.fingerprint(), parameters);
+        synchronized (entries) {
+            double[] values = entries.get(key);
+            if (values != null) {
+                hits.increment();
+                return values;
+            }
+        }
+        misses.increment();
+
+        // Only the first thread to miss a key loads it, the others wait for its values
+        CompletableFuture<double[]> loading = new CompletableFuture<>();
+        CompletableFuture<double[]> existing = inFlight.putIfAbsent(key, loading);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            double[] values;
+            synchronized (entries) {
+                // Another thread may have finished loading the key since the first lookup
+                values = entries.get(key);
+            }
+            if (values == null) {
+                values = load(key, stocks, calculation);
+                put(key, values);
+            }
+            loading.complete(values);
+            return values;
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    /**
+     * Removes every value from the memory tier. Files of the disk tier are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    /**
+     * Gets the number of lookups answered from memory.
+     *
+     * @return The number of memory hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups not found in memory.
+     *
+     * @return The number of memory misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of values evicted from memory to stay within maxBytes.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of memory misses answered from the disk tier.
+     *
+     * @return The number of disk hits, 0 without a disk tier.
+     */
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    /**
+     * Gets the number of memory misses not found on disk either, and so computed.
+     *
+     * @return The number of disk misses, 0 without a disk tier.
+     */
+    public long getDiskMisses() {
+        return diskMisses.sum();
+    }
+
+    /**
+     * Gets the number of value arrays held in memory.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the number of bytes of values held in memory.
+     *
+     * @return The bytes held, at most maxBytes.
+     */
+    public long getBytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IndicatorCache{hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions()
+                + ", diskHits=" + getDiskHits() + ", diskMisses=" + getDiskMisses()
+                + ", entries=" + size() + ", bytes=" + getBytes() + "}";
+    }
+
+    /**
+     * Reads the values from the disk tier, or calculates them and writes them to it.
+     */
+    private double[] load(Key key, StockSeries stocks, Function<StockSeries, double[]> calculation) {
+        if (directory == null) {
+            return calculation.apply(stocks);
+        }
+        Path file = directory.resolve(key.fileName());
+        if (Files.exists(file)) {
+            diskHits.increment();
+            return ColumnFile.open(file).readDoubles(VALUES_COLUMN);
+        }
+        diskMisses.increment();
+        double[] values = calculation.apply(stocks);
+
+        // Written next to the final file and moved in place, so no other run maps a half written file
+        try {
+            Path temporary = Files.createTempFile(directory, key.fileName(), ".tmp");
+            new ColumnFileWriter().addDoubles(VALUES_COLUMN, values).write(temporary);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the indicator cache file " + file, e);
+        }
+        return values;
+    }
+
+    /**
+     * Adds values to the memory tier, evicting the least recently used values beyond maxBytes.
+     * Values larger than maxBytes on their own are not kept.
+     */
+    private void put(Key key, double[] values) {
+        long size = (long) values.length * Double.BYTES;
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            double[] previous = entries.put(key, values);
+            bytes += size - (previous == null ? 0 : (long) previous.length * Double.BYTES);
+
+            Iterator<double[]> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                double[] evicted = eldest.next();
+                eldest.remove();
+                bytes -= (long) evicted.length * Double.BYTES;
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Identifies values by the data they were computed from and how.
+     */
+    private record Key(long fingerprint, Object parameters) {
+
+        /**
+         * Gets the name of the disk tier file of the key, the fingerprint and the parameters in safe characters.
+         */
+        private String fileName() {
+            return String.format("%016x-%s.cols", fingerprint, parameters.toString().replaceAll("[^A-Za-z0-9]+", "_"));
+        }
+    }
+}
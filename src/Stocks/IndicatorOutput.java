@@ -0,0 +1,183 @@
+package Stocks;
+
+/**
+ * The IndicatorOutput class holds the preallocated arrays TechnicalIndicatorEngine writes its indicators into,
+ * one array per indicator with one value per day. An output can be reused for any series up to its capacity,
+ * so calculating the indicators again allocates nothing.
+ *
+ * @author petitoa
+ */
+public class IndicatorOutput {
+    private final double[] ema;
+    private final double[] macd;
+    private final double[] macdSignal;
+    private final double[] macdHistogram;
+    private final double[] bollingerMiddle;
+    private final double[] bollingerUpper;
+    private final double[] bollingerLower;
+    private final double[] atr;
+    private final double[] stochasticK;
+    private final double[] stochasticD;
+    private final double[] vwap;
+    private int size;
+
+    /**
+     * Constructs a new IndicatorOutput.
+     *
+     * @param capacity The largest number of days the output holds.
+     */
+    public IndicatorOutput(int capacity) {
+        this.ema = new double[capacity];
+        this.macd = new double[capacity];
+        this.macdSignal = new double[capacity];
+        this.macdHistogram = new double[capacity];
+        this.bollingerMiddle = new double[capacity];
+        this.bollingerUpper = new double[capacity];
+        this.bollingerLower = new double[capacity];
+        this.atr = new double[capacity];
+        this.stochasticK = new double[capacity];
+        this.stochasticD = new double[capacity];
+        this.vwap = new double[capacity];
+    }
+
+    /**
+     * Stores the latest values of an engine as the values of a day.
+     *
+     * @param day    The index of the day.
+     * @param engine The engine holding the values of the day.
+     */
+    void store(int day, TechnicalIndicatorEngine engine) {
+        ema[day] = engine.getEma();
+        macd[day] = engine.getMacd();
+        macdSignal[day] = engine.getMacdSignal();
+        macdHistogram[day] = engine.getMacdHistogram();
+        bollingerMiddle[day] = engine.getBollingerMiddle();
+        bollingerUpper[day] = engine.getBollingerUpper();
+        bollingerLower[day] = engine.getBollingerLower();
+        atr[day] = engine.getAtr();
+        stochasticK[day] = engine.getStochasticK();
+        stochasticD[day] = engine.getStochasticD();
+        vwap[day] = engine.getVwap();
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets the largest number of days the output holds.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return ema.length;
+    }
+
+    /**
+     * Gets the number of days written by the last calculation, only that many values of each array are set.
+     *
+     * @return The number of days.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the exponential moving average of the closing values.
+     *
+     * @return The EMA of each day, not copied.
+     */
+    public double[] getEma() {
+        return ema;
+    }
+
+    /**
+     * Gets the MACD line, the fast minus the slow exponential moving average of the closing values.
+     *
+     * @return The MACD of each day, not copied.
+     */
+    public double[] getMacd() {
+        return macd;
+    }
+
+    /**
+     * Gets the signal line, the exponential moving average of the MACD.
+     *
+     * @return The MACD signal of each day, not copied.
+     */
+    public double[] getMacdSignal() {
+        return macdSignal;
+    }
+
+    /**
+     * Gets the MACD histogram, the MACD minus its signal line.
+     *
+     * @return The MACD histogram of each day, not copied.
+     */
+    public double[] getMacdHistogram() {
+        return macdHistogram;
+    }
+
+    /**
+     * Gets the middle Bollinger band, the simple moving average of the closing values.
+     *
+     * @return The middle band of each day, not copied.
+     */
+    public double[] getBollingerMiddle() {
+        return bollingerMiddle;
+    }
+
+    /**
+     * Gets the upper Bollinger band.
+     *
+     * @return The upper band of each day, not copied.
+     */
+    public double[] getBollingerUpper() {
+        return bollingerUpper;
+    }
+
+    /**
+     * Gets the lower Bollinger band.
+     *
+     * @return The lower band of each day, not copied.
+     */
+    public double[] getBollingerLower() {
+        return bollingerLower;
+    }
+
+    /**
+     * Gets the average true range.
+     *
+     * @return The ATR of each day, not copied.
+     */
+    public double[] getAtr() {
+        return atr;
+    }
+
+    /**
+     * Gets %K of the stochastic oscillator.
+     *
+     * @return The %K of each day between 0 and 100, not copied.
+     */
+    public double[] getStochasticK() {
+        return stochasticK;
+    }
+
+    /**
+     * Gets %D of the stochastic oscillator, the simple moving average of %K.
+     *
+     * @return The %D of each day between 0 and 100, not copied.
+     */
+    public double[] getStochasticD() {
+        return stochasticD;
+    }
+
+    /**
+     * Gets the volume weighted average price.
+     *
+     * @return The VWAP of each day, not copied.
+     */
+    public double[] getVwap() {
+        return vwap;
+    }
+}
@@ -0,0 +1,172 @@
+package Stocks;
+
+/**
+ * The IndicatorSettings class holds the periods of the indicators calculated by TechnicalIndicatorEngine.
+ * It includes the periods the indicators are usually quoted with.
+ *
+ * @author petitoa
+ */
+public class IndicatorSettings {
+    private final int emaPeriod;
+    private final int macdFastPeriod;
+    private final int macdSlowPeriod;
+    private final int macdSignalPeriod;
+    private final int bollingerPeriod;
+    private final double bollingerWidth;
+    private final int atrPeriod;
+    private final int stochasticPeriod;
+    private final int stochasticSmoothing;
+    private final int vwapPeriod;
+
+    /**
+     * Constructs a new IndicatorSettings object with the specified values.
+     *
+     * @param emaPeriod           The number of days of the exponential moving average of the closing values.
+     * @param macdFastPeriod      The number of days of the fast average of the MACD.
+     * @param macdSlowPeriod      The number of days of the slow average of the MACD.
+     * @param macdSignalPeriod    The number of days of the average of the MACD, its signal line.
+     * @param bollingerPeriod     The number of days the Bollinger bands are calculated over.
+     * @param bollingerWidth      The number of standard deviations between the middle band and the outer bands.
+     * @param atrPeriod           The number of days of the average true range.
+     * @param stochasticPeriod    The number of days whose high and low bound the stochastic oscillator.
+     * @param stochasticSmoothing The number of days %D averages %K over.
+     * @param vwapPeriod          The number of days of the volume weighted average price.
+     * @throws IllegalArgumentException If a period is less than 1, the bands have a negative width,
+     *                                  or the fast MACD period is not shorter than the slow one.
+     */
+    public IndicatorSettings(int emaPeriod, int macdFastPeriod, int macdSlowPeriod, int macdSignalPeriod,
+                             int bollingerPeriod, double bollingerWidth, int atrPeriod, int stochasticPeriod,
+                             int stochasticSmoothing, int vwapPeriod) {
+        int[] periods = {emaPeriod, macdFastPeriod, macdSlowPeriod, macdSignalPeriod, bollingerPeriod, atrPeriod,
+                stochasticPeriod, stochasticSmoothing, vwapPeriod};
+        for (int period : periods) {
+            if (period < 1) {
+                throw new IllegalArgumentException("Indicator periods must be at least 1: " + period);
+            }
+        }
+        if (macdFastPeriod >= macdSlowPeriod) {
+            throw new IllegalArgumentException("The fast MACD period must be shorter than the slow one: "
+                    + macdFastPeriod + " >= " + macdSlowPeriod);
+        }
+        if (!(bollingerWidth >= 0)) {
+            throw new IllegalArgumentException("Bollinger width must not be negative: " + bollingerWidth);
+        }
+        this.emaPeriod = emaPeriod;
+        this.macdFastPeriod = macdFastPeriod;
+        this.macdSlowPeriod = macdSlowPeriod;
+        this.macdSignalPeriod = macdSignalPeriod;
+        this.bollingerPeriod = bollingerPeriod;
+        this.bollingerWidth = bollingerWidth;
+        this.atrPeriod = atrPeriod;
+        this.stochasticPeriod = stochasticPeriod;
+        this.stochasticSmoothing = stochasticSmoothing;
+        this.vwapPeriod = vwapPeriod;
+    }
+
+    /**
+     * Gets the periods the indicators are usually quoted with.
+     *
+     * @return A 20 day EMA, MACD 12/26/9, 20 day Bollinger bands 2 standard deviations wide, a 14 day ATR,
+     * a 14 day stochastic with a 3 day %D, and a 20 day VWAP.
+     */
+    public static IndicatorSettings defaults() {
+        return new IndicatorSettings(20, 12, 26, 9, 20, 2, 14, 14, 3, 20);
+    }
+
+    /**
+     * Gets the number of days of the exponential moving average.
+     *
+     * @return The EMA period.
+     */
+    public int getEmaPeriod() {
+        return emaPeriod;
+    }
+
+    /**
+     * Gets the number of days of the fast average of the MACD.
+     *
+     * @return The fast MACD period.
+     */
+    public int getMacdFastPeriod() {
+        return macdFastPeriod;
+    }
+
+    /**
+     * Gets the number of days of the slow average of the MACD.
+     *
+     * @return The slow MACD period.
+     */
+    public int getMacdSlowPeriod() {
+        return macdSlowPeriod;
+    }
+
+    /**
+     * Gets the number of days of the signal line of the MACD.
+     *
+     * @return The MACD signal period.
+     */
+    public int getMacdSignalPeriod() {
+        return macdSignalPeriod;
+    }
+
+    /**
+     * Gets the number of days the Bollinger bands are calculated over.
+     *
+     * @return The Bollinger period.
+     */
+    public int getBollingerPeriod() {
+        return bollingerPeriod;
+    }
+
+    /**
+     * Gets the number of standard deviations between the middle band and the outer bands.
+     *
+     * @return The Bollinger width.
+     */
+    public double getBollingerWidth() {
+        return bollingerWidth;
+    }
+
+    /**
+     * Gets the number of days of the average true range.
+     *
+     * @return The ATR period.
+     */
+    public int getAtrPeriod() {
+        return atrPeriod;
+    }
+
+    /**
+     * Gets the number of days whose high and low bound the stochastic oscillator.
+     *
+     * @return The stochastic period.
+     */
+    public int getStochasticPeriod() {
+        return stochasticPeriod;
+    }
+
+    /**
+     * Gets the number of days %D averages %K over.
+     *
+     * @return The stochastic smoothing.
+     */
+    public int getStochasticSmoothing() {
+        return stochasticSmoothing;
+    }
+
+    /**
+     * Gets the number of days of the volume weighted average price.
+     *
+     * @return The VWAP period.
+     */
+    public int getVwapPeriod() {
+        return vwapPeriod;
+    }
+
+    @Override
+    public String toString() {
+        return "ema=" + emaPeriod + " macd=" + macdFastPeriod + "/" + macdSlowPeriod + "/" + macdSignalPeriod
+                + " bollinger=" + bollingerPeriod + "x" + bollingerWidth + " atr=" + atrPeriod
+                + " stochastic=" + stochasticPeriod + "/" + stochasticSmoothing + " vwap=" + vwapPeriod;
+    }
+}
@@ -0,0 +1,18 @@
+package Stocks;
+
+/**
+ * The IndicatorState interface holds the rolling state of an Indicator while it is calculated one day at a time.
+ *
+ * @author petitoa
+ */
+public interface IndicatorState {
+
+    /**
+     * Calculates the indicator for the next day. Days are passed in order, starting at 0.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @param day    The day to calculate the indicator for.
+     * @return The value of the indicator on that day.
+     */
+    double update(StockSeries stocks, int day);
+}
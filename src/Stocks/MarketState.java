@@ -0,0 +1,173 @@
+package Stocks;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The MarketState class is the read-only view of the market a TradingStrategy decides on.
+ * It exposes the current day, its opening value, the days before it, and the indicators the strategies declared.
+ * An indicator is only computed once a strategy asks for it.
+ * <p>
+ * By default indicators are streamed: each one keeps its rolling IndicatorState and is updated once per day,
+ * so memory stays flat however many days are simulated. Given a cache, indicators are computed for the whole
+ * series instead and shared with every other run over the same stock series. An IndicatorCache also shares them
+ * with runs over other series holding the same data, and across runs of the program with its disk tier.
+ *
+ * @author petitoa
+ */
+public class MarketState {
+    private final StockSeries stocks;
+    private final Indicator[] indicators;
+    private final Map<Indicator, double[]> cache;
+    private final IndicatorCache indicatorCache;
+    private int day;
+
+    // Whole series values, used with a cache
+    private final double[][] values;
+
+    // Rolling states, used when streaming
+    private final IndicatorState[] states;
+    private final int[] nextDays;
+    private final double[] latestValues;
+
+    /**
+     * Constructs a new MarketState that streams its indicators one day at a time.
+     * The days must then be visited in order.
+     *
+     * @param stocks     The StockSeries representing the stock data.
+     * @param indicators The indicators the strategies may ask for.
+     */
+    public MarketState(StockSeries stocks, Collection<Indicator> indicators) {
+        this(stocks, indicators, null, null);
+    }
+
+    /**
+     * Constructs a new MarketState sharing whole series indicator values through a cache.
+     * The cache must only hold values computed for the same stock series, and must be thread-safe
+     * if it is shared by runs on different threads.
+     *
+     * @param stocks     The StockSeries representing the stock data.
+     * @param indicators The indicators the strategies may ask for.
+     * @param cache      The indicator values already computed for this stock series, or null to stream them.
+     */
+    public MarketState(StockSeries stocks, Collection<Indicator> indicators, Map<Indicator, double[]> cache) {
+        this(stocks, indicators, cache, null);
+    }
+
+    /**
+     * Constructs a new MarketState taking whole series indicator values from an IndicatorCache.
+     *
+     * @param stocks         The StockSeries representing the stock data.
+     * @param indicators     The indicators the strategies may ask for.
+     * @param indicatorCache The cache the indicator values are looked up in, or null to stream them.
+     */
+    public MarketState(StockSeries stocks, Collection<Indicator> indicators, IndicatorCache indicatorCache) {
+        this(stocks, indicators, null, indicatorCache);
+    }
+
+    private MarketState(StockSeries stocks, Collection<Indicator> indicators, Map<Indicator, double[]> cache,
+                        IndicatorCache indicatorCache) {
+        this.stocks = stocks;
+        this.indicators = indicators.toArray(new Indicator[0]);
+        this.cache = cache;
+        this.indicatorCache = indicatorCache;
+        this.values = new double[this.indicators.length][];
+        this.states = new IndicatorState[this.indicators.length];
+        this.nextDays = new int[this.indicators.length];
+        this.latestValues = new double[this.indicators.length];
+    }
+
+    /**
+     * Moves the state to a day of the simulation.
+     *
+     * @param day The index of the day.
+     * @throws IllegalStateException If a streaming state is moved back to an earlier day.
+     */
+    void setDay(int day) {
+        if (isStreaming() && day < this.day) {
+            throw new IllegalStateException("A streaming market state cannot move back from day " + this.day + " to " + day);
+        }
+        this.day = day;
+    }
+
+    /**
+     * Gets the current day of the simulation.
+     *
+     * @return The index of the day, starting at 0.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * Gets the number of days in the simulation.
+     *
+     * @return The number of days.
+     */
+    public int getDays() {
+        return stocks.size();
+    }
+
+    /**
+     * Gets the opening value of the current day, the price trades are made at.
+     *
+     * @return The opening value.
+     */
+    public double getOpenValue() {
+        return stocks.getOpenValue(day);
+    }
+
+    /**
+     * Gets the days before the current day without copying them.
+     *
+     * @return A window of the stock series ending before the current day.
+     */
+    public StockSeries getHistory() {
+        return stocks.window(0, day);
+    }
+
+    /**
+     * Gets the value of an indicator on the current day, computing it first if no strategy asked for it before.
+     *
+     * @param indicator One of the indicators the strategies declared.
+     * @return The value of the indicator on the current day.
+     * @throws IllegalArgumentException If the indicator was not declared.
+     */
+    public double indicator(Indicator indicator) {
+        for (int i = 0; i < indicators.length; i++) {
+            if (indicators[i] == indicator || indicators[i].equals(indicator)) {
+                return isStreaming() ? streamedValue(i) : cachedValue(i);
+            }
+        }
+        throw new IllegalArgumentException("Indicator was not declared by the strategy: " + indicator);
+    }
+
+    private double cachedValue(int slot) {
+        double[] indicatorValues = values[slot];
+        if (indicatorValues == null) {
+            indicatorValues = cache != null
+                    ? cache.computeIfAbsent(indicators[slot], key -> key.compute(stocks))
+                    : indicatorCache.get(stocks, indicators[slot]);
+            values[slot] = indicatorValues;
+        }
+        return indicatorValues[day];
+    }
+
+    private boolean isStreaming() {
+        return cache == null && indicatorCache == null;
+    }
+
+    private double streamedValue(int slot) {
+        IndicatorState state = states[slot];
+        if (state == null) {
+            state = indicators[slot].newState();
+            states[slot] = state;
+        }
+        // Catch up on the days since the indicator was last asked for, each day is only updated once
+        while (nextDays[slot] <= day) {
+            latestValues[slot] = state.update(stocks, nextDays[slot]);
+            nextDays[slot]++;
+        }
+        return latestValues[slot];
+    }
+}
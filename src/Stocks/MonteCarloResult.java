@@ -0,0 +1,128 @@
+package Stocks;
+
+import java.util.Arrays;
+
+/**
+ * The MonteCarloResult class holds the final equity of every path of a MonteCarloSimulator run,
+ * sorted from the lowest to the highest, and summarizes them as percentile bands.
+ *
+ * @author petitoa
+ */
+public class MonteCarloResult {
+    /**
+     * The percentiles of the bands printed by toString.
+     */
+    public static final double[] BAND_PERCENTILES = {5, 25, 50, 75, 95};
+
+    private final TradingStrategy strategy;
+    private final double initialNetWorth;
+    private final double[] finalEquities;
+
+    /**
+     * Constructs a new MonteCarloResult, sorting the final equities in place.
+     *
+     * @param strategy        The strategy that was run.
+     * @param initialNetWorth The net worth every path started with.
+     * @param finalEquities   The final equity of each path, the net worth plus the stocks held at the last open value.
+     */
+    public MonteCarloResult(TradingStrategy strategy, double initialNetWorth, double[] finalEquities) {
+        this.strategy = strategy;
+        this.initialNetWorth = initialNetWorth;
+        this.finalEquities = finalEquities;
+        Arrays.sort(finalEquities);
+    }
+
+    /**
+     * Gets a percentile of the final equity, interpolating linearly between the two nearest paths.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The final equity below which that percent of the paths end.
+     * @throws IllegalArgumentException If the percentile is not between 0 and 100.
+     */
+    public double percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        double rank = percentile / 100 * (finalEquities.length - 1);
+        int below = (int) Math.floor(rank);
+        int above = Math.min(below + 1, finalEquities.length - 1);
+        return finalEquities[below] + (rank - below) * (finalEquities[above] - finalEquities[below]);
+    }
+
+    /**
+     * Gets the final equity at each of several percentiles.
+     *
+     * @param percentiles The percentiles, from 0 to 100.
+     * @return The final equity at each percentile, in the same order.
+     */
+    public double[] percentiles(double... percentiles) {
+        double[] values = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            values[i] = percentile(percentiles[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the mean final equity over all paths.
+     *
+     * @return The mean final equity.
+     */
+    public double getMean() {
+        double sum = 0;
+        for (double equity : finalEquities) {
+            sum += equity;
+        }
+        return sum / finalEquities.length;
+    }
+
+    /**
+     * Gets the share of the paths ending with less than the initial net worth.
+     *
+     * @return The probability of a loss, from 0 to 1.
+     */
+    public double getLossProbability() {
+        int losses = 0;
+        while (losses < finalEquities.length && finalEquities[losses] < initialNetWorth) {
+            losses++;
+        }
+        return (double) losses / finalEquities.length;
+    }
+
+    /**
+     * Gets the number of paths that were simulated.
+     *
+     * @return The number of paths.
+     */
+    public int getPaths() {
+        return finalEquities.length;
+    }
+
+    /**
+     * Gets the final equity of every path.
+     *
+     * @return A copy of the final equities, sorted from the lowest to the highest.
+     */
+    public double[] getFinalEquities() {
+        return finalEquities.clone();
+    }
+
+    /**
+     * Gets the strategy that was run.
+     *
+     * @return The strategy.
+     */
+    public TradingStrategy getStrategy() {
+        return strategy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder bands = new StringBuilder();
+        for (double percentile : BAND_PERCENTILES) {
+            bands.append(String.format("p%.0f %.2f  ", percentile, percentile(percentile)));
+        }
+        return String.format("%d paths: %smean %.2f  loss %.1f%%  (%s)", finalEquities.length, bands, getMean(),
+                getLossProbability() * 100, strategy);
+    }
+}
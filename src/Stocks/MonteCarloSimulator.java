@@ -0,0 +1,307 @@
+package Stocks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The MonteCarloSimulator class runs a TradingStrategy over many synthetic price paths resampled from the daily
+ * returns of a historical stock series, and reports the distribution of the final equity instead of the single
+ * outcome of the historical path. The equity is the net worth plus the stocks still held at the last open value,
+ * so a strategy holding stocks at the end of a path is not counted as having lost them.
+ * <p>
+ * Every path starts on the first day of the history and moves each following day by a resampled return:
+ * - BLOCK_BOOTSTRAP: blocks of consecutive historical days, each day relative to the close before it, so the
+ * gaps, intraday ranges, volumes and short term dependence of the returns are kept.
+ * - PARAMETRIC: normally distributed log returns with the mean and standard deviation of the historical closes,
+ * each day opening at the previous close with the high and low at the larger and smaller of open and close.
+ * <p>
+ * Paths are split across the pool with fork-join. Each path draws from its own SplittableRandom derived from the seed
+ * and the index of the path, so a run is reproducible from its seed whatever the number of threads.
+ * Strategies are shared by all paths and must not keep state between calls to decide.
+ *
+ * @author petitoa
+ */
+public class MonteCarloSimulator {
+    // Paths simulated by one fork-join task, which reuses its path columns for all of them
+    private static final int PATHS_PER_TASK = 64;
+
+    /**
+     * The way the daily returns of a path are drawn from the history.
+     */
+    public enum Resampling {
+        BLOCK_BOOTSTRAP,
+        PARAMETRIC
+    }
+
+    private final StockSeries history;
+    private final double initialNetWorth;
+    private final Resampling resampling;
+    private final int blockLength;
+    private final ForkJoinPool pool;
+
+    // Log values of each historical day relative to the close of the day before, the first day has none
+    private final double[] openReturns;
+    private final double[] highReturns;
+    private final double[] lowReturns;
+    private final double[] closeReturns;
+    private final long[] volumes;
+    private final double meanReturn;
+    private final double returnDeviation;
+    private final long meanVolume;
+
+    /**
+     * Constructs a new MonteCarloSimulator bootstrapping blocks of 20 days on the common fork-join pool.
+     *
+     * @param history         The StockSeries whose returns are resampled.
+     * @param initialNetWorth The net worth every path starts with.
+     */
+    public MonteCarloSimulator(StockSeries history, double initialNetWorth) {
+        this(history, initialNetWorth, Resampling.BLOCK_BOOTSTRAP, 20, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new MonteCarloSimulator.
+     *
+     * @param history         The StockSeries whose returns are resampled.
+     * @param initialNetWorth The net worth every path starts with.
+     * @param resampling      The way the returns of a path are drawn.
+     * @param blockLength     The number of consecutive days in a bootstrapped block, unused by PARAMETRIC.
+     * @param pool            The pool the paths are run on.
+     * @throws IllegalArgumentException If the history has fewer than two days or the block length
+     *                                  is not between 1 and the number of historical returns.
+     */
+    public MonteCarloSimulator(StockSeries history, double initialNetWorth, Resampling resampling, int blockLength,
+                               ForkJoinPool pool) {
+        if (history.size() < 2) {
+            throw new IllegalArgumentException("The history needs at least two days to resample returns: " + history.size());
+        }
+        if (blockLength < 1 || blockLength > history.size() - 1) {
+            throw new IllegalArgumentException("Block length must be between 1 and " + (history.size() - 1) + ": " + blockLength);
+        }
+        this.history = history;
+        this.initialNetWorth = initialNetWorth;
+        this.resampling = resampling;
+        this.blockLength = blockLength;
+        this.pool = pool;
+
+        int n = history.size();
+        this.openReturns = new double[n];
+        this.highReturns = new double[n];
+        this.lowReturns = new double[n];
+        this.closeReturns = new double[n];
+        this.volumes = new long[n];
+        double sum = 0;
+        double volumeSum = 0;
+        for (int day = 1; day < n; day++) {
+            double previousClose = history.getCloseValue(day - 1);
+            openReturns[day] = Math.log(history.getOpenValue(day) / previousClose);
+            highReturns[day] = Math.log(history.getHighValue(day) / previousClose);
+            lowReturns[day] = Math.log(history.getLowValue(day) / previousClose);
+            closeReturns[day] = Math.log(history.getCloseValue(day) / previousClose);
+            volumes[day] = history.getVolume(day);
+            sum += closeReturns[day];
+            volumeSum += volumes[day];
+        }
+        this.meanReturn = sum / (n - 1);
+        double squares = 0;
+        for (int day = 1; day < n; day++) {
+            squares += (closeReturns[day] - meanReturn) * (closeReturns[day] - meanReturn);
+        }
+        this.returnDeviation = n > 2 ? Math.sqrt(squares / (n - 2)) : 0;
+        this.meanVolume = Math.round(volumeSum / (n - 1));
+    }
+
+    /**
+     * Runs a strategy over paths as long as the history.
+     *
+     * @param strategy The strategy deciding the trades.
+     * @param paths    The number of paths.
+     * @param seed     The seed the paths are drawn from.
+     * @return The final equity of every path.
+     */
+    public MonteCarloResult run(TradingStrategy strategy, int paths, long seed) {
+        return run(strategy, paths, history.size(), seed);
+    }
+
+    /**
+     * Runs a strategy over synthetic paths.
+     *
+     * @param strategy The strategy deciding the trades.
+     * @param paths    The number of paths.
+     * @param pathDays The number of days of every path, including the historical first day.
+     * @param seed     The seed the paths are drawn from.
+     * @return The final equity of every path.
+     * @throws IllegalArgumentException If there are no paths or no days.
+     */
+    public MonteCarloResult run(TradingStrategy strategy, int paths, int pathDays, long seed) {
+        if (paths < 1 || pathDays < 1) {
+            throw new IllegalArgumentException("Need at least one path of at least one day: " + paths + " x " + pathDays);
+        }
+        double[] finalEquities = new double[paths];
+        pool.invoke(new PathTask(strategy, pathDays, seed, finalEquities, 0, paths));
+        return new MonteCarloResult(strategy, initialNetWorth, finalEquities);
+    }
+
+    /**
+     * Writes one synthetic path into the given columns.
+     *
+     * @param random The random generator of the path.
+     * @param path   The columns the days are written to, every column as long as the path.
+     */
+    void generatePath(SplittableRandom random, PathColumns path) {
+        int pathDays = path.closeValues.length;
+        path.openValues[0] = history.getOpenValue(0);
+        path.highValues[0] = history.getHighValue(0);
+        path.lowValues[0] = history.getLowValue(0);
+        path.closeValues[0] = history.getCloseValue(0);
+        path.volumes[0] = history.getVolume(0);
+
+        double previousClose = path.closeValues[0];
+        if (resampling == Resampling.BLOCK_BOOTSTRAP) {
+            int returns = history.size() - 1;
+            int source = 0;
+            int left = 0;
+            for (int day = 1; day < pathDays; day++) {
+                if (left == 0) {
+                    // Historical returns are at days 1 to returns, a block must fit in them
+                    source = 1 + random.nextInt(returns - blockLength + 1);
+                    left = blockLength;
+                }
+                path.openValues[day] = previousClose * Math.exp(openReturns[source]);
+                path.highValues[day] = previousClose * Math.exp(highReturns[source]);
+                path.lowValues[day] = previousClose * Math.exp(lowReturns[source]);
+                path.closeValues[day] = previousClose * Math.exp(closeReturns[source]);
+                path.volumes[day] = volumes[source];
+                previousClose = path.closeValues[day];
+                source++;
+                left--;
+            }
+        } else {
+            for (int day = 1; day < pathDays; day++) {
+                double close = previousClose * Math.exp(meanReturn + returnDeviation * random.nextGaussian());
+                path.openValues[day] = previousClose;
+                path.highValues[day] = Math.max(previousClose, close);
+                path.lowValues[day] = Math.min(previousClose, close);
+                path.closeValues[day] = close;
+                path.volumes[day] = meanVolume;
+                previousClose = close;
+            }
+        }
+    }
+
+    /**
+     * Creates the random generator of a path. The seed of each path is mixed from the run's seed and the path index,
+     * so the paths do not depend on the order they are simulated in. The run's seed is mixed before the index is
+     * added, so nearby seeds do not share paths shifted by one index.
+     *
+     * @param seed The seed of the run.
+     * @param path The index of the path.
+     * @return The random generator of the path.
+     */
+    static SplittableRandom randomForPath(long seed, int path) {
+        return new SplittableRandom(mix64(mix64(seed) + (path + 1L) * 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * The splitmix64 finalizer, spreading every bit of a value over the whole result.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets the net worth every path starts with.
+     *
+     * @return The initial net worth.
+     */
+    public double getInitialNetWorth() {
+        return initialNetWorth;
+    }
+
+    /**
+     * Gets the way the returns of a path are drawn.
+     *
+     * @return The resampling.
+     */
+    public Resampling getResampling() {
+        return resampling;
+    }
+
+    /**
+     * The columns of one path, reused for every path of a task.
+     */
+    static class PathColumns {
+        private final double[] dates;
+        private final int[] epochDays;
+        private final double[] openValues;
+        private final double[] highValues;
+        private final double[] lowValues;
+        private final double[] closeValues;
+        private final long[] volumes;
+        private final StockSeries series;
+
+        PathColumns(StockSeries history, int pathDays) {
+            dates = new double[pathDays];
+            epochDays = new int[pathDays];
+            openValues = new double[pathDays];
+            highValues = new double[pathDays];
+            lowValues = new double[pathDays];
+            closeValues = new double[pathDays];
+            volumes = new long[pathDays];
+            for (int day = 0; day < pathDays; day++) {
+                dates[day] = history.getDate(0) + day;
+                epochDays[day] = history.getEpochDay(0) + day;
+            }
+            // The closes double as adjusted closes, the path has no splits or dividends
+            series = new StockSeries(dates, epochDays, openValues, highValues, lowValues, closeValues, closeValues, volumes);
+        }
+
+        StockSeries getSeries() {
+            return series;
+        }
+    }
+
+    /**
+     * Simulates a range of paths, splitting it in half until it is small enough.
+     */
+    // Tasks only run inside the pool and are never serialized
+    @SuppressWarnings("serial")
+    private class PathTask extends RecursiveAction {
+        private final TradingStrategy strategy;
+        private final int pathDays;
+        private final long seed;
+        private final double[] finalEquities;
+        private final int from;
+        private final int to;
+
+        private PathTask(TradingStrategy strategy, int pathDays, long seed, double[] finalEquities, int from, int to) {
+            this.strategy = strategy;
+            this.pathDays = pathDays;
+            this.seed = seed;
+            this.finalEquities = finalEquities;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PATHS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PathTask(strategy, pathDays, seed, finalEquities, from, middle),
+                        new PathTask(strategy, pathDays, seed, finalEquities, middle, to));
+                return;
+            }
+
+            PathColumns columns = new PathColumns(history, pathDays);
+            for (int path = from; path < to; path++) {
+                generatePath(randomForPath(seed, path), columns);
+                // Indicators are streamed, the reused columns are never cached
+                MarketState state = new MarketState(columns.getSeries(), strategy.getIndicators());
+                finalEquities[path] = Backtest.simulate(strategy, state, initialNetWorth).getFinalEquity();
+            }
+        }
+    }
+}
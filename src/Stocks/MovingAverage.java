@@ -0,0 +1,149 @@
+package Stocks;
+
+import java.util.Arrays;
+
+/**
+ * The MovingAverage class calculates a rolling average of a value one day at a time.
+ * Only the values inside the window are kept, so memory stays bounded however many days are added,
+ * and each update takes constant time.
+ * <p>
+ * Two variants are supported:
+ * - SIMPLE: the mean of the last window values, or of all values while fewer have been added.
+ * - EXPONENTIAL: an exponential moving average with smoothing factor 2 / (window + 1), seeded with the first value.
+ *
+ * @author petitoa
+ */
+public class MovingAverage {
+
+    /**
+     * The kind of average that is calculated.
+     */
+    public enum Type {
+        SIMPLE,
+        EXPONENTIAL
+    }
+
+    private final int windowSize;
+    private final Type type;
+    private final double alpha;
+
+    // Ring buffer of the values inside the window, only used by SIMPLE
+    private final double[] values;
+    private int count;
+    private int next;
+    private double sum;
+
+    private double average = Double.NaN;
+
+    /**
+     * Constructs a new simple MovingAverage.
+     *
+     * @param windowSize The number of days in the window.
+     */
+    public MovingAverage(int windowSize) {
+        this(windowSize, Type.SIMPLE);
+    }
+
+    /**
+     * Constructs a new MovingAverage.
+     *
+     * @param windowSize The number of days in the window.
+     * @param type       The kind of average that is calculated.
+     * @throws IllegalArgumentException If the window size is less than 1.
+     */
+    public MovingAverage(int windowSize, Type type) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.type = type;
+        this.alpha = 2.0 / (windowSize + 1);
+        this.values = new double[type == Type.SIMPLE ? windowSize : 0];
+    }
+
+    /**
+     * Adds the value of the next day and returns the updated average.
+     *
+     * @param value The value of the day.
+     * @return The average including the new value.
+     */
+    public double update(double value) {
+        if (type == Type.EXPONENTIAL) {
+            average = Double.isNaN(average) ? value : average + alpha * (value - average);
+            return average;
+        }
+
+        if (count == windowSize) {
+            sum -= values[next];
+        } else {
+            count++;
+        }
+        values[next] = value;
+        sum += value;
+        next++;
+        if (next == windowSize) {
+            next = 0;
+            // Re-sum once per full turn of the ring so rounding errors cannot build up
+            sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += values[i];
+            }
+        }
+
+        average = sum / count;
+        return average;
+    }
+
+    /**
+     * Calculates the average for every day of an array of values, starting from a fresh state.
+     *
+     * @param values The value of each day.
+     * @return The average of each day.
+     */
+    public double[] calculate(double[] values) {
+        reset();
+        double[] averages = new double[values.length];
+        for (int day = 0; day < values.length; day++) {
+            averages[day] = update(values[day]);
+        }
+        return averages;
+    }
+
+    /**
+     * Clears the window so the average can be fed a new series.
+     */
+    public void reset() {
+        Arrays.fill(values, 0);
+        count = 0;
+        next = 0;
+        sum = 0;
+        average = Double.NaN;
+    }
+
+    /**
+     * Gets the average of the latest day.
+     *
+     * @return The latest average, or NaN if no values have been added.
+     */
+    public double getAverage() {
+        return average;
+    }
+
+    /**
+     * Gets the number of days in the window.
+     *
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Gets the kind of average that is calculated.
+     *
+     * @return The average type.
+     */
+    public Type getType() {
+        return type;
+    }
+}
@@ -0,0 +1,65 @@
+package Stocks;
+
+import java.util.Objects;
+
+/**
+ * The MovingAverageIndicator class is the moving average of the opening values, including the current day.
+ * It is used as the heuristic (mean) of the trade methods.
+ *
+ * @author petitoa
+ */
+public final class MovingAverageIndicator implements Indicator {
+    private final int windowSize;
+    private final MovingAverage.Type type;
+
+    /**
+     * Constructs a new MovingAverageIndicator.
+     *
+     * @param windowSize The number of days in the window.
+     * @param type       The kind of average that is calculated.
+     */
+    public MovingAverageIndicator(int windowSize, MovingAverage.Type type) {
+        this.windowSize = windowSize;
+        this.type = type;
+    }
+
+    @Override
+    public IndicatorState newState() {
+        MovingAverage movingAverage = new MovingAverage(windowSize, type);
+        return (stocks, day) -> movingAverage.update(stocks.getOpenValue(day));
+    }
+
+    /**
+     * Gets the number of days in the window.
+     *
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Gets the kind of average that is calculated.
+     *
+     * @return The moving average type.
+     */
+    public MovingAverage.Type getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof MovingAverageIndicator indicator
+                && indicator.windowSize == windowSize && indicator.type == type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(windowSize, type);
+    }
+
+    @Override
+    public String toString() {
+        return "movingAverage(" + windowSize + ", " + type + ")";
+    }
+}
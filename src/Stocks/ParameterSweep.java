@@ -0,0 +1,225 @@
+package Stocks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The ParameterSweep class back-tests a trade method over every combination of a grid of StrategyParameters.
+ * The grid is split across all cores with fork-join. The stock data and the indicators are computed once
+ * per distinct window size and RSI period, and are shared read-only by every grid point through one indicator cache.
+ * Indicators are also kept in an IndicatorCache between runs, so sweeping new thresholds over the same data
+ * computes no indicator again.
+ *
+ * @author petitoa
+ */
+public class ParameterSweep {
+    // Grid points simulated by one fork-join task before it stops splitting
+    private static final int GRID_POINTS_PER_TASK = 16;
+
+    private final StockSeries stocks;
+    private final double initialNetWorth;
+    private final ForkJoinPool pool;
+    private final IndicatorCache cache;
+
+    /**
+     * Constructs a new ParameterSweep running on the common fork-join pool.
+     *
+     * @param stocks          The StockSeries representing the stock data.
+     * @param initialNetWorth The net worth every simulation starts with.
+     */
+    public ParameterSweep(StockSeries stocks, double initialNetWorth) {
+        this(stocks, initialNetWorth, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new ParameterSweep running on the given fork-join pool.
+     *
+     * @param stocks          The StockSeries representing the stock data.
+     * @param initialNetWorth The net worth every simulation starts with.
+     * @param pool            The pool the grid is run on.
+     */
+    public ParameterSweep(StockSeries stocks, double initialNetWorth, ForkJoinPool pool) {
+        this(stocks, initialNetWorth, pool, new IndicatorCache());
+    }
+
+    /**
+     * Constructs a new ParameterSweep sharing indicators with other sweeps and runs through an IndicatorCache.
+     *
+     * @param stocks          The StockSeries representing the stock data.
+     * @param initialNetWorth The net worth every simulation starts with.
+     * @param pool            The pool the grid is run on.
+     * @param cache           The cache indicators are looked up in before they are computed.
+     */
+    public ParameterSweep(StockSeries stocks, double initialNetWorth, ForkJoinPool pool, IndicatorCache cache) {
+        this.stocks = stocks;
+        this.initialNetWorth = initialNetWorth;
+        this.pool = pool;
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the cache indicators are kept in between runs.
+     *
+     * @return The indicator cache.
+     */
+    public IndicatorCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Runs the trade method for every combination of the given parameter values.
+     *
+     * @param tradeMethod          The trade method, see TradingStrategies.forTradeMethod.
+     * @param overboughtThresholds The overbought thresholds to try.
+     * @param oversoldThresholds   The oversold thresholds to try.
+     * @param portfolioPercents    The portfolio percents to try.
+     * @param windowSizes          The moving average window sizes to try.
+     * @param rsiPeriods           The RSI periods to try.
+     * @return The result of every grid point, ranked from the highest final equity to the lowest.
+     */
+    public List<BacktestResult> run(int tradeMethod, double[] overboughtThresholds, double[] oversoldThresholds,
+                                    double[] portfolioPercents, int[] windowSizes, int[] rsiPeriods) {
+        // Indicators only depend on the window size and the RSI period, so each one is computed once and shared
+        Map<Indicator, double[]> indicatorCache = new ConcurrentHashMap<>();
+
+        Grid grid = new Grid(tradeMethod, overboughtThresholds, oversoldThresholds, portfolioPercents,
+                windowSizes, rsiPeriods, indicatorCache);
+        pool.invoke(new SweepTask(grid, 0, grid.results.length));
+
+        List<BacktestResult> ranked = new ArrayList<>(Arrays.asList(grid.results));
+        ranked.sort(Comparator.comparingDouble(BacktestResult::getFinalEquity).reversed());
+        return ranked;
+    }
+
+    /**
+     * Creates the values from start to end (inclusive) in steps of step.
+     *
+     * @param start The first value.
+     * @param end   The last value.
+     * @param step  The distance between two values.
+     * @return The values of the range, empty if end is below start.
+     * @throws IllegalArgumentException If the step is not positive.
+     */
+    public static double[] range(double start, double end, double step) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        if (end < start) {
+            return new double[0];
+        }
+        // Index based so the last value is not lost to accumulated rounding errors
+        int count = (int) Math.floor((end - start) / step + 1e-9) + 1;
+        double[] values = new double[count];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * Creates the values from start to end (inclusive) in steps of step.
+     *
+     * @param start The first value.
+     * @param end   The last value.
+     * @param step  The distance between two values.
+     * @return The values of the range, empty if end is below start.
+     * @throws IllegalArgumentException If the step is not positive.
+     */
+    public static int[] range(int start, int end, int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        if (end < start) {
+            return new int[0];
+        }
+        int[] values = new int[(int) (((long) end - start) / step + 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * The shared, read-only inputs of a sweep and the array its results are written to.
+     */
+    private static class Grid {
+        private final int tradeMethod;
+        private final double[] overboughtThresholds;
+        private final double[] oversoldThresholds;
+        private final double[] portfolioPercents;
+        private final int[] windowSizes;
+        private final int[] rsiPeriods;
+        private final Map<Indicator, double[]> indicatorCache;
+        private final BacktestResult[] results;
+
+        private Grid(int tradeMethod, double[] overboughtThresholds, double[] oversoldThresholds,
+                     double[] portfolioPercents, int[] windowSizes, int[] rsiPeriods,
+                     Map<Indicator, double[]> indicatorCache) {
+            this.tradeMethod = tradeMethod;
+            this.overboughtThresholds = overboughtThresholds;
+            this.oversoldThresholds = oversoldThresholds;
+            this.portfolioPercents = portfolioPercents;
+            this.windowSizes = windowSizes;
+            this.rsiPeriods = rsiPeriods;
+            this.indicatorCache = indicatorCache;
+            this.results = new BacktestResult[overboughtThresholds.length * oversoldThresholds.length
+                    * portfolioPercents.length * windowSizes.length * rsiPeriods.length];
+        }
+    }
+
+    /**
+     * Simulates a range of grid points, splitting it in half until it is small enough.
+     */
+    // Tasks only run inside the pool and are never serialized
+    @SuppressWarnings("serial")
+    private class SweepTask extends RecursiveAction {
+        private final Grid grid;
+        private final int from;
+        private final int to;
+
+        private SweepTask(Grid grid, int from, int to) {
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRID_POINTS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SweepTask(grid, from, middle), new SweepTask(grid, middle, to));
+                return;
+            }
+
+            for (int point = from; point < to; point++) {
+                // Decode the flat grid index into one index per parameter
+                int index = point;
+                int rsiIndex = index % grid.rsiPeriods.length;
+                index /= grid.rsiPeriods.length;
+                int windowIndex = index % grid.windowSizes.length;
+                index /= grid.windowSizes.length;
+                int percentIndex = index % grid.portfolioPercents.length;
+                index /= grid.portfolioPercents.length;
+                int oversoldIndex = index % grid.oversoldThresholds.length;
+                int overboughtIndex = index / grid.oversoldThresholds.length;
+
+                StrategyParameters parameters = new StrategyParameters(grid.overboughtThresholds[overboughtIndex],
+                        grid.oversoldThresholds[oversoldIndex], grid.portfolioPercents[percentIndex],
+                        grid.windowSizes[windowIndex], grid.rsiPeriods[rsiIndex]);
+                TradingStrategy strategy = TradingStrategies.forTradeMethod(grid.tradeMethod, parameters);
+                // The run keeps its indicators even if the IndicatorCache evicts them
+                for (Indicator indicator : strategy.getIndicators()) {
+                    grid.indicatorCache.computeIfAbsent(indicator, key -> cache.get(stocks, key));
+                }
+                MarketState state = new MarketState(stocks, strategy.getIndicators(), grid.indicatorCache);
+                grid.results[point] = Backtest.simulate(strategy, state, initialNetWorth);
+            }
+        }
+    }
+}
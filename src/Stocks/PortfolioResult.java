@@ -0,0 +1,146 @@
+package Stocks;
+
+import java.util.List;
+
+/**
+ * The PortfolioResult class aggregates the SymbolResults of a BacktestRunner into one result per strategy,
+ * as if the same initial net worth had been put into every symbol. Symbols are compared by their final equity,
+ * the net worth plus the stocks still held at the last open value, so a strategy still holding stocks at the end
+ * of a series is not counted as having lost them.
+ *
+ * @author petitoa
+ */
+public class PortfolioResult {
+    private final List<TradingStrategy> strategies;
+    private final List<SymbolResult> symbolResults;
+    private final int successfulSymbols;
+    private final double initialNetWorth;
+    private final double[] finalEquity;
+    private final double[] worstDrawdown;
+    private final String[] bestSymbol;
+    private final String[] worstSymbol;
+    private final double elapsedSeconds;
+
+    /**
+     * Constructs a new PortfolioResult by summing the results of every successful symbol.
+     *
+     * @param strategies               The strategies that were run on every symbol.
+     * @param symbolResults            The result of every symbol.
+     * @param initialNetWorthPerSymbol The net worth each symbol's simulation started with.
+     * @param elapsedSeconds           The wall time of the whole run.
+     */
+    public PortfolioResult(List<TradingStrategy> strategies, List<SymbolResult> symbolResults, double initialNetWorthPerSymbol,
+                           double elapsedSeconds) {
+        this.strategies = strategies;
+        this.symbolResults = symbolResults;
+        this.elapsedSeconds = elapsedSeconds;
+        this.finalEquity = new double[strategies.size()];
+        this.worstDrawdown = new double[strategies.size()];
+        this.bestSymbol = new String[strategies.size()];
+        this.worstSymbol = new String[strategies.size()];
+
+        int successful = 0;
+        double[] bestReturn = new double[strategies.size()];
+        double[] worstReturn = new double[strategies.size()];
+        for (SymbolResult symbolResult : symbolResults) {
+            if (!symbolResult.isSuccessful()) {
+                continue;
+            }
+            for (int i = 0; i < strategies.size(); i++) {
+                BacktestResult result = symbolResult.getResult(i);
+                finalEquity[i] += result.getFinalEquity();
+                worstDrawdown[i] = Math.max(worstDrawdown[i], result.getMaxDrawdown());
+                double equityReturn = result.getFinalEquity() - initialNetWorthPerSymbol;
+                if (bestSymbol[i] == null || equityReturn > bestReturn[i]) {
+                    bestReturn[i] = equityReturn;
+                    bestSymbol[i] = symbolResult.getSymbol();
+                }
+                if (worstSymbol[i] == null || equityReturn < worstReturn[i]) {
+                    worstReturn[i] = equityReturn;
+                    worstSymbol[i] = symbolResult.getSymbol();
+                }
+            }
+            successful++;
+        }
+        this.successfulSymbols = successful;
+        this.initialNetWorth = initialNetWorthPerSymbol * successful;
+    }
+
+    /**
+     * Gets the result of every symbol, including those that failed.
+     *
+     * @return The symbol results, in the order the symbols were given.
+     */
+    public List<SymbolResult> getSymbolResults() {
+        return symbolResults;
+    }
+
+    /**
+     * Gets the number of symbols that were back-tested successfully.
+     *
+     * @return The number of successful symbols.
+     */
+    public int getSuccessfulSymbols() {
+        return successfulSymbols;
+    }
+
+    /**
+     * Gets the net worth put into the whole portfolio, the initial net worth of every successful symbol.
+     *
+     * @return The initial net worth of the portfolio.
+     */
+    public double getInitialNetWorth() {
+        return initialNetWorth;
+    }
+
+    /**
+     * Gets the summed final equity of a strategy over every successful symbol.
+     *
+     * @param index The position of the strategy in the list given to the runner.
+     * @return The final equity of the portfolio.
+     */
+    public double getFinalEquity(int index) {
+        return finalEquity[index];
+    }
+
+    /**
+     * Gets the return of the final equity of a strategy over the whole portfolio.
+     *
+     * @param index The position of the strategy in the list given to the runner.
+     * @return The portfolio return, 0.05 is a 5% gain.
+     */
+    public double getTotalReturn(int index) {
+        return initialNetWorth == 0 ? 0 : (finalEquity[index] - initialNetWorth) / initialNetWorth;
+    }
+
+    /**
+     * Gets the largest drawdown of a strategy on any single symbol.
+     *
+     * @param index The position of the strategy in the list given to the runner.
+     * @return The worst drawdown, 0.2 is a 20% drop.
+     */
+    public double getWorstDrawdown(int index) {
+        return worstDrawdown[index];
+    }
+
+    /**
+     * Gets the wall time of the whole run.
+     *
+     * @return The elapsed time in seconds.
+     */
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%d of %d symbols in %.3f seconds",
+                successfulSymbols, symbolResults.size(), elapsedSeconds));
+        for (int i = 0; i < strategies.size(); i++) {
+            text.append(String.format("%n  %s: equity %.2f of %.2f  return %.2f%%  worst drawdown %.2f%%  best %s  worst %s",
+                    strategies.get(i).getName(), finalEquity[i], initialNetWorth, getTotalReturn(i) * 100, worstDrawdown[i] * 100,
+                    bestSymbol[i], worstSymbol[i]));
+        }
+        return text.toString();
+    }
+}
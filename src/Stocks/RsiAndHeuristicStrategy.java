@@ -0,0 +1,62 @@
+package Stocks;
+
+import java.util.Set;
+
+/**
+ * The RsiAndHeuristicStrategy class is the RSI and Heuristic Trade Evaluator (trade method 1) as a TradingStrategy.
+ *
+ * @author petitoa
+ */
+public class RsiAndHeuristicStrategy implements TradingStrategy {
+    private final StrategyParameters parameters;
+    private final Indicator heuristic;
+    private final Indicator rsi;
+
+    /**
+     * Constructs a new RsiAndHeuristicStrategy with the original parameters.
+     */
+    public RsiAndHeuristicStrategy() {
+        this(StrategyParameters.rsiAndHeuristicDefaults());
+    }
+
+    /**
+     * Constructs a new RsiAndHeuristicStrategy.
+     *
+     * @param parameters The thresholds, portfolio percent, window size and RSI period.
+     */
+    public RsiAndHeuristicStrategy(StrategyParameters parameters) {
+        this.parameters = parameters;
+        this.heuristic = Indicator.movingAverage(parameters.getWindowSize());
+        this.rsi = Indicator.rsi(parameters.getRsiPeriod());
+    }
+
+    @Override
+    public String getName() {
+        return "rsiAndHeuristicTradeEvaluator";
+    }
+
+    @Override
+    public Set<Indicator> getIndicators() {
+        return Set.of(heuristic, rsi);
+    }
+
+    @Override
+    public int decide(MarketState state, NetWorth portfolio) {
+        return TradeRules.rsiAndHeuristic(portfolio, state.indicator(heuristic), state.getOpenValue(),
+                state.indicator(rsi), state.getDay(), parameters);
+    }
+
+    /**
+     * Gets the thresholds and windows the strategy trades with.
+     *
+     * @return The strategy parameters.
+     */
+    public StrategyParameters getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + parameters + ")";
+    }
+}
@@ -0,0 +1,62 @@
+package Stocks;
+
+import java.util.Set;
+
+/**
+ * The RsiAndMovingAverageStrategy class is the RSI and Moving Average trade method (trade method 3) as a TradingStrategy.
+ *
+ * @author petitoa
+ */
+public class RsiAndMovingAverageStrategy implements TradingStrategy {
+    private final StrategyParameters parameters;
+    private final Indicator heuristic;
+    private final Indicator rsi;
+
+    /**
+     * Constructs a new RsiAndMovingAverageStrategy with the original parameters.
+     */
+    public RsiAndMovingAverageStrategy() {
+        this(StrategyParameters.rsiAndMovingAverageDefaults());
+    }
+
+    /**
+     * Constructs a new RsiAndMovingAverageStrategy.
+     *
+     * @param parameters The thresholds, portfolio percent, window size and RSI period.
+     */
+    public RsiAndMovingAverageStrategy(StrategyParameters parameters) {
+        this.parameters = parameters;
+        this.heuristic = Indicator.movingAverage(parameters.getWindowSize());
+        this.rsi = Indicator.rsi(parameters.getRsiPeriod());
+    }
+
+    @Override
+    public String getName() {
+        return "rsiAndMovingAverage";
+    }
+
+    @Override
+    public Set<Indicator> getIndicators() {
+        return Set.of(heuristic, rsi);
+    }
+
+    @Override
+    public int decide(MarketState state, NetWorth portfolio) {
+        return TradeRules.rsiAndMovingAverage(portfolio, state.indicator(heuristic), state.getOpenValue(),
+                state.indicator(rsi), parameters);
+    }
+
+    /**
+     * Gets the thresholds and windows the strategy trades with.
+     *
+     * @return The strategy parameters.
+     */
+    public StrategyParameters getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + parameters + ")";
+    }
+}
@@ -0,0 +1,250 @@
+package Stocks;
+
+import java.util.Arrays;
+
+/**
+ * The RsiCalculator class calculates the Relative Strength Index (RSI) one day at a time.
+ * All rolling state is kept in primitives, so a day's update takes constant time and allocates nothing.
+ * It can be fed one closing value at a time or a whole array of closing values.
+ * <p>
+ * Two variants are supported:
+ * - SIMPLE: matches the original StockBot calculation. Changes are counted from the n-th day on,
+ * the last n up moves and the last n down moves are each summed and divided by n,
+ * and the RSI is 0 while there are no down moves.
+ * - WILDER: the first averages are the mean of the first n changes, after that each average is
+ * smoothed with (previous * (n - 1) + move) / n. The RSI is 100 while there are no down moves.
+ *
+ * @author petitoa
+ */
+public class RsiCalculator {
+
+    /**
+     * The averaging used for the up and down moves.
+     */
+    public enum Smoothing {
+        SIMPLE,
+        WILDER
+    }
+
+    private final int period;
+    private final Smoothing smoothing;
+
+    // Ring buffers of the last n up and down moves, only used by SIMPLE
+    private final double[] upMoves;
+    private final double[] downMoves;
+    private int upCount;
+    private int upNext;
+    private int downCount;
+    private int downNext;
+    private double upSum;
+    private double downSum;
+
+    private double averageUp;
+    private double averageDown;
+    private double previousClose;
+    private int days;
+    private double rsi = Double.NaN;
+
+    /**
+     * Constructs a new RsiCalculator using the simple variant.
+     *
+     * @param period The number of days n the RSI looks back.
+     */
+    public RsiCalculator(int period) {
+        this(period, Smoothing.SIMPLE);
+    }
+
+    /**
+     * Constructs a new RsiCalculator.
+     *
+     * @param period    The number of days n the RSI looks back.
+     * @param smoothing The averaging used for the up and down moves.
+     * @throws IllegalArgumentException If the period is less than 2.
+     */
+    public RsiCalculator(int period, Smoothing smoothing) {
+        if (period < 2) {
+            throw new IllegalArgumentException("RSI period must be at least 2: " + period);
+        }
+        this.period = period;
+        this.smoothing = smoothing;
+        this.upMoves = new double[smoothing == Smoothing.SIMPLE ? period : 0];
+        this.downMoves = new double[smoothing == Smoothing.SIMPLE ? period : 0];
+    }
+
+    /**
+     * Adds the closing value of the next day and returns the RSI for that day.
+     *
+     * @param closeValue The closing value of the day.
+     * @return The RSI for the day, or NaN if there are not enough days yet.
+     */
+    public double update(double closeValue) {
+        days++;
+        double change = days == 1 ? 0 : closeValue - previousClose;
+        previousClose = closeValue;
+
+        if (smoothing == Smoothing.SIMPLE) {
+            if (days < period) {
+                return rsi;
+            }
+            if (change > 0) {
+                pushUp(change);
+            } else if (change < 0) {
+                pushDown(-change);
+            }
+            averageUp = upSum / period;
+            averageDown = downSum / period;
+
+            double rs = (averageDown == 0) ? 0 : averageUp / averageDown;
+            rsi = 100 - 100 / (1 + rs);
+            return rsi;
+        }
+
+        if (days == 1) {
+            return rsi;
+        }
+        double up = change > 0 ? change : 0;
+        double down = change < 0 ? -change : 0;
+        if (days <= period) {
+            // Collect the first n changes
+            averageUp += up;
+            averageDown += down;
+            return rsi;
+        }
+        if (days == period + 1) {
+            averageUp = (averageUp + up) / period;
+            averageDown = (averageDown + down) / period;
+        } else {
+            averageUp = (averageUp * (period - 1) + up) / period;
+            averageDown = (averageDown * (period - 1) + down) / period;
+        }
+
+        if (averageDown == 0) {
+            rsi = averageUp == 0 ? 50 : 100;
+        } else {
+            rsi = 100 - 100 / (1 + averageUp / averageDown);
+        }
+        return rsi;
+    }
+
+    /**
+     * Calculates the RSI for every day of an array of closing values, starting from a fresh state.
+     *
+     * @param closeValues The closing value of each day.
+     * @return The RSI of each day, NaN for the days before there is enough data.
+     */
+    public double[] calculate(double[] closeValues) {
+        double[] rsiValues = new double[closeValues.length];
+        calculate(closeValues, 0, closeValues.length, rsiValues);
+        return rsiValues;
+    }
+
+    /**
+     * Calculates the RSI for a range of closing values into a preallocated array, starting from a fresh state.
+     *
+     * @param closeValues The closing value of each day.
+     * @param from        The first day of the range (inclusive).
+     * @param to          The last day of the range (exclusive).
+     * @param rsiValues   The array receiving the RSI of each day at the same index as its closing value.
+     */
+    public void calculate(double[] closeValues, int from, int to, double[] rsiValues) {
+        reset();
+        for (int day = from; day < to; day++) {
+            rsiValues[day] = update(closeValues[day]);
+        }
+    }
+
+    /**
+     * Clears all rolling state so the calculator can be fed a new series.
+     */
+    public void reset() {
+        Arrays.fill(upMoves, 0);
+        Arrays.fill(downMoves, 0);
+        upCount = 0;
+        upNext = 0;
+        downCount = 0;
+        downNext = 0;
+        upSum = 0;
+        downSum = 0;
+        averageUp = 0;
+        averageDown = 0;
+        previousClose = 0;
+        days = 0;
+        rsi = Double.NaN;
+    }
+
+    /**
+     * Determines whether enough days have been added to produce an RSI.
+     *
+     * @return True if the latest RSI is available.
+     */
+    public boolean isReady() {
+        return !Double.isNaN(rsi);
+    }
+
+    /**
+     * Gets the RSI of the latest day.
+     *
+     * @return The latest RSI, or NaN if there are not enough days yet.
+     */
+    public double getRsi() {
+        return rsi;
+    }
+
+    /**
+     * Gets the number of days the RSI looks back.
+     *
+     * @return The period n.
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the averaging used for the up and down moves.
+     *
+     * @return The smoothing variant.
+     */
+    public Smoothing getSmoothing() {
+        return smoothing;
+    }
+
+    private void pushUp(double move) {
+        if (upCount == period) {
+            upSum -= upMoves[upNext];
+        } else {
+            upCount++;
+        }
+        upMoves[upNext] = move;
+        upSum += move;
+        upNext++;
+        if (upNext == period) {
+            upNext = 0;
+            // Re-sum once per full turn of the ring so rounding errors cannot build up
+            upSum = sum(upMoves, upCount);
+        }
+    }
+
+    private void pushDown(double move) {
+        if (downCount == period) {
+            downSum -= downMoves[downNext];
+        } else {
+            downCount++;
+        }
+        downMoves[downNext] = move;
+        downSum += move;
+        downNext++;
+        if (downNext == period) {
+            downNext = 0;
+            // Re-sum once per full turn of the ring so rounding errors cannot build up
+            downSum = sum(downMoves, downCount);
+        }
+    }
+
+    private static double sum(double[] values, int count) {
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+}
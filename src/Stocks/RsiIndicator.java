@@ -0,0 +1,105 @@
+package Stocks;
+
+import java.util.Objects;
+
+/**
+ * The RsiIndicator class is the RSI of the closing values as the trade methods use it.
+ * A day trades on the RSI of two days earlier, and the first rsiPeriod + 1 days have an RSI of 0.
+ *
+ * @author petitoa
+ */
+public final class RsiIndicator implements Indicator {
+    private final int rsiPeriod;
+    private final RsiCalculator.Smoothing smoothing;
+
+    /**
+     * Constructs a new RsiIndicator.
+     *
+     * @param rsiPeriod The number of days the RSI looks back.
+     * @param smoothing The averaging used for the up and down moves.
+     */
+    public RsiIndicator(int rsiPeriod, RsiCalculator.Smoothing smoothing) {
+        this.rsiPeriod = rsiPeriod;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public IndicatorState newState() {
+        RsiCalculator calculator = new RsiCalculator(rsiPeriod, smoothing);
+        return new IndicatorState() {
+            private double rsiOneDayAgo;
+            private double rsiTwoDaysAgo;
+
+            @Override
+            public double update(StockSeries stocks, int day) {
+                double rsiForDay = day < rsiPeriod + 1 ? 0.0 : rsiTwoDaysAgo;
+                rsiTwoDaysAgo = rsiOneDayAgo;
+                rsiOneDayAgo = calculator.update(stocks.getCloseValue(day));
+                return rsiForDay;
+            }
+        };
+    }
+
+    /**
+     * Calculates the RSI of every day of a stock series, the values this indicator hands out two days later.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @return The RSI of each day, NaN for the days before there is enough data.
+     */
+    public double[] computeDailyRsi(StockSeries stocks) {
+        RsiCalculator calculator = new RsiCalculator(rsiPeriod, smoothing);
+        double[] dailyRsi = new double[stocks.size()];
+        for (int day = 0; day < dailyRsi.length; day++) {
+            dailyRsi[day] = calculator.update(stocks.getCloseValue(day));
+        }
+        return dailyRsi;
+    }
+
+    /**
+     * Derives the value of this indicator on every day from the RSI of every day, without calculating the RSI again.
+     *
+     * @param dailyRsi The RSI of each day, as calculated by computeDailyRsi.
+     * @return The value of the indicator on each day, the same as computing it.
+     */
+    public double[] fromDailyRsi(double[] dailyRsi) {
+        double[] values = new double[dailyRsi.length];
+        for (int day = rsiPeriod + 1; day < values.length; day++) {
+            values[day] = dailyRsi[day - 2];
+        }
+        return values;
+    }
+
+    /**
+     * Gets the number of days the RSI looks back.
+     *
+     * @return The RSI period.
+     */
+    public int getRsiPeriod() {
+        return rsiPeriod;
+    }
+
+    /**
+     * Gets the averaging used for the up and down moves.
+     *
+     * @return The smoothing.
+     */
+    public RsiCalculator.Smoothing getSmoothing() {
+        return smoothing;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RsiIndicator indicator
+                && indicator.rsiPeriod == rsiPeriod && indicator.smoothing == smoothing;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rsiPeriod, smoothing);
+    }
+
+    @Override
+    public String toString() {
+        return "rsi(" + rsiPeriod + ", " + smoothing + ")";
+    }
+}
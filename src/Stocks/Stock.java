@@ -3,6 +3,7 @@ package Stocks;
 /**
  * The Stock class represents a data point containing open value of a stock at a specific date.
  * It includes methods for constructing a new Stock object and getting the date and opening value of the stock.
+ * The remaining OHLCV columns are kept when the stock is loaded from a full CSV row.
  *
  * @author petitoa
  */
@@ -10,6 +11,11 @@ public class Stock {
     private double date;
     private double openValue;
     private double closeValue;
+    private int epochDay;
+    private double highValue;
+    private double lowValue;
+    private double adjCloseValue;
+    private long volume;
 
     /**
      * Constructs a new Stock object with the specified attributes.
@@ -23,6 +29,28 @@ public class Stock {
         this.closeValue = closeValue;
     }
 
+    /**
+     * Constructs a new Stock object holding every column of an OHLCV CSV row.
+     *
+     * @param date          The x value representing the date of the stock data point.
+     * @param epochDay      The calendar date of the row as days since 1970-01-01.
+     * @param openValue     The opening value of the stock.
+     * @param highValue     The highest value of the stock during the period.
+     * @param lowValue      The lowest value of the stock during the period.
+     * @param closeValue    The closing value of the stock.
+     * @param adjCloseValue The closing value adjusted for splits and dividends.
+     * @param volume        The number of shares traded during the period.
+     */
+    public Stock(double date, int epochDay, double openValue, double highValue, double lowValue,
+                 double closeValue, double adjCloseValue, long volume) {
+        this(date, openValue, closeValue);
+        this.epochDay = epochDay;
+        this.highValue = highValue;
+        this.lowValue = lowValue;
+        this.adjCloseValue = adjCloseValue;
+        this.volume = volume;
+    }
+
     /**
      * Gets the date of the stock data point.
      *
@@ -49,5 +77,49 @@ public class Stock {
     public double getCloseValue() {
         return closeValue;
     }
-}
 
+    /**
+     * Gets the calendar date of the stock data point.
+     *
+     * @return The date as days since 1970-01-01.
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Gets the highest value of the stock data point.
+     *
+     * @return The high value of the stock.
+     */
+    public double getHighValue() {
+        return highValue;
+    }
+
+    /**
+     * Gets the lowest value of the stock data point.
+     *
+     * @return The low value of the stock.
+     */
+    public double getLowValue() {
+        return lowValue;
+    }
+
+    /**
+     * Gets the adjusted closing value of the stock data point.
+     *
+     * @return The adjusted closing value of the stock.
+     */
+    public double getAdjCloseValue() {
+        return adjCloseValue;
+    }
+
+    /**
+     * Gets the traded volume of the stock data point.
+     *
+     * @return The volume of the stock.
+     */
+    public long getVolume() {
+        return volume;
+    }
+}
@@ -1,62 +1,73 @@
 package Stocks;
 
-import javax.swing.*;
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Scanner;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
+import Charts.ChartWindow;
+import Charts.DownsampledXYDataset;
 import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultXYDataset;
 
 /**
  * The StockBot class represents a bot for trading with a simulated stock portfolio.
  * It includes methods for loading stock data from a CSV file, running a simulation, and evaluating trades by day.
  * There are 3 different trade methods.
+ * Given an IndicatorCache, indicators and RSI values are computed once per stock data and reused by later calls,
+ * and the RSI of the trade methods and of the RSI graph come from the same cached daily RSI.
  *
  * @author petitoa
  */
-public class StockBot extends JFrame {
+public class StockBot {
+    private static final StrategyParameters RSI_AND_HEURISTIC_PARAMETERS = StrategyParameters.rsiAndHeuristicDefaults();
+    private static final StrategyParameters RSI_AND_MOVING_AVERAGE_PARAMETERS = StrategyParameters.rsiAndMovingAverageDefaults();
+
+    // The RSI of the trade methods, whose daily values the RSI graph shows
+    private static final RsiIndicator GRAPH_RSI = new RsiIndicator(14, RsiCalculator.Smoothing.SIMPLE);
+
+    private final IndicatorCache cache;
+
+    /**
+     * Constructs a new StockBot that computes indicators on every call, streaming them during simulations.
+     */
+    public StockBot() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new StockBot sharing indicators and RSI values through a cache.
+     * Simulations then compute each indicator for the whole series instead of streaming it.
+     *
+     * @param cache The cache indicators are looked up in, or null to compute them on every call.
+     */
+    public StockBot(IndicatorCache cache) {
+        this.cache = cache;
+    }
 
     /**
      * Loads stock data from a given CSV file and returns an ArrayList of Stock objects.
+     * Parsing is done by StockCsvLoader, which keeps every OHLCV column.
      *
      * @param inputFile The input file containing stock data.
      * @return An ArrayList of Stock objects representing the loaded stock data.
      * @throws RuntimeException If the file is not found.
      */
     public ArrayList<Stock> loadStocks(String inputFile) {
-        File file = new File(inputFile);
-
-        ArrayList<Stock> stocks = new ArrayList<>();
-
-        try (Scanner scanner = new Scanner(file)) {
-            // Store and skip the header
-            String header = scanner.nextLine();
-
-            // Delimiter set to comma or new line
-            scanner.useDelimiter(",|\n");
-
-            int lineNumber = 0;
-            while (scanner.hasNextLine()) {
-                lineNumber++;
-                String grabdate = scanner.next().trim();
-                double date = lineNumber;
-                double openValue = Double.parseDouble(scanner.next().trim());
-                double high = Double.parseDouble(scanner.next().trim());
-                double low = Double.parseDouble(scanner.next().trim());
-                double closeValue = Double.parseDouble(scanner.next().trim());
-                scanner.nextLine();
-                stocks.add(new Stock(date, openValue, closeValue));
-            }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
-        return stocks;
+        return new StockCsvLoader().load(inputFile);
+    }
+
+    /**
+     * Loads stock data from a given CSV file into a columnar StockSeries.
+     *
+     * @param inputFile The input file containing stock data.
+     * @return A StockSeries representing the loaded stock data.
+     * @throws RuntimeException If the file cannot be read.
+     */
+    public StockSeries loadStockSeries(String inputFile) {
+        return new StockCsvLoader().loadSeries(inputFile);
     }
 
     /**
@@ -68,59 +79,91 @@ public class StockBot extends JFrame {
      * @return The NetWorth object after completing the simulation.
      */
     public NetWorth completeRun(NetWorth netWorth, ArrayList<Stock> stocks, int tradeMethod) {
-        ArrayList<Stock> traversedStocks = new ArrayList<>();
-
-        // Fill the first 15 values of rsi with zeros because not enough values to determine
-        ArrayList<Double> rsi = new ArrayList<>(Collections.nCopies(15, 0.0));
-
-        // Calculate RSI for the remaining days and add them to the existing rsi ArrayList
-        rsi.addAll(calculateRsi(stocks));
-
-        double heuristic;
-        int day = 0;
-        for (Stock stock : stocks) {
-            // load open to the traversed stocks
-            double date = stock.getDate();
-            double openValue = stock.getOpenValue();
-            double closeValue = stock.getCloseValue();
-            traversedStocks.add(new Stock(date, openValue, closeValue));
-
-            // calculate new heuristic and determine trade for the day
-            heuristic = updateInternalData(traversedStocks);
-            double rsiForDay = rsi.get(day);
-            int determinedTrade = determineTradeMethod(netWorth, heuristic, openValue, rsiForDay, day, tradeMethod);
-            // update net worth accordingly
-            netWorth.updatePortfolio(determinedTrade, openValue);
-            System.out.println("Day: " + day + " Determined Trade: " + determinedTrade + " End of day networth: " + netWorth.getNetWorth() + " Num of stocks: " + netWorth.getStockQuantity() + " Trade Method: " + tradeMethod);
-            day++;
-        }
-
-        return netWorth;
+        return completeRun(netWorth, StockSeries.fromStocks(stocks), tradeMethod);
     }
 
     /**
-     * Determines the trade action based on the specified trade method using int.
+     * Runs a complete simulation of stock trading over a columnar StockSeries.
      *
-     * @param netWorth    The current NetWorth object representing the portfolio's net worth.
-     * @param heuristic   The calculated heuristic (mean) based on recent stock data.
-     * @param openValue   The open value for the stock object.
-     * @param rsiForDay   The RSI value for the current day.
-     * @param day         The current day of the simulation.
+     * @param netWorth    The initial NetWorth object representing the portfolio's net worth.
+     * @param stocks      The StockSeries representing the stock data.
      * @param tradeMethod The trade methods:
      *                    - 1: RSI and Heuristic Trade Evaluator
      *                    - 2: Buy and Hold
      *                    - 3: RSI and Moving Average
-     * @return The number of stocks to buy (negative), sell (positive), or take no action (0)
-     * based on the specified trade method.
+     * @return The NetWorth object after completing the simulation.
      * @throws IllegalArgumentException If an invalid trade method code is provided.
      */
-    private int determineTradeMethod(NetWorth netWorth, double heuristic, double openValue, double rsiForDay, int day, int tradeMethod) {
-        return switch (tradeMethod) {
-            case 1 -> RsiAndHeuristicTradeEvaluator(netWorth, heuristic, openValue, rsiForDay, day);
-            case 2 -> buyAndHold(netWorth, openValue, day);
-            case 3 -> rsiAndMovingAverage(netWorth, heuristic, openValue, rsiForDay);
-            default -> throw new IllegalArgumentException("Invalid trade method: " + tradeMethod);
-        };
+    public NetWorth completeRun(NetWorth netWorth, StockSeries stocks, int tradeMethod) {
+        return completeRun(netWorth, stocks, TradingStrategies.forTradeMethod(tradeMethod), String.valueOf(tradeMethod));
+    }
+
+    /**
+     * Runs a complete simulation of stock trading over a columnar StockSeries using a TradingStrategy.
+     * Only the indicators the strategy asks for are computed, one day at a time, so memory stays flat
+     * however many days the run covers.
+     *
+     * @param netWorth The initial NetWorth object representing the portfolio's net worth.
+     * @param stocks   The StockSeries representing the stock data.
+     * @param strategy The strategy deciding the trades.
+     * @return The NetWorth object after completing the simulation.
+     */
+    public NetWorth completeRun(NetWorth netWorth, StockSeries stocks, TradingStrategy strategy) {
+        return completeRun(netWorth, stocks, strategy, strategy.getName());
+    }
+
+    /**
+     * Runs several strategies over a columnar StockSeries in a single pass over the days.
+     * The strategies share one market state, so an indicator used by more than one strategy is only updated once per day,
+     * while every strategy trades with its own NetWorth.
+     *
+     * @param netWorths  The initial NetWorth objects, one per strategy.
+     * @param stocks     The StockSeries representing the stock data.
+     * @param strategies The strategies deciding the trades.
+     * @return The NetWorth objects after completing the simulation, in the order of the strategies.
+     * @throws IllegalArgumentException If the number of net worths and strategies differ.
+     */
+    public NetWorth[] completeRun(NetWorth[] netWorths, StockSeries stocks, List<TradingStrategy> strategies) {
+        List<String> tradeMethods = new ArrayList<>();
+        for (TradingStrategy strategy : strategies) {
+            tradeMethods.add(strategy.getName());
+        }
+        return completeRun(netWorths, stocks, strategies, new ConsoleTradeRecorder(tradeMethods));
+    }
+
+    /**
+     * Runs several strategies over a columnar StockSeries in a single pass over the days,
+     * handing every trade to a TradeRecorder instead of printing it.
+     * Pass TradeRecorder.NONE to record nothing, or a TradeJournal to write the trades to a binary file.
+     * The days are simulated by Backtest.simulateAll, and the recorder is not closed by the run.
+     *
+     * @param netWorths  The initial NetWorth objects, one per strategy.
+     * @param stocks     The StockSeries representing the stock data.
+     * @param strategies The strategies deciding the trades.
+     * @param recorder   The recorder receiving the trades, with the index of each strategy as its id.
+     * @return The NetWorth objects after completing the simulation, in the order of the strategies.
+     * @throws IllegalArgumentException If the number of net worths and strategies differ.
+     */
+    public NetWorth[] completeRun(NetWorth[] netWorths, StockSeries stocks, List<TradingStrategy> strategies, TradeRecorder recorder) {
+        Set<Indicator> indicators = new LinkedHashSet<>();
+        for (TradingStrategy strategy : strategies) {
+            indicators.addAll(strategy.getIndicators());
+        }
+        if (cache != null) {
+            // An RSI is shifted from the daily RSI in the cache, so the RSI graph does not calculate it again
+            for (Indicator indicator : indicators) {
+                if (indicator instanceof RsiIndicator rsi) {
+                    cache.get(stocks, rsi, series -> rsi.fromDailyRsi(dailyRsi(series, rsi)));
+                }
+            }
+        }
+        MarketState state = cache == null ? new MarketState(stocks, indicators) : new MarketState(stocks, indicators, cache);
+        Backtest.simulateAll(strategies, state, netWorths, recorder);
+        return netWorths;
+    }
+
+    private NetWorth completeRun(NetWorth netWorth, StockSeries stocks, TradingStrategy strategy, String tradeMethod) {
+        return completeRun(new NetWorth[]{netWorth}, stocks, List.of(strategy), new ConsoleTradeRecorder(List.of(tradeMethod)))[0];
     }
 
     /**
@@ -145,10 +188,32 @@ public class StockBot extends JFrame {
         return totalStocksValue / Math.min(windowSize, stocks.size());
     }
 
+    /**
+     * Calculating the heuristic (mean) based on a specified window of past stock data.
+     *
+     * @param stocks The StockSeries representing the traversed stock data.
+     * @return The calculated heuristic based on the window of past stock data.
+     */
+    public double updateInternalData(StockSeries stocks) {
+        // look at stocks within a certain window
+        int windowSize = 5;
+
+        // handles cases where less days than the window value have passed
+        int startIndex = Math.max(0, stocks.size() - windowSize);
+
+        double totalStocksValue = 0;
+        for (int i = startIndex; i < stocks.size(); i++) {
+            totalStocksValue += stocks.getOpenValue(i);
+        }
+
+        return totalStocksValue / Math.min(windowSize, stocks.size());
+    }
+
 
     /**
      * Evaluates the number of stocks to buy or sell based on the net worth, heuristic (mean), and current stock price.
      * This value never exceeds 1% of the portfolios total value
+     * Uses the original thresholds from StrategyParameters.rsiAndHeuristicDefaults.
      *
      * @param netWorth  The current NetWorth object representing the portfolio's net worth.
      * @param heuristic The calculated heuristic (mean) based on recent stock data.
@@ -156,37 +221,7 @@ public class StockBot extends JFrame {
      * @return The number of stocks to buy (positive) or sell (negative) based on the evaluation.
      */
     public int RsiAndHeuristicTradeEvaluator(NetWorth netWorth, double heuristic, double openValue, double rsiForDay, int day) {
-        double portfolioPercent = .30;
-
-        // If it's the first day, buy with half of the net worth to establish a portfolio
-        if (day == 0) {
-            return -(int) ((0.5 * netWorth.getNetWorth()) / openValue);
-        }
-
-        //If there are not enough prior dates to calculate rsi use heuristic instead
-        if (day < 14) {
-            if (openValue < heuristic) {
-                // .32 (never more than thirty-two percent of portfolio in a day)
-                return -(int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
-            } else if (openValue > heuristic) {
-                return (int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
-            } else {
-                return 0;
-            }
-        } else {
-            double overboughtThreshold = 50;
-            double oversoldThreshold = 30;
-
-            if (openValue < heuristic && rsiForDay < oversoldThreshold) {
-                // Buy condition: If the stock price is below the mean and RSI indicates oversold
-                return -(int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
-            } else if (openValue > heuristic && rsiForDay > overboughtThreshold) {
-                // Sell condition: If the stock price is above the mean and RSI indicates overbought
-                return (int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
-            } else {
-                return 0; // Hold condition: No action
-            }
-        }
+        return TradeRules.rsiAndHeuristic(netWorth, heuristic, openValue, rsiForDay, day, RSI_AND_HEURISTIC_PARAMETERS);
     }
 
     /**
@@ -201,21 +236,13 @@ public class StockBot extends JFrame {
      * or take no action (0) on other days.
      */
     public int buyAndHold(NetWorth netWorth, double openValue, int day) {
-        //If it is the first day
-        if (day == 0) {
-            // buy with full portfolio value
-            return -(int) ((netWorth.getNetWorth()) / openValue);
-            //If it's the last day
-        } else if (day == 250) {
-            // Sell all stocks on the last day
-            return netWorth.getStockQuantity();
-        }
-        return 0; // No action
+        return TradeRules.buyAndHold(netWorth, openValue, day);
     }
 
     /**
      * Evaluates the number of stocks to buy or sell based on the net worth, heuristic (mean), and current stock price.
      * The value of the trade never exceeds 1% of the portfolios total value.
+     * Uses the original thresholds from StrategyParameters.rsiAndMovingAverageDefaults.
      *
      * @param netWorth  The current NetWorth object representing the portfolio's net worth.
      * @param heuristic The calculated heuristic (mean) based on recent stock data.
@@ -224,19 +251,7 @@ public class StockBot extends JFrame {
      * @return The number of stocks to buy (negative) or sell (positive) based on the evaluation.
      */
     public int rsiAndMovingAverage(NetWorth netWorth, double heuristic, double openValue, double rsiForDay) {
-        double portfolioPercent = .01;
-        double overboughtThreshold = 70;
-        double oversoldThreshold = 30;
-
-        if (openValue < heuristic && rsiForDay < oversoldThreshold) {
-            // Buy: If the stock price is below the mean and RSI indicates oversold
-            return -(int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
-        } else if (openValue > heuristic && rsiForDay > overboughtThreshold) {
-            // Sell: If the stock price is above the mean and RSI indicates overbought
-            return (int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
-        } else {
-            return 0; // Hold: No action
-        }
+        return TradeRules.rsiAndMovingAverage(netWorth, heuristic, openValue, rsiForDay, RSI_AND_MOVING_AVERAGE_PARAMETERS);
     }
 
 
@@ -247,62 +262,30 @@ public class StockBot extends JFrame {
      * @return An ArrayList of RSI values for each corresponding day.
      */
     public ArrayList<Double> calculateRsi(ArrayList<Stock> stocks) {
-        int n = 14;
         ArrayList<Double> rsiValues = new ArrayList<>();
-
-        ArrayList<Stock> traversedStocks = new ArrayList<>();
-
-        // Stores up or down moves for the day. Depending on whether it moves up or down for the day.
-        ArrayList<Double> upMoves = new ArrayList<>();
-        ArrayList<Double> downMoves = new ArrayList<>();
-
-        // Add stocks to traversed stocks
-        for (Stock stock : stocks) {
-            double dateStock = stock.getDate();
-            double openValueStock = stock.getOpenValue();
-            double closeValueStock = stock.getCloseValue();
-
-            traversedStocks.add(new Stock(dateStock, openValueStock, closeValueStock));
-
-            // Check if there are enough past days for the change calculation
-            if (traversedStocks.size() == n) {
-                double closeValue = traversedStocks.get(traversedStocks.size() - 1).getCloseValue();
-                double closeValueMinus1 = traversedStocks.get(traversedStocks.size() - 2).getCloseValue();
-                double change = closeValue - closeValueMinus1;
-
-                // Add value to either upMoves or downMoves
-                if (change > 0) {
-                    upMoves.add(change);
-                    if (upMoves.size() > n) {
-                        upMoves.remove(0);  // Remove the oldest element
-                    }
-                } else if (change < 0) {
-                    downMoves.add(Math.abs(change));
-                    if (downMoves.size() > n) {
-                        downMoves.remove(0);  // Remove the oldest element
-                    }
-                }
-
-                //calculate avgup and avg down. Summing up divide by n.
-                double avgUp = upMoves.stream().mapToDouble(Double::doubleValue).sum() / n;
-                double avgDown = downMoves.stream().mapToDouble(Double::doubleValue).sum() / n;
-
-                //Calculate RS
-                double rs = (avgDown == 0) ? 0 : avgUp / avgDown;
-
-                //Calculate RSI
-                double rsi = 100 - 100 / (1 + rs);
-
-                // Add the calculated RSI for the day to the list
-                rsiValues.add(rsi);
-
-                //remove first element from array when exceeds 14 days list since you need past n days
-                traversedStocks.remove(0);
-            }
+        for (double rsi : calculateRsi(StockSeries.fromStocks(stocks))) {
+            rsiValues.add(rsi);
         }
         return rsiValues;
     }
 
+    /**
+     * Calculates the RSI values for each day based on the provided stock series.
+     * The first value belongs to the 14th day, the first day with enough past days.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @return An array of RSI values for each day from the 14th day on.
+     */
+    public double[] calculateRsi(StockSeries stocks) {
+        double[] dailyRsi = cache != null ? dailyRsi(stocks, GRAPH_RSI) : GRAPH_RSI.computeDailyRsi(stocks);
+        // A copy from the first day with an RSI, the cached array is shared
+        int first = GRAPH_RSI.getRsiPeriod() - 1;
+        return dailyRsi.length > first ? Arrays.copyOfRange(dailyRsi, first, dailyRsi.length) : new double[0];
+    }
+
+    private double[] dailyRsi(StockSeries stocks, RsiIndicator rsi) {
+        return cache.get(stocks, "dailyRsi(" + rsi.getRsiPeriod() + ", " + rsi.getSmoothing() + ")", rsi::computeDailyRsi);
+    }
 
     /**
      * Displays the RSI values of stock objects as a graph using JFreeChart.
@@ -310,36 +293,41 @@ public class StockBot extends JFrame {
      * @param stocks The ArrayList of Stock objects representing the stock data.
      */
     public void graphRsi(ArrayList<Stock> stocks) {
-        ArrayList<Double> rsiValues = new ArrayList<>(calculateRsi(stocks));
+        graphRsi(StockSeries.fromStocks(stocks));
+    }
 
-        double[][] rsi = new double[2][rsiValues.size()];
+    /**
+     * Displays the RSI values of a stock series as a graph using JFreeChart.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     */
+    public void graphRsi(StockSeries stocks) {
+        // The chart gets its own frame so a StockBot can be created without a display
+        ChartWindow.show(createRsiChart(stocks), "RSI For Data");
+    }
 
-        double date = 0;
-        for (int i = 0; i < rsiValues.size(); i++) {
-            // Populate the 2D array with date and RSI value
-            rsi[0][i] = date; // X-axis (day)
-            rsi[1][i] = rsiValues.get(i); // Y-axis (RSI value)
-            date++;
+    /**
+     * Creates the graph of the RSI values of a stock series, to be displayed or written to a file with ChartRenderer.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @return The RSI chart.
+     */
+    public JFreeChart createRsiChart(StockSeries stocks) {
+        double[] rsiValues = calculateRsi(stocks);
+
+        double[][] rsi = new double[2][];
+        rsi[1] = rsiValues; // Y-axis (RSI value)
+        rsi[0] = new double[rsiValues.length];
+        for (int i = 0; i < rsiValues.length; i++) {
+            rsi[0][i] = i; // X-axis (day)
         }
 
-        // Create a dataset with the salted data
-        DefaultXYDataset dataset = new DefaultXYDataset();
+        // Years of daily RSI values are thinned to the days in view
+        DownsampledXYDataset dataset = new DownsampledXYDataset();
         dataset.addSeries("RSI For Data", rsi);
 
-
         // Create the chart
-        JFreeChart chart = ChartFactory.createXYLineChart("RSI For Data", "Day", "RSI Value", dataset, PlotOrientation.VERTICAL, true, true, false);
-
-        ChartPanel chartPanel = new ChartPanel(chart);
-
-        setContentPane(chartPanel);
-
-        setExtendedState(JFrame.MAXIMIZED_BOTH);
-        setUndecorated(true);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setVisible(true);
-
+        return ChartFactory.createXYLineChart("RSI For Data", "Day", "RSI Value", dataset, PlotOrientation.VERTICAL, true, true, false);
     }
 
 }
-
@@ -0,0 +1,447 @@
+package Stocks;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The StockCsvLoader class loads Yahoo Finance style OHLCV CSV files (Date, Open, High, Low, Close, Adj Close, Volume).
+ * The file is memory mapped in segments and numbers are parsed straight from the bytes, so no String is created per field.
+ * Every column is kept in primitive arrays, and the loader reports how many rows per second it parsed.
+ *
+ * @author petitoa
+ */
+public class StockCsvLoader {
+    // Largest region mapped at once, files bigger than this are mapped segment by segment
+    private static final long SEGMENT_SIZE = 1L << 28;
+
+    private static final int FIELD_DATE = 0;
+    private static final int FIELD_OPEN = 1;
+    private static final int FIELD_HIGH = 2;
+    private static final int FIELD_LOW = 3;
+    private static final int FIELD_CLOSE = 4;
+    private static final int FIELD_ADJ_CLOSE = 5;
+    private static final int FIELD_VOLUME = 6;
+
+    // Exact powers of ten, dividing a mantissa below 2^53 by one of these is correctly rounded
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private String header;
+    private int rowCount;
+    private long elapsedNanos;
+
+    private int[] epochDays = new int[0];
+    private double[] openValues = new double[0];
+    private double[] highValues = new double[0];
+    private double[] lowValues = new double[0];
+    private double[] closeValues = new double[0];
+    private double[] adjCloseValues = new double[0];
+    private long[] volumes = new long[0];
+
+    // Parser state, kept in fields so a row can span two mapped segments
+    private boolean inHeader;
+    private byte[] headerBytes;
+    private int headerLength;
+    private int field;
+    private boolean fieldEmpty;
+    private boolean negative;
+    private long mantissa;
+    private int mantissaDigits;
+    private int fractionDigits;
+    private boolean inFraction;
+    private boolean slowPath;
+    private final byte[] fieldBytes = new byte[64];
+    private int fieldLength;
+    private int datePart;
+    private final int[] dateParts = new int[3];
+    private final double[] rowValues = new double[7];
+
+    /**
+     * Loads stock data from the given CSV file and returns an ArrayList of Stock objects.
+     * The parsed columns stay available through the getters of this loader.
+     *
+     * @param inputFile The input file containing stock data.
+     * @return An ArrayList of Stock objects representing the loaded stock data.
+     * @throws RuntimeException If the file cannot be read.
+     */
+    public ArrayList<Stock> load(String inputFile) {
+        return loadSeries(inputFile).toStocks();
+    }
+
+    /**
+     * Loads stock data from the given CSV file into a columnar StockSeries.
+     * The date of each day is its line number, matching the original Scanner loader.
+     *
+     * @param inputFile The input file containing stock data.
+     * @return A StockSeries holding every column of the file.
+     * @throws RuntimeException If the file cannot be read.
+     */
+    public StockSeries loadSeries(String inputFile) {
+        loadColumns(inputFile);
+
+        double[] dates = new double[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            dates[i] = i + 1;
+        }
+        return new StockSeries(dates, getEpochDays(), getOpenValues(), getHighValues(), getLowValues(),
+                getCloseValues(), getAdjCloseValues(), getVolumes());
+    }
+
+    /**
+     * Converts a stock CSV file to a column file, read back with StockSeries.readColumns.
+     *
+     * @param inputFile  The input file containing stock data.
+     * @param columnFile The column file written.
+     * @return The number of rows converted.
+     * @throws RuntimeException If a file cannot be read or written.
+     */
+    public int convertToColumns(String inputFile, Path columnFile) {
+        StockSeries series = loadSeries(inputFile);
+        series.writeColumns(columnFile);
+        return series.size();
+    }
+
+    /**
+     * Parses every column of the given CSV file into the primitive arrays of this loader.
+     *
+     * @param inputFile The input file containing stock data.
+     * @throws RuntimeException If the file cannot be read.
+     */
+    public void loadColumns(String inputFile) {
+        long start = System.nanoTime();
+        resetState();
+
+        try (FileChannel channel = FileChannel.open(Path.of(inputFile), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, size / 48)));
+
+            for (long position = 0; position < size; position += SEGMENT_SIZE) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+                parse(segment);
+            }
+            // A last row without a trailing new line
+            if (!inHeader && (field > 0 || !fieldEmpty)) {
+                endRow();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading the CSV file", e);
+        }
+
+        if (header == null) {
+            header = new String(headerBytes, 0, headerLength, StandardCharsets.UTF_8);
+        }
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Runs the byte level state machine over one mapped segment of the file.
+     *
+     * @param buffer The mapped segment.
+     */
+    private void parse(MappedByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+
+            if (inHeader) {
+                if (b == '\n') {
+                    header = new String(headerBytes, 0, headerLength, StandardCharsets.UTF_8).trim();
+                    inHeader = false;
+                } else {
+                    if (headerLength == headerBytes.length) {
+                        headerBytes = Arrays.copyOf(headerBytes, headerLength * 2);
+                    }
+                    headerBytes[headerLength++] = b;
+                }
+                continue;
+            }
+
+            if (b == ',') {
+                endField();
+            } else if (b == '\n') {
+                // Skip blank lines
+                if (field > 0 || !fieldEmpty) {
+                    endRow();
+                }
+            } else if (b != '\r' && b != ' ' && b != '\t') {
+                acceptByte(b);
+            }
+        }
+    }
+
+    /**
+     * Feeds one byte of the current field into either the date or the number accumulator.
+     *
+     * @param b The byte read from the file.
+     */
+    private void acceptByte(byte b) {
+        fieldEmpty = false;
+        if (fieldLength < fieldBytes.length) {
+            fieldBytes[fieldLength] = b;
+        }
+        fieldLength++;
+
+        if (field == FIELD_DATE) {
+            if (b >= '0' && b <= '9') {
+                if (datePart < 3) {
+                    dateParts[datePart] = dateParts[datePart] * 10 + (b - '0');
+                }
+            } else if (b == '-' || b == '/') {
+                datePart++;
+            }
+            return;
+        }
+
+        if (b >= '0' && b <= '9') {
+            if (mantissaDigits < 18) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) {
+                    mantissaDigits++;
+                }
+                if (inFraction) {
+                    fractionDigits++;
+                }
+            } else if (!inFraction) {
+                // Too many digits for the fast path
+                slowPath = true;
+            } else if (b != '0') {
+                slowPath = true;
+            }
+        } else if (b == '.') {
+            inFraction = true;
+        } else if (b == '-' && fieldLength == 1) {
+            negative = true;
+        } else if (b != '+' || fieldLength != 1) {
+            // Exponents, "null" and anything else unusual
+            slowPath = true;
+        }
+    }
+
+    /**
+     * Stores the value of the field that just ended and resets the accumulators.
+     */
+    private void endField() {
+        if (field == FIELD_DATE) {
+            rowValues[FIELD_DATE] = datePart == 2 ? epochDay(dateParts[0], dateParts[1], dateParts[2]) : 0;
+        } else if (field < rowValues.length) {
+            rowValues[field] = fieldValue();
+        }
+
+        field++;
+        fieldEmpty = true;
+        negative = false;
+        mantissa = 0;
+        mantissaDigits = 0;
+        fractionDigits = 0;
+        inFraction = false;
+        slowPath = false;
+        fieldLength = 0;
+        datePart = 0;
+        dateParts[0] = 0;
+        dateParts[1] = 0;
+        dateParts[2] = 0;
+    }
+
+    /**
+     * Finishes the current row and appends it to the column arrays.
+     */
+    private void endRow() {
+        endField();
+        // Missing trailing columns are recorded as not a number
+        for (int f = field; f < rowValues.length; f++) {
+            rowValues[f] = Double.NaN;
+        }
+
+        if (rowCount == openValues.length) {
+            ensureCapacity(rowCount * 2);
+        }
+        epochDays[rowCount] = (int) rowValues[FIELD_DATE];
+        openValues[rowCount] = rowValues[FIELD_OPEN];
+        highValues[rowCount] = rowValues[FIELD_HIGH];
+        lowValues[rowCount] = rowValues[FIELD_LOW];
+        closeValues[rowCount] = rowValues[FIELD_CLOSE];
+        adjCloseValues[rowCount] = rowValues[FIELD_ADJ_CLOSE];
+        double volume = rowValues[FIELD_VOLUME];
+        volumes[rowCount] = Double.isNaN(volume) ? 0 : (long) volume;
+        rowCount++;
+
+        field = 0;
+    }
+
+    /**
+     * Converts the accumulated digits of the current field to a double.
+     * Short decimals take the exact fast path, everything else falls back to Double.parseDouble.
+     *
+     * @return The value of the field, or NaN if it is empty or not a number.
+     */
+    private double fieldValue() {
+        if (fieldEmpty) {
+            return Double.NaN;
+        }
+        if (!slowPath && fractionDigits < POWERS_OF_TEN.length && mantissa < (1L << 53)) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        if (fieldLength > fieldBytes.length) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(new String(fieldBytes, 0, fieldLength, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Converts a calendar date to the number of days since 1970-01-01.
+     *
+     * @param year  The year.
+     * @param month The month (1 - 12).
+     * @param day   The day of the month.
+     * @return The epoch day of the date.
+     */
+    static int epochDay(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        int era = (year >= 0 ? year : year - 399) / 400;
+        int yearOfEra = year - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private void resetState() {
+        header = null;
+        rowCount = 0;
+        inHeader = true;
+        headerBytes = new byte[128];
+        headerLength = 0;
+        field = 0;
+        fieldEmpty = true;
+        negative = false;
+        mantissa = 0;
+        mantissaDigits = 0;
+        fractionDigits = 0;
+        inFraction = false;
+        slowPath = false;
+        fieldLength = 0;
+        datePart = 0;
+        Arrays.fill(dateParts, 0);
+    }
+
+    private void ensureCapacity(int capacity) {
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        openValues = Arrays.copyOf(openValues, capacity);
+        highValues = Arrays.copyOf(highValues, capacity);
+        lowValues = Arrays.copyOf(lowValues, capacity);
+        closeValues = Arrays.copyOf(closeValues, capacity);
+        adjCloseValues = Arrays.copyOf(adjCloseValues, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+    }
+
+    /**
+     * Gets the header line of the last loaded file.
+     *
+     * @return The header line.
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Gets the number of rows parsed from the last loaded file.
+     *
+     * @return The number of rows.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the throughput of the last load.
+     *
+     * @return The number of rows parsed per second.
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowCount / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the time the last load took.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the Date column as days since 1970-01-01.
+     *
+     * @return The epoch day of each row.
+     */
+    public int[] getEpochDays() {
+        return Arrays.copyOf(epochDays, rowCount);
+    }
+
+    /**
+     * Gets the Open column.
+     *
+     * @return The opening value of each row.
+     */
+    public double[] getOpenValues() {
+        return Arrays.copyOf(openValues, rowCount);
+    }
+
+    /**
+     * Gets the High column.
+     *
+     * @return The high value of each row.
+     */
+    public double[] getHighValues() {
+        return Arrays.copyOf(highValues, rowCount);
+    }
+
+    /**
+     * Gets the Low column.
+     *
+     * @return The low value of each row.
+     */
+    public double[] getLowValues() {
+        return Arrays.copyOf(lowValues, rowCount);
+    }
+
+    /**
+     * Gets the Close column.
+     *
+     * @return The closing value of each row.
+     */
+    public double[] getCloseValues() {
+        return Arrays.copyOf(closeValues, rowCount);
+    }
+
+    /**
+     * Gets the Adj Close column.
+     *
+     * @return The adjusted closing value of each row.
+     */
+    public double[] getAdjCloseValues() {
+        return Arrays.copyOf(adjCloseValues, rowCount);
+    }
+
+    /**
+     * Gets the Volume column.
+     *
+     * @return The traded volume of each row.
+     */
+    public long[] getVolumes() {
+        return Arrays.copyOf(volumes, rowCount);
+    }
+}
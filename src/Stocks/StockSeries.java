@@ -0,0 +1,325 @@
+package Stocks;
+
+import Storage.ColumnFile;
+import Storage.ColumnFileWriter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The StockSeries class holds stock data as columns of primitive arrays instead of one Stock object per day.
+ * It includes methods for reading a single day, creating zero-copy window views, and converting to and from Stock lists.
+ * A window shares the arrays of the series it was created from, so the columns must be treated as read-only.
+ * A series can be saved to and reloaded from a column file, which skips parsing the CSV file again.
+ *
+ * @author petitoa
+ */
+public class StockSeries {
+    // The names of the columns in a column file, the columns of the stock CSV files keep their header names
+    public static final String DAY_COLUMN = "Day";
+    public static final String DATE_COLUMN = "Date";
+    public static final String OPEN_COLUMN = "Open";
+    public static final String HIGH_COLUMN = "High";
+    public static final String LOW_COLUMN = "Low";
+    public static final String CLOSE_COLUMN = "Close";
+    public static final String ADJ_CLOSE_COLUMN = "Adj Close";
+    public static final String VOLUME_COLUMN = "Volume";
+
+    /**
+     * The columns of the stock CSV files, in their order.
+     */
+    public static final List<String> STOCK_CSV_COLUMNS = List.of(DATE_COLUMN, OPEN_COLUMN, HIGH_COLUMN, LOW_COLUMN,
+            CLOSE_COLUMN, ADJ_CLOSE_COLUMN, VOLUME_COLUMN);
+
+    private final double[] dates;
+    private final int[] epochDays;
+    private final double[] openValues;
+    private final double[] highValues;
+    private final double[] lowValues;
+    private final double[] closeValues;
+    private final double[] adjCloseValues;
+    private final long[] volumes;
+
+    private final int offset;
+    private final int length;
+
+    // Content hash of the days in view, 0 until first asked for
+    private volatile long fingerprint;
+
+    /**
+     * Constructs a new StockSeries wrapping the given columns without copying them.
+     * Every column must have the same length.
+     *
+     * @param dates          The x value representing the date of each day.
+     * @param epochDays      The calendar date of each day as days since 1970-01-01.
+     * @param openValues     The opening value of each day.
+     * @param highValues     The highest value of each day.
+     * @param lowValues      The lowest value of each day.
+     * @param closeValues    The closing value of each day.
+     * @param adjCloseValues The adjusted closing value of each day.
+     * @param volumes        The traded volume of each day.
+     * @throws IllegalArgumentException If the columns do not all have the same length.
+     */
+    public StockSeries(double[] dates, int[] epochDays, double[] openValues, double[] highValues, double[] lowValues,
+                       double[] closeValues, double[] adjCloseValues, long[] volumes) {
+        int n = dates.length;
+        if (epochDays.length != n || openValues.length != n || highValues.length != n || lowValues.length != n
+                || closeValues.length != n || adjCloseValues.length != n || volumes.length != n) {
+            throw new IllegalArgumentException("All columns of a stock series must have the same length.");
+        }
+        this.dates = dates;
+        this.epochDays = epochDays;
+        this.openValues = openValues;
+        this.highValues = highValues;
+        this.lowValues = lowValues;
+        this.closeValues = closeValues;
+        this.adjCloseValues = adjCloseValues;
+        this.volumes = volumes;
+        this.offset = 0;
+        this.length = n;
+    }
+
+    /**
+     * Constructs a window view over part of another series.
+     *
+     * @param parent The series whose columns are shared.
+     * @param offset The absolute index of the first day of the window.
+     * @param length The number of days in the window.
+     */
+    private StockSeries(StockSeries parent, int offset, int length) {
+        this.dates = parent.dates;
+        this.epochDays = parent.epochDays;
+        this.openValues = parent.openValues;
+        this.highValues = parent.highValues;
+        this.lowValues = parent.lowValues;
+        this.closeValues = parent.closeValues;
+        this.adjCloseValues = parent.adjCloseValues;
+        this.volumes = parent.volumes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a StockSeries by copying the values of a list of Stock objects into columns.
+     *
+     * @param stocks The list of Stock objects.
+     * @return A new StockSeries holding the same data.
+     */
+    public static StockSeries fromStocks(List<Stock> stocks) {
+        int n = stocks.size();
+        double[] dates = new double[n];
+        int[] epochDays = new int[n];
+        double[] openValues = new double[n];
+        double[] highValues = new double[n];
+        double[] lowValues = new double[n];
+        double[] closeValues = new double[n];
+        double[] adjCloseValues = new double[n];
+        long[] volumes = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            Stock stock = stocks.get(i);
+            dates[i] = stock.getDate();
+            epochDays[i] = stock.getEpochDay();
+            openValues[i] = stock.getOpenValue();
+            highValues[i] = stock.getHighValue();
+            lowValues[i] = stock.getLowValue();
+            closeValues[i] = stock.getCloseValue();
+            adjCloseValues[i] = stock.getAdjCloseValue();
+            volumes[i] = stock.getVolume();
+        }
+        return new StockSeries(dates, epochDays, openValues, highValues, lowValues, closeValues, adjCloseValues, volumes);
+    }
+
+    /**
+     * Copies the series into a list of Stock objects.
+     *
+     * @return An ArrayList with one Stock object per day.
+     */
+    public ArrayList<Stock> toStocks() {
+        ArrayList<Stock> stocks = new ArrayList<>(length);
+        for (int i = offset; i < offset + length; i++) {
+            stocks.add(new Stock(dates[i], epochDays[i], openValues[i], highValues[i], lowValues[i],
+                    closeValues[i], adjCloseValues[i], volumes[i]));
+        }
+        return stocks;
+    }
+
+    /**
+     * Writes the series to a column file, one column per field of a day.
+     * Converting the column file back with CsvConverter.toCsv and the columns of STOCK_CSV_COLUMNS
+     * gives the layout of the stock CSV files.
+     *
+     * @param file The column file written.
+     * @throws RuntimeException If the file cannot be written.
+     */
+    public void writeColumns(Path file) {
+        new ColumnFileWriter()
+                .addDoubles(DAY_COLUMN, Arrays.copyOfRange(dates, offset, offset + length))
+                .addDates(DATE_COLUMN, Arrays.copyOfRange(epochDays, offset, offset + length))
+                .addDoubles(OPEN_COLUMN, Arrays.copyOfRange(openValues, offset, offset + length))
+                .addDoubles(HIGH_COLUMN, Arrays.copyOfRange(highValues, offset, offset + length))
+                .addDoubles(LOW_COLUMN, Arrays.copyOfRange(lowValues, offset, offset + length))
+                .addDoubles(CLOSE_COLUMN, Arrays.copyOfRange(closeValues, offset, offset + length))
+                .addDoubles(ADJ_CLOSE_COLUMN, Arrays.copyOfRange(adjCloseValues, offset, offset + length))
+                .addLongs(VOLUME_COLUMN, Arrays.copyOfRange(volumes, offset, offset + length))
+                .write(file);
+    }
+
+    /**
+     * Reads a series written by writeColumns. The columns are copied out of the mapped file in bulk, no text is parsed.
+     *
+     * @param file The column file.
+     * @return A new StockSeries holding the columns of the file.
+     * @throws IllegalArgumentException If the file is not a column file or lacks a column of a stock series.
+     * @throws RuntimeException         If the file cannot be read.
+     */
+    public static StockSeries readColumns(Path file) {
+        ColumnFile columns = ColumnFile.open(file);
+        return new StockSeries(columns.readDoubles(DAY_COLUMN), columns.readInts(DATE_COLUMN),
+                columns.readDoubles(OPEN_COLUMN), columns.readDoubles(HIGH_COLUMN), columns.readDoubles(LOW_COLUMN),
+                columns.readDoubles(CLOSE_COLUMN), columns.readDoubles(ADJ_CLOSE_COLUMN), columns.readLongs(VOLUME_COLUMN));
+    }
+
+    /**
+     * Creates a view of the days from index from (inclusive) to index to (exclusive) without copying any data.
+     *
+     * @param from The first day of the window, relative to this series.
+     * @param to   The day after the last day of the window, relative to this series.
+     * @return A StockSeries sharing the columns of this series.
+     * @throws IndexOutOfBoundsException If the range is outside this series.
+     */
+    public StockSeries window(int from, int to) {
+        Objects.checkFromToIndex(from, to, length);
+        return new StockSeries(this, offset + from, to - from);
+    }
+
+    /**
+     * Gets a 64-bit hash of every value of the days in the series, computed on the first call only.
+     * Series holding the same values have the same fingerprint, wherever their arrays come from,
+     * so it identifies the data indicators were computed from. The columns must not change after the first call.
+     *
+     * @return The fingerprint of the series, never 0.
+     */
+    public long fingerprint() {
+        long hash = fingerprint;
+        if (hash == 0) {
+            hash = mix(length);
+            for (int i = offset; i < offset + length; i++) {
+                hash = combine(hash, Double.doubleToLongBits(dates[i]));
+                hash = combine(hash, epochDays[i]);
+                hash = combine(hash, Double.doubleToLongBits(openValues[i]));
+                hash = combine(hash, Double.doubleToLongBits(highValues[i]));
+                hash = combine(hash, Double.doubleToLongBits(lowValues[i]));
+                hash = combine(hash, Double.doubleToLongBits(closeValues[i]));
+                hash = combine(hash, Double.doubleToLongBits(adjCloseValues[i]));
+                hash = combine(hash, volumes[i]);
+            }
+            hash = hash == 0 ? 1 : hash;
+            fingerprint = hash;
+        }
+        return hash;
+    }
+
+    private static long combine(long hash, long value) {
+        return Long.rotateLeft(hash ^ mix(value), 27) * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+    }
+
+    // The finalizer of SplitMix64, so every bit of a value changes about half the bits of the hash
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Gets the number of days in the series.
+     *
+     * @return The number of days.
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Gets the date of a day.
+     *
+     * @param day The index of the day.
+     * @return The x value representing the date.
+     */
+    public double getDate(int day) {
+        return dates[offset + Objects.checkIndex(day, length)];
+    }
+
+    /**
+     * Gets the calendar date of a day.
+     *
+     * @param day The index of the day.
+     * @return The date as days since 1970-01-01.
+     */
+    public int getEpochDay(int day) {
+        return epochDays[offset + Objects.checkIndex(day, length)];
+    }
+
+    /**
+     * Gets the opening value of a day.
+     *
+     * @param day The index of the day.
+     * @return The opening value.
+     */
+    public double getOpenValue(int day) {
+        return openValues[offset + Objects.checkIndex(day, length)];
+    }
+
+    /**
+     * Gets the highest value of a day.
+     *
+     * @param day The index of the day.
+     * @return The high value.
+     */
+    public double getHighValue(int day) {
+        return highValues[offset + Objects.checkIndex(day, length)];
+    }
+
+    /**
+     * Gets the lowest value of a day.
+     *
+     * @param day The index of the day.
+     * @return The low value.
+     */
+    public double getLowValue(int day) {
+        return lowValues[offset + Objects.checkIndex(day, length)];
+    }
+
+    /**
+     * Gets the closing value of a day.
+     *
+     * @param day The index of the day.
+     * @return The closing value.
+     */
+    public double getCloseValue(int day) {
+        return closeValues[offset + Objects.checkIndex(day, length)];
+    }
+
+    /**
+     * Gets the adjusted closing value of a day.
+     *
+     * @param day The index of the day.
+     * @return The adjusted closing value.
+     */
+    public double getAdjCloseValue(int day) {
+        return adjCloseValues[offset + Objects.checkIndex(day, length)];
+    }
+
+    /**
+     * Gets the traded volume of a day.
+     *
+     * @param day The index of the day.
+     * @return The volume.
+     */
+    public long getVolume(int day) {
+        return volumes[offset + Objects.checkIndex(day, length)];
+    }
+}
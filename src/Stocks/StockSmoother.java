@@ -1,15 +1,15 @@
 package Stocks;
 
+import Charts.ChartWindow;
+import Charts.DownsampledXYDataset;
+import Smoothing.ParallelSmoother;
 import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultXYDataset;
 
-import javax.swing.*;
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Scanner;
 
 /**
  * The StockSmoother class provides methods for smoothing stock data using a moving window and writing the smoothed data to a CSV file.
@@ -18,6 +18,7 @@ import java.util.Scanner;
  * @author petitoa
  */
 public class StockSmoother {
+    private final ParallelSmoother parallelSmoother = new ParallelSmoother();
 
     /**
      * Smooths the given list of stock data using a moving window.
@@ -27,29 +28,45 @@ public class StockSmoother {
      * @return The list of smoothed stock data points.
      */
     public ArrayList<Stock> stockSmoother(ArrayList<Stock> stocks, int windowValue) {
-        ArrayList<Stock> smoothedStocks = new ArrayList<>();
-
-        for (int i = 0; i < stocks.size(); i++) {
-            double yValueSum = stocks.get(i).getOpenValue();
-
-            // j = -windowValue loop will return the left and right side of the point object
-            for (int j = -windowValue; j <= windowValue; j++) {
-                //get next index y values
-                int index = i + j;
-                if (index >= 0 && index < stocks.size()) {
-                    yValueSum += stocks.get(index).getOpenValue();
-                }
-            }
-
-            // Calculate the average
-            double smoothedY = yValueSum / (windowValue * 2);
-
+        return stockSmoother(StockSeries.fromStocks(stocks), windowValue).toStocks();
+    }
 
-            // Add the smoothed point to smoothedPoints
-            smoothedStocks.add(new Stock(stocks.get(i).getDate(), smoothedY, stocks.get(i).getCloseValue()));
+    /**
+     * Smooths the opening values of the given stock series using a centered moving window.
+     * Each opening value is replaced by the mean of itself and up to windowValue days on each side,
+     * near the edges only the days that exist are averaged.
+     * The other columns of the result are copied from the original series.
+     *
+     * @param stocks      The stock series to be smoothed.
+     * @param windowValue The size of the moving window (number of data points on each side of the current point).
+     * @return A new stock series with smoothed opening values.
+     */
+    public StockSeries stockSmoother(StockSeries stocks, int windowValue) {
+        int n = stocks.size();
+        double[] dates = new double[n];
+        int[] epochDays = new int[n];
+        double[] openValues = new double[n];
+        double[] highValues = new double[n];
+        double[] lowValues = new double[n];
+        double[] closeValues = new double[n];
+        double[] adjCloseValues = new double[n];
+        long[] volumes = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            dates[i] = stocks.getDate(i);
+            epochDays[i] = stocks.getEpochDay(i);
+            openValues[i] = stocks.getOpenValue(i);
+            highValues[i] = stocks.getHighValue(i);
+            lowValues[i] = stocks.getLowValue(i);
+            closeValues[i] = stocks.getCloseValue(i);
+            adjCloseValues[i] = stocks.getAdjCloseValue(i);
+            volumes[i] = stocks.getVolume(i);
         }
 
-        return smoothedStocks;
+        // Running sums keep the cost of a pass independent of the window size, long series are split across all cores
+        double[] smoothedOpenValues = parallelSmoother.centeredMovingAverage(openValues, windowValue);
+
+        return new StockSeries(dates, epochDays, smoothedOpenValues, highValues, lowValues, closeValues, adjCloseValues, volumes);
     }
 
     /**
@@ -59,34 +76,41 @@ public class StockSmoother {
      * @param windowValue The size of the moving window.
      */
     public void graphSmoothedStocks(ArrayList<Stock> stocks, int windowValue) {
-        ArrayList<Stock> smoothedValues = new ArrayList<>(stockSmoother(stocks, windowValue));
+        graphSmoothedStocks(StockSeries.fromStocks(stocks), windowValue);
+    }
+
+    /**
+     * Displays a graph of the smoothed stock series using JFreeChart.
+     *
+     * @param stocks      The original stock series.
+     * @param windowValue The size of the moving window.
+     */
+    public void graphSmoothedStocks(StockSeries stocks, int windowValue) {
+        ChartWindow.show(createSmoothedStocksChart(stocks, windowValue), "Smoothed Data");
+    }
+
+    /**
+     * Creates the graph of the smoothed stock series, to be displayed or written to a file with ChartRenderer.
+     *
+     * @param stocks      The original stock series.
+     * @param windowValue The size of the moving window.
+     * @return The chart of the smoothed open values.
+     */
+    public JFreeChart createSmoothedStocksChart(StockSeries stocks, int windowValue) {
+        StockSeries smoothedValues = stockSmoother(stocks, windowValue);
 
         double[][] smoothToGraph = new double[2][smoothedValues.size()];
 
-        double date = 0;
         for (int i = 0; i < smoothedValues.size(); i++) {
-            smoothToGraph[0][i] = date; // X-axis (day)
-            smoothToGraph[1][i] = smoothedValues.get(i).getOpenValue(); // Use the appropriate method to get smoothed value
-            date++;
+            smoothToGraph[0][i] = i; // X-axis (day)
+            smoothToGraph[1][i] = smoothedValues.getOpenValue(i);
         }
 
-        // Create a dataset with the salted data
-        DefaultXYDataset dataset = new DefaultXYDataset();
+        DownsampledXYDataset dataset = new DownsampledXYDataset();
         dataset.addSeries("Smoothed Stock Data", smoothToGraph);
 
         // Create the chart
-        JFreeChart chart = ChartFactory.createXYLineChart("Smoothed Data", "Day", "Stock", dataset, PlotOrientation.VERTICAL, true, true, false);
-
-        ChartPanel chartPanel = new ChartPanel(chart);
-
-        // Set up the JFrame
-        JFrame frame = new JFrame("Smoothed Data");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.getContentPane().add(chartPanel);
-        frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
-        frame.setUndecorated(true);
-        frame.pack();
-        frame.setVisible(true);
+        return ChartFactory.createXYLineChart("Smoothed Data", "Day", "Stock", dataset, PlotOrientation.VERTICAL, true, true, false);
     }
 
 
@@ -97,52 +121,42 @@ public class StockSmoother {
      * @param windowValue The size of the moving window (number of data points on each side of the current point).
      */
     public ArrayList<Stock> stockSmoothToCsv(String inputFile, int windowValue) {
-        File file = new File(inputFile);
-
-        ArrayList<Stock> stocks = new ArrayList<>();
-
-        ArrayList<Stock> smoothedStocks;
-        try (Scanner scanner = new Scanner(file)) {
-            // Store and skip the header
-            String header = scanner.nextLine();
-
-            // Delimiter set to comma or new line
-            scanner.useDelimiter(",|\n");
-
-            int lineNumber = 0;
-            // Salt Y Values and Write point objects to CSV file separated by commas
-            while (scanner.hasNextLine()) {
-                lineNumber++;
-                String grabdate = scanner.next().trim();
-                double date = lineNumber;
-                double openValue = Double.parseDouble(scanner.next().trim());
-                double high = Double.parseDouble(scanner.next().trim());
-                double low = Double.parseDouble(scanner.next().trim());
-                double closeValue = Double.parseDouble(scanner.next().trim());
-                scanner.nextLine();
-                stocks.add(new Stock(date, openValue, closeValue));
-            }
-
-            smoothedStocks = new ArrayList<>(stockSmoother(stocks, windowValue));
+        StockCsvLoader loader = new StockCsvLoader();
+        StockSeries stocks = loader.loadSeries(inputFile);
+        String header = loader.getHeader();
 
-            try (FileWriter fw = new FileWriter("smoothed-stocks.csv");
-                 BufferedWriter bw = new BufferedWriter(fw)) {
+        StockSeries smoothedStocks = stockSmoother(stocks, windowValue);
 
-                // Write Header
-                bw.write(header);
+        try (FileWriter fw = new FileWriter("smoothed-stocks.csv");
+             BufferedWriter bw = new BufferedWriter(fw)) {
 
-                // Write Point objects data to the CSV file separated by commas
-                for (Stock stock : smoothedStocks) {
-                    bw.newLine();
-                    bw.write(stock.getDate() + "," + stock.getOpenValue());
-                }
+            // Write Header
+            bw.write(header);
 
-            } catch (IOException e) {
-                throw new RuntimeException("Error while writing the smoothed data to the new CSV file", e);
+            // Write Point objects data to the CSV file separated by commas
+            for (int i = 0; i < smoothedStocks.size(); i++) {
+                bw.newLine();
+                bw.write(smoothedStocks.getDate(i) + "," + smoothedStocks.getOpenValue(i));
             }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("Error while reading the CSV file", e);
+
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the smoothed data to the new CSV file", e);
         }
+        return smoothedStocks.toStocks();
+    }
+
+    /**
+     * Writes the smoothed series to a column file, with every column of the series rather than only the opening values.
+     * Later stages reload it with StockSeries.readColumns instead of parsing a CSV file.
+     *
+     * @param inputFile   The name of the CSV file containing stock data.
+     * @param windowValue The size of the moving window (number of data points on each side of the current point).
+     * @param outputFile  The column file written.
+     * @return The smoothed stock series.
+     */
+    public StockSeries stockSmoothToColumns(String inputFile, int windowValue, Path outputFile) {
+        StockSeries smoothedStocks = stockSmoother(new StockCsvLoader().loadSeries(inputFile), windowValue);
+        smoothedStocks.writeColumns(outputFile);
         return smoothedStocks;
     }
 }
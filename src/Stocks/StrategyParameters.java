@@ -0,0 +1,123 @@
+package Stocks;
+
+/**
+ * The StrategyParameters class holds the tunable values of the RSI based trade methods.
+ * It includes the defaults that StockBot used before the values could be changed.
+ *
+ * @author petitoa
+ */
+public class StrategyParameters {
+    private final double overboughtThreshold;
+    private final double oversoldThreshold;
+    private final double portfolioPercent;
+    private final int windowSize;
+    private final int rsiPeriod;
+
+    /**
+     * Constructs a new StrategyParameters object with the specified values.
+     *
+     * @param overboughtThreshold The RSI above which the stock is considered overbought.
+     * @param oversoldThreshold   The RSI below which the stock is considered oversold.
+     * @param portfolioPercent    The share of the net worth traded in a single day, between 0 and 1.
+     * @param windowSize          The number of days in the moving average used as heuristic.
+     * @param rsiPeriod           The number of days the RSI looks back.
+     * @throws IllegalArgumentException If a value is outside its valid range.
+     */
+    public StrategyParameters(double overboughtThreshold, double oversoldThreshold, double portfolioPercent,
+                              int windowSize, int rsiPeriod) {
+        if (portfolioPercent <= 0 || portfolioPercent > 1) {
+            throw new IllegalArgumentException("Portfolio percent must be in (0, 1]: " + portfolioPercent);
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1: " + windowSize);
+        }
+        if (rsiPeriod < 2) {
+            throw new IllegalArgumentException("RSI period must be at least 2: " + rsiPeriod);
+        }
+        this.overboughtThreshold = overboughtThreshold;
+        this.oversoldThreshold = oversoldThreshold;
+        this.portfolioPercent = portfolioPercent;
+        this.windowSize = windowSize;
+        this.rsiPeriod = rsiPeriod;
+    }
+
+    /**
+     * Gets the original values of the RSI and Heuristic Trade Evaluator.
+     *
+     * @return Overbought 50, oversold 30, 30% of the portfolio, a 5 day window and a 14 day RSI.
+     */
+    public static StrategyParameters rsiAndHeuristicDefaults() {
+        return new StrategyParameters(50, 30, .30, 5, 14);
+    }
+
+    /**
+     * Gets the original values of the RSI and Moving Average trade method.
+     *
+     * @return Overbought 70, oversold 30, 1% of the portfolio, a 5 day window and a 14 day RSI.
+     */
+    public static StrategyParameters rsiAndMovingAverageDefaults() {
+        return new StrategyParameters(70, 30, .01, 5, 14);
+    }
+
+    /**
+     * Gets the original values of a trade method.
+     *
+     * @param tradeMethod The trade method, see TradingStrategies.forTradeMethod.
+     * @return The defaults of the RSI and Moving Average trade method for trade method 3,
+     * otherwise the defaults of the RSI and Heuristic Trade Evaluator.
+     */
+    public static StrategyParameters defaultsFor(int tradeMethod) {
+        return tradeMethod == 3 ? rsiAndMovingAverageDefaults() : rsiAndHeuristicDefaults();
+    }
+
+    /**
+     * Gets the RSI above which the stock is considered overbought.
+     *
+     * @return The overbought threshold.
+     */
+    public double getOverboughtThreshold() {
+        return overboughtThreshold;
+    }
+
+    /**
+     * Gets the RSI below which the stock is considered oversold.
+     *
+     * @return The oversold threshold.
+     */
+    public double getOversoldThreshold() {
+        return oversoldThreshold;
+    }
+
+    /**
+     * Gets the share of the net worth traded in a single day.
+     *
+     * @return The portfolio percent, between 0 and 1.
+     */
+    public double getPortfolioPercent() {
+        return portfolioPercent;
+    }
+
+    /**
+     * Gets the number of days in the moving average used as heuristic.
+     *
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Gets the number of days the RSI looks back.
+     *
+     * @return The RSI period.
+     */
+    public int getRsiPeriod() {
+        return rsiPeriod;
+    }
+
+    @Override
+    public String toString() {
+        return "overbought=" + overboughtThreshold + " oversold=" + oversoldThreshold + " portfolioPercent=" + portfolioPercent
+                + " window=" + windowSize + " rsiPeriod=" + rsiPeriod;
+    }
+}
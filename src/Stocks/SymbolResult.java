@@ -0,0 +1,112 @@
+package Stocks;
+
+/**
+ * The SymbolResult class holds the outcome of back-testing every strategy of a BacktestRunner on one symbol.
+ * If the symbol could not be loaded or simulated, the results are empty and the error is kept instead.
+ *
+ * @author petitoa
+ */
+public class SymbolResult {
+    private final String symbol;
+    private final int days;
+    private final BacktestResult[] results;
+    private final long loadNanos;
+    private final Exception error;
+
+    /**
+     * Constructs a new SymbolResult for a symbol that was back-tested.
+     *
+     * @param symbol    The name of the symbol, taken from its file name.
+     * @param days      The number of days in the symbol's data.
+     * @param results   The result of each strategy, in the order the runner was given them.
+     * @param loadNanos The time spent loading the file in nanoseconds.
+     */
+    public SymbolResult(String symbol, int days, BacktestResult[] results, long loadNanos) {
+        this.symbol = symbol;
+        this.days = days;
+        this.results = results;
+        this.loadNanos = loadNanos;
+        this.error = null;
+    }
+
+    /**
+     * Constructs a new SymbolResult for a symbol that failed.
+     *
+     * @param symbol The name of the symbol, taken from its file name.
+     * @param error  The exception that stopped the back-test.
+     */
+    public SymbolResult(String symbol, Exception error) {
+        this.symbol = symbol;
+        this.days = 0;
+        this.results = new BacktestResult[0];
+        this.loadNanos = 0;
+        this.error = error;
+    }
+
+    /**
+     * Gets the name of the symbol, taken from its file name.
+     *
+     * @return The symbol.
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Gets the number of days in the symbol's data.
+     *
+     * @return The number of days, 0 if the symbol failed.
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Gets the result of a strategy.
+     *
+     * @param index The position of the strategy in the list given to the runner.
+     * @return The result of that strategy.
+     */
+    public BacktestResult getResult(int index) {
+        return results[index];
+    }
+
+    /**
+     * Gets the time spent loading the file.
+     *
+     * @return The load time in nanoseconds.
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /**
+     * Gets the exception that stopped the back-test.
+     *
+     * @return The error, or null if the symbol was back-tested successfully.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Determines whether the symbol was back-tested successfully.
+     *
+     * @return True if there is no error.
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        if (error != null) {
+            return symbol + ": failed (" + error + ")";
+        }
+        StringBuilder text = new StringBuilder(symbol + " (" + days + " days)");
+        for (BacktestResult result : results) {
+            text.append("\n  ").append(result);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,370 @@
+package Stocks;
+
+/**
+ * The TechnicalIndicatorEngine class calculates the EMA, MACD with its signal line and histogram, Bollinger bands,
+ * ATR, stochastic oscillator and VWAP of a stock series in one pass over its High, Low, Close and Volume columns.
+ * Every indicator keeps only its rolling state, so each day is read once and updates all of them together,
+ * instead of one pass over the data per indicator.
+ * <p>
+ * A whole series is written into the preallocated arrays of an IndicatorOutput with compute.
+ * For live use, update adds one day at a time and the getters return the values of the latest day,
+ * the same values compute gives for that day. An engine calculates one series at a time.
+ * <p>
+ * Averages follow MovingAverage: exponential ones are seeded with the first value, simple ones and the
+ * windows of the other indicators cover all days while fewer than their period have been added.
+ * The ATR averages true ranges like the WILDER variant of RsiCalculator, the first period days are a plain mean.
+ * %K is 50 on days whose high and low of the period are equal, and the VWAP is the typical price while the
+ * period has no volume.
+ *
+ * @author petitoa
+ */
+public class TechnicalIndicatorEngine {
+    private final IndicatorSettings settings;
+
+    private final MovingAverage ema;
+    private final MovingAverage macdFast;
+    private final MovingAverage macdSlow;
+    private final MovingAverage macdSignalAverage;
+
+    // Closing values and their squares, less the first closing value so the variance keeps its precision
+    private final MovingAverage bollingerMean;
+    private final MovingAverage bollingerSquares;
+    private double bollingerShift = Double.NaN;
+
+    private double previousClose = Double.NaN;
+    private double atrValue = Double.NaN;
+
+    // Monotonic queues of the days that can still become the highest high and the lowest low of the period
+    private final long[] highDays;
+    private final double[] highValues;
+    private final long[] lowDays;
+    private final double[] lowValues;
+    private int highHead;
+    private int highCount;
+    private int lowHead;
+    private int lowCount;
+    private final MovingAverage stochasticAverage;
+
+    private final MovingAverage vwapPriceVolume;
+    private final MovingAverage vwapVolume;
+
+    private long days;
+    private double emaValue = Double.NaN;
+    private double macdValue = Double.NaN;
+    private double macdSignalValue = Double.NaN;
+    private double bollingerMiddle = Double.NaN;
+    private double bollingerDeviation = Double.NaN;
+    private double stochasticK = Double.NaN;
+    private double stochasticD = Double.NaN;
+    private double vwapValue = Double.NaN;
+
+    /**
+     * Constructs a new TechnicalIndicatorEngine with the periods of IndicatorSettings.defaults.
+     */
+    public TechnicalIndicatorEngine() {
+        this(IndicatorSettings.defaults());
+    }
+
+    /**
+     * Constructs a new TechnicalIndicatorEngine.
+     *
+     * @param settings The periods of the indicators.
+     */
+    public TechnicalIndicatorEngine(IndicatorSettings settings) {
+        this.settings = settings;
+        this.ema = new MovingAverage(settings.getEmaPeriod(), MovingAverage.Type.EXPONENTIAL);
+        this.macdFast = new MovingAverage(settings.getMacdFastPeriod(), MovingAverage.Type.EXPONENTIAL);
+        this.macdSlow = new MovingAverage(settings.getMacdSlowPeriod(), MovingAverage.Type.EXPONENTIAL);
+        this.macdSignalAverage = new MovingAverage(settings.getMacdSignalPeriod(), MovingAverage.Type.EXPONENTIAL);
+        this.bollingerMean = new MovingAverage(settings.getBollingerPeriod());
+        this.bollingerSquares = new MovingAverage(settings.getBollingerPeriod());
+        this.highDays = new long[settings.getStochasticPeriod()];
+        this.highValues = new double[settings.getStochasticPeriod()];
+        this.lowDays = new long[settings.getStochasticPeriod()];
+        this.lowValues = new double[settings.getStochasticPeriod()];
+        this.stochasticAverage = new MovingAverage(settings.getStochasticSmoothing());
+        this.vwapPriceVolume = new MovingAverage(settings.getVwapPeriod());
+        this.vwapVolume = new MovingAverage(settings.getVwapPeriod());
+    }
+
+    /**
+     * Calculates every indicator for every day of a stock series into a new output.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @return The indicators of each day.
+     */
+    public IndicatorOutput compute(StockSeries stocks) {
+        IndicatorOutput output = new IndicatorOutput(stocks.size());
+        compute(stocks, output);
+        return output;
+    }
+
+    /**
+     * Calculates every indicator for every day of a stock series into the arrays of an output, starting from
+     * a fresh state. Nothing is allocated.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @param output The output the indicators are written to, from index 0.
+     * @throws IllegalArgumentException If the output holds fewer days than the series.
+     */
+    public void compute(StockSeries stocks, IndicatorOutput output) {
+        if (output.getCapacity() < stocks.size()) {
+            throw new IllegalArgumentException("Output holds " + output.getCapacity() + " days, the series has " + stocks.size());
+        }
+        reset();
+        for (int day = 0; day < stocks.size(); day++) {
+            update(stocks.getHighValue(day), stocks.getLowValue(day), stocks.getCloseValue(day), stocks.getVolume(day));
+            output.store(day, this);
+        }
+        output.setSize(stocks.size());
+    }
+
+    /**
+     * Adds a day of a stock series, the days must be added in order.
+     *
+     * @param stocks The StockSeries representing the stock data.
+     * @param day    The index of the day.
+     */
+    public void update(StockSeries stocks, int day) {
+        update(stocks.getHighValue(day), stocks.getLowValue(day), stocks.getCloseValue(day), stocks.getVolume(day));
+    }
+
+    /**
+     * Adds the next day and updates every indicator.
+     *
+     * @param high   The highest value of the day.
+     * @param low    The lowest value of the day.
+     * @param close  The closing value of the day.
+     * @param volume The traded volume of the day.
+     */
+    public void update(double high, double low, double close, long volume) {
+        // Moving averages and MACD
+        emaValue = ema.update(close);
+        macdValue = macdFast.update(close) - macdSlow.update(close);
+        macdSignalValue = macdSignalAverage.update(macdValue);
+
+        // Bollinger bands
+        if (days == 0) {
+            bollingerShift = close;
+        }
+        double shifted = close - bollingerShift;
+        double mean = bollingerMean.update(shifted);
+        double meanSquare = bollingerSquares.update(shifted * shifted);
+        bollingerMiddle = bollingerShift + mean;
+        bollingerDeviation = Math.sqrt(Math.max(0, meanSquare - mean * mean));
+
+        // Average true range
+        double trueRange = high - low;
+        if (days > 0) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+        long atrDays = Math.min(days + 1, settings.getAtrPeriod());
+        atrValue = days == 0 ? trueRange : (atrValue * (atrDays - 1) + trueRange) / atrDays;
+        previousClose = close;
+
+        // Stochastic oscillator
+        double highest = pushHigh(high);
+        double lowest = pushLow(low);
+        stochasticK = highest == lowest ? 50 : 100 * (close - lowest) / (highest - lowest);
+        stochasticD = stochasticAverage.update(stochasticK);
+
+        // Volume weighted average price of the typical price
+        double typicalPrice = (high + low + close) / 3;
+        double averageVolume = vwapVolume.update(volume);
+        double averagePriceVolume = vwapPriceVolume.update(typicalPrice * volume);
+        vwapValue = averageVolume > 0 ? averagePriceVolume / averageVolume : typicalPrice;
+
+        days++;
+    }
+
+    /**
+     * Clears every indicator so the engine can be fed a new series.
+     */
+    public void reset() {
+        ema.reset();
+        macdFast.reset();
+        macdSlow.reset();
+        macdSignalAverage.reset();
+        bollingerMean.reset();
+        bollingerSquares.reset();
+        stochasticAverage.reset();
+        vwapPriceVolume.reset();
+        vwapVolume.reset();
+        bollingerShift = Double.NaN;
+        previousClose = Double.NaN;
+        atrValue = Double.NaN;
+        highHead = 0;
+        highCount = 0;
+        lowHead = 0;
+        lowCount = 0;
+        days = 0;
+        emaValue = Double.NaN;
+        macdValue = Double.NaN;
+        macdSignalValue = Double.NaN;
+        bollingerMiddle = Double.NaN;
+        bollingerDeviation = Double.NaN;
+        stochasticK = Double.NaN;
+        stochasticD = Double.NaN;
+        vwapValue = Double.NaN;
+    }
+
+    /**
+     * Adds the high of the current day to its queue and gets the highest high of the period.
+     */
+    private double pushHigh(double high) {
+        int capacity = highDays.length;
+        while (highCount > 0 && highDays[highHead] <= days - capacity) {
+            highHead = highHead + 1 == capacity ? 0 : highHead + 1;
+            highCount--;
+        }
+        // Earlier days that are not higher can never be the highest again
+        while (highCount > 0 && highValues[wrap(highHead + highCount - 1, capacity)] <= high) {
+            highCount--;
+        }
+        int tail = wrap(highHead + highCount, capacity);
+        highDays[tail] = days;
+        highValues[tail] = high;
+        highCount++;
+        return highValues[highHead];
+    }
+
+    /**
+     * Adds the low of the current day to its queue and gets the lowest low of the period.
+     */
+    private double pushLow(double low) {
+        int capacity = lowDays.length;
+        while (lowCount > 0 && lowDays[lowHead] <= days - capacity) {
+            lowHead = lowHead + 1 == capacity ? 0 : lowHead + 1;
+            lowCount--;
+        }
+        while (lowCount > 0 && lowValues[wrap(lowHead + lowCount - 1, capacity)] >= low) {
+            lowCount--;
+        }
+        int tail = wrap(lowHead + lowCount, capacity);
+        lowDays[tail] = days;
+        lowValues[tail] = low;
+        lowCount++;
+        return lowValues[lowHead];
+    }
+
+    private static int wrap(int index, int capacity) {
+        return index >= capacity ? index - capacity : index;
+    }
+
+    /**
+     * Gets the periods of the indicators.
+     *
+     * @return The settings of the engine.
+     */
+    public IndicatorSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Gets the number of days added since the engine was created or reset.
+     *
+     * @return The number of days.
+     */
+    public long getDays() {
+        return days;
+    }
+
+    /**
+     * Gets the exponential moving average of the closing values on the latest day.
+     *
+     * @return The EMA, or NaN if no day was added.
+     */
+    public double getEma() {
+        return emaValue;
+    }
+
+    /**
+     * Gets the MACD on the latest day.
+     *
+     * @return The fast minus the slow exponential moving average, or NaN if no day was added.
+     */
+    public double getMacd() {
+        return macdValue;
+    }
+
+    /**
+     * Gets the signal line of the MACD on the latest day.
+     *
+     * @return The exponential moving average of the MACD, or NaN if no day was added.
+     */
+    public double getMacdSignal() {
+        return macdSignalValue;
+    }
+
+    /**
+     * Gets the MACD histogram on the latest day.
+     *
+     * @return The MACD minus its signal line, or NaN if no day was added.
+     */
+    public double getMacdHistogram() {
+        return macdValue - macdSignalValue;
+    }
+
+    /**
+     * Gets the middle Bollinger band on the latest day.
+     *
+     * @return The simple moving average of the closing values, or NaN if no day was added.
+     */
+    public double getBollingerMiddle() {
+        return bollingerMiddle;
+    }
+
+    /**
+     * Gets the upper Bollinger band on the latest day.
+     *
+     * @return The middle band plus the width times the standard deviation, or NaN if no day was added.
+     */
+    public double getBollingerUpper() {
+        return bollingerMiddle + settings.getBollingerWidth() * bollingerDeviation;
+    }
+
+    /**
+     * Gets the lower Bollinger band on the latest day.
+     *
+     * @return The middle band less the width times the standard deviation, or NaN if no day was added.
+     */
+    public double getBollingerLower() {
+        return bollingerMiddle - settings.getBollingerWidth() * bollingerDeviation;
+    }
+
+    /**
+     * Gets the average true range on the latest day.
+     *
+     * @return The ATR, or NaN if no day was added.
+     */
+    public double getAtr() {
+        return atrValue;
+    }
+
+    /**
+     * Gets %K of the stochastic oscillator on the latest day.
+     *
+     * @return Where the close lies between the lowest low and the highest high of the period, from 0 to 100.
+     */
+    public double getStochasticK() {
+        return stochasticK;
+    }
+
+    /**
+     * Gets %D of the stochastic oscillator on the latest day.
+     *
+     * @return The simple moving average of %K, from 0 to 100.
+     */
+    public double getStochasticD() {
+        return stochasticD;
+    }
+
+    /**
+     * Gets the volume weighted average price on the latest day.
+     *
+     * @return The VWAP of the typical price (high + low + close) / 3, or NaN if no day was added.
+     */
+    public double getVwap() {
+        return vwapValue;
+    }
+}
@@ -0,0 +1,33 @@
+package Stocks;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The TestBacktestRunner class serves as a test for the BacktestRunner functionality.
+ * Pass a directory of OHLCV CSV files as argument, otherwise AMZN.csv is back-tested.
+ * It also checks that buy and hold sells on the last day of a series shorter than AMZN.csv.
+ *
+ * @author petitoa
+ */
+public class TestBacktestRunner {
+    public static void main(String[] args) {
+        BacktestRunner runner = new BacktestRunner(10000);
+
+        PortfolioResult portfolio = args.length > 0
+                ? runner.run(Path.of(args[0]))
+                : runner.run(List.of(Path.of("AMZN.csv")));
+
+        System.out.println("Virtual threads: " + BacktestRunner.usesVirtualThreads());
+        for (SymbolResult symbolResult : portfolio.getSymbolResults()) {
+            System.out.println(symbolResult);
+        }
+        System.out.println(portfolio);
+
+        // Nothing is left unsold at the end of a 120 day series, the net worth is the whole equity
+        StockSeries shorter = new StockCsvLoader().loadSeries("AMZN.csv").window(0, 120);
+        BacktestResult buyAndHold = Backtest.run(shorter, TradingStrategies.forTradeMethod(2), 10000);
+        System.out.println("120 days, buy and hold sold on the last day: " + (buyAndHold.getFinalNetWorth() == buyAndHold.getFinalEquity()
+                && buyAndHold.getFinalNetWorth() != 10000) + " (" + buyAndHold + ")");
+    }
+}
@@ -0,0 +1,121 @@
+package Stocks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The TestIndicatorCache class serves as a test for the IndicatorCache functionality.
+ * It checks that copies of the same data share cached indicators, that the memory tier evicts the least recently
+ * used values, that the disk tier survives a new cache, that concurrent misses compute once, that StockBot's
+ * trade methods and RSI graph share one daily RSI, and times a repeated parameter sweep with and without reused indicators.
+ *
+ * @author petitoa
+ */
+public class TestIndicatorCache {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StockSeries stocks = new StockCsvLoader().loadSeries("AMZN.csv");
+        StockSeries copy = StockSeries.fromStocks(stocks.toStocks());
+        System.out.println("Same fingerprint for a copy: " + (stocks.fingerprint() == copy.fingerprint())
+                + ", different for a window: " + (stocks.fingerprint() != stocks.window(1, stocks.size()).fingerprint()));
+
+        // Values are the same as computing them, and a copy of the data hits
+        IndicatorCache cache = new IndicatorCache();
+        double[] rsi = cache.get(stocks, Indicator.rsi(14));
+        boolean same = Arrays.equals(rsi, Indicator.rsi(14).compute(stocks));
+        cache.get(copy, Indicator.rsi(14));
+        cache.get(stocks, Indicator.movingAverage(5));
+        System.out.println("Same values " + same + ", " + cache);
+
+        // The RSI indicator shifted from the daily RSI is the computed one, and the RSI graph hits the daily RSI of the run
+        boolean shifted = true;
+        for (RsiCalculator.Smoothing smoothing : RsiCalculator.Smoothing.values()) {
+            RsiIndicator rsiIndicator = new RsiIndicator(14, smoothing);
+            shifted &= Arrays.equals(rsiIndicator.fromDailyRsi(rsiIndicator.computeDailyRsi(stocks)), rsiIndicator.compute(stocks));
+        }
+        IndicatorCache botCache = new IndicatorCache();
+        StockBot bot = new StockBot(botCache);
+        bot.completeRun(new NetWorth[]{new NetWorth(10000), new NetWorth(10000)}, stocks,
+                List.of(TradingStrategies.forTradeMethod(1), TradingStrategies.forTradeMethod(3)), TradeRecorder.NONE);
+        long missesAfterRun = botCache.getMisses();
+        boolean sameGraph = Arrays.equals(bot.calculateRsi(stocks), new StockBot().calculateRsi(stocks));
+        System.out.println("StockBot: shifted RSI same " + shifted + ", graph RSI same " + sameGraph
+                + ", graph misses " + (botCache.getMisses() - missesAfterRun) + ", " + botCache);
+
+        // Room for two series of values, the least recently used is evicted by a third
+        long twoSeries = 2L * stocks.size() * Double.BYTES;
+        IndicatorCache small = new IndicatorCache(twoSeries);
+        small.get(stocks, Indicator.rsi(14));
+        small.get(stocks, Indicator.rsi(10));
+        small.get(stocks, Indicator.rsi(14));
+        small.get(stocks, Indicator.rsi(6));
+        small.get(stocks, Indicator.rsi(14));
+        small.get(stocks, Indicator.rsi(10));
+        System.out.println("LRU: " + small);
+
+        // A new cache over the same directory reads the values written by the first one
+        Path directory = Files.createTempDirectory("indicators");
+        IndicatorCache first = new IndicatorCache(0, directory);
+        first.get(stocks, Indicator.rsi(14));
+        IndicatorCache second = new IndicatorCache(IndicatorCache.DEFAULT_MAX_BYTES, directory);
+        double[] fromDisk = second.get(stocks, Indicator.rsi(14));
+        second.get(stocks, Indicator.rsi(14));
+        System.out.println("Disk tier: same values " + Arrays.equals(rsi, fromDisk) + ", first " + first + ", second " + second);
+
+        // Threads missing the same key at once wait for one calculation
+        IndicatorCache shared = new IndicatorCache();
+        AtomicInteger calculations = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> shared.get(stocks, "slow", series -> {
+                calculations.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new double[series.size()];
+            }));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("8 concurrent misses, " + calculations.get() + " calculation");
+
+        // A sweep over new thresholds reuses the indicators of the sweep before it
+        StockSeries longSeries = longSeries(stocks, 2000);
+        for (boolean reuse : new boolean[]{false, true}) {
+            ParameterSweep sweep = new ParameterSweep(longSeries, 10000);
+            long total = 0;
+            for (int run = 0; run < 5; run++) {
+                if (!reuse) {
+                    sweep.getCache().clear();
+                }
+                long start = System.nanoTime();
+                sweep.run(1, new double[]{60.0 + run}, new double[]{30.0},
+                        new double[]{0.01}, new int[]{5, 10, 20, 40}, new int[]{7, 14, 21, 28});
+                total += System.nanoTime() - start;
+            }
+            System.out.printf("5 sweeps of %d days, %s: %.1f ms, %s%n", longSeries.size(),
+                    reuse ? "indicators reused" : "cache cleared", total / 1e6, sweep.getCache());
+        }
+    }
+
+    /**
+     * Repeats the stock data end to end, so the sweep has enough days to time.
+     */
+    private static StockSeries longSeries(StockSeries stocks, int repeats) {
+        List<Stock> days = new ArrayList<>();
+        List<Stock> original = stocks.toStocks();
+        for (int i = 0; i < repeats; i++) {
+            days.addAll(original);
+        }
+        return StockSeries.fromStocks(days);
+    }
+}
@@ -0,0 +1,104 @@
+package Stocks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The TestMonteCarloSimulator class serves as a test for the MonteCarloSimulator functionality.
+ * It checks that one block as long as the history gives back the historical path, that a seed gives the same
+ * results on any number of threads, that the median of buy and hold follows the price drift of the paths
+ * whatever their length, prints the percentile bands of every built-in strategy, and times the paths
+ * per second for each number of threads.
+ *
+ * @author petitoa
+ */
+public class TestMonteCarloSimulator {
+    public static void main(String[] args) {
+        int paths = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        StockSeries stocks = new StockCsvLoader().loadSeries("AMZN.csv");
+
+        // A single block of every return rebuilds the history
+        MonteCarloSimulator whole = new MonteCarloSimulator(stocks, 10000, MonteCarloSimulator.Resampling.BLOCK_BOOTSTRAP,
+                stocks.size() - 1, ForkJoinPool.commonPool());
+        MonteCarloSimulator.PathColumns columns = new MonteCarloSimulator.PathColumns(stocks, stocks.size());
+        whole.generatePath(new SplittableRandom(1), columns);
+        double largest = 0;
+        for (int day = 0; day < stocks.size(); day++) {
+            largest = Math.max(largest, Math.abs(columns.getSeries().getCloseValue(day) - stocks.getCloseValue(day)));
+        }
+        TradingStrategy buyAndHold = TradingStrategies.forTradeMethod(2);
+        System.out.printf("One block: largest close difference %.1e, path %.2f, history %.2f%n", largest,
+                whole.run(buyAndHold, 1, 7).percentile(50), Backtest.run(stocks, buyAndHold, 10000).getFinalEquity());
+
+        // Buy and hold ends with the price drift of its path, so its median is the median drift times the initial net worth
+        MonteCarloSimulator bootstrap = new MonteCarloSimulator(stocks, 10000);
+        for (int pathDays : new int[]{stocks.size(), 60}) {
+            double[] drifts = new double[2000];
+            MonteCarloSimulator.PathColumns path = new MonteCarloSimulator.PathColumns(stocks, pathDays);
+            for (int i = 0; i < drifts.length; i++) {
+                bootstrap.generatePath(MonteCarloSimulator.randomForPath(7, i), path);
+                drifts[i] = path.getSeries().getOpenValue(pathDays - 1) / path.getSeries().getOpenValue(0);
+            }
+            Arrays.sort(drifts);
+            double expected = 10000 * (drifts[drifts.length / 2 - 1] + drifts[drifts.length / 2]) / 2;
+            double median = bootstrap.run(buyAndHold, drifts.length, pathDays, 7).percentile(50);
+            // Only the cash left after buying whole shares on the first day does not drift
+            System.out.printf("%d day paths: buy and hold median %.2f, drift median %.2f, tracks drift: %b%n", pathDays,
+                    median, expected, Math.abs(median - expected) <= stocks.getOpenValue(0) * expected / 10000);
+        }
+
+        // Adjacent seeds give unrelated paths, not the paths of the other seed shifted by one index
+        MonteCarloSimulator.PathColumns shifted = new MonteCarloSimulator.PathColumns(stocks, stocks.size());
+        int sharedPaths = 0;
+        for (int i = 0; i < 1000; i++) {
+            bootstrap.generatePath(MonteCarloSimulator.randomForPath(42, i + 1), columns);
+            bootstrap.generatePath(MonteCarloSimulator.randomForPath(43, i), shifted);
+            double[] next = new double[stocks.size()];
+            double[] adjacent = new double[stocks.size()];
+            for (int day = 0; day < stocks.size(); day++) {
+                next[day] = columns.getSeries().getCloseValue(day);
+                adjacent[day] = shifted.getSeries().getCloseValue(day);
+            }
+            sharedPaths += Arrays.equals(next, adjacent) ? 1 : 0;
+        }
+        System.out.println("Paths of seed 43 equal to the next path of seed 42: " + sharedPaths + " of 1000");
+
+        // The same seed gives the same paths on one thread and on several
+        TradingStrategy rsi = TradingStrategies.forTradeMethod(1);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        double[] first = new MonteCarloSimulator(stocks, 10000, MonteCarloSimulator.Resampling.BLOCK_BOOTSTRAP, 20, single)
+                .run(rsi, 10000, 42).getFinalEquities();
+        double[] second = new MonteCarloSimulator(stocks, 10000, MonteCarloSimulator.Resampling.BLOCK_BOOTSTRAP, 20, several)
+                .run(rsi, 10000, 42).getFinalEquities();
+        double[] other = new MonteCarloSimulator(stocks, 10000, MonteCarloSimulator.Resampling.BLOCK_BOOTSTRAP, 20, several)
+                .run(rsi, 10000, 43).getFinalEquities();
+        System.out.println("Same seed, 1 and 4 threads: " + Arrays.equals(first, second)
+                + ", other seed differs: " + !Arrays.equals(first, other));
+        single.shutdown();
+        several.shutdown();
+
+        for (MonteCarloSimulator.Resampling resampling : MonteCarloSimulator.Resampling.values()) {
+            MonteCarloSimulator simulator = new MonteCarloSimulator(stocks, 10000, resampling, 20, ForkJoinPool.commonPool());
+            for (TradingStrategy strategy : TradingStrategies.builtIn()) {
+                long start = System.nanoTime();
+                MonteCarloResult result = simulator.run(strategy, paths, 42);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%s %.2f s: %s%n", resampling, seconds, result);
+            }
+        }
+
+        // Paths are independent, so the paths per second should grow with the threads
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            MonteCarloSimulator simulator = new MonteCarloSimulator(stocks, 10000, MonteCarloSimulator.Resampling.BLOCK_BOOTSTRAP, 20, pool);
+            simulator.run(rsi, paths / 10, 1);
+            long start = System.nanoTime();
+            simulator.run(rsi, paths, 42);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d threads: %.0f paths per second%n", threads, paths / seconds);
+            pool.shutdown();
+        }
+    }
+}
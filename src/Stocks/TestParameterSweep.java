@@ -0,0 +1,46 @@
+package Stocks;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The TestParameterSweep class serves as a test for the ParameterSweep functionality.
+ * It checks the ranges of the grid, runs the original parameters and times a sweep of a 20 x 20 x 10 grid.
+ *
+ * @author petitoa
+ */
+public class TestParameterSweep {
+    public static void main(String[] args) {
+        StockSeries stocks = new StockCsvLoader().loadSeries("AMZN.csv");
+        ParameterSweep sweep = new ParameterSweep(stocks, 10000);
+
+        // A range ends at or before its end, and is empty when the end is below the start
+        System.out.println("Ranges: " + Arrays.toString(ParameterSweep.range(5, 3, 5)) + " "
+                + Arrays.toString(ParameterSweep.range(3, 12, 4)) + " " + Arrays.toString(ParameterSweep.range(0.5, 0.2, 0.5))
+                + " " + Arrays.toString(ParameterSweep.range(0.1, 0.3, 0.1)));
+        try {
+            ParameterSweep.range(1, 5, 0);
+            System.out.println("Step 0: accepted");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Step 0: " + e.getMessage());
+        }
+
+        // The original parameters should give the same result as completeRun
+        StrategyParameters defaults = StrategyParameters.rsiAndHeuristicDefaults();
+        List<BacktestResult> original = sweep.run(1, new double[]{defaults.getOverboughtThreshold()},
+                new double[]{defaults.getOversoldThreshold()}, new double[]{defaults.getPortfolioPercent()},
+                new int[]{defaults.getWindowSize()}, new int[]{defaults.getRsiPeriod()});
+        System.out.println("Original rsiAndHeuristicTradeEvaluator: " + original.get(0));
+
+        // A 20 x 20 x 10 grid of thresholds and portfolio percents
+        long start = System.nanoTime();
+        List<BacktestResult> results = sweep.run(1, ParameterSweep.range(50.0, 88.0, 2.0), ParameterSweep.range(10.0, 48.0, 2.0),
+                ParameterSweep.range(0.05, 0.50, 0.05), new int[]{5}, new int[]{14});
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Simulated " + results.size() + " grid points in " + seconds + " seconds");
+        for (int i = 0; i < Math.min(10, results.size()); i++) {
+            System.out.println((i + 1) + ". " + results.get(i));
+        }
+    }
+}
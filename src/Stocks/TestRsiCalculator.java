@@ -0,0 +1,109 @@
+package Stocks;
+
+import java.util.ArrayList;
+
+/**
+ * The TestRsiCalculator class serves as a test for the RsiCalculator functionality.
+ * It checks the simple RSI against the original StockBot algorithm, the Wilder RSI against the worked example
+ * of Wilder's 14 day RSI, and that feeding one day at a time matches feeding the whole array.
+ *
+ * @author petitoa
+ */
+public class TestRsiCalculator {
+    public static void main(String[] args) {
+        StockSeries stocks = new StockCsvLoader().loadSeries("AMZN.csv");
+
+        double[] closeValues = new double[stocks.size()];
+        for (int day = 0; day < stocks.size(); day++) {
+            closeValues[day] = stocks.getCloseValue(day);
+        }
+
+        // Feed the whole array at once
+        double[] simpleRsi = new RsiCalculator(14).calculate(closeValues);
+        double[] wilderRsi = new RsiCalculator(14, RsiCalculator.Smoothing.WILDER).calculate(closeValues);
+
+        // Feed one day at a time
+        RsiCalculator incremental = new RsiCalculator(14);
+        int mismatches = 0;
+        for (int day = 0; day < closeValues.length; day++) {
+            double rsi = incremental.update(closeValues[day]);
+            if (Double.compare(rsi, simpleRsi[day]) != 0) {
+                mismatches++;
+            }
+        }
+        System.out.println("Days where the incremental and array RSI differ: " + mismatches);
+
+        // The simple RSI is the original algorithm, value for value from the 14th day on
+        ArrayList<Double> originalRsi = originalRsi(closeValues, 14);
+        int originalMismatches = 0;
+        for (int i = 0; i < originalRsi.size(); i++) {
+            if (Double.compare(originalRsi.get(i), simpleRsi[i + 13]) != 0) {
+                originalMismatches++;
+            }
+        }
+        System.out.println("Days where the simple and original StockBot RSI differ: " + originalMismatches
+                + " of " + originalRsi.size());
+
+        // Wilder's example: the first 14 changes gain 3.34 and lose 1.40 in all, then the next two closes change by
+        // -0.28 and +0.03, and each later average keeps 13/14 of the one before
+        double[] exampleCloses = {44.34, 44.09, 44.15, 43.61, 44.33, 44.83, 45.10, 45.42, 45.84, 46.08, 45.89, 46.03,
+                45.61, 46.28, 46.28, 46.00, 46.03};
+        double averageUp = 3.34 / 14;
+        double averageDown = 1.40 / 14;
+        double[] exampleRsi = new double[3];
+        exampleRsi[0] = 100 - 100 / (1 + averageUp / averageDown);
+        averageUp = averageUp * 13 / 14;
+        averageDown = (averageDown * 13 + 0.28) / 14;
+        exampleRsi[1] = 100 - 100 / (1 + averageUp / averageDown);
+        averageUp = (averageUp * 13 + 0.03) / 14;
+        averageDown = averageDown * 13 / 14;
+        exampleRsi[2] = 100 - 100 / (1 + averageUp / averageDown);
+        double[] wilderExample = new RsiCalculator(14, RsiCalculator.Smoothing.WILDER).calculate(exampleCloses);
+        double largest = 0;
+        for (int i = 0; i < exampleRsi.length; i++) {
+            largest = Math.max(largest, Math.abs(wilderExample[i + 14] - exampleRsi[i]));
+        }
+        System.out.printf("Wilder example %.4f %.4f %.4f, matches: %b%n", wilderExample[14], wilderExample[15],
+                wilderExample[16], largest < 1e-9 && Double.isNaN(wilderExample[13]));
+
+        System.out.println("Simple RSI on the last day: " + simpleRsi[simpleRsi.length - 1]);
+        System.out.println("Wilder RSI on the last day: " + wilderRsi[wilderRsi.length - 1]);
+    }
+
+    /**
+     * The RSI as StockBot first calculated it, the last n up and down moves from the nth day on over a window
+     * of the past n days, kept here as the reference of the simple RSI.
+     */
+    private static ArrayList<Double> originalRsi(double[] closeValues, int n) {
+        ArrayList<Double> rsiValues = new ArrayList<>();
+        ArrayList<Double> traversedCloses = new ArrayList<>();
+        ArrayList<Double> upMoves = new ArrayList<>();
+        ArrayList<Double> downMoves = new ArrayList<>();
+
+        for (double closeValue : closeValues) {
+            traversedCloses.add(closeValue);
+            if (traversedCloses.size() == n) {
+                double change = traversedCloses.get(n - 1) - traversedCloses.get(n - 2);
+                if (change > 0) {
+                    upMoves.add(change);
+                    if (upMoves.size() > n) {
+                        upMoves.remove(0);
+                    }
+                } else if (change < 0) {
+                    downMoves.add(Math.abs(change));
+                    if (downMoves.size() > n) {
+                        downMoves.remove(0);
+                    }
+                }
+
+                double avgUp = upMoves.stream().mapToDouble(Double::doubleValue).sum() / n;
+                double avgDown = downMoves.stream().mapToDouble(Double::doubleValue).sum() / n;
+                double rs = (avgDown == 0) ? 0 : avgUp / avgDown;
+                rsiValues.add(100 - 100 / (1 + rs));
+
+                traversedCloses.remove(0);
+            }
+        }
+        return rsiValues;
+    }
+}
@@ -1,7 +1,7 @@
 package Stocks;
 
 import javax.swing.*;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The TestStockBot class serves as a test for the StockBot functionality.
@@ -11,23 +11,25 @@ import java.util.ArrayList;
 public class TestStockBot extends JFrame {
     public static void main(String[] args) {
 
-        StockBot test = new StockBot();
+        // The RSI shared by two of the trade methods and the graph is computed once per stock data
+        IndicatorCache cache = new IndicatorCache();
+        StockBot test = new StockBot(cache);
 
-        ArrayList<Stock> stocks = test.loadStocks("AMZN.csv");
+        StockSeries stocks = test.loadStockSeries("AMZN.csv");
 
-        // Test trade method rsiAndHeuristicTradeEvaluator
-        NetWorth rsiAndHeuristicTradeEvaluator = test.completeRun(new NetWorth(10000), stocks, 1);
-
-        // Test trade method buyAndHold
-        NetWorth buyAndHold = test.completeRun(new NetWorth(10000), stocks, 2);
-
-        // Test trade method rsiAndMovingAverage
-        NetWorth rsiAndMovingAverage = test.completeRun(new NetWorth(10000), stocks, 3);
+        // Test the three trade methods in a single pass over the stock data
+        NetWorth[] netWorths = test.completeRun(
+                new NetWorth[]{new NetWorth(10000), new NetWorth(10000), new NetWorth(10000)}, stocks,
+                List.of(TradingStrategies.forTradeMethod(1), TradingStrategies.forTradeMethod(2), TradingStrategies.forTradeMethod(3)));
+        NetWorth rsiAndHeuristicTradeEvaluator = netWorths[0];
+        NetWorth buyAndHold = netWorths[1];
+        NetWorth rsiAndMovingAverage = netWorths[2];
 
         test.graphRsi(stocks);
 
         System.out.println("With a starting value of $10000 the finalized net worth after using rsiAndHeuristicTradeEvaluator trade method is $" + rsiAndHeuristicTradeEvaluator.getNetWorth());
         System.out.println("With a starting value of $10000 the finalized net worth after using buyAndHold trade method is $" + buyAndHold.getNetWorth());
         System.out.println("With a starting value of $10000 the finalized net worth after using rsiAndMovingAverage trade method is $" + rsiAndMovingAverage.getNetWorth());
+        System.out.println(cache);
     }
 }
@@ -0,0 +1,93 @@
+package Stocks;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+/**
+ * The TestStockCsvLoader class serves as a test for the StockCsvLoader functionality.
+ * It compares the loaded values and the rows per second against the original Scanner based loader.
+ *
+ * @author petitoa
+ */
+public class TestStockCsvLoader {
+    public static void main(String[] args) {
+        String inputFile = args.length > 0 ? args[0] : "AMZN.csv";
+        int rounds = 20;
+
+        StockCsvLoader loader = new StockCsvLoader();
+        ArrayList<Stock> stocks = new ArrayList<>();
+        ArrayList<Stock> scannerStocks = new ArrayList<>();
+
+        // Warm up both paths before timing them
+        for (int i = 0; i < rounds; i++) {
+            stocks = loader.load(inputFile);
+            scannerStocks = scannerLoad(inputFile);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            scannerStocks = scannerLoad(inputFile);
+        }
+        double scannerRowsPerSecond = (double) scannerStocks.size() * rounds / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            stocks = loader.load(inputFile);
+        }
+        double loaderRowsPerSecond = (double) stocks.size() * rounds / ((System.nanoTime() - start) / 1e9);
+
+        int mismatches = 0;
+        for (int i = 0; i < stocks.size(); i++) {
+            Stock stock = stocks.get(i);
+            Stock expected = scannerStocks.get(i);
+            if (stock.getDate() != expected.getDate() || stock.getOpenValue() != expected.getOpenValue()
+                    || stock.getCloseValue() != expected.getCloseValue()) {
+                mismatches++;
+            }
+        }
+
+        System.out.println("Rows loaded: " + stocks.size() + " (Scanner: " + scannerStocks.size() + "), mismatched rows: " + mismatches);
+        System.out.println("Last load: " + loader.getRowsPerSecond() + " rows/sec");
+        System.out.println("Scanner loader: " + scannerRowsPerSecond + " rows/sec");
+        System.out.println("StockCsvLoader: " + loaderRowsPerSecond + " rows/sec");
+        System.out.println("Speedup: " + loaderRowsPerSecond / scannerRowsPerSecond + "x");
+    }
+
+    /**
+     * The original Scanner based loader, kept as the baseline for the comparison.
+     *
+     * @param inputFile The input file containing stock data.
+     * @return An ArrayList of Stock objects representing the loaded stock data.
+     */
+    private static ArrayList<Stock> scannerLoad(String inputFile) {
+        File file = new File(inputFile);
+
+        ArrayList<Stock> stocks = new ArrayList<>();
+
+        try (Scanner scanner = new Scanner(file)) {
+            // Store and skip the header
+            String header = scanner.nextLine();
+
+            // Delimiter set to comma or new line
+            scanner.useDelimiter(",|\n");
+
+            int lineNumber = 0;
+            while (scanner.hasNextLine()) {
+                lineNumber++;
+                String grabdate = scanner.next().trim();
+                double date = lineNumber;
+                double openValue = Double.parseDouble(scanner.next().trim());
+                double high = Double.parseDouble(scanner.next().trim());
+                double low = Double.parseDouble(scanner.next().trim());
+                double closeValue = Double.parseDouble(scanner.next().trim());
+                scanner.nextLine();
+                stocks.add(new Stock(date, openValue, closeValue));
+            }
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+        return stocks;
+    }
+}
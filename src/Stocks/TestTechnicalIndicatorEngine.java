@@ -0,0 +1,257 @@
+package Stocks;
+
+import java.util.SplittableRandom;
+
+/**
+ * The TestTechnicalIndicatorEngine class serves as a test for the TechnicalIndicatorEngine functionality.
+ * It checks every indicator of the fused pass against a plain calculation of that indicator alone,
+ * checks that adding days one at a time gives the same values as the whole series,
+ * and times the fused pass against a pass that only reads the columns and against one pass per indicator.
+ *
+ * @author petitoa
+ */
+public class TestTechnicalIndicatorEngine {
+    public static void main(String[] args) {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        TechnicalIndicatorEngine engine = new TechnicalIndicatorEngine();
+        IndicatorSettings settings = engine.getSettings();
+
+        for (StockSeries stocks : new StockSeries[]{new StockCsvLoader().loadSeries("AMZN.csv"), randomWalk(5000)}) {
+            IndicatorOutput output = engine.compute(stocks);
+            double[][] expected = reference(stocks, settings);
+            double[][] actual = {output.getEma(), output.getMacd(), output.getMacdSignal(), output.getMacdHistogram(),
+                    output.getBollingerMiddle(), output.getBollingerUpper(), output.getBollingerLower(), output.getAtr(),
+                    output.getStochasticK(), output.getStochasticD(), output.getVwap()};
+            String[] names = {"EMA", "MACD", "Signal", "Histogram", "Middle", "Upper", "Lower", "ATR", "%K", "%D", "VWAP"};
+
+            StringBuilder errors = new StringBuilder();
+            for (int i = 0; i < names.length; i++) {
+                errors.append(String.format(" %s %.1e", names[i], maxError(expected[i], actual[i], stocks.size())));
+            }
+            System.out.println(stocks.size() + " days, largest difference to the plain calculations:" + errors);
+
+            // The incremental mode must give the values of the batch mode exactly
+            TechnicalIndicatorEngine live = new TechnicalIndicatorEngine(settings);
+            boolean same = true;
+            for (int day = 0; day < stocks.size(); day++) {
+                live.update(stocks, day);
+                same &= live.getEma() == output.getEma()[day] && live.getMacdHistogram() == output.getMacdHistogram()[day]
+                        && live.getBollingerUpper() == output.getBollingerUpper()[day] && live.getAtr() == output.getAtr()[day]
+                        && live.getStochasticD() == output.getStochasticD()[day] && live.getVwap() == output.getVwap()[day];
+            }
+            System.out.println("One day at a time gives the same values: " + same);
+        }
+
+        StockSeries stocks = randomWalk(days);
+        IndicatorOutput output = new IndicatorOutput(days);
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            double sum = 0;
+            for (int day = 0; day < days; day++) {
+                sum += stocks.getHighValue(day) + stocks.getLowValue(day) + stocks.getCloseValue(day) + stocks.getVolume(day);
+            }
+            long readNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            engine.compute(stocks, output);
+            long fusedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            double[][] separate = separatePasses(stocks, settings);
+            long separateNanos = System.nanoTime() - start;
+
+            System.out.printf("%d days, 11 indicators: fused pass %.1f ms, reading the columns only %.1f ms, one pass per indicator %.1f ms (%s)%n",
+                    days, fusedNanos / 1e6, readNanos / 1e6, separateNanos / 1e6,
+                    sum != 0 && separate[0][days - 1] == output.getEma()[days - 1] ? "same EMA" : "different EMA");
+        }
+    }
+
+    /**
+     * Calculates each indicator on its own from its definition, looking at every day of each window again.
+     */
+    private static double[][] reference(StockSeries stocks, IndicatorSettings settings) {
+        int n = stocks.size();
+        double[][] values = new double[11][n];
+        double emaAlpha = 2.0 / (settings.getEmaPeriod() + 1);
+        double fastAlpha = 2.0 / (settings.getMacdFastPeriod() + 1);
+        double slowAlpha = 2.0 / (settings.getMacdSlowPeriod() + 1);
+        double signalAlpha = 2.0 / (settings.getMacdSignalPeriod() + 1);
+        double ema = 0;
+        double fast = 0;
+        double slow = 0;
+        double signal = 0;
+        double atr = 0;
+
+        for (int day = 0; day < n; day++) {
+            double close = stocks.getCloseValue(day);
+            ema = day == 0 ? close : ema + emaAlpha * (close - ema);
+            fast = day == 0 ? close : fast + fastAlpha * (close - fast);
+            slow = day == 0 ? close : slow + slowAlpha * (close - slow);
+            double macd = fast - slow;
+            signal = day == 0 ? macd : signal + signalAlpha * (macd - signal);
+            values[0][day] = ema;
+            values[1][day] = macd;
+            values[2][day] = signal;
+            values[3][day] = macd - signal;
+
+            int from = Math.max(0, day - settings.getBollingerPeriod() + 1);
+            double mean = 0;
+            for (int i = from; i <= day; i++) {
+                mean += stocks.getCloseValue(i);
+            }
+            mean /= day - from + 1;
+            double variance = 0;
+            for (int i = from; i <= day; i++) {
+                variance += (stocks.getCloseValue(i) - mean) * (stocks.getCloseValue(i) - mean);
+            }
+            double deviation = Math.sqrt(variance / (day - from + 1));
+            values[4][day] = mean;
+            values[5][day] = mean + settings.getBollingerWidth() * deviation;
+            values[6][day] = mean - settings.getBollingerWidth() * deviation;
+
+            double trueRange = stocks.getHighValue(day) - stocks.getLowValue(day);
+            if (day > 0) {
+                double previousClose = stocks.getCloseValue(day - 1);
+                trueRange = Math.max(trueRange, Math.max(Math.abs(stocks.getHighValue(day) - previousClose),
+                        Math.abs(stocks.getLowValue(day) - previousClose)));
+            }
+            int atrDays = Math.min(day + 1, settings.getAtrPeriod());
+            atr = day == 0 ? trueRange : (atr * (atrDays - 1) + trueRange) / atrDays;
+            values[7][day] = atr;
+
+            from = Math.max(0, day - settings.getStochasticPeriod() + 1);
+            double highest = Double.NEGATIVE_INFINITY;
+            double lowest = Double.POSITIVE_INFINITY;
+            for (int i = from; i <= day; i++) {
+                highest = Math.max(highest, stocks.getHighValue(i));
+                lowest = Math.min(lowest, stocks.getLowValue(i));
+            }
+            values[8][day] = highest == lowest ? 50 : 100 * (close - lowest) / (highest - lowest);
+            from = Math.max(0, day - settings.getStochasticSmoothing() + 1);
+            double sumK = 0;
+            for (int i = from; i <= day; i++) {
+                sumK += values[8][i];
+            }
+            values[9][day] = sumK / (day - from + 1);
+
+            from = Math.max(0, day - settings.getVwapPeriod() + 1);
+            double priceVolume = 0;
+            double volume = 0;
+            for (int i = from; i <= day; i++) {
+                double typicalPrice = (stocks.getHighValue(i) + stocks.getLowValue(i) + stocks.getCloseValue(i)) / 3;
+                priceVolume += typicalPrice * stocks.getVolume(i);
+                volume += stocks.getVolume(i);
+            }
+            values[10][day] = volume > 0 ? priceVolume / volume : (stocks.getHighValue(day) + stocks.getLowValue(day) + close) / 3;
+        }
+        return values;
+    }
+
+    /**
+     * Calculates the indicators with rolling averages as well, but one indicator per pass over the columns.
+     */
+    private static double[][] separatePasses(StockSeries stocks, IndicatorSettings settings) {
+        int n = stocks.size();
+        double[] closes = new double[n];
+        for (int day = 0; day < n; day++) {
+            closes[day] = stocks.getCloseValue(day);
+        }
+        double[] ema = new MovingAverage(settings.getEmaPeriod(), MovingAverage.Type.EXPONENTIAL).calculate(closes);
+        double[] fast = new MovingAverage(settings.getMacdFastPeriod(), MovingAverage.Type.EXPONENTIAL).calculate(closes);
+        double[] slow = new MovingAverage(settings.getMacdSlowPeriod(), MovingAverage.Type.EXPONENTIAL).calculate(closes);
+        double[] macd = new double[n];
+        for (int day = 0; day < n; day++) {
+            macd[day] = fast[day] - slow[day];
+        }
+        double[] signal = new MovingAverage(settings.getMacdSignalPeriod(), MovingAverage.Type.EXPONENTIAL).calculate(macd);
+        double[] histogram = new double[n];
+        for (int day = 0; day < n; day++) {
+            histogram[day] = macd[day] - signal[day];
+        }
+        double[] middle = new MovingAverage(settings.getBollingerPeriod()).calculate(closes);
+        double[] squares = new double[n];
+        for (int day = 0; day < n; day++) {
+            squares[day] = closes[day] * closes[day];
+        }
+        double[] meanSquares = new MovingAverage(settings.getBollingerPeriod()).calculate(squares);
+        double[] upper = new double[n];
+        double[] lower = new double[n];
+        for (int day = 0; day < n; day++) {
+            double deviation = Math.sqrt(Math.max(0, meanSquares[day] - middle[day] * middle[day]));
+            upper[day] = middle[day] + settings.getBollingerWidth() * deviation;
+            lower[day] = middle[day] - settings.getBollingerWidth() * deviation;
+        }
+        double[] trueRanges = new double[n];
+        for (int day = 0; day < n; day++) {
+            trueRanges[day] = stocks.getHighValue(day) - stocks.getLowValue(day);
+            if (day > 0) {
+                trueRanges[day] = Math.max(trueRanges[day], Math.max(Math.abs(stocks.getHighValue(day) - closes[day - 1]),
+                        Math.abs(stocks.getLowValue(day) - closes[day - 1])));
+            }
+        }
+        double[] atr = new double[n];
+        for (int day = 0; day < n; day++) {
+            int atrDays = Math.min(day + 1, settings.getAtrPeriod());
+            atr[day] = day == 0 ? trueRanges[0] : (atr[day - 1] * (atrDays - 1) + trueRanges[day]) / atrDays;
+        }
+        double[] stochasticK = new double[n];
+        int period = settings.getStochasticPeriod();
+        for (int day = 0; day < n; day++) {
+            double highest = stocks.getHighValue(day);
+            double lowest = stocks.getLowValue(day);
+            for (int i = Math.max(0, day - period + 1); i < day; i++) {
+                highest = stocks.getHighValue(i) > highest ? stocks.getHighValue(i) : highest;
+                lowest = stocks.getLowValue(i) < lowest ? stocks.getLowValue(i) : lowest;
+            }
+            stochasticK[day] = highest == lowest ? 50 : 100 * (closes[day] - lowest) / (highest - lowest);
+        }
+        double[] stochasticD = new MovingAverage(settings.getStochasticSmoothing()).calculate(stochasticK);
+        double[] priceVolumes = new double[n];
+        double[] volumes = new double[n];
+        for (int day = 0; day < n; day++) {
+            volumes[day] = stocks.getVolume(day);
+            priceVolumes[day] = (stocks.getHighValue(day) + stocks.getLowValue(day) + closes[day]) / 3 * volumes[day];
+        }
+        double[] averagePriceVolumes = new MovingAverage(settings.getVwapPeriod()).calculate(priceVolumes);
+        double[] averageVolumes = new MovingAverage(settings.getVwapPeriod()).calculate(volumes);
+        double[] vwap = new double[n];
+        for (int day = 0; day < n; day++) {
+            vwap[day] = averagePriceVolumes[day] / averageVolumes[day];
+        }
+        return new double[][]{ema, macd, signal, histogram, middle, upper, lower, atr, stochasticK, stochasticD, vwap};
+    }
+
+    private static double maxError(double[] expected, double[] actual, int n) {
+        double largest = 0;
+        for (int i = 0; i < n; i++) {
+            largest = Math.max(largest, Math.abs(expected[i] - actual[i]) / Math.max(1, Math.abs(expected[i])));
+        }
+        return largest;
+    }
+
+    /**
+     * Creates a random walk of daily bars with a high and low around the close and a random volume.
+     */
+    private static StockSeries randomWalk(int days) {
+        SplittableRandom random = new SplittableRandom(17);
+        double[] dates = new double[days];
+        int[] epochDays = new int[days];
+        double[] open = new double[days];
+        double[] high = new double[days];
+        double[] low = new double[days];
+        double[] close = new double[days];
+        long[] volume = new long[days];
+        double price = 100;
+        for (int day = 0; day < days; day++) {
+            dates[day] = day + 1;
+            epochDays[day] = day;
+            open[day] = price;
+            price = Math.max(1, price * (1 + random.nextDouble(-0.02, 0.02)));
+            close[day] = price;
+            high[day] = Math.max(open[day], close[day]) * (1 + random.nextDouble(0.01));
+            low[day] = Math.min(open[day], close[day]) * (1 - random.nextDouble(0.01));
+            volume[day] = random.nextLong(1_000_000, 50_000_000);
+        }
+        return new StockSeries(dates, epochDays, open, high, low, close, close.clone(), volume);
+    }
+}
@@ -0,0 +1,87 @@
+package Stocks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TestTradeJournal class serves as a test for the TradeJournal functionality.
+ * It journals the three trade methods, checks that a closed journal refuses records, reads the journal back
+ * and exports it to CSV, then compares the time of a run printing every trade with a run journaling them.
+ * The journal and the CSV are written to a temporary directory, deleted at the end.
+ *
+ * @author petitoa
+ */
+public class TestTradeJournal {
+    public static void main(String[] args) throws IOException {
+        StockSeries stocks = new StockCsvLoader().loadSeries("AMZN.csv");
+        List<TradingStrategy> strategies = TradingStrategies.builtIn();
+        List<String> names = new ArrayList<>();
+        for (TradingStrategy strategy : strategies) {
+            names.add(strategy.getName());
+        }
+
+        Path directory = Files.createTempDirectory("journal");
+        Path journalFile = directory.resolve("trade-journal.bin");
+        Path csvFile = directory.resolve("trade-journal.csv");
+        List<BacktestResult> results;
+        TradeJournal recorded = new TradeJournal(journalFile, names, 64);
+        try (recorded) {
+            results = Backtest.runAll(stocks, strategies, 10000, recorded);
+            System.out.println("Recorded " + recorded.getRecordCount() + " trades");
+        }
+
+        // A closed journal refuses new records instead of losing them
+        try {
+            recorded.record(0, 0, 0, 1, 1, 0);
+            System.out.println("Recording after close: accepted");
+        } catch (IllegalStateException e) {
+            System.out.println("Recording after close: " + e.getMessage());
+        }
+
+        TradeJournalReader reader = new TradeJournalReader(journalFile);
+        System.out.println("Read back " + reader.size() + " trades of " + reader.getStrategyNames());
+
+        // The last record of each strategy must hold its final net worth
+        for (int i = reader.size() - strategies.size(); i < reader.size(); i++) {
+            int strategyId = reader.getStrategyId(i);
+            double expected = results.get(strategyId).getFinalNetWorth();
+            String check = reader.getNetWorth(i) == expected ? "matches" : "DIFFERS from " + expected;
+            System.out.println(names.get(strategyId) + ": journal net worth " + reader.getNetWorth(i) + " " + check);
+        }
+
+        reader.exportCsv(csvFile);
+        System.out.println("Exported the journal to CSV, " + Files.size(csvFile) + " bytes");
+
+        // Compare printing with journaling over many runs
+        int runs = 200;
+        long start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+            Backtest.runAll(stocks, strategies, 10000, new ConsoleTradeRecorder(names));
+        }
+        double consoleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        try (TradeJournal journal = new TradeJournal(journalFile, names)) {
+            for (int run = 0; run < runs; run++) {
+                Backtest.runAll(stocks, strategies, 10000, journal);
+            }
+        }
+        double journalSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+            Backtest.runAll(stocks, strategies, 10000);
+        }
+        double silentSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d runs: console %.3f s, journal %.3f s, no recording %.3f s%n",
+                runs, consoleSeconds, journalSeconds, silentSeconds);
+
+        Files.delete(journalFile);
+        Files.delete(csvFile);
+        Files.delete(directory);
+    }
+}
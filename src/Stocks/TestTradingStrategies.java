@@ -0,0 +1,49 @@
+package Stocks;
+
+import java.util.Set;
+
+/**
+ * The TestTradingStrategies class serves as a test for the TradingStrategy functionality.
+ * It runs every discovered strategy and a strategy defined here, without editing StockBot.
+ *
+ * @author petitoa
+ */
+public class TestTradingStrategies {
+    public static void main(String[] args) {
+        StockSeries stocks = new StockCsvLoader().loadSeries("AMZN.csv");
+
+        for (TradingStrategy strategy : TradingStrategies.discover()) {
+            System.out.println(Backtest.run(stocks, strategy, 10000));
+        }
+
+        // Buy a share whenever the open value drops below its 20 day average, sell one when it rises above
+        TradingStrategy meanReversion = new TradingStrategy() {
+            private final Indicator average = Indicator.movingAverage(20);
+
+            @Override
+            public String getName() {
+                return "meanReversion";
+            }
+
+            @Override
+            public Set<Indicator> getIndicators() {
+                return Set.of(average);
+            }
+
+            @Override
+            public int decide(MarketState state, NetWorth portfolio) {
+                double openValue = state.getOpenValue();
+                if (openValue < state.indicator(average) && portfolio.getNetWorth() > openValue) {
+                    return -1;
+                }
+                return openValue > state.indicator(average) ? 1 : 0;
+            }
+
+            @Override
+            public String toString() {
+                return getName();
+            }
+        };
+        System.out.println(Backtest.run(stocks, meanReversion, 10000));
+    }
+}
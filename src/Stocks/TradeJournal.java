@@ -0,0 +1,240 @@
+package Stocks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The TradeJournal class records trades as fixed-size binary records instead of printing them.
+ * Records are written into a preallocated ring buffer by the simulation and drained to a file by a background
+ * writer thread, so the simulation never builds a String or waits on the disk unless the ring is full.
+ * The journal can be read back, or exported to CSV, with TradeJournalReader.
+ * <p>
+ * The file starts with a header holding the strategy names, followed by one record per trade:
+ * day, strategy id, action, quantity (ints), price, net worth (doubles) and number of stocks (int).
+ * A journal takes the trades of one simulation at a time; record must not be called from several threads.
+ *
+ * @author petitoa
+ */
+public class TradeJournal implements TradeRecorder {
+    /**
+     * Identifies a trade journal file.
+     */
+    public static final int MAGIC = 0x544A524E;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of bytes in one record.
+     */
+    public static final int RECORD_SIZE = 36;
+
+    /**
+     * The action of a day on which nothing was traded.
+     */
+    public static final int HOLD = 0;
+
+    /**
+     * The action of a day on which stocks were bought.
+     */
+    public static final int BUY = 1;
+
+    /**
+     * The action of a day on which stocks were sold.
+     */
+    public static final int SELL = 2;
+
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+
+    // How long the writer sleeps when the ring is empty, and the simulation when it is full
+    private static final long WRITER_IDLE_NANOS = 1_000_000;
+    private static final long FULL_WAIT_NANOS = 10_000;
+
+    private final FileChannel channel;
+    private final ByteBuffer ring;
+    private final ByteBuffer drainView;
+    private final int capacity;
+    private final int mask;
+    private final Thread writer;
+
+    // Only written by the simulation thread
+    private long sequence;
+
+    private volatile long published;
+    private volatile long drained;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * Constructs a new TradeJournal with room for 65536 records in its ring buffer.
+     *
+     * @param file          The file the journal is written to, replacing any existing file.
+     * @param strategyNames The name of each strategy, in the order of the strategy ids.
+     * @throws RuntimeException If the file cannot be created.
+     */
+    public TradeJournal(Path file, List<String> strategyNames) {
+        this(file, strategyNames, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new TradeJournal.
+     *
+     * @param file          The file the journal is written to, replacing any existing file.
+     * @param strategyNames The name of each strategy, in the order of the strategy ids.
+     * @param capacity      The number of records the ring buffer holds, rounded up to a power of two.
+     * @throws IllegalArgumentException If the capacity is not between 1 and 2^24.
+     * @throws RuntimeException         If the file cannot be created.
+     */
+    public TradeJournal(Path file, List<String> strategyNames, int capacity) {
+        if (capacity < 1 || capacity > (1 << 24)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^24 records: " + capacity);
+        }
+        int rounded = Integer.highestOneBit(capacity);
+        this.capacity = rounded < capacity ? rounded << 1 : rounded;
+        this.mask = this.capacity - 1;
+        this.ring = ByteBuffer.allocateDirect(this.capacity * RECORD_SIZE);
+        this.drainView = ring.duplicate();
+
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            writeHeader(strategyNames);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while creating the trade journal " + file, e);
+        }
+
+        writer = new Thread(this::drain, "trade-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void writeHeader(List<String> strategyNames) throws IOException {
+        byte[][] names = new byte[strategyNames.size()][];
+        int headerSize = 16;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = strategyNames.get(i).getBytes(StandardCharsets.UTF_8);
+            headerSize += 4 + names[i].length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(names.length);
+        for (byte[] name : names) {
+            header.putInt(name.length).put(name);
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Adds a trade to the journal, waiting for the writer when the ring is full.
+     *
+     * @throws IllegalStateException If the journal has been closed.
+     * @throws RuntimeException      If a record could not be written.
+     */
+    @Override
+    public void record(int day, int strategyId, int trade, double price, double cash, int holdings) {
+        if (closed) {
+            throw new IllegalStateException("The trade journal is closed");
+        }
+        // Wait for the writer when the ring is full, nothing is dropped
+        while (sequence - drained >= capacity) {
+            if (failure != null) {
+                throw new RuntimeException("Error while writing the trade journal", failure);
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_WAIT_NANOS);
+        }
+
+        int offset = (int) (sequence & mask) * RECORD_SIZE;
+        ring.putInt(offset, day);
+        ring.putInt(offset + 4, strategyId);
+        ring.putInt(offset + 8, trade < 0 ? BUY : trade > 0 ? SELL : HOLD);
+        ring.putInt(offset + 12, Math.abs(trade));
+        ring.putDouble(offset + 16, price);
+        ring.putDouble(offset + 24, cash);
+        ring.putInt(offset + 32, holdings);
+
+        // Publishing the new sequence makes the record visible to the writer
+        sequence++;
+        published = sequence;
+    }
+
+    /**
+     * Gets the number of records written into the journal so far, including those not yet on disk.
+     *
+     * @return The number of records.
+     */
+    public long getRecordCount() {
+        return published;
+    }
+
+    /**
+     * Waits until every record has been written to the file and closes it.
+     *
+     * @throws RuntimeException If a record could not be written.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw new RuntimeException("Error while writing the trade journal", failure);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                // Read the flag first, so records published before closing are still drained
+                boolean finishing = closed;
+                long available = published;
+                long from = drained;
+
+                if (available == from) {
+                    if (finishing) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, WRITER_IDLE_NANOS);
+                    continue;
+                }
+
+                // Write up to the end of the ring, the rest is written on the next turn
+                int start = (int) (from & mask);
+                int count = (int) Math.min(available - from, capacity - start);
+                drainView.limit((start + count) * RECORD_SIZE).position(start * RECORD_SIZE);
+                while (drainView.hasRemaining()) {
+                    channel.write(drainView);
+                }
+                drained = from + count;
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+}
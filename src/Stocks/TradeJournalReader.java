@@ -0,0 +1,191 @@
+package Stocks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The TradeJournalReader class reads a file written by TradeJournal.
+ * The file is memory-mapped and records are read in place by index, and the whole journal can be exported to CSV.
+ * Journals up to 2 GB are supported.
+ *
+ * @author petitoa
+ */
+public class TradeJournalReader {
+    private final List<String> strategyNames;
+    private final ByteBuffer records;
+    private final int size;
+
+    /**
+     * Constructs a new TradeJournalReader by mapping a trade journal file.
+     *
+     * @param file The trade journal file.
+     * @throws IllegalArgumentException If the file is not a trade journal.
+     * @throws RuntimeException         If the file cannot be read.
+     */
+    public TradeJournalReader(Path file) {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Trade journal is larger than 2 GB: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading the trade journal " + file, e);
+        }
+
+        if (buffer.remaining() < 16 || buffer.getInt() != TradeJournal.MAGIC) {
+            throw new IllegalArgumentException("Not a trade journal: " + file);
+        }
+        int version = buffer.getInt();
+        int recordSize = buffer.getInt();
+        if (version != TradeJournal.VERSION || recordSize != TradeJournal.RECORD_SIZE) {
+            throw new IllegalArgumentException("Unsupported trade journal version " + version + ": " + file);
+        }
+
+        int nameCount = buffer.getInt();
+        List<String> names = new ArrayList<>(nameCount);
+        for (int i = 0; i < nameCount; i++) {
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        this.strategyNames = Collections.unmodifiableList(names);
+
+        // A record cut short by a crash is ignored
+        this.records = buffer.slice();
+        this.size = records.remaining() / TradeJournal.RECORD_SIZE;
+    }
+
+    /**
+     * Gets the names of the strategies recorded in the journal.
+     *
+     * @return The names, in the order of the strategy ids.
+     */
+    public List<String> getStrategyNames() {
+        return strategyNames;
+    }
+
+    /**
+     * Gets the number of records in the journal.
+     *
+     * @return The number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the day of a record.
+     *
+     * @param record The index of the record.
+     * @return The day of the simulation.
+     */
+    public int getDay(int record) {
+        return records.getInt(offset(record));
+    }
+
+    /**
+     * Gets the strategy of a record.
+     *
+     * @param record The index of the record.
+     * @return The strategy id, an index into getStrategyNames.
+     */
+    public int getStrategyId(int record) {
+        return records.getInt(offset(record) + 4);
+    }
+
+    /**
+     * Gets the action of a record.
+     *
+     * @param record The index of the record.
+     * @return TradeJournal.BUY, TradeJournal.SELL or TradeJournal.HOLD.
+     */
+    public int getAction(int record) {
+        return records.getInt(offset(record) + 8);
+    }
+
+    /**
+     * Gets the number of stocks the strategy asked to trade.
+     *
+     * @param record The index of the record.
+     * @return The quantity, never negative.
+     */
+    public int getQuantity(int record) {
+        return records.getInt(offset(record) + 12);
+    }
+
+    /**
+     * Gets the price of the stock for the trade.
+     *
+     * @param record The index of the record.
+     * @return The price.
+     */
+    public double getPrice(int record) {
+        return records.getDouble(offset(record) + 16);
+    }
+
+    /**
+     * Gets the net worth of the portfolio after the trade.
+     *
+     * @param record The index of the record.
+     * @return The net worth.
+     */
+    public double getNetWorth(int record) {
+        return records.getDouble(offset(record) + 24);
+    }
+
+    /**
+     * Gets the number of stocks in the portfolio after the trade.
+     *
+     * @param record The index of the record.
+     * @return The number of stocks.
+     */
+    public int getStockQuantity(int record) {
+        return records.getInt(offset(record) + 32);
+    }
+
+    /**
+     * Writes every record of the journal to a CSV file.
+     *
+     * @param outputFile The CSV file to write.
+     * @throws RuntimeException If the file cannot be written.
+     */
+    public void exportCsv(Path outputFile) {
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile)) {
+            writer.write("Day,Trade Method,Action,Quantity,Price,Net Worth,Num of stocks");
+            writer.newLine();
+            for (int i = 0; i < size; i++) {
+                writer.write(getDay(i) + "," + strategyNames.get(getStrategyId(i)) + "," + actionName(getAction(i)) + ","
+                        + getQuantity(i) + "," + getPrice(i) + "," + getNetWorth(i) + "," + getStockQuantity(i));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the trade journal to the CSV file", e);
+        }
+    }
+
+    private int offset(int record) {
+        return Objects.checkIndex(record, size) * TradeJournal.RECORD_SIZE;
+    }
+
+    private static String actionName(int action) {
+        switch (action) {
+            case TradeJournal.BUY:
+                return "Buy";
+            case TradeJournal.SELL:
+                return "Sell";
+            default:
+                return "Hold";
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package Stocks;
+
+/**
+ * The TradeRecorder interface receives the trade every strategy made on every day of a simulation.
+ * The simulation loop always calls the recorder, so logging is switched per run by the recorder passed in:
+ * NONE records nothing, ConsoleTradeRecorder prints the original per day line and TradeJournal
+ * writes binary records to a file from a background thread.
+ *
+ * @author petitoa
+ */
+public interface TradeRecorder extends AutoCloseable {
+
+    /**
+     * A recorder that records nothing.
+     */
+    TradeRecorder NONE = (day, strategyId, trade, price, cash, holdings) -> {
+    };
+
+    /**
+     * Records the trade of a strategy on a day, after the portfolio was updated.
+     *
+     * @param day        The current day of the simulation.
+     * @param strategyId The index of the strategy in the run.
+     * @param trade      The number of stocks bought (negative), sold (positive) or 0 when holding.
+     * @param price      The price of the stock for the trade.
+     * @param cash       The net worth of the portfolio after the trade.
+     * @param holdings   The number of stocks in the portfolio after the trade.
+     */
+    void record(int day, int strategyId, int trade, double price, double cash, int holdings);
+
+    /**
+     * Finishes recording, writing out anything still buffered.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,122 @@
+package Stocks;
+
+/**
+ * The TradeRules class holds the decision logic of the three trade methods as static methods.
+ * Keeping them outside StockBot lets the TradingStrategy implementations run without creating a JFrame.
+ * Every rule returns the number of stocks to buy (negative), sell (positive), or take no action (0).
+ *
+ * @author petitoa
+ */
+public final class TradeRules {
+
+    private TradeRules() {
+    }
+
+    /**
+     * Evaluates the number of stocks to buy or sell based on the net worth, heuristic (mean), RSI and current stock price.
+     * Before the RSI is available only the heuristic is used.
+     *
+     * @param netWorth   The current NetWorth object representing the portfolio's net worth.
+     * @param heuristic  The calculated heuristic (mean) based on recent stock data.
+     * @param openValue  The current stock price.
+     * @param rsiForDay  The RSI value for the current day.
+     * @param day        The current day of the simulation.
+     * @param parameters The thresholds, portfolio percent and RSI period.
+     * @return The number of stocks to buy (negative) or sell (positive) based on the evaluation.
+     */
+    public static int rsiAndHeuristic(NetWorth netWorth, double heuristic, double openValue, double rsiForDay, int day,
+                                      StrategyParameters parameters) {
+        double portfolioPercent = parameters.getPortfolioPercent();
+
+        // If it's the first day, buy with half of the net worth to establish a portfolio
+        if (day == 0) {
+            return -(int) ((0.5 * netWorth.getNetWorth()) / openValue);
+        }
+
+        //If there are not enough prior dates to calculate rsi use heuristic instead
+        if (day < parameters.getRsiPeriod()) {
+            if (openValue < heuristic) {
+                return -(int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
+            } else if (openValue > heuristic) {
+                return (int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
+            } else {
+                return 0;
+            }
+        } else {
+            if (openValue < heuristic && rsiForDay < parameters.getOversoldThreshold()) {
+                // Buy condition: If the stock price is below the mean and RSI indicates oversold
+                return -(int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
+            } else if (openValue > heuristic && rsiForDay > parameters.getOverboughtThreshold()) {
+                // Sell condition: If the stock price is above the mean and RSI indicates overbought
+                return (int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
+            } else {
+                return 0; // Hold condition: No action
+            }
+        }
+    }
+
+    /**
+     * If it is the first day, the method buys stocks with the full portfolio value.
+     * On the last day of the 251 day AMZN series, it sells all stocks in the portfolio.
+     * Otherwise, it takes no action.
+     *
+     * @param netWorth  The current NetWorth object representing the portfolio's net worth.
+     * @param openValue The open value for the stock object.
+     * @param day       The current day of the simulation.
+     * @return The number of stocks to buy (negative) on the first day, sell (positive) on the last day,
+     * or take no action (0) on other days.
+     */
+    public static int buyAndHold(NetWorth netWorth, double openValue, int day) {
+        return buyAndHold(netWorth, openValue, day, 250);
+    }
+
+    /**
+     * If it is the first day, the method buys stocks with the full portfolio value.
+     * On the last day, it sells all stocks in the portfolio.
+     * Otherwise, it takes no action.
+     *
+     * @param netWorth  The current NetWorth object representing the portfolio's net worth.
+     * @param openValue The open value for the stock object.
+     * @param day       The current day of the simulation.
+     * @param lastDay   The last day of the simulation, one less than the number of days of the series.
+     * @return The number of stocks to buy (negative) on the first day, sell (positive) on the last day,
+     * or take no action (0) on other days.
+     */
+    public static int buyAndHold(NetWorth netWorth, double openValue, int day, int lastDay) {
+        //If it is the first day
+        if (day == 0) {
+            // buy with full portfolio value
+            return -(int) ((netWorth.getNetWorth()) / openValue);
+            //If it's the last day
+        } else if (day == lastDay) {
+            // Sell all stocks on the last day
+            return netWorth.getStockQuantity();
+        }
+        return 0; // No action
+    }
+
+    /**
+     * Evaluates the number of stocks to buy or sell based on the net worth, heuristic (mean), RSI and current stock price.
+     *
+     * @param netWorth   The current NetWorth object representing the portfolio's net worth.
+     * @param heuristic  The calculated heuristic (mean) based on recent stock data.
+     * @param openValue  The open value of the stock.
+     * @param rsiForDay  The RSI value for the current day.
+     * @param parameters The thresholds and portfolio percent.
+     * @return The number of stocks to buy (negative) or sell (positive) based on the evaluation.
+     */
+    public static int rsiAndMovingAverage(NetWorth netWorth, double heuristic, double openValue, double rsiForDay,
+                                          StrategyParameters parameters) {
+        double portfolioPercent = parameters.getPortfolioPercent();
+
+        if (openValue < heuristic && rsiForDay < parameters.getOversoldThreshold()) {
+            // Buy: If the stock price is below the mean and RSI indicates oversold
+            return -(int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
+        } else if (openValue > heuristic && rsiForDay > parameters.getOverboughtThreshold()) {
+            // Sell: If the stock price is above the mean and RSI indicates overbought
+            return (int) ((portfolioPercent * netWorth.getNetWorth()) / openValue);
+        } else {
+            return 0; // Hold: No action
+        }
+    }
+}
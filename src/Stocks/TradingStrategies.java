@@ -0,0 +1,86 @@
+package Stocks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The TradingStrategies class finds trading strategies: the three built-in trade methods and any strategy
+ * registered through java.util.ServiceLoader, so new strategies can be added without editing StockBot.
+ *
+ * @author petitoa
+ */
+public final class TradingStrategies {
+
+    private TradingStrategies() {
+    }
+
+    /**
+     * Gets the built-in strategy of a trade method with its original parameters.
+     *
+     * @param tradeMethod The trade methods:
+     *                    - 1: RSI and Heuristic Trade Evaluator
+     *                    - 2: Buy and Hold
+     *                    - 3: RSI and Moving Average
+     * @return The strategy of the trade method.
+     * @throws IllegalArgumentException If an invalid trade method code is provided.
+     */
+    public static TradingStrategy forTradeMethod(int tradeMethod) {
+        return forTradeMethod(tradeMethod, StrategyParameters.defaultsFor(tradeMethod));
+    }
+
+    /**
+     * Gets the built-in strategy of a trade method.
+     *
+     * @param tradeMethod The trade method, see forTradeMethod(int).
+     * @param parameters  The thresholds, portfolio percent, window size and RSI period, ignored by Buy and Hold.
+     * @return The strategy of the trade method.
+     * @throws IllegalArgumentException If an invalid trade method code is provided.
+     */
+    public static TradingStrategy forTradeMethod(int tradeMethod, StrategyParameters parameters) {
+        return switch (tradeMethod) {
+            case 1 -> new RsiAndHeuristicStrategy(parameters);
+            case 2 -> new BuyAndHoldStrategy();
+            case 3 -> new RsiAndMovingAverageStrategy(parameters);
+            default -> throw new IllegalArgumentException("Invalid trade method: " + tradeMethod);
+        };
+    }
+
+    /**
+     * Gets the three built-in strategies with their original parameters, in trade method order.
+     *
+     * @return The built-in strategies.
+     */
+    public static List<TradingStrategy> builtIn() {
+        return List.of(forTradeMethod(1), forTradeMethod(2), forTradeMethod(3));
+    }
+
+    /**
+     * Gets the built-in strategies followed by every strategy registered through ServiceLoader.
+     *
+     * @return All strategies that could be found.
+     */
+    public static List<TradingStrategy> discover() {
+        List<TradingStrategy> strategies = new ArrayList<>(builtIn());
+        for (TradingStrategy strategy : ServiceLoader.load(TradingStrategy.class)) {
+            strategies.add(strategy);
+        }
+        return strategies;
+    }
+
+    /**
+     * Finds a strategy by its name.
+     *
+     * @param name The name of the strategy.
+     * @return The first discovered strategy with that name.
+     * @throws IllegalArgumentException If no strategy has that name.
+     */
+    public static TradingStrategy byName(String name) {
+        for (TradingStrategy strategy : discover()) {
+            if (strategy.getName().equals(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown trading strategy: " + name);
+    }
+}
@@ -0,0 +1,39 @@
+package Stocks;
+
+import java.util.Set;
+
+/**
+ * The TradingStrategy interface decides how many stocks to trade each day of a simulation.
+ * A strategy declares the indicators it needs, and only those are computed for it.
+ * Strategies with a public no-argument constructor can be listed in
+ * META-INF/services/Stocks.TradingStrategy to be found by TradingStrategies.discover.
+ *
+ * @author petitoa
+ */
+public interface TradingStrategy {
+
+    /**
+     * Gets the name the strategy is listed under.
+     *
+     * @return The name of the strategy.
+     */
+    String getName();
+
+    /**
+     * Gets the indicators the strategy asks the MarketState for.
+     *
+     * @return The declared indicators, empty if the strategy needs none.
+     */
+    default Set<Indicator> getIndicators() {
+        return Set.of();
+    }
+
+    /**
+     * Decides the trade for the current day of the market state.
+     *
+     * @param state     The read-only view of the market on the current day.
+     * @param portfolio The current NetWorth object representing the portfolio's net worth.
+     * @return The number of stocks to buy (negative), sell (positive), or take no action (0).
+     */
+    int decide(MarketState state, NetWorth portfolio);
+}
@@ -0,0 +1,256 @@
+package Storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ColumnFile class reads a binary columnar file written by ColumnFileWriter.
+ * Each column is memory-mapped on its own, and the getters return views of the mapping, so opening a file
+ * reads only its header and a value is read from the page cache the first time it is used, with no parsing.
+ * <p>
+ * All numbers in the file are little-endian. The file starts with a header:
+ * magic, version (ints), row count (long), column count and a reserved int, then for each column its type code,
+ * name length (ints), offset of its values (long) and its UTF-8 name. The values of each column follow,
+ * one after the other, each column starting on an 8 byte boundary. A single column holds at most 2 GB.
+ * <p>
+ * The mapping stays valid after the file is opened and is released once no view of it is used.
+ * Views are read-only and may be read from several threads at once.
+ *
+ * @author petitoa
+ */
+public class ColumnFile {
+    /**
+     * Identifies a column file.
+     */
+    public static final int MAGIC = 0x434F4C53;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    // Bytes before the first column entry, and in each entry before its name
+    static final int HEADER_SIZE = 24;
+    static final int ENTRY_SIZE = 16;
+
+    private final Path file;
+    private final int rowCount;
+    private final List<String> names;
+    private final ColumnType[] types;
+    private final ByteBuffer[] columns;
+
+    private ColumnFile(Path file, int rowCount, List<String> names, ColumnType[] types, ByteBuffer[] columns) {
+        this.file = file;
+        this.rowCount = rowCount;
+        this.names = names;
+        this.types = types;
+        this.columns = columns;
+    }
+
+    /**
+     * Opens a column file by mapping each of its columns.
+     *
+     * @param file The column file.
+     * @return The opened file.
+     * @throws IllegalArgumentException If the file is not a column file or is cut short.
+     * @throws RuntimeException         If the file cannot be read.
+     */
+    public static ColumnFile open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer start = read(channel, 0, HEADER_SIZE, file);
+            if (start.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a column file: " + file);
+            }
+            int version = start.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported column file version " + version + ": " + file);
+            }
+            long rows = start.getLong();
+            int columnCount = start.getInt();
+            if (rows < 0 || rows > Integer.MAX_VALUE || columnCount < 0) {
+                throw new IllegalArgumentException("Corrupt column file header: " + file);
+            }
+            int rowCount = (int) rows;
+
+            List<String> names = new ArrayList<>(columnCount);
+            ColumnType[] types = new ColumnType[columnCount];
+            ByteBuffer[] columns = new ByteBuffer[columnCount];
+            long position = HEADER_SIZE;
+            for (int c = 0; c < columnCount; c++) {
+                ByteBuffer entry = read(channel, position, ENTRY_SIZE, file);
+                types[c] = ColumnType.fromCode(entry.getInt());
+                int nameLength = entry.getInt();
+                long offset = entry.getLong();
+                ByteBuffer name = read(channel, position + ENTRY_SIZE, nameLength, file);
+                names.add(StandardCharsets.UTF_8.decode(name).toString());
+                position += ENTRY_SIZE + nameLength;
+
+                long bytes = (long) rowCount * types[c].getWidth();
+                if (bytes > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Column " + names.get(c) + " is larger than 2 GB: " + file);
+                }
+                if (offset < position || offset + bytes > size) {
+                    throw new IllegalArgumentException("Column " + names.get(c) + " lies outside the file: " + file);
+                }
+                columns[c] = channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new ColumnFile(file, rowCount, Collections.unmodifiableList(names), types, columns);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading the column file " + file, e);
+        }
+    }
+
+    /**
+     * Gets the number of rows, the same in every column.
+     *
+     * @return The number of rows.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the names of the columns.
+     *
+     * @return The names, in the order the columns were written.
+     */
+    public List<String> getColumnNames() {
+        return names;
+    }
+
+    /**
+     * Gets the index of a column.
+     *
+     * @param name The name of the column.
+     * @return The index of the column, or -1 if the file has no column with the name.
+     */
+    public int indexOf(String name) {
+        return names.indexOf(name);
+    }
+
+    /**
+     * Gets the type of a column.
+     *
+     * @param column The index of the column.
+     * @return The type of the column.
+     */
+    public ColumnType getType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Gets a view of a column of doubles, mapped from the file without copying.
+     *
+     * @param name The name of the column.
+     * @return A read-only view of the column, positioned at row 0.
+     * @throws IllegalArgumentException If the file has no such column or it is not of type DOUBLE.
+     */
+    public DoubleBuffer getDoubles(String name) {
+        return column(name, ColumnType.DOUBLE).asDoubleBuffer();
+    }
+
+    /**
+     * Gets a view of a column of longs, mapped from the file without copying.
+     *
+     * @param name The name of the column.
+     * @return A read-only view of the column, positioned at row 0.
+     * @throws IllegalArgumentException If the file has no such column or it is not of type LONG.
+     */
+    public LongBuffer getLongs(String name) {
+        return column(name, ColumnType.LONG).asLongBuffer();
+    }
+
+    /**
+     * Gets a view of a column of ints or dates, mapped from the file without copying.
+     *
+     * @param name The name of the column.
+     * @return A read-only view of the column, dates as days since 1970-01-01, positioned at row 0.
+     * @throws IllegalArgumentException If the file has no such column or it is not of type INT or DATE.
+     */
+    public IntBuffer getInts(String name) {
+        ByteBuffer column = column(name, null);
+        ColumnType type = types[indexOf(name)];
+        if (type != ColumnType.INT && type != ColumnType.DATE) {
+            throw new IllegalArgumentException("Column " + name + " is " + type + ", not INT or DATE: " + file);
+        }
+        return column.asIntBuffer();
+    }
+
+    /**
+     * Copies a column of doubles into a new array.
+     *
+     * @param name The name of the column.
+     * @return The values of the column.
+     * @throws IllegalArgumentException If the file has no such column or it is not of type DOUBLE.
+     */
+    public double[] readDoubles(String name) {
+        double[] values = new double[rowCount];
+        getDoubles(name).get(values);
+        return values;
+    }
+
+    /**
+     * Copies a column of longs into a new array.
+     *
+     * @param name The name of the column.
+     * @return The values of the column.
+     * @throws IllegalArgumentException If the file has no such column or it is not of type LONG.
+     */
+    public long[] readLongs(String name) {
+        long[] values = new long[rowCount];
+        getLongs(name).get(values);
+        return values;
+    }
+
+    /**
+     * Copies a column of ints or dates into a new array.
+     *
+     * @param name The name of the column.
+     * @return The values of the column.
+     * @throws IllegalArgumentException If the file has no such column or it is not of type INT or DATE.
+     */
+    public int[] readInts(String name) {
+        int[] values = new int[rowCount];
+        getInts(name).get(values);
+        return values;
+    }
+
+    /**
+     * Gets a private duplicate of a mapped column, so callers never share a position.
+     *
+     * @param name     The name of the column.
+     * @param expected The type the column must have, or null to accept any type.
+     */
+    private ByteBuffer column(String name, ColumnType expected) {
+        int c = indexOf(name);
+        if (c < 0) {
+            throw new IllegalArgumentException("No column " + name + " in " + file);
+        }
+        if (expected != null && types[c] != expected) {
+            throw new IllegalArgumentException("Column " + name + " is " + types[c] + ", not " + expected + ": " + file);
+        }
+        return columns[c].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalArgumentException("Column file is cut short: " + file);
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,182 @@
+package Storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ColumnFileWriter class writes columns of primitive values to a file in the layout read by ColumnFile.
+ * Columns are added as arrays and written straight from them in large chunks, no value is turned into text.
+ * Every column of a file must have the same number of rows.
+ *
+ * @author petitoa
+ */
+public class ColumnFileWriter {
+    // Bytes copied into the direct buffer per write
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<ColumnType> types = new ArrayList<>();
+    private final List<Object> columns = new ArrayList<>();
+    private int rowCount = -1;
+
+    /**
+     * Adds a column of doubles.
+     *
+     * @param name   The name of the column.
+     * @param values The values of the column, not copied, so they must not change before the file is written.
+     * @return This writer.
+     * @throws IllegalArgumentException If the name is taken or the column has a different number of rows.
+     */
+    public ColumnFileWriter addDoubles(String name, double[] values) {
+        return add(name, ColumnType.DOUBLE, values, values.length);
+    }
+
+    /**
+     * Adds a column of longs.
+     *
+     * @param name   The name of the column.
+     * @param values The values of the column, not copied.
+     * @return This writer.
+     * @throws IllegalArgumentException If the name is taken or the column has a different number of rows.
+     */
+    public ColumnFileWriter addLongs(String name, long[] values) {
+        return add(name, ColumnType.LONG, values, values.length);
+    }
+
+    /**
+     * Adds a column of ints.
+     *
+     * @param name   The name of the column.
+     * @param values The values of the column, not copied.
+     * @return This writer.
+     * @throws IllegalArgumentException If the name is taken or the column has a different number of rows.
+     */
+    public ColumnFileWriter addInts(String name, int[] values) {
+        return add(name, ColumnType.INT, values, values.length);
+    }
+
+    /**
+     * Adds a column of dates.
+     *
+     * @param name      The name of the column.
+     * @param epochDays The dates as days since 1970-01-01, not copied.
+     * @return This writer.
+     * @throws IllegalArgumentException If the name is taken or the column has a different number of rows.
+     */
+    public ColumnFileWriter addDates(String name, int[] epochDays) {
+        return add(name, ColumnType.DATE, epochDays, epochDays.length);
+    }
+
+    /**
+     * Gets the number of rows of the columns added so far.
+     *
+     * @return The number of rows, 0 if no column was added.
+     */
+    public int getRowCount() {
+        return Math.max(0, rowCount);
+    }
+
+    /**
+     * Writes the columns to a file, replacing the file if it exists.
+     *
+     * @param file The file written.
+     * @throws RuntimeException If the file cannot be written.
+     */
+    public void write(Path file) {
+        List<byte[]> encodedNames = new ArrayList<>(names.size());
+        long headerSize = ColumnFile.HEADER_SIZE;
+        for (String name : names) {
+            byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+            encodedNames.add(encoded);
+            headerSize += ColumnFile.ENTRY_SIZE + encoded.length;
+        }
+
+        // Every column starts on an 8 byte boundary, so mapped views of it are aligned
+        long[] offsets = new long[columns.size()];
+        long position = align(headerSize);
+        for (int c = 0; c < columns.size(); c++) {
+            offsets[c] = position;
+            position = align(position + (long) getRowCount() * types.get(c).getWidth());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate((int) align(headerSize)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(ColumnFile.MAGIC);
+        header.putInt(ColumnFile.VERSION);
+        header.putLong(getRowCount());
+        header.putInt(columns.size());
+        header.putInt(0);
+        for (int c = 0; c < columns.size(); c++) {
+            header.putInt(types.get(c).getCode());
+            header.putInt(encodedNames.get(c).length);
+            header.putLong(offsets[c]);
+            header.put(encodedNames.get(c));
+        }
+        header.position(header.capacity());
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int c = 0; c < columns.size(); c++) {
+                writeColumn(channel, buffer, types.get(c), columns.get(c));
+
+                long padding = (c + 1 < columns.size() ? offsets[c + 1] : position) - channel.position();
+                if (padding > 0) {
+                    writeFully(channel, ByteBuffer.allocate((int) padding));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the column file " + file, e);
+        }
+    }
+
+    private ColumnFileWriter add(String name, ColumnType type, Object values, int length) {
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate column name: " + name);
+        }
+        if (rowCount >= 0 && length != rowCount) {
+            throw new IllegalArgumentException("Column " + name + " has " + length + " rows, expected " + rowCount);
+        }
+        rowCount = length;
+        names.add(name);
+        types.add(type);
+        columns.add(values);
+        return this;
+    }
+
+    /**
+     * Copies a column into the direct buffer one chunk at a time and writes each chunk.
+     */
+    private void writeColumn(FileChannel channel, ByteBuffer buffer, ColumnType type, Object values) throws IOException {
+        int perChunk = CHUNK_SIZE / type.getWidth();
+        for (int from = 0; from < rowCount; from += perChunk) {
+            int count = Math.min(perChunk, rowCount - from);
+            buffer.clear();
+            switch (type) {
+                case DOUBLE -> buffer.asDoubleBuffer().put((double[]) values, from, count);
+                case LONG -> buffer.asLongBuffer().put((long[]) values, from, count);
+                default -> buffer.asIntBuffer().put((int[]) values, from, count);
+            }
+            buffer.limit(count * type.getWidth());
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
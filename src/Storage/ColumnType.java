@@ -0,0 +1,71 @@
+package Storage;
+
+/**
+ * The ColumnType enum lists the types a column of a ColumnFile can hold.
+ * The code of a type is what the file stores, so codes must never change once files have been written.
+ *
+ * @author petitoa
+ */
+public enum ColumnType {
+    /**
+     * 64-bit floating point values.
+     */
+    DOUBLE(1, Double.BYTES),
+
+    /**
+     * 64-bit integers, such as traded volumes.
+     */
+    LONG(2, Long.BYTES),
+
+    /**
+     * 32-bit integers.
+     */
+    INT(3, Integer.BYTES),
+
+    /**
+     * Dates as 32-bit days since 1970-01-01, written to CSV as yyyy-mm-dd.
+     */
+    DATE(4, Integer.BYTES);
+
+    private final int code;
+    private final int width;
+
+    ColumnType(int code, int width) {
+        this.code = code;
+        this.width = width;
+    }
+
+    /**
+     * Gets the code the type is stored as in a file.
+     *
+     * @return The code of the type.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the number of bytes one value of the type takes.
+     *
+     * @return The width of a value in bytes.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the type stored as a code.
+     *
+     * @param code The code read from a file.
+     * @return The type with the code.
+     * @throws IllegalArgumentException If no type has the code.
+     */
+    public static ColumnType fromCode(int code) {
+        for (ColumnType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column type " + code);
+    }
+}
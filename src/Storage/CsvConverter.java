@@ -0,0 +1,193 @@
+package Storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The CsvConverter class converts between the CSV files written by the project and column files.
+ * Numeric CSV files such as points.csv, salted-points.csv and smoothed-points.csv become one DOUBLE column per
+ * field, named after the header. Stock CSV files are converted with StockSeries instead, which keeps their dates
+ * and volumes.
+ * <p>
+ * Column files are written back in the layout of the CSV writers: the header, then each row on a new line,
+ * doubles as Double.toString writes them, so converting a CSV file there and back gives the same values.
+ *
+ * @author petitoa
+ */
+public final class CsvConverter {
+
+    private CsvConverter() {
+    }
+
+    /**
+     * Converts a numeric CSV file with a header line to a column file.
+     * Every row must have as many fields as the header has names, one column is written per name.
+     * Empty fields and fields that are not numbers become NaN.
+     *
+     * @param csvFile    The CSV file to be converted.
+     * @param columnFile The column file written.
+     * @return The number of rows converted.
+     * @throws IllegalArgumentException If the file has no header line or a row has more or fewer fields than the header.
+     * @throws RuntimeException         If a file cannot be read or written.
+     */
+    public static int toColumns(Path csvFile, Path columnFile) {
+        String[] header;
+        double[][] columns;
+        int rows = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("CSV file has no header: " + csvFile);
+            }
+            header = line.trim().split(",", -1);
+            columns = new double[header.length][1024];
+
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int fields = fieldCount(line);
+                if (fields != header.length) {
+                    throw new IllegalArgumentException("Line " + lineNumber + " of " + csvFile + " has " + fields
+                            + " fields, the header has " + header.length);
+                }
+                if (rows == columns[0].length) {
+                    for (int c = 0; c < columns.length; c++) {
+                        columns[c] = Arrays.copyOf(columns[c], rows * 2);
+                    }
+                }
+                parseRow(line, columns, rows);
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading the CSV file " + csvFile, e);
+        }
+
+        ColumnFileWriter writer = new ColumnFileWriter();
+        for (int c = 0; c < columns.length; c++) {
+            writer.addDoubles(header[c].trim(), Arrays.copyOf(columns[c], rows));
+        }
+        writer.write(columnFile);
+        return rows;
+    }
+
+    /**
+     * Converts every column of a column file to a CSV file.
+     *
+     * @param columnFile The column file to be converted.
+     * @param csvFile    The CSV file written.
+     * @throws RuntimeException If a file cannot be read or written.
+     */
+    public static void toCsv(Path columnFile, Path csvFile) {
+        ColumnFile file = ColumnFile.open(columnFile);
+        toCsv(file, file.getColumnNames(), csvFile);
+    }
+
+    /**
+     * Converts chosen columns of a column file to a CSV file, in the given order.
+     *
+     * @param columnFile The column file to be converted.
+     * @param names      The names of the columns written.
+     * @param csvFile    The CSV file written.
+     * @throws IllegalArgumentException If the column file has no column with one of the names.
+     * @throws RuntimeException         If a file cannot be read or written.
+     */
+    public static void toCsv(Path columnFile, List<String> names, Path csvFile) {
+        toCsv(ColumnFile.open(columnFile), names, csvFile);
+    }
+
+    private static void toCsv(ColumnFile file, List<String> names, Path csvFile) {
+        List<Buffer> columns = new ArrayList<>(names.size());
+        List<ColumnType> types = new ArrayList<>(names.size());
+        for (String name : names) {
+            int c = file.indexOf(name);
+            if (c < 0) {
+                throw new IllegalArgumentException("No column " + name + " in the column file");
+            }
+            ColumnType type = file.getType(c);
+            types.add(type);
+            switch (type) {
+                case DOUBLE -> columns.add(file.getDoubles(name));
+                case LONG -> columns.add(file.getLongs(name));
+                default -> columns.add(file.getInts(name));
+            }
+        }
+
+        try (BufferedWriter bw = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+            // Write Header
+            bw.write(String.join(",", names));
+
+            StringBuilder row = new StringBuilder();
+            for (int r = 0; r < file.getRowCount(); r++) {
+                row.setLength(0);
+                for (int c = 0; c < columns.size(); c++) {
+                    if (c > 0) {
+                        row.append(',');
+                    }
+                    switch (types.get(c)) {
+                        case DOUBLE -> row.append(((DoubleBuffer) columns.get(c)).get(r));
+                        case LONG -> row.append(((LongBuffer) columns.get(c)).get(r));
+                        case INT -> row.append(((IntBuffer) columns.get(c)).get(r));
+                        case DATE -> row.append(LocalDate.ofEpochDay(((IntBuffer) columns.get(c)).get(r)));
+                    }
+                }
+                bw.newLine();
+                bw.append(row);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing the CSV file " + csvFile, e);
+        }
+    }
+
+    private static int fieldCount(String line) {
+        int fields = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ',') {
+                fields++;
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Parses the fields of one row into the columns, at the given row.
+     * The row holds one field per column.
+     */
+    private static void parseRow(String line, double[][] columns, int row) {
+        int start = 0;
+        for (int c = 0; c < columns.length; c++) {
+            int end = line.indexOf(',', start);
+            if (end < 0) {
+                end = line.length();
+            }
+            columns[c][row] = parseField(line.substring(start, end).trim());
+            start = end + 1;
+        }
+    }
+
+    private static double parseField(String field) {
+        if (field.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(field);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
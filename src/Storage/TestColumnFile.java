@@ -0,0 +1,159 @@
+package Storage;
+
+import Part1.GraphSmoother;
+import Part1.Plotter;
+import Part1.Point;
+import Part1.Salter;
+import Salting.NoiseModel;
+import Smoothing.ParallelSmoother;
+import Stocks.StockCsvLoader;
+import Stocks.StockSeries;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The TestColumnFile class serves as a test for the ColumnFile, ColumnFileWriter and CsvConverter functionality.
+ * It converts the CSV files of the project to column files and back, runs the plot, salt and smooth stages
+ * through column files, and times reloading a long series from CSV against reloading it from a column file.
+ * It reads the CSV files of the repository by their relative names, so it must run from the repository directory.
+ * Everything it writes goes to a temporary directory, deleted at the end.
+ *
+ * @author petitoa
+ */
+public class TestColumnFile {
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path directory = Files.createTempDirectory("columns");
+
+        // CSV files convert to column files and back to the same lines
+        for (String csv : new String[]{"points.csv", "salted-points.csv", "smoothed-points.csv"}) {
+            Path columns = directory.resolve(csv + ".cols");
+            Path back = directory.resolve(csv);
+            int rows = CsvConverter.toColumns(Path.of(csv), columns);
+            CsvConverter.toCsv(columns, back);
+            System.out.println(csv + ": " + rows + " rows, " + ColumnFile.open(columns).getColumnNames()
+                    + ", same values " + sameRows(Path.of(csv), back));
+        }
+
+        // smoothed-stocks.csv keeps the stock header over rows of a date and an opening value
+        try {
+            CsvConverter.toColumns(Path.of("smoothed-stocks.csv"), directory.resolve("smoothed-stocks.cols"));
+            System.out.println("smoothed-stocks.csv: converted");
+        } catch (IllegalArgumentException e) {
+            System.out.println("smoothed-stocks.csv: " + e.getMessage());
+        }
+
+        // Stock files keep their dates and volumes
+        Path stockColumns = directory.resolve("AMZN.cols");
+        StockCsvLoader loader = new StockCsvLoader();
+        loader.convertToColumns("AMZN.csv", stockColumns);
+        StockSeries loaded = loader.loadSeries("AMZN.csv");
+        StockSeries reloaded = StockSeries.readColumns(stockColumns);
+        boolean sameSeries = loaded.size() == reloaded.size();
+        for (int i = 0; i < loaded.size() && sameSeries; i++) {
+            sameSeries = loaded.getEpochDay(i) == reloaded.getEpochDay(i)
+                    && loaded.getOpenValue(i) == reloaded.getOpenValue(i)
+                    && loaded.getAdjCloseValue(i) == reloaded.getAdjCloseValue(i)
+                    && loaded.getVolume(i) == reloaded.getVolume(i);
+        }
+        Path stockCsv = directory.resolve("AMZN.csv");
+        CsvConverter.toCsv(stockColumns, StockSeries.STOCK_CSV_COLUMNS, stockCsv);
+        System.out.println("AMZN.csv: " + reloaded.size() + " days, same series " + sameSeries
+                + ", same CSV lines " + sameRows(Path.of("AMZN.csv"), stockCsv));
+
+        // The stages read and write column files with the same results as in memory
+        Plotter plotter = new Plotter();
+        Path plotted = directory.resolve("points.cols");
+        Path salted = directory.resolve("salted.cols");
+        Path smoothed = directory.resolve("smoothed.cols");
+        double interval = 40.0 / n;
+        int points = plotter.plotToColumns(interval, 0, 400, plotted);
+        new Salter(7).saltColumns(plotted, salted, 0, 10);
+        new GraphSmoother().smoothColumns(salted, smoothed, 4);
+
+        double[] yValues = ColumnFile.open(plotted).readDoubles(Point.Y_COLUMN);
+        double[] expected = new ParallelSmoother().centeredMovingAverage(
+                new Salter(7).saltYValues(yValues, NoiseModel.uniform(0, 10)), 4);
+        System.out.println("Plot, salt and smooth through column files: " + points + " points, same as in memory "
+                + Arrays.equals(expected, ColumnFile.open(smoothed).readDoubles(Point.Y_COLUMN)));
+
+        // Reloading a stage output from CSV parses every value, from a column file it is only mapped
+        Path smoothedCsv = directory.resolve("smoothed.csv");
+        CsvConverter.toCsv(smoothed, smoothedCsv);
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            CsvConverter.toColumns(smoothedCsv, directory.resolve("parsed.cols"));
+            long csvNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ColumnFile file = ColumnFile.open(smoothed);
+            DoubleBuffer column = file.getDoubles(Point.Y_COLUMN);
+            double sum = 0;
+            for (int i = 0; i < column.limit(); i++) {
+                sum += column.get(i);
+            }
+            long mappedNanos = System.nanoTime() - start;
+            System.out.printf("Reload %d points: CSV %.1f ms (%d bytes), column file %.1f ms (%d bytes), sum %.3f%n",
+                    file.getRowCount(), csvNanos / 1e6, Files.size(smoothedCsv), mappedNanos / 1e6, Files.size(smoothed), sum);
+        }
+
+        try {
+            ColumnFile.open(Path.of("points.csv"));
+            System.out.println("CSV opened as a column file: no error");
+        } catch (IllegalArgumentException e) {
+            System.out.println("CSV opened as a column file: " + e.getMessage());
+        }
+        try {
+            ColumnFile.open(plotted).getLongs(Point.X_COLUMN);
+            System.out.println("Wrong column type: no error");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Wrong column type: " + e.getMessage());
+        }
+
+        deleteDirectory(directory);
+    }
+
+    /**
+     * Deletes a directory with the files in it.
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Checks that two CSV files hold the same rows, ignoring the header and blank lines.
+     * Fields match if they are the same text or the same number, as 94.430000 and 94.43 are.
+     */
+    private static boolean sameRows(Path original, Path converted) throws IOException {
+        List<String> expected = Files.readAllLines(original).stream().skip(1).map(String::trim).filter(line -> !line.isEmpty()).toList();
+        List<String> actual = Files.readAllLines(converted).stream().skip(1).map(String::trim).filter(line -> !line.isEmpty()).toList();
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            String[] expectedFields = expected.get(i).split(",");
+            String[] actualFields = actual.get(i).split(",");
+            if (expectedFields.length != actualFields.length) {
+                return false;
+            }
+            for (int f = 0; f < expectedFields.length; f++) {
+                if (!expectedFields[f].equals(actualFields[f])
+                        && Double.parseDouble(expectedFields[f]) != Double.parseDouble(actualFields[f])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}